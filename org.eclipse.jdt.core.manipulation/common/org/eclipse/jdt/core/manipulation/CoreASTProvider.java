@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.manipulation;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -23,7 +26,13 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
@@ -43,6 +52,13 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
  * for the purpose of reuse by non-UI bundles.
  *
  * <p>
+ * Besides the AST of the active editor, the provider keeps the shared ASTs of the most recently
+ * active Java elements, such that switching between editors or requesting the AST of a recently
+ * active element does not create a new AST. These ASTs are bounded in number and in estimated
+ * size, and are discarded as soon as the Java model reports a change that may affect them.
+ * </p>
+ *
+ * <p>
  * This class is not intended to be subclassed or instantiated by clients.
  * </p>
  *
@@ -63,6 +79,60 @@ public final class CoreASTProvider {
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
 
+	/**
+	 * Maximal number of ASTs kept for recently active Java elements.
+	 */
+	private static final int RECENT_AST_COUNT= Integer.getInteger("jdt.sharedASTCacheSize", 4).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximal estimated size of all ASTs kept for recently active Java elements in bytes.
+	 * <p>
+	 * The estimate is only approximate: it counts the AST nodes, see {@link ASTNode#subtreeBytes()},
+	 * but not the bindings that an AST with resolved bindings keeps reachable, so the actual
+	 * footprint of the kept ASTs is larger.
+	 * </p>
+	 */
+	private static final long RECENT_AST_BUDGET= Runtime.getRuntime().maxMemory() / 20;
+
+	/**
+	 * An AST that is being created for an element that is not active. It is only kept as recent AST
+	 * if no change that may affect it is reported while it is being created.
+	 */
+	private static final class PendingAST {
+
+		private final ITypeRoot fElement;
+		private boolean fInvalidated;
+
+		PendingAST(ITypeRoot element) {
+			fElement= element;
+		}
+	}
+
+	private static final class RecentAST {
+
+		private final CompilationUnit fRoot;
+		private final long fSize;
+
+		RecentAST(CompilationUnit root) {
+			fRoot= root;
+			fSize= root.subtreeBytes();
+		}
+	}
+
+	/**
+	 * ASTs of recently active Java elements in access order, guarded by <code>this</code>.
+	 */
+	private final LinkedHashMap<ITypeRoot, RecentAST> fRecentASTs= new LinkedHashMap<>(16, 0.75f, true);
+	private long fRecentASTsSize;
+
+	/**
+	 * ASTs being created for elements that are not active, guarded by <code>this</code>.
+	 */
+	private final List<PendingAST> fPendingASTs= new ArrayList<>();
+	private boolean fListening;
+
+	private final IElementChangedListener fElementChangedListener= this::elementChanged;
+
 	/**
 	 * Wait flag class.
 	 */
@@ -148,6 +218,14 @@ public final class CoreASTProvider {
 					return null;
 
 				}
+			} else {
+				CompilationUnit recent= getRecentAST(input);
+				if (recent != null) {
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recent AST:" + toString(recent) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+					return recent;
+				}
 			}
 		}
 
@@ -192,6 +270,10 @@ public final class CoreASTProvider {
 			return null;
 
 
+		PendingAST pending= null;
+		if (!isActiveElement)
+			pending= addPendingAST(input);
+
 		CompilationUnit ast= null;
 		try {
 			ast= createAST(input, progressMonitor);
@@ -210,6 +292,8 @@ public final class CoreASTProvider {
 					return fAST;
 				} else
 					reconciled(ast, input, null);
+			} else {
+				removePendingAST(pending, ast);
 			}
 		}
 		return ast;
@@ -391,6 +475,171 @@ public final class CoreASTProvider {
 		cache(null, null);
 	}
 
+	/**
+	 * Disposes the cached AST and the ASTs of all recently active Java elements.
+	 */
+	private synchronized void disposeAll() {
+		disposeAST();
+		clearRecentASTs();
+	}
+
+	/**
+	 * Returns the AST of a recently active Java element. The AST is up to date as the recent
+	 * ASTs are removed on every Java model change that may affect them.
+	 *
+	 * @param javaElement the Java element
+	 * @return the AST or <code>null</code>
+	 */
+	private synchronized CompilationUnit getRecentAST(ITypeRoot javaElement) {
+		RecentAST recent= fRecentASTs.get(javaElement);
+		return recent != null ? recent.fRoot : null;
+	}
+
+	/**
+	 * Registers an AST that is about to be created for a Java element that is not active. Java
+	 * model changes that may affect the element invalidate the pending AST until it is removed
+	 * with {@link #removePendingAST(PendingAST, CompilationUnit)}.
+	 *
+	 * @param javaElement the Java element
+	 * @return the pending AST, to be passed to <code>removePendingAST</code> once the AST has been
+	 *         created
+	 */
+	private synchronized PendingAST addPendingAST(ITypeRoot javaElement) {
+		PendingAST pending= new PendingAST(javaElement);
+		fPendingASTs.add(pending);
+		updateListener();
+		return pending;
+	}
+
+	/**
+	 * Keeps the created AST as recent AST, unless a change that may affect it has been reported
+	 * while it was created.
+	 *
+	 * @param pending the pending AST
+	 * @param ast the created AST or <code>null</code>
+	 */
+	private synchronized void removePendingAST(PendingAST pending, CompilationUnit ast) {
+		fPendingASTs.remove(pending);
+		if (ast != null && !pending.fInvalidated) {
+			addRecentAST(pending.fElement, ast);
+		} else {
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && ast != null)
+				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "Ignore created AST for " + toString(pending.fElement) + " - element changed while creating the AST"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			updateListener();
+		}
+	}
+
+	private synchronized void addRecentAST(ITypeRoot javaElement, CompilationUnit ast) {
+		if (RECENT_AST_COUNT <= 0)
+			return;
+		// working copies of other owners are not reconciled, hence changes would not be noticed
+		if (javaElement instanceof ICompilationUnit && ((ICompilationUnit) javaElement).getOwner() != null)
+			return;
+
+		removeRecentAST(javaElement);
+		RecentAST recent= new RecentAST(ast);
+		if (recent.fSize > RECENT_AST_BUDGET)
+			return;
+
+		fRecentASTs.put(javaElement, recent);
+		fRecentASTsSize+= recent.fSize;
+
+		Iterator<RecentAST> iter= fRecentASTs.values().iterator();
+		while (iter.hasNext() && (fRecentASTs.size() > RECENT_AST_COUNT || fRecentASTsSize > RECENT_AST_BUDGET)) {
+			RecentAST eldest= iter.next();
+			fRecentASTsSize-= eldest.fSize;
+			iter.remove();
+		}
+
+		updateListener();
+	}
+
+	private synchronized void removeRecentAST(ITypeRoot javaElement) {
+		RecentAST recent= fRecentASTs.remove(javaElement);
+		if (recent != null) {
+			fRecentASTsSize-= recent.fSize;
+			updateListener();
+		}
+	}
+
+	private synchronized void clearRecentASTs() {
+		fRecentASTs.clear();
+		fRecentASTsSize= 0;
+		for (PendingAST pending : fPendingASTs) {
+			pending.fInvalidated= true;
+		}
+		updateListener();
+	}
+
+	/**
+	 * Removes the recent AST of the given element and prevents the ASTs that are being created for
+	 * it from being kept.
+	 *
+	 * @param javaElement the changed Java element
+	 */
+	private synchronized void invalidateRecentAST(ITypeRoot javaElement) {
+		removeRecentAST(javaElement);
+		for (PendingAST pending : fPendingASTs) {
+			if (javaElement.equals(pending.fElement))
+				pending.fInvalidated= true;
+		}
+	}
+
+	/**
+	 * Listens to Java model changes as long as there are recent ASTs or ASTs being created for them.
+	 */
+	private synchronized void updateListener() {
+		boolean listen= !fRecentASTs.isEmpty() || !fPendingASTs.isEmpty();
+		if (listen == fListening)
+			return;
+		fListening= listen;
+		if (listen)
+			JavaCore.addElementChangedListener(fElementChangedListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		else
+			JavaCore.removeElementChangedListener(fElementChangedListener);
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		if (!processDelta(event.getDelta()))
+			clearRecentASTs();
+	}
+
+	/**
+	 * Removes the recent ASTs of the changed type roots.
+	 *
+	 * @param delta the delta
+	 * @return <code>false</code> if the delta may affect the bindings of all recent ASTs
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_OPENED)) != 0)
+					return false;
+				for (IJavaElementDelta child : delta.getAffectedChildren()) {
+					if (!processDelta(child))
+						return false;
+				}
+				return true;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				ITypeRoot typeRoot= (ITypeRoot) element;
+				invalidateRecentAST(typeRoot);
+				if (typeRoot instanceof ICompilationUnit)
+					invalidateRecentAST(((ICompilationUnit) typeRoot).getPrimary());
+				// changes that are limited to method bodies or to the working copy state do not
+				// affect the bindings of other type roots
+				return delta.getKind() == IJavaElementDelta.CHANGED
+						&& delta.getAffectedChildren().length == 0
+						&& ((delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) != 0 || (delta.getFlags() & ~IJavaElementDelta.F_PRIMARY_WORKING_COPY) == 0);
+			default:
+				return false;
+		}
+	}
+
 	/**
 	 * Returns a string for the given Java element used for debugging.
 	 *
@@ -469,10 +718,58 @@ public final class CoreASTProvider {
 
 	/**
 	 * Set the active java element that is currently active.
+	 * <p>
+	 * The AST of the previously active element is kept as recent AST, and the recent AST of
+	 * the new active element, if any, becomes the cached AST.
+	 * </p>
 	 * @param activeJavaElement the java element.
 	 */
-	public void setActiveJavaElement (ITypeRoot activeJavaElement) {
+	public synchronized void setActiveJavaElement (ITypeRoot activeJavaElement) {
+		if (fActiveJavaElement != null && !fActiveJavaElement.equals(activeJavaElement) && fAST != null)
+			addRecentAST(fActiveJavaElement, fAST);
+
 		fActiveJavaElement = activeJavaElement;
+
+		CompilationUnit recent= activeJavaElement != null ? getRecentAST(activeJavaElement) : null;
+		if (recent != null) {
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "reusing recent AST: " + toString(recent) + " for: " + toString(activeJavaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			removeRecentAST(activeJavaElement);
+		}
+		fAST= recent;
+
+		// Signal AST change
+		waitLockNotifyAll();
+	}
+
+	/**
+	 * Tells whether the given AST is the shared AST of the active or of a recently active Java element.
+	 *
+	 * @param ast the compilation unit AST
+	 * @return <code>true</code> if the AST is shared
+	 * @since 1.15
+	 */
+	public synchronized boolean isShared(CompilationUnit ast) {
+		if (ast == null)
+			return false;
+		if (ast == fAST)
+			return true;
+		for (RecentAST recent : fRecentASTs.values()) {
+			if (recent.fRoot == ast)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Disposes the cached AST and the ASTs of all recently active Java elements, and stops
+	 * listening to Java model changes.
+	 *
+	 * @since 1.15
+	 */
+	public void dispose() {
+		disposeAll();
+		waitLockNotifyAll();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,6 +68,7 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationMessages;
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.core.manipulation.Messages;
+import org.eclipse.jdt.internal.core.manipulation.TypeNameMatchIndex;
 import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.core.manipulation.util.Strings;
@@ -229,6 +230,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 		private final UnresolvableImportMatcher fUnresolvableImportMatcher;
 
+		private final TypeNameMatchIndex fTypeNameIndex;
+
 		private IPackageFragment fCurrPackage;
 
 		private ScopeAnalyzer fAnalyzer;
@@ -240,12 +243,13 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		private SourceRange[] fSourceRanges;
 
 
-		public TypeReferenceProcessor(Set<String> oldSingleImports, Set<String> oldDemandImports, CompilationUnit root, ImportRewrite impStructure, boolean ignoreLowerCaseNames, UnresolvableImportMatcher unresolvableImportMatcher) {
+		public TypeReferenceProcessor(Set<String> oldSingleImports, Set<String> oldDemandImports, CompilationUnit root, ImportRewrite impStructure, boolean ignoreLowerCaseNames, UnresolvableImportMatcher unresolvableImportMatcher, TypeNameMatchIndex typeNameIndex) {
 			fOldSingleImports= oldSingleImports;
 			fOldDemandImports= oldDemandImports;
 			fImpStructure= impStructure;
 			fDoIgnoreLowerCaseNames= ignoreLowerCaseNames;
 			fUnresolvableImportMatcher= unresolvableImportMatcher;
+			fTypeNameIndex= typeNameIndex;
 
 			ICompilationUnit cu= impStructure.getCompilationUnit();
 
@@ -351,17 +355,22 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 				if (nUnresolved == 0) {
 					return false;
 				}
-				char[][] allTypes= new char[nUnresolved][];
-				int i= 0;
-				for (String string : fUnresolvedTypes.keySet()) {
-					allTypes[i++]= string.toCharArray();
-				}
-				final ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
 				final IJavaProject project= fCurrPackage.getJavaProject();
 				boolean excludeTestCode= !((IPackageFragmentRoot)fCurrPackage.getParent()).getResolvedClasspathEntry().isTest();
-				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
-				TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
-				new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				final List<TypeNameMatch> typesFound;
+				if (fTypeNameIndex != null) {
+					typesFound= fTypeNameIndex.findTypes(project, excludeTestCode, fUnresolvedTypes.keySet(), monitor);
+				} else {
+					char[][] allTypes= new char[nUnresolved][];
+					int i= 0;
+					for (String string : fUnresolvedTypes.keySet()) {
+						allTypes[i++]= string.toCharArray();
+					}
+					typesFound= new ArrayList<>();
+					IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
+					TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
+					new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				}
 
 				boolean is50OrHigher= JavaModelUtil.is50OrHigher(project);
 
@@ -512,6 +521,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 	private final boolean fAllowSyntaxErrors;
 
+	private final TypeNameMatchIndex fTypeNameIndex;
+
 	/**
 	 * Creates a new OrganizeImportsOperation operation.
 	 *
@@ -529,7 +540,15 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		fDoSave= save;
 		fIgnoreLowerCaseNames= ignoreLowerCaseNames;
 		fAllowSyntaxErrors= allowSyntaxErrors;
-		fChooseImportQuery= chooseImportQuery;
+		if (chooseImportQuery instanceof TypeNameMatchIndex.IndexedQuery) {
+			// created by TypeNameMatchIndex#createOrganizeImportsOperation
+			TypeNameMatchIndex.IndexedQuery indexedQuery= (TypeNameMatchIndex.IndexedQuery) chooseImportQuery;
+			fChooseImportQuery= indexedQuery.getQuery();
+			fTypeNameIndex= indexedQuery.getIndex();
+		} else {
+			fChooseImportQuery= chooseImportQuery;
+			fTypeNameIndex= null;
+		}
 
 		fNumberOfImportsAdded= 0;
 		fNumberOfImportsRemoved= 0;
@@ -551,6 +570,9 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 			return;
 
 		JavaModelUtil.applyEdit(fCompilationUnit, edit, fDoSave, subMonitor.split(1));
+		if (fTypeNameIndex != null && fDoSave) {
+			fTypeNameIndex.importsChanged(fCompilationUnit);
+		}
 	}
 
 	public TextEdit createTextEdit(IProgressMonitor m) throws CoreException, OperationCanceledException {
@@ -587,7 +609,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 				astRoot,
 				importsRewrite,
 				fIgnoreLowerCaseNames,
-				unresolvableImportMatcher);
+				unresolvableImportMatcher,
+				fTypeNameIndex);
 
 		Iterator<SimpleName> refIterator= typeReferences.iterator();
 		while (refIterator.hasNext()) {
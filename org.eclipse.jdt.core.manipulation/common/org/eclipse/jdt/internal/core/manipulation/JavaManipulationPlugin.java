@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,8 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
+
 /**
  * The main plug-in class to be used in the workbench.
  */
@@ -43,6 +45,8 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	public static boolean DEBUG_AST_PROVIDER;
 
+	public static boolean DEBUG_CALL_GRAPH_INDEX;
+
 	//The shared instance.
 	private static JavaManipulationPlugin fgDefault;
 
@@ -62,6 +66,7 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		CallGraphIndex.shutdown();
 		super.stop(context);
 		fgDefault= null;
 	}
@@ -103,5 +108,6 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	@Override
 	public void optionsChanged(DebugOptions options) {
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/ASTProvider", false); //$NON-NLS-1$
+		DEBUG_CALL_GRAPH_INDEX= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/CallGraphIndex", false); //$NON-NLS-1$
 	}
 }
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.IChooseImportQuery;
+import org.eclipse.jdt.core.manipulation.TypeNameMatchCollector;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+/**
+ * Remembers the results of type name searches so that an {@link OrganizeImportsOperation} run on
+ * many compilation units searches each simple type name only once per search scope.
+ * <p>
+ * The index registers itself as a Java element changed listener and forgets all results as soon as
+ * types are added, removed or changed in their modifiers, or the class path of a project changes.
+ * Clients must call {@link #dispose()} when the batch of operations has finished.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public final class TypeNameMatchIndex {
+
+	private static final int FLAGS_CLASSPATH= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	/**
+	 * The search results per scope key: simple type name to the matches found for that name. Names
+	 * that were searched without finding a type map to an empty list.
+	 */
+	private final Map<String, Map<String, List<TypeNameMatch>>> fMatches;
+
+	/**
+	 * Compilation units whose imports have been changed by an operation using this index, mapped
+	 * to the modification stamp of their resource after the change. A content change of such a unit
+	 * does not add or remove types as long as the resource still has that stamp.
+	 */
+	private final Map<ICompilationUnit, Long> fImportsChanged;
+
+	private final IElementChangedListener fListener;
+
+	private int fSearchCount;
+	private int fHitCount;
+
+	/**
+	 * Carries an index through the public constructor of {@link OrganizeImportsOperation}, which
+	 * unwraps it. Only created by {@link TypeNameMatchIndex#createOrganizeImportsOperation}.
+	 */
+	public static final class IndexedQuery implements IChooseImportQuery {
+
+		private final TypeNameMatchIndex fIndex;
+		private final IChooseImportQuery fQuery;
+
+		private IndexedQuery(TypeNameMatchIndex index, IChooseImportQuery query) {
+			fIndex= index;
+			fQuery= query;
+		}
+
+		public TypeNameMatchIndex getIndex() {
+			return fIndex;
+		}
+
+		public IChooseImportQuery getQuery() {
+			return fQuery;
+		}
+
+		@Override
+		public TypeNameMatch[] chooseImports(TypeNameMatch[][] openChoices, ISourceRange[] ranges) {
+			return fQuery != null ? fQuery.chooseImports(openChoices, ranges) : new TypeNameMatch[0];
+		}
+	}
+
+	/**
+	 * Creates a new, empty index.
+	 */
+	public TypeNameMatchIndex() {
+		fMatches= new HashMap<>();
+		fImportsChanged= new ConcurrentHashMap<>();
+		fListener= this::elementChanged;
+		JavaCore.addElementChangedListener(fListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Releases the index. The index must not be used afterwards.
+	 */
+	public void dispose() {
+		JavaCore.removeElementChangedListener(fListener);
+		clear();
+	}
+
+	/**
+	 * Creates an organize imports operation that looks up unresolved type names in this index.
+	 * Operations on many compilation units should share one index so that each type name is only
+	 * searched once.
+	 *
+	 * @param cu the compilation unit
+	 * @param astRoot the compilation unit AST node
+	 * @param ignoreLowerCaseNames when true, type names starting with a lower case are ignored
+	 * @param save if set, the result will be saved
+	 * @param allowSyntaxErrors if set, the operation will only proceed when the compilation unit has no syntax errors
+	 * @param chooseImportQuery query element to be used for UI interaction or <code>null</code> to not select anything
+	 * @return the operation
+	 */
+	public OrganizeImportsOperation createOrganizeImportsOperation(ICompilationUnit cu, CompilationUnit astRoot, boolean ignoreLowerCaseNames, boolean save, boolean allowSyntaxErrors,
+			IChooseImportQuery chooseImportQuery) {
+		return new OrganizeImportsOperation(cu, astRoot, ignoreLowerCaseNames, save, allowSyntaxErrors, new IndexedQuery(this, chooseImportQuery));
+	}
+
+	/**
+	 * Returns the number of type name searches issued by this index.
+	 *
+	 * @return the number of searches
+	 */
+	public synchronized int getSearchCount() {
+		return fSearchCount;
+	}
+
+	/**
+	 * Returns the number of simple type names that were answered without searching.
+	 *
+	 * @return the number of names found in the index
+	 */
+	public synchronized int getHitCount() {
+		return fHitCount;
+	}
+
+	/**
+	 * Returns the types with the given simple names, searching only for names that have not been
+	 * searched in the same scope before.
+	 *
+	 * @param project the project to search in
+	 * @param excludeTestCode whether test sources and test dependencies are excluded
+	 * @param simpleNames the simple type names
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the matches, filtered as by {@link TypeNameMatchCollector}
+	 * @throws JavaModelException if the search failed
+	 */
+	public List<TypeNameMatch> findTypes(IJavaProject project, boolean excludeTestCode, Set<String> simpleNames, IProgressMonitor monitor) throws JavaModelException {
+		String scopeKey= project.getHandleIdentifier() + (excludeTestCode ? "#main" : "#test"); //$NON-NLS-1$ //$NON-NLS-2$
+		List<TypeNameMatch> result= new ArrayList<>();
+		List<String> missing= new ArrayList<>();
+		synchronized (this) {
+			Map<String, List<TypeNameMatch>> matches= fMatches.get(scopeKey);
+			for (String name : simpleNames) {
+				List<TypeNameMatch> found= matches != null ? matches.get(name) : null;
+				if (found != null) {
+					result.addAll(found);
+					fHitCount++;
+				} else {
+					missing.add(name);
+				}
+			}
+			if (missing.isEmpty()) {
+				return result;
+			}
+			fSearchCount++;
+		}
+
+		char[][] allTypes= new char[missing.size()][];
+		for (int i= 0; i < allTypes.length; i++) {
+			allTypes[i]= missing.get(i).toCharArray();
+		}
+		List<TypeNameMatch> typesFound= new ArrayList<>();
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
+		new SearchEngine().searchAllTypeNames(null, allTypes, scope, new TypeNameMatchCollector(typesFound), IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+
+		Map<String, List<TypeNameMatch>> newMatches= new HashMap<>();
+		for (String name : missing) {
+			newMatches.put(name, new ArrayList<>(1));
+		}
+		for (TypeNameMatch match : typesFound) {
+			List<TypeNameMatch> list= newMatches.get(match.getSimpleTypeName());
+			if (list != null) {
+				list.add(match);
+			}
+		}
+		synchronized (this) {
+			Map<String, List<TypeNameMatch>> matches= fMatches.computeIfAbsent(scopeKey, k -> new HashMap<>());
+			for (Map.Entry<String, List<TypeNameMatch>> entry : newMatches.entrySet()) {
+				matches.putIfAbsent(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+			}
+		}
+		result.addAll(typesFound);
+		return result;
+	}
+
+	/**
+	 * Notifies the index that the imports of the given compilation unit have been changed and
+	 * saved, so that the resulting content change does not invalidate the index. Any later change
+	 * of the unit still invalidates the index.
+	 *
+	 * @param cu the compilation unit
+	 */
+	public void importsChanged(ICompilationUnit cu) {
+		IResource resource= cu.getResource();
+		if (resource != null) {
+			fImportsChanged.put(cu.getPrimary(), Long.valueOf(resource.getModificationStamp()));
+		}
+	}
+
+	private synchronized void clear() {
+		fMatches.clear();
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		if (affectsTypes(event.getDelta())) {
+			clear();
+		}
+	}
+
+	private boolean affectsTypes(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & FLAGS_CLASSPATH) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0 && (flags & IJavaElementDelta.F_CONTENT) != 0) {
+					// no details about the change, only trust edits of the imports
+					Long stamp= fImportsChanged.remove(((ICompilationUnit) element).getPrimary());
+					IResource resource= element.getResource();
+					return stamp == null || resource == null || stamp.longValue() != resource.getModificationStamp();
+				}
+				break;
+			case IJavaElement.TYPE:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_MODIFIERS) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.CLASS_FILE:
+				return true;
+			default:
+				// members, imports and the package declaration do not change the set of types
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsTypes(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
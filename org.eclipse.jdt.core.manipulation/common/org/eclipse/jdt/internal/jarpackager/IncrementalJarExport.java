@@ -0,0 +1,523 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Reuses the entries of the previously exported JAR file.
+ * <p>
+ * An index records the modification stamp and the size of the content of each entry. When the JAR
+ * is exported again, the content of every entry is still read, because a stamp does not prove
+ * that the content is unchanged. An entry whose stamp and size are unchanged is copied from the
+ * previous JAR if the CRC of its content matches the CRC of the previous entry. An entry whose
+ * stamp changed but whose content is the same, for example a class file written again by a full
+ * build, is compared with the previous entry and copied as well. Only the other entries are
+ * compressed, so the export saves the compression of the unchanged content, not its reading.
+ * </p>
+ * <p>
+ * The index is only used if the JAR is the one written by the export that wrote the index, i.e.
+ * its length and modification time did not change since then. Otherwise all entries are written.
+ * </p>
+ *
+ * @since 1.15
+ */
+public final class IncrementalJarExport {
+
+	private static final int INDEX_MAGIC= 0x4A494458; // JIDX
+	private static final int INDEX_VERSION= 1;
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int ZIP64_END_SIGNATURE= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE= 0x07064b50;
+	private static final int END_SIGNATURE= 0x06054b50;
+	private static final int LOCAL_HEADER_LENGTH= 30;
+	private static final int CENTRAL_HEADER_LENGTH= 46;
+	private static final int ZIP64_LOCATOR_LENGTH= 20;
+	private static final int END_LENGTH= 22;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+	private static final long ZIP64_MAGIC= 0xFFFFFFFFL;
+
+	/** Changed entries larger than this are not compared with the previous entry. */
+	private static final int MAX_COMPARE_SIZE= 8 << 20;
+
+	/**
+	 * The modification stamp and the size of the content of an entry.
+	 */
+	private static class Record {
+		final long stamp;
+		final long size;
+
+		Record(long stamp, long size) {
+			this.stamp= stamp;
+			this.size= size;
+		}
+	}
+
+	/**
+	 * An entry of the previous JAR.
+	 */
+	private static class PreviousEntry {
+		final int method;
+		final long crc;
+		final long compressedSize;
+		final long size;
+		final long offset;
+
+		PreviousEntry(int method, long crc, long compressedSize, long size, long offset) {
+			this.method= method;
+			this.crc= crc;
+			this.compressedSize= compressedSize;
+			this.size= size;
+			this.offset= offset;
+		}
+	}
+
+	private final File fJar;
+	private final File fIndex;
+	private final File fPreviousJar;
+	private final FileChannel fPreviousChannel;
+	private final Map<String, Record> fPreviousRecords;
+	private final Map<String, PreviousEntry> fPreviousEntries;
+	private final Map<String, Record> fRecords= new LinkedHashMap<>();
+	private ParallelJarOutputStream fOutputStream;
+	private int fReusedCount;
+
+	private IncrementalJarExport(File jar, File index, File previousJar, FileChannel previousChannel,
+			Map<String, Record> previousRecords, Map<String, PreviousEntry> previousEntries) {
+		fJar= jar;
+		fIndex= index;
+		fPreviousJar= previousJar;
+		fPreviousChannel= previousChannel;
+		fPreviousRecords= previousRecords;
+		fPreviousEntries= previousEntries;
+	}
+
+	/**
+	 * Prepares the incremental export of the given JAR. If the index matches the JAR, the JAR is
+	 * moved aside so that its entries can be copied while the new JAR is written.
+	 * <p>
+	 * Must be called before the JAR is opened for writing, and must be followed by
+	 * {@link #close(boolean)}.
+	 * </p>
+	 *
+	 * @param jar the JAR file to export
+	 * @param index the index of the previous export
+	 * @return the incremental export, never <code>null</code>
+	 */
+	public static IncrementalJarExport open(File jar, File index) {
+		Map<String, Record> records= readIndex(jar, index);
+		if (records != null) {
+			File previousJar= new File(jar.getPath() + ".previous"); //$NON-NLS-1$
+			previousJar.delete();
+			if (jar.renameTo(previousJar)) {
+				FileChannel channel= null;
+				try {
+					channel= FileChannel.open(previousJar.toPath(), StandardOpenOption.READ);
+					Map<String, PreviousEntry> entries= readCentralDirectory(channel);
+					return new IncrementalJarExport(jar, index, previousJar, channel, records, entries);
+				} catch (IOException e) {
+					// the previous JAR is not reused
+					if (channel != null) {
+						try {
+							channel.close();
+						} catch (IOException exception) {
+							// Do nothing
+						}
+					}
+					previousJar.delete();
+				}
+			}
+		}
+		return new IncrementalJarExport(jar, index, null, null, new HashMap<>(), new HashMap<>());
+	}
+
+	/**
+	 * Returns the incremental export of the given stream.
+	 *
+	 * @param jarOutputStream the stream of the exported JAR
+	 * @return the incremental export, or <code>null</code> if all entries are written
+	 */
+	public static IncrementalJarExport get(JarOutputStream jarOutputStream) {
+		if (jarOutputStream instanceof ParallelJarOutputStream)
+			return ((ParallelJarOutputStream) jarOutputStream).getIncrementalExport();
+		return null;
+	}
+
+	/**
+	 * Writes the entries that are added with this incremental export to the given stream.
+	 *
+	 * @param jarOutputStream the stream of the exported JAR
+	 */
+	public void attach(ParallelJarOutputStream jarOutputStream) {
+		fOutputStream= jarOutputStream;
+		jarOutputStream.setIncrementalExport(this);
+	}
+
+	/**
+	 * Returns the number of entries that were copied from the previous JAR.
+	 *
+	 * @return the number of reused entries
+	 */
+	public int getReusedCount() {
+		return fReusedCount;
+	}
+
+	/**
+	 * Copies the entry from the previous JAR if its content did not change since the previous
+	 * export. An entry is only copied if the CRC of its content is known and matches the CRC of
+	 * the previous entry.
+	 *
+	 * @param entry the entry to add, with its compression method
+	 * @param stamp the modification stamp of the content, or <code>-1</code> if unknown
+	 * @param size the size of the content, or <code>-1</code> if unknown
+	 * @param crc the CRC of the content, or <code>-1</code> if unknown
+	 * @return <code>true</code> if the entry was copied, <code>false</code> if the caller has to
+	 *         add it with {@link #write(JarEntry, long, long, long, InputStream)}
+	 * @throws IOException if the entry cannot be copied
+	 */
+	public boolean copyUnchanged(JarEntry entry, long stamp, long size, long crc) throws IOException {
+		if (crc == -1 || !isRecordUnchanged(entry, stamp, size))
+			return false;
+		PreviousEntry previous= getPreviousEntry(entry, size, crc);
+		if (previous == null)
+			return false;
+		copy(entry, previous);
+		record(entry, stamp, size);
+		return true;
+	}
+
+	/**
+	 * Adds the entry with the given content. If the content is equal to the content of the entry in
+	 * the previous JAR, the entry is copied from the previous JAR. The content is closed.
+	 *
+	 * @param entry the entry to add, with its compression method
+	 * @param stamp the modification stamp of the content, or <code>-1</code> if unknown
+	 * @param size the size of the content, or <code>-1</code> if unknown
+	 * @param crc the CRC of the content, or <code>-1</code> if unknown
+	 * @param content the content
+	 * @throws IOException if the entry cannot be written
+	 */
+	public void write(JarEntry entry, long stamp, long size, long crc, InputStream content) throws IOException {
+		PreviousEntry previous= size <= MAX_COMPARE_SIZE ? getPreviousEntry(entry, size, crc) : null;
+		boolean unchanged= isRecordUnchanged(entry, stamp, size);
+		if (previous == null) {
+			JarPackagerUtilCore.addEntry(entry, content, fOutputStream);
+			record(entry, stamp, size);
+			return;
+		}
+		try {
+			byte[] data= new byte[(int) size];
+			int count= 0;
+			int read;
+			while (count < data.length && (read= content.read(data, count, data.length - count)) != -1)
+				count+= read;
+			int next= count == data.length ? content.read() : -1;
+			if (count == data.length && next == -1) {
+				if (isContentEqual(previous, data, unchanged))
+					copy(entry, previous);
+				else {
+					fOutputStream.putNextEntry(entry);
+					fOutputStream.write(data);
+				}
+				record(entry, stamp, size);
+			} else {
+				// the content changed while it is exported, it is not recorded
+				fOutputStream.putNextEntry(entry);
+				fOutputStream.write(data, 0, count);
+				if (next != -1) {
+					fOutputStream.write(next);
+					fOutputStream.transferFrom(content);
+				}
+			}
+		} finally {
+			content.close();
+		}
+	}
+
+	/**
+	 * Adds an entry with the content of the given file. The entry is copied from the previous JAR
+	 * if the content of the file is equal to the content of the previous entry. The file is always
+	 * read, an unchanged stamp and size only spare the comparison with the previous entry.
+	 *
+	 * @param entry the entry to add, with its compression method
+	 * @param file the file with the content
+	 * @throws IOException if the entry cannot be written
+	 */
+	public void write(JarEntry entry, File file) throws IOException {
+		long stamp= file.lastModified();
+		long size= file.length();
+		// a large content is not compared in memory, its CRC is computed in a separate pass
+		if (size > MAX_COMPARE_SIZE && isRecordUnchanged(entry, stamp, size) && copyUnchanged(entry, stamp, size, computeCrc(file)))
+			return;
+		write(entry, stamp, size, -1, new FileInputStream(file));
+	}
+
+	/**
+	 * Deletes the previous JAR and, if requested, writes the index of the exported JAR. Must be
+	 * called after the exported JAR is closed. If the exported JAR was not created, the previous
+	 * JAR is restored.
+	 *
+	 * @param writeIndex <code>true</code> if the JAR was written successfully and the index is
+	 *            to be written, <code>false</code> to remove the index
+	 * @throws IOException if the index cannot be written
+	 */
+	public void close(boolean writeIndex) throws IOException {
+		try {
+			if (fPreviousChannel != null)
+				fPreviousChannel.close();
+		} finally {
+			if (fPreviousJar != null && (fJar.exists() || !fPreviousJar.renameTo(fJar)))
+				fPreviousJar.delete();
+		}
+		if (!writeIndex || !fJar.isFile()) {
+			fIndex.delete();
+			return;
+		}
+		File parent= fIndex.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		boolean written= false;
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fIndex)))) {
+			out.writeInt(INDEX_MAGIC);
+			out.writeInt(INDEX_VERSION);
+			out.writeUTF(fJar.getAbsolutePath());
+			out.writeLong(fJar.length());
+			out.writeLong(fJar.lastModified());
+			out.writeInt(fRecords.size());
+			for (Map.Entry<String, Record> entry : fRecords.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeLong(entry.getValue().stamp);
+				out.writeLong(entry.getValue().size);
+			}
+			written= true;
+		} finally {
+			if (!written)
+				fIndex.delete();
+		}
+	}
+
+	private void record(JarEntry entry, long stamp, long size) {
+		if (stamp != -1 && size != -1)
+			fRecords.put(entry.getName(), new Record(stamp, size));
+	}
+
+	private boolean isRecordUnchanged(JarEntry entry, long stamp, long size) {
+		if (stamp == -1 || size == -1)
+			return false;
+		Record record= fPreviousRecords.get(entry.getName());
+		return record != null && record.stamp == stamp && record.size == size;
+	}
+
+	private static long computeCrc(File file) throws IOException {
+		CRC32 crc= new CRC32();
+		try (InputStream in= new FileInputStream(file)) {
+			byte[] buffer= new byte[1 << 16];
+			int count;
+			while ((count= in.read(buffer)) != -1)
+				crc.update(buffer, 0, count);
+		}
+		return crc.getValue();
+	}
+
+	private PreviousEntry getPreviousEntry(JarEntry entry, long size, long crc) {
+		if (size == -1)
+			return null;
+		PreviousEntry previous= fPreviousEntries.get(entry.getName());
+		if (previous == null || previous.method != entry.getMethod() || previous.size != size)
+			return null;
+		if (crc != -1 && crc != previous.crc)
+			return null;
+		return previous;
+	}
+
+	private void copy(JarEntry entry, PreviousEntry previous) throws IOException {
+		fOutputStream.putRawEntry(entry, previous.method, previous.crc, previous.size, fPreviousChannel, getDataPosition(previous), previous.compressedSize);
+		fReusedCount++;
+	}
+
+	private boolean isContentEqual(PreviousEntry previous, byte[] data, boolean unchanged) throws IOException {
+		CRC32 crc= new CRC32();
+		crc.update(data, 0, data.length);
+		if (crc.getValue() != previous.crc)
+			return false;
+		if (unchanged)
+			return true; // the stamp and the size did not change either
+		// the CRC only rules out changes, the content is compared to be sure
+		byte[] compressed= read(getDataPosition(previous), (int) previous.compressedSize);
+		if (previous.method == ZipEntry.STORED)
+			return Arrays.equals(compressed, data);
+		Inflater inflater= new Inflater(true);
+		try {
+			inflater.setInput(compressed);
+			byte[] inflated= new byte[data.length];
+			int count= 0;
+			while (count < inflated.length && !inflater.finished()) {
+				int inflatedCount= inflater.inflate(inflated, count, inflated.length - count);
+				if (inflatedCount == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					return false;
+				count+= inflatedCount;
+			}
+			return count == inflated.length && Arrays.equals(inflated, data);
+		} catch (DataFormatException e) {
+			return false;
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private long getDataPosition(PreviousEntry previous) throws IOException {
+		ByteBuffer header= ByteBuffer.allocate(LOCAL_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(header, previous.offset);
+		if (header.getInt(0) != LOCAL_HEADER_SIGNATURE)
+			throw new ZipException("invalid local header"); //$NON-NLS-1$
+		return previous.offset + LOCAL_HEADER_LENGTH + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+	}
+
+	private byte[] read(long position, int length) throws IOException {
+		byte[] data= new byte[length];
+		readFully(ByteBuffer.wrap(data), position);
+		return data;
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		readFully(fPreviousChannel, buffer, position);
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) == -1)
+				throw new ZipException("unexpected end of file"); //$NON-NLS-1$
+		}
+	}
+
+	private static Map<String, Record> readIndex(File jar, File index) {
+		if (!jar.isFile() || !index.isFile())
+			return null;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(index)))) {
+			if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION)
+				return null;
+			if (!jar.getAbsolutePath().equals(in.readUTF()) || jar.length() != in.readLong() || jar.lastModified() != in.readLong())
+				return null;
+			int count= in.readInt();
+			Map<String, Record> records= new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+			for (int i= 0; i < count; i++) {
+				String name= in.readUTF();
+				records.put(name, new Record(in.readLong(), in.readLong()));
+			}
+			return records;
+		} catch (IOException e) {
+			// the index is stale or damaged, all entries are written
+			return null;
+		}
+	}
+
+	private static Map<String, PreviousEntry> readCentralDirectory(FileChannel channel) throws IOException {
+		long length= channel.size();
+		int tailLength= (int) Math.min(length, END_LENGTH + 0xFFFF + ZIP64_LOCATOR_LENGTH);
+		ByteBuffer tail= ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(channel, tail, length - tailLength);
+		int end= tailLength - END_LENGTH;
+		while (end >= 0 && tail.getInt(end) != END_SIGNATURE)
+			end--;
+		if (end < 0)
+			throw new ZipException("end of central directory not found"); //$NON-NLS-1$
+		long count= tail.getShort(end + 10) & 0xFFFF;
+		long directoryLength= tail.getInt(end + 12) & ZIP64_MAGIC;
+		long directoryOffset= tail.getInt(end + 16) & ZIP64_MAGIC;
+		int locator= end - ZIP64_LOCATOR_LENGTH;
+		if (locator >= 0 && tail.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+			ByteBuffer record= ByteBuffer.allocate(56).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(channel, record, tail.getLong(locator + 8));
+			if (record.getInt(0) != ZIP64_END_SIGNATURE)
+				throw new ZipException("invalid zip64 end of central directory"); //$NON-NLS-1$
+			count= record.getLong(32);
+			directoryLength= record.getLong(40);
+			directoryOffset= record.getLong(48);
+		}
+		if (directoryLength > Integer.MAX_VALUE || directoryOffset + directoryLength > length)
+			throw new ZipException("invalid central directory"); //$NON-NLS-1$
+
+		ByteBuffer directory= ByteBuffer.allocate((int) directoryLength).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(channel, directory, directoryOffset);
+		Map<String, PreviousEntry> entries= new HashMap<>((int) Math.min(count * 4 / 3 + 1, 1 << 20));
+		int position= 0;
+		for (long i= 0; i < count; i++) {
+			if (position + CENTRAL_HEADER_LENGTH > directory.limit() || directory.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+				throw new ZipException("invalid central directory"); //$NON-NLS-1$
+			int method= directory.getShort(position + 10) & 0xFFFF;
+			long crc= directory.getInt(position + 16) & ZIP64_MAGIC;
+			long compressedSize= directory.getInt(position + 20) & ZIP64_MAGIC;
+			long size= directory.getInt(position + 24) & ZIP64_MAGIC;
+			int nameLength= directory.getShort(position + 28) & 0xFFFF;
+			int extraLength= directory.getShort(position + 30) & 0xFFFF;
+			int commentLength= directory.getShort(position + 32) & 0xFFFF;
+			long offset= directory.getInt(position + 42) & ZIP64_MAGIC;
+			int next= position + CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+			if (next > directory.limit())
+				throw new ZipException("invalid central directory"); //$NON-NLS-1$
+			String name= new String(directory.array(), position + CENTRAL_HEADER_LENGTH, nameLength, StandardCharsets.UTF_8);
+			// the ZIP64 extra field contains the values that do not fit, in this order
+			int extra= position + CENTRAL_HEADER_LENGTH + nameLength;
+			int extraEnd= extra + extraLength;
+			while (extra + 4 <= extraEnd) {
+				int id= directory.getShort(extra) & 0xFFFF;
+				int dataLength= directory.getShort(extra + 2) & 0xFFFF;
+				int data= extra + 4;
+				if (id == ZIP64_EXTRA_ID) {
+					if (size == ZIP64_MAGIC && data + 8 <= extraEnd) {
+						size= directory.getLong(data);
+						data+= 8;
+					}
+					if (compressedSize == ZIP64_MAGIC && data + 8 <= extraEnd) {
+						compressedSize= directory.getLong(data);
+						data+= 8;
+					}
+					if (offset == ZIP64_MAGIC && data + 8 <= extraEnd)
+						offset= directory.getLong(data);
+				}
+				extra+= 4 + dataLength;
+			}
+			if (method == ZipEntry.STORED || method == ZipEntry.DEFLATED)
+				entries.put(name, new PreviousEntry(method, crc, compressedSize, size, offset));
+			position= next;
+		}
+		return entries;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -64,6 +64,17 @@ public class JarPackagerUtilCore {
 	 *
 	 */
 	public static void addEntry(JarEntry entry, InputStream content, JarOutputStream jarOutputStream) throws IOException {
+		if (jarOutputStream instanceof ParallelJarOutputStream) {
+			try {
+				jarOutputStream.putNextEntry(entry);
+			} catch (IOException e) {
+				content.close();
+				throw e;
+			}
+			// closes the content
+			((ParallelJarOutputStream) jarOutputStream).transferFrom(content);
+			return;
+		}
 		byte[] readBuffer= new byte[4096];
 		try {
 			jarOutputStream.putNextEntry(entry);
@@ -208,6 +219,14 @@ public class JarPackagerUtilCore {
 		// Set modification time
 		newEntry.setTime(lastModified);
 
+		IncrementalJarExport incrementalExport= IncrementalJarExport.get(jarOutputStream);
+		if (incrementalExport != null) {
+			// the entries of an archive are unchanged as long as the archive is
+			long stamp= new File(zipFile.getName()).lastModified();
+			if (!incrementalExport.copyUnchanged(newEntry, stamp, zipEntry.getSize(), zipEntry.getCrc()))
+				incrementalExport.write(newEntry, stamp, zipEntry.getSize(), zipEntry.getCrc(), zipFile.getInputStream(zipEntry));
+			return;
+		}
 		addEntry(newEntry, zipFile.getInputStream(zipEntry), jarOutputStream);
 	}
 
@@ -308,10 +327,17 @@ public class JarPackagerUtilCore {
 			// Entry is filled automatically.
 		} else {
 			newEntry.setMethod(ZipEntry.STORED);
-			calculateCrcAndSize(newEntry, new FileInputStream(file), new byte[4096]);
+			// ParallelJarOutputStream computes the CRC and size while the entry is written
+			if (!(jarOutputStream instanceof ParallelJarOutputStream))
+				calculateCrcAndSize(newEntry, new FileInputStream(file), new byte[4096]);
 		}
 
 		newEntry.setTime(file.lastModified());
+		IncrementalJarExport incrementalExport= IncrementalJarExport.get(jarOutputStream);
+		if (incrementalExport != null) {
+			incrementalExport.write(newEntry, file);
+			return;
+		}
 		addEntry(newEntry, new FileInputStream(file), jarOutputStream);
 	}
 
@@ -0,0 +1,782 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * A <code>JarOutputStream</code> that writes a JAR file with several threads.
+ * <p>
+ * The content of an entry is collected in memory on the calling thread. When the entry is closed,
+ * its CRC is computed and, for a deflated entry, its content is compressed on a worker pool. The
+ * calling thread is the only writer: it writes the finished entries in the order in which they were
+ * added, so the archive does not depend on the scheduling of the workers. The number and the size
+ * of the entries in flight is bounded, and an entry that is too large to be kept in memory is
+ * compressed and written directly by the calling thread.
+ * </p>
+ * <p>
+ * Unlike <code>JarOutputStream</code>, stored entries do not need a size and CRC in advance, they
+ * are taken from the content. Errors of the workers are reported by the next call that writes
+ * entries. Entries of another ZIP file can be copied with {@link #putRawEntry} without compressing
+ * them again. The worker threads end when they are idle, so a stream that is not closed after an
+ * error does not keep them.
+ * </p>
+ *
+ * @since 1.15
+ */
+public class ParallelJarOutputStream extends JarOutputStream {
+
+	private static final int LOCAL_HEADER_SIGNATURE= 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE= 0x02014b50;
+	private static final int ZIP64_END_SIGNATURE= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIGNATURE= 0x07064b50;
+	private static final int END_SIGNATURE= 0x06054b50;
+
+	private static final int LOCAL_HEADER_LENGTH= 30;
+	private static final int CENTRAL_HEADER_LENGTH= 46;
+	private static final int ZIP64_END_LENGTH= 56;
+	private static final int ZIP64_LOCATOR_LENGTH= 20;
+	private static final int END_LENGTH= 22;
+
+	private static final int VERSION_STORED= 10;
+	private static final int VERSION_DEFLATED= 20;
+	private static final int VERSION_ZIP64= 45;
+	private static final int FLAG_UTF8= 0x800;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+	private static final byte[] JAR_MAGIC= { (byte) 0xFE, (byte) 0xCA, 0, 0 };
+	private static final long ZIP64_MAGIC= 0xFFFFFFFFL;
+	private static final int ZIP64_MAGIC_COUNT= 0xFFFF;
+	private static final long DOS_TIME_MIN= (1 << 21) | (1 << 16);
+
+	private static final int WRITE_BUFFER_SIZE= 1 << 20;
+	private static final int READ_BUFFER_SIZE= 1 << 18;
+	/** Entries larger than this are compressed and written by the calling thread. */
+	private static final int STREAMING_THRESHOLD= 8 << 20;
+	private static final long MAX_PENDING_BYTES= 64 << 20;
+	private static final long WORKER_KEEP_ALIVE_SECONDS= 5;
+
+	private static final OutputStream NULL_OUTPUT_STREAM= new OutputStream() {
+		@Override
+		public void write(int b) {
+			// the entries are written to the channel
+		}
+	};
+
+	/**
+	 * An entry that has been added but not yet written.
+	 */
+	private static class PendingEntry {
+		final ZipEntry entry;
+		final byte[] name;
+		final int method;
+		final int level;
+		final long time;
+		Future<Content> content;
+		byte[] extra;
+		long size;
+		int buffered;
+
+		PendingEntry(ZipEntry entry, int method, int level) {
+			this.entry= entry;
+			this.name= entry.getName().getBytes(StandardCharsets.UTF_8);
+			this.method= method;
+			this.level= level;
+			this.time= entry.getTime() != -1 ? entry.getTime() : System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * The computed content of an entry.
+	 */
+	private static class Content {
+		final long crc;
+		final byte[] data;
+		final int length;
+
+		Content(long crc, byte[] data, int length) {
+			this.crc= crc;
+			this.data= data;
+			this.length= length;
+		}
+	}
+
+	/**
+	 * The central directory record of a written entry.
+	 */
+	private static class CentralEntry {
+		final PendingEntry entry;
+		final long offset;
+		final long crc;
+		final long compressedSize;
+		final long size;
+
+		CentralEntry(PendingEntry entry, long offset, long crc, long compressedSize, long size) {
+			this.entry= entry;
+			this.offset= offset;
+			this.crc= crc;
+			this.compressedSize= compressedSize;
+			this.size= size;
+		}
+	}
+
+	private final RandomAccessFile fFile;
+	private final FileChannel fChannel;
+	private final ByteBuffer fWriteBuffer= ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	private final int fThreadCount;
+	private final int fMaxPendingEntries;
+	private final Set<String> fNames= new HashSet<>();
+	private final ArrayDeque<PendingEntry> fPending= new ArrayDeque<>();
+	private final List<CentralEntry> fCentralEntries= new ArrayList<>();
+	private final ConcurrentLinkedQueue<Deflater> fDeflaters= new ConcurrentLinkedQueue<>();
+	private ExecutorService fExecutor;
+	private IncrementalJarExport fIncrementalExport;
+
+	private long fOffset;
+	private long fPendingBytes;
+	private int fMethod= DEFLATED;
+	private int fLevel= Deflater.DEFAULT_COMPRESSION;
+	private byte[] fComment;
+	private boolean fFinished;
+	private boolean fClosed;
+
+	private PendingEntry fCurrent;
+	private byte[] fData;
+	private int fCount;
+
+	// state of a current entry that is written by the calling thread
+	private boolean fStreaming;
+	private long fStreamingOffset;
+	private long fStreamingSize;
+	private long fStreamingCompressedSize;
+	private CRC32 fStreamingCrc;
+	private Deflater fStreamingDeflater;
+	private byte[] fDeflateBuffer;
+
+	/**
+	 * Creates a JAR file without a manifest.
+	 *
+	 * @param file the JAR file to create
+	 * @throws IOException if the file cannot be created
+	 */
+	public ParallelJarOutputStream(File file) throws IOException {
+		this(file, null);
+	}
+
+	/**
+	 * Creates a JAR file with the given manifest.
+	 *
+	 * @param file the JAR file to create
+	 * @param manifest the manifest, or <code>null</code> if the JAR has no manifest
+	 * @throws IOException if the file cannot be created
+	 */
+	public ParallelJarOutputStream(File file, Manifest manifest) throws IOException {
+		super(NULL_OUTPUT_STREAM);
+		fFile= new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+		fFile.setLength(0);
+		fChannel= fFile.getChannel();
+		fThreadCount= Runtime.getRuntime().availableProcessors() - 1;
+		fMaxPendingEntries= Math.max(1, fThreadCount) * 16;
+		if (manifest != null) {
+			try {
+				putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+				manifest.write(this);
+				closeEntry();
+			} catch (IOException | RuntimeException e) {
+				release();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Returns the incremental export that reuses the entries of the previous JAR.
+	 *
+	 * @return the incremental export, or <code>null</code> if all entries are written
+	 */
+	public IncrementalJarExport getIncrementalExport() {
+		return fIncrementalExport;
+	}
+
+	/**
+	 * Sets the incremental export that reuses the entries of the previous JAR.
+	 *
+	 * @param incrementalExport the incremental export, or <code>null</code>
+	 */
+	public void setIncrementalExport(IncrementalJarExport incrementalExport) {
+		fIncrementalExport= incrementalExport;
+	}
+
+	@Override
+	public void setComment(String comment) {
+		super.setComment(comment);
+		fComment= comment != null ? comment.getBytes(StandardCharsets.UTF_8) : null;
+	}
+
+	@Override
+	public void setMethod(int method) {
+		super.setMethod(method);
+		fMethod= method;
+	}
+
+	@Override
+	public void setLevel(int level) {
+		super.setLevel(level);
+		fLevel= level;
+	}
+
+	@Override
+	public void putNextEntry(ZipEntry entry) throws IOException {
+		ensureOpen();
+		if (fCurrent != null)
+			closeEntry();
+		if (!fNames.add(entry.getName()))
+			throw new ZipException("duplicate entry: " + entry.getName()); //$NON-NLS-1$
+		int method= entry.getMethod() != -1 ? entry.getMethod() : fMethod;
+		if (method != STORED && method != DEFLATED)
+			throw new ZipException("invalid compression method"); //$NON-NLS-1$
+		fCurrent= new PendingEntry(entry, method, fLevel);
+		fCount= 0;
+		long size= entry.getSize();
+		fData= new byte[size >= 0 && size <= STREAMING_THRESHOLD ? (int) size : 0];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		// Manifest.write writes single bytes, add them to the content without an array per byte
+		if (fCurrent != null && !fStreaming && !fClosed && fCount < STREAMING_THRESHOLD) {
+			ensureCapacity(fCount + 1);
+			fData[fCount++]= (byte) b;
+		} else {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		if (off < 0 || len < 0 || off > b.length - len)
+			throw new IndexOutOfBoundsException();
+		if (fCurrent == null)
+			throw new ZipException("no current ZIP entry"); //$NON-NLS-1$
+		if (len == 0)
+			return;
+		if (!fStreaming && (long) fCount + len > STREAMING_THRESHOLD)
+			startStreaming();
+		if (fStreaming) {
+			writeStreaming(b, off, len);
+		} else {
+			ensureCapacity(fCount + len);
+			System.arraycopy(b, off, fData, fCount, len);
+			fCount+= len;
+		}
+	}
+
+	/**
+	 * Adds an entry with content that is copied unchanged from another ZIP file, without
+	 * compressing it again.
+	 *
+	 * @param entry the entry to add
+	 * @param method the compression method of the content
+	 * @param crc the CRC of the uncompressed content
+	 * @param size the size of the uncompressed content
+	 * @param source the channel of the other ZIP file
+	 * @param position the position of the content in the other ZIP file
+	 * @param compressedSize the size of the content in the other ZIP file
+	 * @throws IOException if the content cannot be read or written
+	 */
+	public void putRawEntry(ZipEntry entry, int method, long crc, long size, FileChannel source, long position, long compressedSize) throws IOException {
+		ensureOpen();
+		if (fCurrent != null)
+			closeEntry();
+		if (!fNames.add(entry.getName()))
+			throw new ZipException("duplicate entry: " + entry.getName()); //$NON-NLS-1$
+		PendingEntry pending= new PendingEntry(entry, method, fLevel);
+		pending.size= size;
+		if (compressedSize > STREAMING_THRESHOLD) {
+			while (!fPending.isEmpty())
+				writePendingEntry();
+			long offset= fOffset;
+			writeLocalHeader(pending, crc, compressedSize, size);
+			flushWriteBuffer();
+			source.position(position);
+			long count= 0;
+			while (count < compressedSize) {
+				long transferred= fChannel.transferFrom(source, fOffset + count, compressedSize - count);
+				if (transferred <= 0)
+					throw new ZipException("truncated entry: " + entry.getName()); //$NON-NLS-1$
+				count+= transferred;
+			}
+			fOffset+= count;
+			fChannel.position(fOffset);
+			addCentralEntry(pending, offset, crc, compressedSize, size);
+			return;
+		}
+		byte[] data= new byte[(int) compressedSize];
+		ByteBuffer target= ByteBuffer.wrap(data);
+		while (target.hasRemaining()) {
+			if (source.read(target, position + target.position()) == -1)
+				throw new ZipException("truncated entry: " + entry.getName()); //$NON-NLS-1$
+		}
+		pending.content= CompletableFuture.completedFuture(new Content(crc, data, data.length));
+		pending.buffered= data.length;
+		fPending.add(pending);
+		fPendingBytes+= data.length;
+		while (fPending.size() > fMaxPendingEntries || fPendingBytes > MAX_PENDING_BYTES)
+			writePendingEntry();
+	}
+
+	/**
+	 * Writes the remaining content of the given stream to the current entry and closes the stream.
+	 * The content of a file is read with its channel directly into the entry.
+	 *
+	 * @param in the content
+	 * @throws IOException if the content cannot be read or written
+	 */
+	public void transferFrom(InputStream in) throws IOException {
+		try {
+			if (in instanceof FileInputStream && !fStreaming) {
+				FileChannel channel= ((FileInputStream) in).getChannel();
+				long remaining= channel.size() - channel.position();
+				if (remaining > 0 && fCount + remaining <= STREAMING_THRESHOLD) {
+					ensureCapacity(fCount + (int) remaining);
+					ByteBuffer target= ByteBuffer.wrap(fData, fCount, (int) remaining);
+					while (target.hasRemaining() && channel.read(target) != -1) {
+						// read the whole file
+					}
+					fCount= target.position();
+				}
+			}
+			byte[] buffer= new byte[READ_BUFFER_SIZE];
+			int count;
+			while ((count= in.read(buffer, 0, buffer.length)) != -1)
+				write(buffer, 0, count);
+		} finally {
+			in.close();
+		}
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		ensureOpen();
+		if (fCurrent == null)
+			return;
+		PendingEntry entry= fCurrent;
+		fCurrent= null;
+		if (fStreaming) {
+			fStreaming= false;
+			finishStreaming(entry);
+			return;
+		}
+		byte[] data= fData;
+		int count= fCount;
+		fData= null;
+		entry.size= count;
+		entry.buffered= count;
+		if (fThreadCount > 0) {
+			entry.content= getExecutor().submit(() -> computeContent(entry, data, count));
+		} else {
+			// a single processor, compute the content on the calling thread
+			entry.content= CompletableFuture.completedFuture(computeContent(entry, data, count));
+		}
+		fPending.add(entry);
+		fPendingBytes+= count;
+		while (fPending.size() > fMaxPendingEntries || fPendingBytes > MAX_PENDING_BYTES)
+			writePendingEntry();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		flushWriteBuffer();
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if (fFinished || fClosed)
+			return;
+		closeEntry();
+		while (!fPending.isEmpty())
+			writePendingEntry();
+		writeCentralDirectory();
+		flushWriteBuffer();
+		fFinished= true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fClosed)
+			return;
+		try {
+			finish();
+		} finally {
+			fClosed= true;
+			try {
+				release();
+			} finally {
+				super.close();
+			}
+		}
+	}
+
+	/*
+	 * Stops the workers, ends the deflaters and closes the file.
+	 */
+	private void release() throws IOException {
+		if (fExecutor != null)
+			fExecutor.shutdownNow();
+		Deflater deflater;
+		while ((deflater= fDeflaters.poll()) != null)
+			deflater.end();
+		if (fStreamingDeflater != null)
+			fStreamingDeflater.end();
+		fFile.close();
+	}
+
+	private void ensureOpen() throws IOException {
+		if (fClosed)
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > fData.length)
+			fData= Arrays.copyOf(fData, Math.max(capacity, Math.min(STREAMING_THRESHOLD, Math.max(fData.length * 2, 8192))));
+	}
+
+	private ExecutorService getExecutor() {
+		if (fExecutor == null) {
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(fThreadCount, fThreadCount, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "JAR Compressor"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fExecutor= executor;
+		}
+		return fExecutor;
+	}
+
+	/*
+	 * Runs on a worker thread, unless there is a single processor.
+	 */
+	private Content computeContent(PendingEntry entry, byte[] data, int count) {
+		CRC32 crc= new CRC32();
+		crc.update(data, 0, count);
+		if (entry.method == STORED)
+			return new Content(crc.getValue(), data, count);
+
+		Deflater deflater= fDeflaters.poll();
+		if (deflater == null)
+			deflater= new Deflater(entry.level, true);
+		else
+			deflater.setLevel(entry.level);
+		try {
+			deflater.setInput(data, 0, count);
+			deflater.finish();
+			byte[] output= new byte[count + (count >> 12) + (count >> 14) + 64];
+			int length= 0;
+			while (!deflater.finished()) {
+				if (length == output.length)
+					output= Arrays.copyOf(output, output.length * 2);
+				length+= deflater.deflate(output, length, output.length - length);
+			}
+			return new Content(crc.getValue(), output, length);
+		} finally {
+			deflater.reset();
+			fDeflaters.add(deflater);
+		}
+	}
+
+	private void writePendingEntry() throws IOException {
+		PendingEntry entry= fPending.poll();
+		fPendingBytes-= entry.buffered;
+		Content content;
+		try {
+			content= entry.content.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IOException(cause);
+		}
+		checkEntry(entry, content.crc, entry.size);
+		long offset= fOffset;
+		writeLocalHeader(entry, content.crc, content.length, entry.size);
+		writeRaw(content.data, 0, content.length);
+		addCentralEntry(entry, offset, content.crc, content.length, entry.size);
+	}
+
+	private void startStreaming() throws IOException {
+		while (!fPending.isEmpty())
+			writePendingEntry();
+		fStreaming= true;
+		fStreamingOffset= fOffset;
+		fStreamingSize= 0;
+		fStreamingCompressedSize= 0;
+		fStreamingCrc= new CRC32();
+		// the CRC and the sizes are patched when the entry is closed
+		writeLocalHeader(fCurrent, 0, 0, 0);
+		if (fCurrent.method == DEFLATED) {
+			if (fStreamingDeflater == null) {
+				fStreamingDeflater= new Deflater(fCurrent.level, true);
+				fDeflateBuffer= new byte[READ_BUFFER_SIZE];
+			} else {
+				fStreamingDeflater.reset();
+				fStreamingDeflater.setLevel(fCurrent.level);
+			}
+		}
+		byte[] data= fData;
+		int count= fCount;
+		fData= null;
+		fCount= 0;
+		writeStreaming(data, 0, count);
+	}
+
+	private void writeStreaming(byte[] b, int off, int len) throws IOException {
+		fStreamingCrc.update(b, off, len);
+		fStreamingSize+= len;
+		if (fCurrent.method == STORED) {
+			writeRaw(b, off, len);
+			fStreamingCompressedSize+= len;
+		} else {
+			fStreamingDeflater.setInput(b, off, len);
+			while (!fStreamingDeflater.needsInput())
+				deflateStreaming();
+		}
+	}
+
+	private void deflateStreaming() throws IOException {
+		int count= fStreamingDeflater.deflate(fDeflateBuffer, 0, fDeflateBuffer.length);
+		writeRaw(fDeflateBuffer, 0, count);
+		fStreamingCompressedSize+= count;
+	}
+
+	private void finishStreaming(PendingEntry entry) throws IOException {
+		if (entry.method == DEFLATED) {
+			fStreamingDeflater.finish();
+			while (!fStreamingDeflater.finished())
+				deflateStreaming();
+		}
+		long crc= fStreamingCrc.getValue();
+		checkEntry(entry, crc, fStreamingSize);
+		if (fStreamingSize >= ZIP64_MAGIC || fStreamingCompressedSize >= ZIP64_MAGIC)
+			throw new ZipException("entry too large: " + entry.entry.getName()); //$NON-NLS-1$
+		flushWriteBuffer();
+		ByteBuffer patch= ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+		patch.putInt((int) crc).putInt((int) fStreamingCompressedSize).putInt((int) fStreamingSize).flip();
+		long position= fStreamingOffset + 14;
+		while (patch.hasRemaining())
+			position+= fChannel.write(patch, position);
+		addCentralEntry(entry, fStreamingOffset, crc, fStreamingCompressedSize, fStreamingSize);
+	}
+
+	private static void checkEntry(PendingEntry entry, long crc, long size) throws ZipException {
+		if (entry.method != STORED)
+			return;
+		ZipEntry zipEntry= entry.entry;
+		if (zipEntry.getSize() != -1 && zipEntry.getSize() != size)
+			throw new ZipException("invalid entry size (expected " + zipEntry.getSize() + " but got " + size + " bytes)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (zipEntry.getCrc() != -1 && zipEntry.getCrc() != crc)
+			throw new ZipException("invalid entry crc-32 (expected 0x" + Long.toHexString(zipEntry.getCrc()) + " but got 0x" + Long.toHexString(crc) + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private void addCentralEntry(PendingEntry entry, long offset, long crc, long compressedSize, long size) {
+		ZipEntry zipEntry= entry.entry;
+		zipEntry.setCrc(crc);
+		zipEntry.setSize(size);
+		zipEntry.setCompressedSize(compressedSize);
+		fCentralEntries.add(new CentralEntry(entry, offset, crc, compressedSize, size));
+	}
+
+	private void writeLocalHeader(PendingEntry entry, long crc, long compressedSize, long size) throws IOException {
+		if (size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC)
+			throw new ZipException("entry too large: " + entry.entry.getName()); //$NON-NLS-1$
+		byte[] extra= entry.entry.getExtra();
+		if (extra == null)
+			extra= fOffset == 0 ? JAR_MAGIC : new byte[0];
+		entry.extra= extra;
+		ByteBuffer header= reserve(LOCAL_HEADER_LENGTH);
+		header.putInt(LOCAL_HEADER_SIGNATURE);
+		header.putShort((short) (entry.method == STORED ? VERSION_STORED : VERSION_DEFLATED));
+		header.putShort((short) FLAG_UTF8);
+		header.putShort((short) entry.method);
+		header.putInt((int) toDosTime(entry.time));
+		header.putInt((int) crc);
+		header.putInt((int) compressedSize);
+		header.putInt((int) size);
+		header.putShort((short) entry.name.length);
+		header.putShort((short) extra.length);
+		fOffset+= LOCAL_HEADER_LENGTH;
+		writeRaw(entry.name, 0, entry.name.length);
+		writeRaw(extra, 0, extra.length);
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long start= fOffset;
+		for (CentralEntry central : fCentralEntries) {
+			PendingEntry entry= central.entry;
+			boolean zip64= central.offset >= ZIP64_MAGIC;
+			byte[] comment= entry.entry.getComment() != null ? entry.entry.getComment().getBytes(StandardCharsets.UTF_8) : new byte[0];
+			int version= zip64 ? VERSION_ZIP64 : entry.method == STORED ? VERSION_STORED : VERSION_DEFLATED;
+			ByteBuffer header= reserve(CENTRAL_HEADER_LENGTH);
+			header.putInt(CENTRAL_HEADER_SIGNATURE);
+			header.putShort((short) version);
+			header.putShort((short) version);
+			header.putShort((short) FLAG_UTF8);
+			header.putShort((short) entry.method);
+			header.putInt((int) toDosTime(entry.time));
+			header.putInt((int) central.crc);
+			header.putInt((int) central.compressedSize);
+			header.putInt((int) central.size);
+			header.putShort((short) entry.name.length);
+			header.putShort((short) (entry.extra.length + (zip64 ? 12 : 0)));
+			header.putShort((short) Math.min(comment.length, 0xFFFF));
+			header.putShort((short) 0); // disk number
+			header.putShort((short) 0); // internal attributes
+			header.putInt(0); // external attributes
+			header.putInt((int) (zip64 ? ZIP64_MAGIC : central.offset));
+			fOffset+= CENTRAL_HEADER_LENGTH;
+			writeRaw(entry.name, 0, entry.name.length);
+			if (zip64) {
+				ByteBuffer extra= reserve(12);
+				extra.putShort((short) ZIP64_EXTRA_ID);
+				extra.putShort((short) 8);
+				extra.putLong(central.offset);
+				fOffset+= 12;
+			}
+			writeRaw(entry.extra, 0, entry.extra.length);
+			writeRaw(comment, 0, Math.min(comment.length, 0xFFFF));
+		}
+		long length= fOffset - start;
+		int count= fCentralEntries.size();
+		if (count >= ZIP64_MAGIC_COUNT || start >= ZIP64_MAGIC || length >= ZIP64_MAGIC) {
+			long end64= fOffset;
+			ByteBuffer record= reserve(ZIP64_END_LENGTH);
+			record.putInt(ZIP64_END_SIGNATURE);
+			record.putLong(ZIP64_END_LENGTH - 12);
+			record.putShort((short) VERSION_ZIP64);
+			record.putShort((short) VERSION_ZIP64);
+			record.putInt(0); // this disk
+			record.putInt(0); // disk with the central directory
+			record.putLong(count);
+			record.putLong(count);
+			record.putLong(length);
+			record.putLong(start);
+			fOffset+= ZIP64_END_LENGTH;
+			ByteBuffer locator= reserve(ZIP64_LOCATOR_LENGTH);
+			locator.putInt(ZIP64_LOCATOR_SIGNATURE);
+			locator.putInt(0); // disk with the zip64 end record
+			locator.putLong(end64);
+			locator.putInt(1); // total disks
+			fOffset+= ZIP64_LOCATOR_LENGTH;
+		}
+		byte[] comment= fComment != null ? fComment : new byte[0];
+		ByteBuffer end= reserve(END_LENGTH);
+		end.putInt(END_SIGNATURE);
+		end.putShort((short) 0); // this disk
+		end.putShort((short) 0); // disk with the central directory
+		end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+		end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+		end.putInt((int) Math.min(length, ZIP64_MAGIC));
+		end.putInt((int) Math.min(start, ZIP64_MAGIC));
+		end.putShort((short) comment.length);
+		fOffset+= END_LENGTH;
+		writeRaw(comment, 0, comment.length);
+	}
+
+	/**
+	 * Returns the write buffer with room for the given number of bytes at its position. The caller
+	 * advances the offset.
+	 */
+	private ByteBuffer reserve(int length) throws IOException {
+		if (fWriteBuffer.remaining() < length)
+			flushWriteBuffer();
+		return fWriteBuffer;
+	}
+
+	private void writeRaw(byte[] b, int off, int len) throws IOException {
+		fOffset+= len;
+		if (len >= fWriteBuffer.capacity()) {
+			flushWriteBuffer();
+			ByteBuffer source= ByteBuffer.wrap(b, off, len);
+			while (source.hasRemaining())
+				fChannel.write(source);
+			return;
+		}
+		while (len > 0) {
+			if (!fWriteBuffer.hasRemaining())
+				flushWriteBuffer();
+			int count= Math.min(len, fWriteBuffer.remaining());
+			fWriteBuffer.put(b, off, count);
+			off+= count;
+			len-= count;
+		}
+	}
+
+	private void flushWriteBuffer() throws IOException {
+		fWriteBuffer.flip();
+		while (fWriteBuffer.hasRemaining())
+			fChannel.write(fWriteBuffer);
+		fWriteBuffer.clear();
+	}
+
+	private static long toDosTime(long time) {
+		LocalDateTime date= LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year= date.getYear() - 1980;
+		if (year < 0)
+			return DOS_TIME_MIN;
+		if (year > 127)
+			year= 127;
+		return (year << 25 | date.getMonthValue() << 21 | date.getDayOfMonth() << 16
+				| date.getHour() << 11 | date.getMinute() << 5 | date.getSecond() >> 1) & ZIP64_MAGIC;
+	}
+}
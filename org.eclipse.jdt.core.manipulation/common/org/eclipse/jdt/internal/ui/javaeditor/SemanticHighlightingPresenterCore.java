@@ -280,6 +280,30 @@ public class SemanticHighlightingPresenterCore {
 		}
 	}
 
+	/**
+	 * Adds the current positions that are completely contained in the given range to the given
+	 * list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list The list
+	 * @param offset The range offset
+	 * @param length The range length
+	 */
+	public void addAllPositions(List<Position> list, int offset, int length) {
+		int end= offset + length;
+		synchronized (fPositionLock) {
+			for (int i= computeIndexAtOffset(fPositions, offset), n= fPositions.size(); i < n; i++) {
+				Position position= fPositions.get(i);
+				if (position.getOffset() >= end)
+					break;
+				if (position.getOffset() + position.getLength() <= end)
+					list.add(position);
+			}
+		}
+	}
+
 	/**
 	 * Create a runnable for updating the presentation.
 	 * <p>
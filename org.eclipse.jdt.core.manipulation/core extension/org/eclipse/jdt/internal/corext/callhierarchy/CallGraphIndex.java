@@ -0,0 +1,1056 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.EnumConstantDeclaration;
+import org.eclipse.jdt.core.dom.ExpressionMethodReference;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.LambdaExpression;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodReference;
+import org.eclipse.jdt.core.dom.TypeMethodReference;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.Bindings;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+/**
+ * A workspace-wide index of the method calls in the source compilation units, which answers the
+ * callers of a method without running a search.
+ * <p>
+ * The index is built once in the background from the ASTs of all source compilation units and
+ * then kept up to date from Java element deltas: an added, removed or changed compilation unit is
+ * re-indexed on its own. If the declarations of its methods or the supertypes of its types have
+ * changed, the calls in other compilation units may resolve to other methods now, so the
+ * compilation units that call methods of the same name on the affected types or their subtypes,
+ * or that declare such subtypes, are re-indexed as well. Only a change of the class path rebuilds
+ * the whole index. While the index is out of date,
+ * {@link #getCallers(IMember)} returns <code>null</code> and callers fall back to the search
+ * engine. The index is saved in the state location of the plug-in when the plug-in is stopped
+ * and reused on the next start if no compilation unit has changed in between.
+ * </p>
+ * <p>
+ * Only methods for which the static binding of a call tells the whole story are answered from the
+ * index, that is concrete methods declared in a class of a source compilation unit which are
+ * no constructors and do not override another method. For the others, the search engine also
+ * reports implicit constructor calls and calls through overridden or abstract methods.
+ * </p>
+ * <p>
+ * The callees of a method are not answered from the index, since finding them only needs the AST
+ * of the compilation unit declaring the method.
+ * </p>
+ *
+ * @since 1.15
+ */
+public class CallGraphIndex implements IElementChangedListener {
+
+	private static final int VERSION= 2;
+
+	private static final String INDEX_FILE_NAME= "callGraph.index"; //$NON-NLS-1$
+
+	private static final int BATCH_SIZE= 200;
+
+	private static final long UPDATE_DELAY= 500;
+
+	private static CallGraphIndex fgDefault;
+
+	/**
+	 * Returns the index and starts building it on first access.
+	 *
+	 * @return the shared index
+	 */
+	public static synchronized CallGraphIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new CallGraphIndex();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fgDefault.fJob.schedule();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Stops maintaining the index and saves it if it is up to date. Does nothing if the index
+	 * has never been used.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault == null)
+			return;
+		JavaCore.removeElementChangedListener(fgDefault);
+		fgDefault.fJob.cancel();
+		try {
+			fgDefault.fJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		fgDefault.save();
+		fgDefault= null;
+	}
+
+	/**
+	 * A call of a method, stored under the handle identifier of the called method.
+	 */
+	private static final class CallSite {
+		final String fCaller;
+		final int fStart;
+		final int fEnd;
+		final int fLineNumber;
+
+		CallSite(String caller, int start, int end, int lineNumber) {
+			fCaller= caller;
+			fStart= start;
+			fEnd= end;
+			fLineNumber= lineNumber;
+		}
+	}
+
+	/**
+	 * The contribution of one compilation unit to the index.
+	 */
+	private static final class UnitEntry {
+		final long fStamp;
+		/** The handle identifiers of the methods declared in the unit that can be answered. */
+		final List<String> fMethods= new ArrayList<>();
+		/** The handle identifiers of the called methods, parallel to {@link #fSites}. */
+		final List<String> fCallees= new ArrayList<>();
+		final List<CallSite> fSites= new ArrayList<>();
+		/** The handle identifiers of called methods with a call that could not be attributed. */
+		final Set<String> fUnattributed= new HashSet<>();
+		/** The keys of the member and top-level types declared in the unit, mapped to the keys of their supertypes. */
+		final Map<String, List<String>> fTypes= new HashMap<>();
+		/** The keys and modifiers of the methods declared in these types, mapped to their name and declaring type. */
+		final Map<String, String> fDeclarations= new HashMap<>();
+		/** The keys of the types through which methods are called. */
+		final Set<String> fReceivers= new HashSet<>();
+		/** The names of the called methods, each followed by the key of a type through which it is called. */
+		final Set<String> fCalls= new HashSet<>();
+		/** The names of the calls that could not be resolved. */
+		final Set<String> fUnresolved= new HashSet<>();
+
+		UnitEntry(long stamp) {
+			fStamp= stamp;
+		}
+	}
+
+	/**
+	 * Collects the method declarations and method calls of a compilation unit.
+	 */
+	private static final class UnitIndexer extends ASTVisitor {
+		private final ICompilationUnit fUnit;
+		private final CompilationUnit fAST;
+		private final UnitEntry fEntry;
+		private final Map<String, String> fCalleeHandles= new HashMap<>();
+		private final Map<ASTNode, String> fCallerHandles= new HashMap<>();
+
+		UnitIndexer(ICompilationUnit unit, CompilationUnit ast, UnitEntry entry) {
+			fUnit= unit;
+			fAST= ast;
+			fEntry= entry;
+		}
+
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			if (node instanceof AbstractTypeDeclaration) {
+				ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
+				if (binding != null && !binding.isLocal()) {
+					List<String> supertypes= new ArrayList<>(2);
+					if (binding.getSuperclass() != null)
+						supertypes.add(getKey(binding.getSuperclass()));
+					for (ITypeBinding type : binding.getInterfaces()) {
+						supertypes.add(getKey(type));
+					}
+					fEntry.fTypes.put(getKey(binding), supertypes);
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(MethodDeclaration node) {
+			IMethodBinding binding= node.resolveBinding();
+			if (binding != null && isIndexable(binding)) {
+				IJavaElement method= binding.getJavaElement();
+				if (method != null)
+					fEntry.fMethods.add(method.getHandleIdentifier());
+			}
+			// the keys of methods in local types change with their position
+			if (binding != null && !binding.isConstructor() && !binding.getDeclaringClass().isLocal()) {
+				fEntry.fDeclarations.put(binding.getKey() + ' ' + binding.getModifiers(),
+						getCall(binding.getName(), binding.getDeclaringClass()));
+			}
+			return true;
+		}
+
+		private static boolean isIndexable(IMethodBinding binding) {
+			// calls of abstract methods and of overriding methods are also found through other methods
+			return !binding.isConstructor() && !Modifier.isAbstract(binding.getModifiers()) && !binding.getDeclaringClass().isInterface()
+					&& Bindings.findOverriddenMethod(binding, false) == null;
+		}
+
+		@Override
+		public boolean visit(MethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node, node.getName(), node.getExpression() != null ? node.getExpression().resolveTypeBinding() : null);
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node, node.getName(), null);
+			return true;
+		}
+
+		@Override
+		public boolean visit(ExpressionMethodReference node) {
+			addCall(node.resolveMethodBinding(), node, node.getName(), node.getExpression().resolveTypeBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodReference node) {
+			addCall(node.resolveMethodBinding(), node, node.getName(), null);
+			return true;
+		}
+
+		@Override
+		public boolean visit(TypeMethodReference node) {
+			addCall(node.resolveMethodBinding(), node, node.getName(), node.getType().resolveBinding());
+			return true;
+		}
+
+		private void addCall(IMethodBinding binding, ASTNode node, SimpleName name, ITypeBinding receiver) {
+			// unresolved calls are inaccurate matches, which the search requestor ignores as well
+			if (binding == null) {
+				fEntry.fUnresolved.add(name.getIdentifier());
+				return;
+			}
+			if (binding.isConstructor())
+				return;
+			addReceiver(binding.getName(), binding.getDeclaringClass());
+			if (receiver != null && !receiver.isPrimitive() && !receiver.isArray())
+				addReceiver(binding.getName(), receiver);
+			String callee= getCalleeHandle(binding.getMethodDeclaration());
+			if (callee == null)
+				return;
+			String caller= getCallerHandle(node);
+			if (caller == null) {
+				fEntry.fUnattributed.add(callee);
+				return;
+			}
+			// same range as the search match: from the method name to the end of the call
+			int start= name.getStartPosition();
+			int end= node.getStartPosition() + node.getLength();
+			int lineNumber= fAST.getLineNumber(start);
+			fEntry.fCallees.add(callee);
+			fEntry.fSites.add(new CallSite(caller, start, end, lineNumber < 1 ? 1 : lineNumber));
+		}
+
+		private void addReceiver(String name, ITypeBinding type) {
+			String key= getKey(type);
+			fEntry.fReceivers.add(key);
+			fEntry.fCalls.add(getCall(name, type));
+		}
+
+		private static String getKey(ITypeBinding type) {
+			return type.getErasure().getKey();
+		}
+
+		private static String getCall(String name, ITypeBinding type) {
+			return name + ' ' + getKey(type);
+		}
+
+		private String getCalleeHandle(IMethodBinding binding) {
+			String key= binding.getKey();
+			String handle= fCalleeHandles.get(key);
+			if (handle == null && !fCalleeHandles.containsKey(key)) {
+				IJavaElement method= binding.getJavaElement();
+				handle= method != null ? method.getHandleIdentifier() : null;
+				fCalleeHandles.put(key, handle);
+			}
+			return handle;
+		}
+
+		private String getCallerHandle(ASTNode node) {
+			ASTNode parent= node.getParent();
+			while (parent != null && !isEnclosingMember(parent))
+				parent= parent.getParent();
+			if (parent == null)
+				return null;
+			String handle= fCallerHandles.get(parent);
+			if (handle == null && !fCallerHandles.containsKey(parent)) {
+				IJavaElement caller= getMember(parent);
+				handle= caller instanceof IMember ? caller.getHandleIdentifier() : null;
+				fCallerHandles.put(parent, handle);
+			}
+			return handle;
+		}
+
+		private static boolean isEnclosingMember(ASTNode node) {
+			switch (node.getNodeType()) {
+				case ASTNode.LAMBDA_EXPRESSION:
+				case ASTNode.METHOD_DECLARATION:
+				case ASTNode.INITIALIZER:
+				case ASTNode.ENUM_CONSTANT_DECLARATION:
+					return true;
+				case ASTNode.VARIABLE_DECLARATION_FRAGMENT:
+					return node.getParent() instanceof FieldDeclaration;
+				default:
+					return node instanceof AbstractTypeDeclaration;
+			}
+		}
+
+		private IJavaElement getMember(ASTNode node) {
+			IBinding binding= null;
+			switch (node.getNodeType()) {
+				case ASTNode.LAMBDA_EXPRESSION:
+					binding= ((LambdaExpression) node).resolveMethodBinding();
+					break;
+				case ASTNode.METHOD_DECLARATION:
+					binding= ((MethodDeclaration) node).resolveBinding();
+					break;
+				case ASTNode.ENUM_CONSTANT_DECLARATION:
+					binding= ((EnumConstantDeclaration) node).resolveVariable();
+					break;
+				case ASTNode.VARIABLE_DECLARATION_FRAGMENT:
+					binding= ((VariableDeclarationFragment) node).resolveBinding();
+					break;
+				case ASTNode.INITIALIZER:
+					try {
+						return fUnit.getElementAt(node.getStartPosition());
+					} catch (JavaModelException e) {
+						return null;
+					}
+				default:
+					binding= ((AbstractTypeDeclaration) node).resolveBinding();
+					break;
+			}
+			return binding != null ? binding.getJavaElement() : null;
+		}
+	}
+
+	private final Job fJob;
+
+	/** Maps the handle identifier of a compilation unit to its contribution. */
+	private Map<String, UnitEntry> fUnits= new HashMap<>();
+
+	/** Maps the handle identifier of a called method to its call sites. */
+	private Map<String, List<CallSite>> fCallers= new HashMap<>();
+
+	/** The handle identifiers of the methods that can be answered from the index. */
+	private Set<String> fMethods= new HashSet<>();
+
+	/** Counts the calls of a method that could not be attributed to a caller. */
+	private Map<String, Integer> fUnattributed= new HashMap<>();
+
+	private final Set<ICompilationUnit> fDirtyUnits= new HashSet<>();
+
+	/** Packages that have been added or removed, whose compilation units have to be re-indexed. */
+	private final Set<IPackageFragment> fDirtyPackages= new HashSet<>();
+
+	private boolean fRebuild= true;
+
+	private boolean fLoaded;
+
+	/** Incremented on every change, so that the job can tell whether it has caught up. */
+	private int fGeneration;
+
+	private boolean fUpToDate;
+
+	private int fCallSiteCount;
+
+	private long fBuildTime= -1;
+
+	private CallGraphIndex() {
+		fJob= new Job(CallHierarchyMessages.CallGraphIndex_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				} catch (CoreException e) {
+					JavaManipulationPlugin.log(e);
+				}
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == CallGraphIndex.class;
+			}
+		};
+		fJob.setSystem(true);
+		fJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns the callers of the given member from the index.
+	 *
+	 * @param member the called member
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}, or
+	 *         <code>null</code> if the index cannot answer the callers of the member, either
+	 *         because it is not up to date or because the member is not indexed
+	 */
+	public Map<String, MethodCall> getCallers(IMember member) {
+		if (!(member instanceof IMethod))
+			return null;
+		String handle= member.getHandleIdentifier();
+		List<CallSite> sites;
+		synchronized (this) {
+			if (!fUpToDate || !fMethods.contains(handle) || fUnattributed.containsKey(handle))
+				return null;
+			List<CallSite> indexed= fCallers.get(handle);
+			sites= indexed != null ? new ArrayList<>(indexed) : new ArrayList<>(0);
+		}
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (CallSite site : sites) {
+			IJavaElement caller= JavaCore.create(site.fCaller);
+			if (caller instanceof IMember)
+				collector.addMember((IMember) caller, (IMember) caller, site.fStart, site.fEnd, site.fLineNumber);
+		}
+		return collector.getCallers();
+	}
+
+	/**
+	 * Tells whether the index reflects the current state of the workspace.
+	 *
+	 * @return <code>true</code> if the index is up to date
+	 */
+	public synchronized boolean isUpToDate() {
+		return fUpToDate;
+	}
+
+	/**
+	 * Returns the time needed by the last full build of the index.
+	 *
+	 * @return the build time in milliseconds, or <code>-1</code> if the index has not been built
+	 *         in this session
+	 */
+	public synchronized long getBuildTime() {
+		return fBuildTime;
+	}
+
+	/**
+	 * @return the number of indexed compilation units
+	 */
+	public synchronized int getUnitCount() {
+		return fUnits.size();
+	}
+
+	/**
+	 * @return the number of indexed method calls
+	 */
+	public synchronized int getCallSiteCount() {
+		return fCallSiteCount;
+	}
+
+	/**
+	 * @return the number of methods whose callers can be answered from the index
+	 */
+	public synchronized int getMethodCount() {
+		return fMethods.size();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (!processDelta(event.getDelta()))
+				return;
+			fGeneration++;
+			fUpToDate= false;
+		}
+		fJob.schedule(UPDATE_DELAY);
+	}
+
+	/**
+	 * Records the changes of the given delta.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the index has to be updated
+	 */
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return processChildren(delta);
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+								| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					fRebuild= true;
+					return true;
+				}
+				return processChildren(delta);
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					// the delta of an added or removed package does not list its compilation units
+					fDirtyPackages.add((IPackageFragment) element);
+					return true;
+				}
+				return processChildren(delta);
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() == IJavaElementDelta.CHANGED
+						&& (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) == 0)
+					return false;
+				// the update finds out whether other compilation units are affected
+				fDirtyUnits.add((ICompilationUnit) element);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private boolean processChildren(IJavaElementDelta delta) {
+		boolean changed= false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			changed|= processDelta(child);
+		}
+		return changed;
+	}
+
+	private void update(IProgressMonitor monitor) throws CoreException {
+		boolean rebuild;
+		Set<ICompilationUnit> dirtyUnits;
+		Set<IPackageFragment> dirtyPackages;
+		int generation;
+		synchronized (this) {
+			rebuild= fRebuild;
+			dirtyUnits= new HashSet<>(fDirtyUnits);
+			dirtyPackages= new HashSet<>(fDirtyPackages);
+			generation= fGeneration;
+			fRebuild= false;
+			fDirtyUnits.clear();
+			fDirtyPackages.clear();
+		}
+		boolean done= false;
+		try {
+			if (rebuild)
+				rebuild(monitor);
+			else
+				update(getUnits(dirtyUnits, dirtyPackages), monitor);
+			done= true;
+		} finally {
+			synchronized (this) {
+				if (!done) {
+					fRebuild|= rebuild;
+					fDirtyUnits.addAll(dirtyUnits);
+					fDirtyPackages.addAll(dirtyPackages);
+				} else if (generation == fGeneration && !fRebuild && fDirtyUnits.isEmpty() && fDirtyPackages.isEmpty()) {
+					fUpToDate= true;
+				}
+			}
+		}
+	}
+
+	private void rebuild(IProgressMonitor monitor) throws CoreException {
+		long start= System.currentTimeMillis();
+		Map<IJavaProject, List<ICompilationUnit>> projects= getSourceUnits();
+		SubMonitor progress= SubMonitor.convert(monitor, CallHierarchyMessages.CallGraphIndex_job_name, projects.size());
+		Map<String, UnitEntry> units= null;
+		if (!fLoaded) {
+			fLoaded= true;
+			units= load(projects);
+		}
+		if (units == null) {
+			units= new HashMap<>();
+			for (Map.Entry<IJavaProject, List<ICompilationUnit>> project : projects.entrySet()) {
+				index(project.getKey(), project.getValue(), units, progress.split(1));
+			}
+		}
+		synchronized (this) {
+			fUnits= new HashMap<>();
+			fCallers= new HashMap<>();
+			fMethods= new HashSet<>();
+			fUnattributed= new HashMap<>();
+			fCallSiteCount= 0;
+			for (Map.Entry<String, UnitEntry> unit : units.entrySet()) {
+				add(unit.getKey(), unit.getValue());
+			}
+			fBuildTime= System.currentTimeMillis() - start;
+		}
+		if (JavaManipulationPlugin.DEBUG_CALL_GRAPH_INDEX) {
+			System.out.println("CallGraphIndex: built in " + fBuildTime + " ms, " + getUnitCount() + " units, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ getMethodCount() + " methods, " + getCallSiteCount() + " calls"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Returns the given compilation units together with the compilation units that are indexed
+	 * in or contained in the given packages.
+	 */
+	private Set<ICompilationUnit> getUnits(Set<ICompilationUnit> units, Set<IPackageFragment> packages) throws JavaModelException {
+		if (packages.isEmpty())
+			return units;
+		Set<ICompilationUnit> result= new HashSet<>(units);
+		synchronized (this) {
+			for (String handle : fUnits.keySet()) {
+				IJavaElement unit= JavaCore.create(handle);
+				if (unit != null && packages.contains(unit.getParent()))
+					result.add((ICompilationUnit) unit);
+			}
+		}
+		for (IPackageFragment fragment : packages) {
+			if (fragment.exists() && fragment.getKind() == IPackageFragmentRoot.K_SOURCE)
+				result.addAll(Arrays.asList(fragment.getCompilationUnits()));
+		}
+		return result;
+	}
+
+	/**
+	 * Re-indexes the given compilation units and the compilation units whose calls or
+	 * declarations may be affected by changed declarations in them.
+	 */
+	private void update(Set<ICompilationUnit> units, IProgressMonitor monitor) {
+		SubMonitor progress= SubMonitor.convert(monitor, CallHierarchyMessages.CallGraphIndex_job_name, 2);
+		Set<String> handles= new HashSet<>();
+		for (ICompilationUnit unit : units) {
+			handles.add(unit.getHandleIdentifier());
+		}
+		Map<String, UnitEntry> entries= index(units, progress.split(1));
+		Set<String> changedCalls= new HashSet<>();
+		Set<String> changedTypes= new HashSet<>();
+		boolean typesAdded= false;
+		Set<ICompilationUnit> dependents= new HashSet<>();
+		synchronized (this) {
+			for (String handle : handles) {
+				UnitEntry oldEntry= remove(handle);
+				UnitEntry newEntry= entries.get(handle);
+				if (newEntry != null)
+					add(handle, newEntry);
+				typesAdded|= getChanges(oldEntry, newEntry, changedCalls, changedTypes);
+			}
+			if (!changedCalls.isEmpty() || !changedTypes.isEmpty())
+				collectDependents(handles, changedCalls, changedTypes, typesAdded, dependents);
+		}
+		Map<String, UnitEntry> dependentEntries= index(dependents, progress.split(1));
+		synchronized (this) {
+			for (ICompilationUnit unit : dependents) {
+				String handle= unit.getHandleIdentifier();
+				remove(handle);
+				UnitEntry entry= dependentEntries.get(handle);
+				if (entry != null)
+					add(handle, entry);
+			}
+		}
+		if (JavaManipulationPlugin.DEBUG_CALL_GRAPH_INDEX) {
+			System.out.println("CallGraphIndex: updated " + units.size() + " changed and " + dependents.size() + " dependent units"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Compares the declarations of a compilation unit before and after a change.
+	 *
+	 * @param oldEntry the old contribution of the unit, or <code>null</code> if it was not indexed
+	 * @param newEntry the new contribution of the unit, or <code>null</code> if it no longer exists
+	 * @param changedCalls collects the name and declaring type of the added and removed methods
+	 * @param changedTypes collects the removed types and the types whose supertypes have changed
+	 * @return <code>true</code> if a type has been added
+	 */
+	private static boolean getChanges(UnitEntry oldEntry, UnitEntry newEntry, Set<String> changedCalls, Set<String> changedTypes) {
+		Map<String, String> oldDeclarations= oldEntry != null ? oldEntry.fDeclarations : Collections.emptyMap();
+		Map<String, String> newDeclarations= newEntry != null ? newEntry.fDeclarations : Collections.emptyMap();
+		for (Map.Entry<String, String> declaration : oldDeclarations.entrySet()) {
+			if (!newDeclarations.containsKey(declaration.getKey()))
+				changedCalls.add(declaration.getValue());
+		}
+		for (Map.Entry<String, String> declaration : newDeclarations.entrySet()) {
+			if (!oldDeclarations.containsKey(declaration.getKey()))
+				changedCalls.add(declaration.getValue());
+		}
+		Map<String, List<String>> oldTypes= oldEntry != null ? oldEntry.fTypes : Collections.emptyMap();
+		Map<String, List<String>> newTypes= newEntry != null ? newEntry.fTypes : Collections.emptyMap();
+		for (Map.Entry<String, List<String>> type : oldTypes.entrySet()) {
+			if (!type.getValue().equals(newTypes.get(type.getKey())))
+				changedTypes.add(type.getKey());
+		}
+		return !oldTypes.keySet().containsAll(newTypes.keySet());
+	}
+
+	/**
+	 * Collects the indexed compilation units whose calls may resolve to other methods or whose
+	 * methods may override other methods after the given changes.
+	 */
+	private void collectDependents(Set<String> handles, Set<String> changedCalls, Set<String> changedTypes, boolean typesAdded, Set<ICompilationUnit> dependents) {
+		Map<String, List<String>> subtypes= new HashMap<>();
+		for (UnitEntry entry : fUnits.values()) {
+			for (Map.Entry<String, List<String>> type : entry.fTypes.entrySet()) {
+				for (String supertype : type.getValue()) {
+					subtypes.computeIfAbsent(supertype, k -> new ArrayList<>()).add(type.getKey());
+				}
+			}
+		}
+		// calls through a changed type or one of its subtypes may resolve differently
+		Set<String> receivers= getSubtypes(changedTypes, subtypes);
+		Set<String> types= new HashSet<>(receivers);
+		Set<String> calls= new HashSet<>();
+		Set<String> names= new HashSet<>();
+		for (String call : changedCalls) {
+			int separator= call.indexOf(' ');
+			String name= call.substring(0, separator);
+			names.add(name);
+			for (String type : getSubtypes(Collections.singleton(call.substring(separator + 1)), subtypes)) {
+				types.add(type);
+				calls.add(name + ' ' + type);
+			}
+		}
+		for (Map.Entry<String, UnitEntry> unit : fUnits.entrySet()) {
+			UnitEntry entry= unit.getValue();
+			if (handles.contains(unit.getKey()))
+				continue;
+			if (intersects(entry.fReceivers, receivers) || intersects(entry.fTypes.keySet(), types) || intersects(entry.fCalls, calls)
+					|| intersects(entry.fUnresolved, names) || typesAdded && !entry.fUnresolved.isEmpty()) {
+				dependents.add((ICompilationUnit) JavaCore.create(unit.getKey()));
+			}
+		}
+	}
+
+	private static Set<String> getSubtypes(Set<String> types, Map<String, List<String>> subtypes) {
+		Set<String> result= new HashSet<>(types);
+		List<String> pending= new ArrayList<>(types);
+		while (!pending.isEmpty()) {
+			List<String> direct= subtypes.get(pending.remove(pending.size() - 1));
+			if (direct != null) {
+				for (String type : direct) {
+					if (result.add(type))
+						pending.add(type);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static boolean intersects(Set<String> set, Set<String> other) {
+		if (set.size() > other.size())
+			return intersects(other, set);
+		for (String element : set) {
+			if (other.contains(element))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Indexes the given compilation units.
+	 *
+	 * @return the contributions of the units that exist
+	 */
+	private static Map<String, UnitEntry> index(Set<ICompilationUnit> units, IProgressMonitor monitor) {
+		Map<IJavaProject, List<ICompilationUnit>> projects= new HashMap<>();
+		for (ICompilationUnit unit : units) {
+			if (unit.exists())
+				projects.computeIfAbsent(unit.getJavaProject(), k -> new ArrayList<>()).add(unit);
+		}
+		SubMonitor progress= SubMonitor.convert(monitor, units.size());
+		Map<String, UnitEntry> entries= new HashMap<>();
+		for (Map.Entry<IJavaProject, List<ICompilationUnit>> project : projects.entrySet()) {
+			index(project.getKey(), project.getValue(), entries, progress.split(project.getValue().size()));
+		}
+		return entries;
+	}
+
+	private static Map<IJavaProject, List<ICompilationUnit>> getSourceUnits() throws JavaModelException {
+		Map<IJavaProject, List<ICompilationUnit>> projects= new HashMap<>();
+		for (IJavaProject project : JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects()) {
+			List<ICompilationUnit> units= new ArrayList<>();
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (root.getKind() != IPackageFragmentRoot.K_SOURCE || !project.equals(root.getJavaProject()))
+					continue;
+				for (IJavaElement child : root.getChildren()) {
+					for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+						units.add(unit);
+					}
+				}
+			}
+			if (!units.isEmpty())
+				projects.put(project, units);
+		}
+		return projects;
+	}
+
+	private static void index(IJavaProject project, List<ICompilationUnit> units, final Map<String, UnitEntry> entries, IProgressMonitor monitor) {
+		SubMonitor progress= SubMonitor.convert(monitor, units.size());
+		// the units of a batch share one lookup environment, which is released after the batch
+		for (int i= 0; i < units.size(); i+= BATCH_SIZE) {
+			List<ICompilationUnit> batch= units.subList(i, Math.min(units.size(), i + BATCH_SIZE));
+			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+			parser.setProject(project);
+			parser.setResolveBindings(true);
+			parser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					entries.put(source.getHandleIdentifier(), index(source, ast));
+				}
+			}, progress.split(batch.size()));
+		}
+	}
+
+	private static UnitEntry index(ICompilationUnit unit, CompilationUnit ast) {
+		UnitEntry entry= new UnitEntry(getStamp(unit));
+		ast.accept(new UnitIndexer(unit, ast, entry));
+		return entry;
+	}
+
+	private static long getStamp(ICompilationUnit unit) {
+		IResource resource= unit.getResource();
+		if (resource == null || unit.hasUnsavedChanges())
+			return IResource.NULL_STAMP;
+		return resource.getModificationStamp();
+	}
+
+	private void add(String handle, UnitEntry entry) {
+		fUnits.put(handle, entry);
+		fMethods.addAll(entry.fMethods);
+		for (int i= 0; i < entry.fSites.size(); i++) {
+			fCallers.computeIfAbsent(entry.fCallees.get(i), k -> new ArrayList<>(2)).add(entry.fSites.get(i));
+		}
+		for (String callee : entry.fUnattributed) {
+			fUnattributed.merge(callee, 1, Integer::sum);
+		}
+		fCallSiteCount+= entry.fSites.size();
+	}
+
+	private UnitEntry remove(String handle) {
+		UnitEntry entry= fUnits.remove(handle);
+		if (entry == null)
+			return null;
+		fMethods.removeAll(entry.fMethods);
+		for (int i= 0; i < entry.fSites.size(); i++) {
+			String callee= entry.fCallees.get(i);
+			List<CallSite> sites= fCallers.get(callee);
+			if (sites != null) {
+				CallSite site= entry.fSites.get(i);
+				sites.removeIf(each -> each == site);
+				if (sites.isEmpty())
+					fCallers.remove(callee);
+			}
+		}
+		for (String callee : entry.fUnattributed) {
+			fUnattributed.computeIfPresent(callee, (k, count) -> count == 1 ? null : Integer.valueOf(count - 1));
+		}
+		fCallSiteCount-= entry.fSites.size();
+		return entry;
+	}
+
+	private static File getIndexFile() {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		return plugin.getStateLocation().append(INDEX_FILE_NAME).toFile();
+	}
+
+	/**
+	 * Loads the index saved by the last session.
+	 *
+	 * @param projects the current source compilation units
+	 * @return the saved contributions of the compilation units, or <code>null</code> if there is no
+	 *         saved index or if a compilation unit has been added, removed or changed since
+	 */
+	private static Map<String, UnitEntry> load(Map<IJavaProject, List<ICompilationUnit>> projects) {
+		File file= getIndexFile();
+		if (file == null || !file.isFile())
+			return null;
+		Map<String, Long> stamps= new HashMap<>();
+		for (List<ICompilationUnit> units : projects.values()) {
+			for (ICompilationUnit unit : units) {
+				stamps.put(unit.getHandleIdentifier(), Long.valueOf(getStamp(unit)));
+			}
+		}
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != VERSION)
+				return null;
+			List<String> strings= new ArrayList<>();
+			int unitCount= input.readInt();
+			if (unitCount != stamps.size())
+				return null;
+			Map<String, UnitEntry> units= new HashMap<>();
+			for (int i= 0; i < unitCount; i++) {
+				String handle= readString(input, strings);
+				UnitEntry entry= new UnitEntry(input.readLong());
+				Long stamp= stamps.get(handle);
+				if (stamp == null || entry.fStamp == IResource.NULL_STAMP || stamp.longValue() != entry.fStamp)
+					return null;
+				for (int j= input.readInt(); j > 0; j--) {
+					entry.fMethods.add(readString(input, strings));
+				}
+				for (int j= input.readInt(); j > 0; j--) {
+					entry.fCallees.add(readString(input, strings));
+					entry.fSites.add(new CallSite(readString(input, strings), input.readInt(), input.readInt(), input.readInt()));
+				}
+				readStrings(input, entry.fUnattributed, strings);
+				for (int j= input.readInt(); j > 0; j--) {
+					String type= readString(input, strings);
+					List<String> supertypes= new ArrayList<>(2);
+					readStrings(input, supertypes, strings);
+					entry.fTypes.put(type, supertypes);
+				}
+				for (int j= input.readInt(); j > 0; j--) {
+					entry.fDeclarations.put(readString(input, strings), readString(input, strings));
+				}
+				readStrings(input, entry.fReceivers, strings);
+				readStrings(input, entry.fCalls, strings);
+				readStrings(input, entry.fUnresolved, strings);
+				units.put(handle, entry);
+			}
+			return units;
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			return null;
+		}
+	}
+
+	private synchronized void save() {
+		File file= getIndexFile();
+		if (file == null)
+			return;
+		file.delete();
+		if (!fUpToDate)
+			return;
+		Map<String, Integer> strings= new HashMap<>();
+		try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			output.writeInt(VERSION);
+			output.writeInt(fUnits.size());
+			for (Map.Entry<String, UnitEntry> unit : fUnits.entrySet()) {
+				UnitEntry entry= unit.getValue();
+				writeString(output, unit.getKey(), strings);
+				output.writeLong(entry.fStamp);
+				output.writeInt(entry.fMethods.size());
+				for (String method : entry.fMethods) {
+					writeString(output, method, strings);
+				}
+				output.writeInt(entry.fSites.size());
+				for (int i= 0; i < entry.fSites.size(); i++) {
+					CallSite site= entry.fSites.get(i);
+					writeString(output, entry.fCallees.get(i), strings);
+					writeString(output, site.fCaller, strings);
+					output.writeInt(site.fStart);
+					output.writeInt(site.fEnd);
+					output.writeInt(site.fLineNumber);
+				}
+				writeStrings(output, entry.fUnattributed, strings);
+				output.writeInt(entry.fTypes.size());
+				for (Map.Entry<String, List<String>> type : entry.fTypes.entrySet()) {
+					writeString(output, type.getKey(), strings);
+					writeStrings(output, type.getValue(), strings);
+				}
+				output.writeInt(entry.fDeclarations.size());
+				for (Map.Entry<String, String> declaration : entry.fDeclarations.entrySet()) {
+					writeString(output, declaration.getKey(), strings);
+					writeString(output, declaration.getValue(), strings);
+				}
+				writeStrings(output, entry.fReceivers, strings);
+				writeStrings(output, entry.fCalls, strings);
+				writeStrings(output, entry.fUnresolved, strings);
+			}
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			file.delete();
+		}
+	}
+
+	/**
+	 * Writes the index of a string that has already been written, or the string itself preceded
+	 * by the next index.
+	 */
+	private static void writeString(DataOutputStream output, String string, Map<String, Integer> strings) throws IOException {
+		Integer index= strings.get(string);
+		if (index != null) {
+			output.writeInt(index.intValue());
+		} else {
+			output.writeInt(strings.size());
+			output.writeUTF(string);
+			strings.put(string, Integer.valueOf(strings.size()));
+		}
+	}
+
+	private static void writeStrings(DataOutputStream output, Collection<String> collection, Map<String, Integer> strings) throws IOException {
+		output.writeInt(collection.size());
+		for (String string : collection) {
+			writeString(output, string, strings);
+		}
+	}
+
+	private static void readStrings(DataInputStream input, Collection<String> collection, List<String> strings) throws IOException {
+		for (int i= input.readInt(); i > 0; i--) {
+			collection.add(readString(input, strings));
+		}
+	}
+
+	private static String readString(DataInputStream input, List<String> strings) throws IOException {
+		int index= input.readInt();
+		if (index == strings.size()) {
+			String string= input.readUTF();
+			strings.add(string);
+			return string;
+		}
+		if (index < 0 || index > strings.size())
+			throw new IOException("Corrupt call graph index"); //$NON-NLS-1$
+		return strings.get(index);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ public class CallHierarchyCore {
     private static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    private static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
 
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
@@ -101,6 +102,25 @@ public class CallHierarchyCore {
         return new ArrayList<>(0);
     }
 
+	/**
+	 * Tells whether callers are looked up in the {@link CallGraphIndex} before searching. The
+	 * index is used unless the preference is set to <code>false</code>.
+	 *
+	 * @return <code>true</code> if the call graph index is used
+	 */
+	public boolean isCallGraphIndexEnabled() {
+		return !Boolean.FALSE.toString().equals(JavaManipulation.getPreference(PREF_USE_CALL_GRAPH_INDEX, null));
+	}
+
+	/**
+	 * Returns the call graph index, which is built on first access.
+	 *
+	 * @return the call graph index, or <code>null</code> if it is disabled
+	 */
+	public CallGraphIndex getCallGraphIndex() {
+		return isCallGraphIndexEnabled() ? CallGraphIndex.getDefault() : null;
+	}
+
     public MethodWrapper[] getCallerRoots(IMember[] members) {
         return getRoots(members, true);
     }
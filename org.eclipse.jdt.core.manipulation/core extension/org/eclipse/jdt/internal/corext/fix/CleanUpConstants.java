@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1971,6 +1971,20 @@ public class CleanUpConstants {
 	 */
 	public static final String SHOW_CLEAN_UP_WIZARD= "cleanup.showwizard"; //$NON-NLS-1$
 
+	/**
+	 * The number of worker threads used by the clean up refactoring to parse the compilation
+	 * units of a project. The fixes are always calculated on the calling thread, one compilation
+	 * unit at a time.<br>
+	 * <br>
+	 * Possible values: Integer value, <code>1</code> parses all compilation units on the calling
+	 * thread and a value less than <code>1</code> uses one thread per available processor<br>
+	 * Default value: <code><b>0</b></code><br>
+	 * <br>
+	 *
+	 * @since 4.20
+	 */
+	public static final String CLEANUP_PARALLEL_THREADS= "cleanup.parallel_threads"; //$NON-NLS-1$
+
 	/**
 	 * A key to a serialized string in the <code>InstanceScope</code> containing all the profiles.<br>
 	 * Following code snippet can load the profiles:
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,16 @@
 package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
@@ -26,17 +32,28 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Every type contained in a cached hierarchy is indexed in a concurrent map, such that lookups
+ * do not need a global lock. The cache is bounded by the number of hierarchies and by the
+ * total number of types in all hierarchies (the weight); the least recently accessed
+ * hierarchies are evicted first. Concurrent requests for the same type wait for a single
+ * computation of the hierarchy.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
+			fMethodOverrideTesters= new ConcurrentHashMap<>();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
@@ -50,36 +67,75 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public int getWeight() {
+			return fTypes.length;
+		}
+
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy == null) // disposed concurrently, hand out a tester that is not cached
+				return null;
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, hierarchy));
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= fgAccessCounter.incrementAndGet();
 		}
 
 		public long getLastAccess() {
 			return fLastAccess;
 		}
 
+		public boolean isValid() {
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return hierarchy != null && hierarchy.exists();
+		}
+
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
 				fTypeHierarchy= null;
+				hierarchy.removeTypeHierarchyChangedListener(this);
 			}
+			fMethodOverrideTesters.clear();
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return "Super hierarchy of: " + (hierarchy != null ? hierarchy.getType().getElementName() : "<disposed>"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	private static final int DEFAULT_CACHE_SIZE= 32;
+	private static final int DEFAULT_CACHE_WEIGHT= 4000;
+
+	private static volatile int fgMaxSize= DEFAULT_CACHE_SIZE;
+	private static volatile int fgMaxWeight= DEFAULT_CACHE_WEIGHT;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	/** all cached hierarchies */
+	private static final Map<HierarchyCacheEntry, Boolean> fgHierarchyCache= new ConcurrentHashMap<>();
+	/** maps every type of a cached hierarchy to its entry */
+	private static final Map<IType, HierarchyCacheEntry> fgTypeIndex= new ConcurrentHashMap<>();
+	/** maps every type of a cached hierarchy to all entries that contain it, guarded by {@link #fgEvictionLock} */
+	private static final Map<IType, List<HierarchyCacheEntry>> fgContainingEntries= new HashMap<>();
+	/** hierarchies currently being computed, keyed by focus type */
+	private static final Map<IType, CompletableFuture<HierarchyCacheEntry>> fgPending= new ConcurrentHashMap<>();
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	/** guards modifications of the set of cached hierarchies, lookups do not need it */
+	private static final Object fgEvictionLock= new Object();
+	private static int fgWeight= 0;
+
+	private static final AtomicLong fgAccessCounter= new AtomicLong();
+	private static final AtomicLong fgCacheHits= new AtomicLong();
+	private static final AtomicLong fgCacheMisses= new AtomicLong();
+	private static final AtomicLong fgCacheEvictions= new AtomicLong();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,34 +153,14 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
+		HierarchyCacheEntry entry= getHierarchyEntry(type, null);
+		MethodOverrideTester test= entry.getMethodOverrideTester(type);
 		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
+			test= new MethodOverrideTester(type, getTypeHierarchy(type));
 		}
 		return test;
 	}
 
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
-			}
-		}
-	}
-
 	/**
 	 * Returns a super type hierarchy that contains the given type.
 	 * The returned hierarchy may actually be based on a subtype of the
@@ -138,44 +174,86 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
-		}
+		ITypeHierarchy hierarchy= getHierarchyEntry(type, progressMonitor).getTypeHierarchy();
+		if (hierarchy == null) // evicted or invalidated right after the lookup
+			hierarchy= getTypeHierarchy(type, progressMonitor);
 		return hierarchy;
 	}
 
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
-				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
+	private static HierarchyCacheEntry getHierarchyEntry(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
+		while (true) {
+			HierarchyCacheEntry entry= findHierarchyEntryInCache(type);
+			if (entry != null) {
+				fgCacheHits.incrementAndGet();
+				return entry;
+			}
+
+			CompletableFuture<HierarchyCacheEntry> future= new CompletableFuture<>();
+			CompletableFuture<HierarchyCacheEntry> pending= fgPending.putIfAbsent(type, future);
+			if (pending != null) {
+				// another thread is computing the hierarchy, wait for it
+				try {
+					entry= pending.get();
+					fgCacheHits.incrementAndGet();
+					return entry;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					// the computing thread failed or was canceled: retry with our own monitor
+					continue;
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
+			}
+
+			fgCacheMisses.incrementAndGet();
+			try {
+				entry= new HierarchyCacheEntry(type.newSupertypeHierarchy(progressMonitor));
+				addHierarchyEntryToCache(entry);
+				future.complete(entry);
+				return entry;
+			} catch (Throwable e) {
+				// also complete on errors, waiting threads would block forever otherwise
+				future.completeExceptionally(e);
+				throw e;
+			} finally {
+				fgPending.remove(type, future);
+			}
+		}
+	}
+
+	private static void addHierarchyEntryToCache(HierarchyCacheEntry newEntry) {
+		synchronized (fgEvictionLock) {
+			// remove obsolete entries: hierarchies that no longer exist or are subsumed by the new one
+			ITypeHierarchy hierarchy= newEntry.getTypeHierarchy();
+			List<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>();
+			for (HierarchyCacheEntry entry : fgHierarchyCache.keySet()) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (curr == null || !curr.exists() || hierarchy.contains(curr.getType())) {
+					obsoleteHierarchies.add(entry);
+				}
+			}
+			for (HierarchyCacheEntry entry : obsoleteHierarchies) {
+				removeHierarchyEntryFromCache(entry);
+			}
+
+			fgHierarchyCache.put(newEntry, Boolean.TRUE);
+			fgWeight+= newEntry.getWeight();
+			for (IType type : newEntry.getTypes()) {
+				fgTypeIndex.put(type, newEntry);
+				fgContainingEntries.computeIfAbsent(type, t -> new ArrayList<>(1)).add(newEntry);
+			}
+
+			// evict least recently accessed hierarchies, but always keep the new one
+			while (fgHierarchyCache.size() > 1 && (fgHierarchyCache.size() > fgMaxSize || fgWeight > fgMaxWeight)) {
+				HierarchyCacheEntry oldest= null;
+				for (HierarchyCacheEntry entry : fgHierarchyCache.keySet()) {
+					if (entry != newEntry && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
 				}
+				removeHierarchyEntryFromCache(oldest);
+				fgCacheEvictions.incrementAndGet();
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
 	}
 
@@ -186,43 +264,88 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findHierarchyEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
+	private static HierarchyCacheEntry findHierarchyEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgTypeIndex.get(type);
+		if (entry != null) {
+			if (entry.isValid()) {
+				entry.markAsAccessed();
+				return entry;
 			}
+			removeHierarchyEntryFromCache(entry);
 		}
 		return null;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
+		synchronized (fgEvictionLock) {
+			if (fgHierarchyCache.remove(entry) == null)
+				return;
+
+			fgWeight-= entry.getWeight();
+			for (IType type : entry.getTypes()) {
+				List<HierarchyCacheEntry> containing= fgContainingEntries.get(type);
+				containing.remove(entry);
+				if (containing.isEmpty()) {
+					fgContainingEntries.remove(type);
+					fgTypeIndex.remove(type, entry);
+				} else if (fgTypeIndex.get(type) == entry) {
+					// the type is also contained in another cached hierarchy
+					fgTypeIndex.put(type, containing.get(containing.size() - 1));
+				}
+			}
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
 		}
 	}
 
+	/**
+	 * Sets the bounds of the cache. Hierarchies are evicted until both bounds are satisfied.
+	 *
+	 * @param maxSize the maximal number of cached hierarchies
+	 * @param maxWeight the maximal number of types in all cached hierarchies
+	 */
+	public static void setCacheLimits(int maxSize, int maxWeight) {
+		synchronized (fgEvictionLock) {
+			fgMaxSize= Math.max(1, maxSize);
+			fgMaxWeight= Math.max(1, maxWeight);
+			while (fgHierarchyCache.size() > fgMaxSize || fgWeight > fgMaxWeight) {
+				HierarchyCacheEntry oldest= null;
+				for (HierarchyCacheEntry entry : fgHierarchyCache.keySet()) {
+					if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
+						oldest= entry;
+					}
+				}
+				if (oldest == null)
+					break;
+				removeHierarchyEntryFromCache(oldest);
+				fgCacheEvictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Removes all hierarchies from the cache and resets the statistics. Used for testing.
+	 */
+	public static void clear() {
+		synchronized (fgEvictionLock) {
+			for (HierarchyCacheEntry entry : new ArrayList<>(fgHierarchyCache.keySet())) {
+				removeHierarchyEntryFromCache(entry);
+			}
+			fgCacheHits.set(0);
+			fgCacheMisses.set(0);
+			fgCacheEvictions.set(0);
+		}
+	}
 
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return (int) fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +353,32 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return (int) fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that were evicted to satisfy the bounds of the cache.
+	 * Hierarchies that became obsolete are not counted.
+	 * @return the number of evictions
+	 */
+	public static int getCacheEvictions() {
+		return (int) fgCacheEvictions.get();
+	}
+
+	/**
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
+	}
+
+	/**
+	 * @return the number of types in all cached hierarchies
+	 */
+	public static int getCacheWeight() {
+		synchronized (fgEvictionLock) {
+			return fgWeight;
+		}
 	}
 
 	private SuperTypeHierarchyCache() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,7 +38,9 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryEngine;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestStatistics;
 
 /**
  * The plug-in runtime class for the JUnit core plug-in.
@@ -85,6 +87,10 @@ public class JUnitCorePlugin extends Plugin {
 
 	private final JUnitModel fJUnitModel= new JUnitModel();
 
+	private final TestStatistics fTestStatistics= new TestStatistics();
+
+	private boolean fTestStatisticsRegistered;
+
 
 	/**
 	 * List storing the registered test run listeners
@@ -143,6 +149,8 @@ public class JUnitCorePlugin extends Plugin {
 		try {
 			InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).flush();
 			fJUnitModel.stop();
+			TestDiscoveryEngine.dispose();
+			fTestStatistics.flush();
 		} finally {
 			super.stop(context);
 		}
@@ -282,6 +290,21 @@ public class JUnitCorePlugin extends Plugin {
 		return fNewTestRunListeners;
 	}
 
+	public TestStatistics getTestStatistics() {
+		return fTestStatistics;
+	}
+
+	/**
+	 * Starts recording the results of test runs in the test statistics. Called by launches that
+	 * prioritize or shard their tests.
+	 */
+	public synchronized void registerTestStatistics() {
+		if (!fTestStatisticsRegistered) {
+			fTestStatisticsRegistered= true;
+			fNewTestRunListeners.add(fTestStatistics);
+		}
+	}
+
 	public static boolean isStopped() {
 		return fIsStopped;
 	}
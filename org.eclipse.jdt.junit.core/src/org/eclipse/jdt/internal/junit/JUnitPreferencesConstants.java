@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,12 @@ public class JUnitPreferencesConstants {
 
 	public static final boolean ENABLE_ASSERTIONS_DEFAULT= true;
 
+	/**
+	 * Boolean preference controlling whether the test runner is asked to report the test run in
+	 * the batched binary protocol instead of the line-based text protocol.
+	 */
+	public static final String BINARY_PROTOCOL= JUnitCorePlugin.PLUGIN_ID + ".binary_protocol"; //$NON-NLS-1$
+
 	/**
 	 * List of active stack filters. A String containing a comma separated list
 	 * of fully qualified type names/patterns.
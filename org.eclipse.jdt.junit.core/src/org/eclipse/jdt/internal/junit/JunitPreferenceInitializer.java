@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,7 @@ public class JunitPreferenceInitializer extends AbstractPreferenceInitializer {
 
 		prefs.putBoolean(JUnitPreferencesConstants.SHOW_ON_ERROR_ONLY, false);
 		prefs.putBoolean(JUnitPreferencesConstants.ENABLE_ASSERTIONS, JUnitPreferencesConstants.ENABLE_ASSERTIONS_DEFAULT);
+		prefs.putBoolean(JUnitPreferencesConstants.BINARY_PROTOCOL, true);
 
 		List<String> defaults= JUnitPreferencesConstants.createDefaultStackFiltersList();
 		String[] filters= defaults.toArray(new String[defaults.size()]);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -37,6 +38,8 @@ import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 
 public class JUnit3TestFinder implements ITestFinder {
 
+	private final TestDiscoveryEngine fDiscoveryEngine= new TestDiscoveryEngine(TestKindRegistry.JUNIT3_TEST_KIND_ID, this::isTest);
+
 	@Override
 	public void findTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		if (element == null || result == null) {
@@ -54,11 +57,7 @@ public class JUnit3TestFinder implements ITestFinder {
 				}
 			} else if (element instanceof ICompilationUnit) {
 				IType[] types= ((ICompilationUnit) element).getAllTypes();
-				for (IType type : types) {
-					if (isTest(type)) {
-						result.add(type);
-					}
-				}
+				result.addAll(fDiscoveryEngine.findTests(Arrays.asList(types), null, pm));
 			} else {
 				findTestCases(element, result, new SubProgressMonitor(pm, 7));
 				if (pm.isCanceled()) {
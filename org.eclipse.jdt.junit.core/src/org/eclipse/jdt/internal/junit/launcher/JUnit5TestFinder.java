@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -193,6 +195,8 @@ public class JUnit5TestFinder implements ITestFinder {
 		}
 	}
 
+	private final TestDiscoveryEngine fDiscoveryEngine= new TestDiscoveryEngine(TestKindRegistry.JUNIT5_TEST_KIND_ID, this::isTest);
+
 	@Override
 	public void findTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		if (element == null || result == null) {
@@ -218,11 +222,15 @@ public class JUnit5TestFinder implements ITestFinder {
 			IType[] allClasses= hierarchy.getAllClasses();
 
 			// search for all types with references to RunWith and Test and all subclasses
+			List<IType> candidates= new ArrayList<>(allClasses.length);
 			for (IType type : allClasses) {
-				if (internalIsTest(type, pm) && region.contains(type)) {
-					addTypeAndSubtypes(type, result, hierarchy);
+				if (region.contains(type)) {
+					candidates.add(type);
 				}
 			}
+			for (IType type : fDiscoveryEngine.findTests(candidates, hierarchy, pm)) {
+				addTypeAndSubtypes(type, result, hierarchy);
+			}
 
 			// add all classes implementing JUnit 3.8's Test interface in the region
 			IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,6 +40,10 @@ public class JUnitLaunchConfigurationConstants {
 
 
 
+	/**
+	 * The port the test runner connects to. If the tests of a launch are distributed to several
+	 * VMs, the ports of all VMs separated by commas.
+	 */
 	public static final String ATTR_PORT= JUnitCorePlugin.PLUGIN_ID+".PORT"; //$NON-NLS-1$
 
 	public static final String ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY= JUnitCorePlugin.PLUGIN_ID + ".DONT_ADD_MISSING_JUNIT5_DEPENDENCY"; //$NON-NLS-1$
@@ -62,6 +66,21 @@ public class JUnitLaunchConfigurationConstants {
 	public static final String ATTR_TEST_METHOD_NAME= ATTR_TEST_NAME;
 
 	public static final String ATTR_KEEPRUNNING = JUnitCorePlugin.PLUGIN_ID+ ".KEEPRUNNING_ATTR"; //$NON-NLS-1$
+	/**
+	 * Whether the test runner stays alive after a test run (in run and debug mode) and runs
+	 * the tests again on request, reloading only changed classes.
+	 */
+	public static final String ATTR_DAEMON = JUnitCorePlugin.PLUGIN_ID+ ".DAEMON_ATTR"; //$NON-NLS-1$
+	/**
+	 * Whether recently failed tests and then the fastest tests run first, based on the recorded
+	 * {@link org.eclipse.jdt.internal.junit.model.TestStatistics}.
+	 */
+	public static final String ATTR_PRIORITIZE = JUnitCorePlugin.PLUGIN_ID+ ".PRIORITIZE_ATTR"; //$NON-NLS-1$
+	/**
+	 * The number of test VMs the test classes of a run are distributed to, balanced by the
+	 * recorded test durations. Values below 2 run all tests in a single VM.
+	 */
+	public static final String ATTR_SHARDS = JUnitCorePlugin.PLUGIN_ID+ ".SHARDS_ATTR"; //$NON-NLS-1$
 	/**
 	 * The launch container, or "" iff running a single test type.
 	 */
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Evaluates whether candidate types are tests, shared by the test finders.
+ * <p>
+ * Candidates are grouped by package fragment root and evaluated in parallel. The result for a type
+ * is remembered together with the modification stamps of the type and its super types, so that a
+ * later search only examines types whose sources (or the sources of their super types) changed.
+ * Changes that can affect any result without touching these sources (classpath changes, changed
+ * archives and changed annotation types) clear the cache.
+ * </p>
+ * <p>
+ * This class is public for testing only.
+ * </p>
+ */
+public final class TestDiscoveryEngine {
+
+	/**
+	 * Decides whether a single type is a test.
+	 */
+	public interface ITypeTester {
+		boolean isTest(IType type) throws JavaModelException;
+	}
+
+	private static final class CachedResult {
+		final long fStamp;
+		final boolean fIsTest;
+
+		CachedResult(long stamp, boolean isTest) {
+			fStamp= stamp;
+			fIsTest= isTest;
+		}
+	}
+
+	private static final long NO_STAMP= IResource.NULL_STAMP;
+
+	/**
+	 * Number of candidates evaluated by one task.
+	 */
+	private static final int CHUNK_SIZE= 32;
+
+	/**
+	 * Upper bound for the number of remembered results, the cache is cleared when it is exceeded.
+	 */
+	private static final int MAX_CACHE_SIZE= 100000;
+
+	/**
+	 * Results per test kind and type handle.
+	 */
+	private static final Map<String, CachedResult> fgCache= new ConcurrentHashMap<>();
+
+	private static IElementChangedListener fgListener;
+
+	private static ExecutorService fgExecutor;
+
+	private final String fKind;
+	private final ITypeTester fTester;
+
+	/**
+	 * @param kind identifies the tester, results of different testers are cached separately
+	 * @param tester the tester
+	 */
+	public TestDiscoveryEngine(String kind, ITypeTester tester) {
+		fKind= kind;
+		fTester= tester;
+	}
+
+	/**
+	 * Evaluates the given candidates and adds the ones that are tests to the result.
+	 *
+	 * @param candidates the types to examine
+	 * @param hierarchy a hierarchy that contains the candidates and their super types, or
+	 *            <code>null</code> to not use or update the cache
+	 * @param pm the progress monitor, only used for cancellation
+	 * @return the candidates that are tests, in the order of the candidates
+	 * @throws CoreException if a type could not be examined
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public List<IType> findTests(Collection<IType> candidates, ITypeHierarchy hierarchy, IProgressMonitor pm) throws CoreException {
+		if (hierarchy != null) {
+			installListener();
+		}
+		List<List<IType>> chunks= createChunks(candidates);
+		List<IType> result= new ArrayList<>();
+		if (chunks.isEmpty()) {
+			return result;
+		}
+		if (chunks.size() == 1) {
+			evaluate(chunks.get(0), hierarchy, pm, result);
+			return result;
+		}
+
+		ExecutorService executor= getExecutor();
+		List<Future<List<IType>>> futures= new ArrayList<>(chunks.size());
+		try {
+			for (List<IType> chunk : chunks) {
+				futures.add(executor.submit(() -> {
+					List<IType> tests= new ArrayList<>();
+					evaluate(chunk, hierarchy, pm, tests);
+					return tests;
+				}));
+			}
+			for (Future<List<IType>> future : futures) {
+				result.addAll(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, cause.getMessage(), cause));
+		} finally {
+			for (Future<List<IType>> future : futures) {
+				future.cancel(false);
+			}
+		}
+		return result;
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			fgExecutor= Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				Thread thread= new Thread(runnable, "JUnit Test Discovery"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+
+	private static synchronized void installListener() {
+		if (fgListener == null) {
+			fgListener= event -> {
+				if (affectsResults(event.getDelta())) {
+					clearCache();
+				}
+			};
+			JavaCore.addElementChangedListener(fgListener, ElementChangedEvent.POST_CHANGE);
+		}
+	}
+
+	/**
+	 * Removes the element changed listener, clears the cache and shuts down the shared executor.
+	 * Called when the plug-in is stopped.
+	 */
+	public static synchronized void dispose() {
+		if (fgListener != null) {
+			JavaCore.removeElementChangedListener(fgListener);
+			fgListener= null;
+		}
+		if (fgExecutor != null) {
+			fgExecutor.shutdownNow();
+			fgExecutor= null;
+		}
+		clearCache();
+	}
+
+	/**
+	 * Forgets all remembered results.
+	 */
+	public static void clearCache() {
+		fgCache.clear();
+	}
+
+	/**
+	 * Returns whether the given delta contains a change that can alter the result for a type
+	 * without changing the modification stamp of the type or its super types.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the cache has to be cleared
+	 */
+	private static boolean affectsResults(IJavaElementDelta delta) {
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (kind != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (kind != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+								| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_REORDER)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind == IJavaElementDelta.REMOVED) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind == IJavaElementDelta.REMOVED) {
+					return true;
+				}
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 || kind == IJavaElementDelta.ADDED) {
+					return declaresAnnotation((ICompilationUnit) delta.getElement());
+				}
+				return false;
+			case IJavaElement.CLASS_FILE:
+				return false;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsResults(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean declaresAnnotation(ICompilationUnit cu) {
+		try {
+			for (IType type : cu.getAllTypes()) {
+				if (type.isAnnotation()) {
+					return true;
+				}
+			}
+			return false;
+		} catch (JavaModelException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Groups the candidates by package fragment root and splits large groups into chunks.
+	 *
+	 * @param candidates the candidates
+	 * @return the chunks
+	 */
+	private static List<List<IType>> createChunks(Collection<IType> candidates) {
+		Map<IJavaElement, List<IType>> byRoot= new LinkedHashMap<>();
+		for (IType type : candidates) {
+			IJavaElement root= type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+			byRoot.computeIfAbsent(root, r -> new ArrayList<>()).add(type);
+		}
+		List<List<IType>> chunks= new ArrayList<>();
+		for (List<IType> types : byRoot.values()) {
+			for (int i= 0; i < types.size(); i+= CHUNK_SIZE) {
+				chunks.add(types.subList(i, Math.min(i + CHUNK_SIZE, types.size())));
+			}
+		}
+		return chunks;
+	}
+
+	private void evaluate(List<IType> types, ITypeHierarchy hierarchy, IProgressMonitor pm, List<IType> result) throws JavaModelException {
+		for (IType type : types) {
+			if (pm != null && pm.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (isTest(type, hierarchy)) {
+				result.add(type);
+			}
+		}
+	}
+
+	private boolean isTest(IType type, ITypeHierarchy hierarchy) throws JavaModelException {
+		if (hierarchy == null) {
+			return fTester.isTest(type);
+		}
+		long stamp= getStamp(type, hierarchy);
+		if (stamp == NO_STAMP) {
+			return fTester.isTest(type);
+		}
+		String key= fKind + '#' + type.getHandleIdentifier();
+		CachedResult cached= fgCache.get(key);
+		if (cached != null && cached.fStamp == stamp) {
+			return cached.fIsTest;
+		}
+		boolean isTest= fTester.isTest(type);
+		if (fgCache.size() >= MAX_CACHE_SIZE) {
+			fgCache.clear();
+		}
+		fgCache.put(key, new CachedResult(stamp, isTest));
+		return isTest;
+	}
+
+	/**
+	 * Combines the modification stamps of the given type and its super types.
+	 *
+	 * @param type the type
+	 * @param hierarchy the hierarchy containing the super types
+	 * @return the combined stamp or {@link #NO_STAMP} if the type can't be cached, e.g. because a
+	 *         working copy has unsaved changes
+	 * @throws JavaModelException if a stamp could not be determined
+	 */
+	private static long getStamp(IType type, ITypeHierarchy hierarchy) throws JavaModelException {
+		long stamp= getOwnStamp(type);
+		if (stamp == NO_STAMP) {
+			return NO_STAMP;
+		}
+		for (IType superType : hierarchy.getAllSupertypes(type)) {
+			long superStamp= getOwnStamp(superType);
+			if (superStamp == NO_STAMP) {
+				return NO_STAMP;
+			}
+			stamp= 31 * stamp + superStamp;
+		}
+		return stamp == NO_STAMP ? 0 : stamp;
+	}
+
+	private static long getOwnStamp(IType type) throws JavaModelException {
+		ICompilationUnit cu= type.getCompilationUnit();
+		if (cu != null && cu.isWorkingCopy() && cu.hasUnsavedChanges()) {
+			return NO_STAMP;
+		}
+		IResource resource= type.getResource();
+		if (resource != null) {
+			return resource.getModificationStamp();
+		}
+		IPackageFragmentRoot root= (IPackageFragmentRoot) type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root != null && root.isExternal()) {
+			File file= root.getPath().toFile();
+			long lastModified= file.lastModified();
+			return lastModified == 0 ? NO_STAMP : lastModified;
+		}
+		return NO_STAMP;
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+/**
+ * Reads the frames sent by a {@link BinaryMessageWriter} and turns their records back into the
+ * messages of the text protocol.
+ *
+ * @since 3.11
+ */
+class BinaryMessageReader {
+
+	/**
+	 * Reads the preamble of the binary protocol from the given stream. If the stream does not
+	 * start with the preamble, it is reset to its start.
+	 *
+	 * @param input the stream, which must support {@link InputStream#mark(int)}
+	 * @return <code>true</code> if the stream uses the binary protocol
+	 * @throws IOException if reading fails
+	 */
+	static boolean readPreamble(InputStream input) throws IOException {
+		byte[] preamble= BinaryMessageWriter.PREAMBLE;
+		input.mark(preamble.length);
+		for (byte expected : preamble) {
+			// the text protocol never starts with the first byte of the preamble,
+			// so the loop stops at the first byte unless the binary protocol is used
+			if (input.read() != (expected & 0xFF)) {
+				input.reset();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private final DataInputStream fInput;
+
+	private byte[] fFrame= new byte[BinaryMessageWriter.MAX_BATCH_SIZE];
+
+	private int fPosition;
+
+	private int fLength;
+
+	/**
+	 * The names last received for the test ids, indexed by id.
+	 */
+	private String[] fNames= new String[256];
+
+	/**
+	 * Creates a reader for the frames following the preamble.
+	 *
+	 * @param input the stream positioned after the preamble
+	 */
+	public BinaryMessageReader(InputStream input) {
+		fInput= new DataInputStream(input);
+	}
+
+	/**
+	 * Returns the next message.
+	 *
+	 * @return the message in the text protocol, or <code>null</code> if the stream has ended
+	 * @throws IOException if reading fails or the stream is corrupt
+	 */
+	public String readMessage() throws IOException {
+		while (fPosition == fLength) {
+			if (!readFrame())
+				return null;
+		}
+		int type= fFrame[fPosition++];
+		switch (type) {
+			case BinaryMessageWriter.RECORD_TEXT:
+				return readString();
+			case BinaryMessageWriter.RECORD_TEST_TREE: {
+				int id= readVarint();
+				String entry= readString();
+				setName(id, entry.substring(0, getEscapedNameEnd(entry)));
+				return MessageIds.TEST_TREE + id + ',' + entry;
+			}
+			case BinaryMessageWriter.RECORD_TEST_START:
+				return readTestMessage(MessageIds.TEST_START);
+			case BinaryMessageWriter.RECORD_TEST_END:
+				return readTestMessage(MessageIds.TEST_END);
+			case BinaryMessageWriter.RECORD_TEST_ERROR:
+				return readTestMessage(MessageIds.TEST_ERROR);
+			case BinaryMessageWriter.RECORD_TEST_FAILED:
+				return readTestMessage(MessageIds.TEST_FAILED);
+			default:
+				throw new IOException("Unknown record type " + type); //$NON-NLS-1$
+		}
+	}
+
+	public void close() throws IOException {
+		fInput.close();
+	}
+
+	private boolean readFrame() throws IOException {
+		int length;
+		try {
+			length= fInput.readInt();
+		} catch (EOFException e) {
+			return false;
+		}
+		if (length < 0)
+			throw new IOException("Invalid frame length " + length); //$NON-NLS-1$
+		if (length > fFrame.length)
+			fFrame= new byte[length];
+		fInput.readFully(fFrame, 0, length);
+		fPosition= 0;
+		fLength= length;
+		return true;
+	}
+
+	private String readTestMessage(String header) throws IOException {
+		int value= readVarint();
+		int id= value >>> 1;
+		String name;
+		if ((value & 1) != 0) {
+			name= readString();
+			setName(id, name);
+		} else {
+			name= id < fNames.length ? fNames[id] : null;
+			if (name == null)
+				throw new IOException("Unknown test id " + id); //$NON-NLS-1$
+		}
+		return header + id + ',' + name;
+	}
+
+	private int readVarint() throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			if (fPosition == fLength)
+				throw new IOException("Truncated record"); //$NON-NLS-1$
+			byte b= fFrame[fPosition++];
+			value|= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Invalid varint"); //$NON-NLS-1$
+	}
+
+	private String readString() throws IOException {
+		int length= readVarint();
+		if (length < 0 || length > fLength - fPosition)
+			throw new IOException("Truncated record"); //$NON-NLS-1$
+		String string= new String(fFrame, fPosition, length, StandardCharsets.UTF_8);
+		fPosition+= length;
+		return string;
+	}
+
+	private void setName(int id, String name) {
+		if (id >= fNames.length)
+			fNames= Arrays.copyOf(fNames, Math.max(id + 1, 2 * fNames.length));
+		fNames[id]= name;
+	}
+
+	private static int getEscapedNameEnd(String entry) {
+		for (int i= 0; i < entry.length(); i++) {
+			char ch= entry.charAt(i);
+			if (ch == '\\')
+				i++;
+			else if (ch == ',')
+				return i;
+		}
+		return entry.length();
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Keeps the failure traces of an imported test run session in a temporary file in the history
+ * directory, so that importing a large test run does not hold all traces in memory. The traces
+ * are read back when they are requested.
+ */
+public class FailureTraceStore {
+
+	/**
+	 * The failure trace and the compared values of a test element, as stored in a
+	 * {@link FailureTraceStore}.
+	 */
+	public static final class Entry {
+		private final FailureTraceStore fStore;
+		private final long fTrace;
+		private final long fExpected;
+		private final long fActual;
+
+		Entry(FailureTraceStore store, long trace, long expected, long actual) {
+			fStore= store;
+			fTrace= trace;
+			fExpected= expected;
+			fActual= actual;
+		}
+
+		public String getTrace() {
+			return fStore.read(fTrace);
+		}
+
+		public String getExpected() {
+			return fStore.read(fExpected);
+		}
+
+		public String getActual() {
+			return fStore.read(fActual);
+		}
+
+		public boolean hasTrace() {
+			return fTrace != NONE;
+		}
+
+		public boolean isComparisonFailure() {
+			return fExpected != NONE && fActual != NONE;
+		}
+	}
+
+	private static final long NONE= -1;
+
+	private static final int LENGTH_SIZE= 4;
+
+	private File fFile;
+
+	private FileChannel fChannel;
+
+	private long fSize;
+
+	/**
+	 * Creates the store and its file.
+	 *
+	 * @throws IOException if the file cannot be created
+	 */
+	public FailureTraceStore() throws IOException {
+		// deleted when the session is removed or its import fails, and with the history directory on shutdown
+		fFile= File.createTempFile("traces", ".bin", JUnitCorePlugin.getHistoryDirectory()); //$NON-NLS-1$ //$NON-NLS-2$
+		fChannel= new RandomAccessFile(fFile, "rw").getChannel(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the given failure to the store.
+	 *
+	 * @param trace the trace, can be <code>null</code>
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 * @return the entry to read the failure back
+	 * @throws IOException if writing fails
+	 */
+	public synchronized Entry store(String trace, String expected, String actual) throws IOException {
+		return new Entry(this, append(trace), append(expected), append(actual));
+	}
+
+	/**
+	 * Closes and deletes the file of the store. Entries of a disposed store return
+	 * <code>null</code>.
+	 */
+	public synchronized void dispose() {
+		if (fChannel == null)
+			return;
+		try {
+			fChannel.close();
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+		}
+		fChannel= null;
+		fFile.delete();
+	}
+
+	private long append(String string) throws IOException {
+		if (string == null)
+			return NONE;
+		if (fChannel == null)
+			throw new IOException("Failure trace store has been disposed"); //$NON-NLS-1$
+		byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer= ByteBuffer.allocate(LENGTH_SIZE + bytes.length);
+		buffer.putInt(bytes.length).put(bytes).flip();
+		long position= fSize;
+		while (buffer.hasRemaining()) {
+			fChannel.write(buffer, fSize);
+			fSize= position + buffer.position();
+		}
+		return position;
+	}
+
+	private synchronized String read(long position) {
+		if (position == NONE || fChannel == null)
+			return null;
+		try {
+			ByteBuffer length= ByteBuffer.allocate(LENGTH_SIZE);
+			readFully(length, position);
+			ByteBuffer bytes= ByteBuffer.allocate(length.getInt(0));
+			readFully(bytes, position + LENGTH_SIZE);
+			return new String(bytes.array(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	private void readFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (fChannel.read(buffer, position + buffer.position()) < 0)
+				throw new IOException("Unexpected end of failure trace store"); //$NON-NLS-1$
+		}
+	}
+}
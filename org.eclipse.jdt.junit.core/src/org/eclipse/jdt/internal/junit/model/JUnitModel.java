@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -29,16 +30,8 @@ import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.sax.SAXSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.xml.sax.InputSource;
+import javax.xml.stream.XMLStreamException;
+
 import org.xml.sax.SAXException;
 
 import org.eclipse.jdt.junit.TestRunListener;
@@ -126,16 +119,21 @@ public final class JUnitModel {
 			if (portStr == null)
 				return;
 			try {
-				final int port= Integer.parseInt(portStr);
+				// several ports if the tests are distributed to several VMs
+				String[] portStrs= portStr.split(","); //$NON-NLS-1$
+				final int[] ports= new int[portStrs.length];
+				for (int i= 0; i < ports.length; i++) {
+					ports[i]= Integer.parseInt(portStrs[i]);
+				}
 				fTrackedLaunches.remove(launch);
-				connectTestRunner(launch, javaProject, port);
+				connectTestRunner(launch, javaProject, ports);
 			} catch (NumberFormatException e) {
 				return;
 			}
 		}
 
-		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int port) {
-			TestRunSession testRunSession= new TestRunSession(launch, javaProject, port);
+		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int[] ports) {
+			TestRunSession testRunSession= new TestRunSession(launch, javaProject, ports);
 			addTestRunSession(testRunSession);
 
 			for (TestRunListener listener : JUnitCorePlugin.getDefault().getNewTestRunListeners()) {
@@ -384,14 +382,33 @@ public final class JUnitModel {
 	 * @throws CoreException if the import failed
 	 */
 	public static TestRunSession importTestRunSession(File file) throws CoreException {
+		return importTestRunSession(file, null);
+	}
+
+	/**
+	 * Imports a test run session from the given file. The file is parsed as a stream and the
+	 * failure traces are kept in a temporary file, so that large transcripts can be imported from
+	 * a background thread without holding them in memory.
+	 *
+	 * @param file a file containing a test run session transcript
+	 * @param monitor a progress monitor for progress and cancellation, or <code>null</code>
+	 * @return the imported test run session
+	 * @throws CoreException if the import failed
+	 * @throws OperationCanceledException if the import was cancelled
+	 */
+	public static TestRunSession importTestRunSession(File file, IProgressMonitor monitor) throws CoreException {
+		if (monitor != null)
+			monitor.beginTask(ModelMessages.JUnitModel_importing_from_file, IProgressMonitor.UNKNOWN);
+		TestRunHandler handler= new TestRunHandler(monitor);
+		boolean imported= false;
 		try {
 			SAXParserFactory parserFactory= SAXParserFactory.newInstance();
 //			parserFactory.setValidating(true); // TODO: add DTD and debug flag
 			SAXParser parser= parserFactory.newSAXParser();
-			TestRunHandler handler= new TestRunHandler();
 			parser.parse(file, handler);
 			TestRunSession session= handler.getTestRunSession();
 			JUnitCorePlugin.getModel().addTestRunSession(session);
+			imported= true;
 			return session;
 		} catch (ParserConfigurationException | SAXException e) {
 			throwImportError(file, e);
@@ -400,10 +417,26 @@ public final class JUnitModel {
 		} catch (IllegalArgumentException e) {
 			// Bug in parser: can throw IAE even if file is not null
 			throwImportError(file, e);
+		} finally {
+			if (!imported)
+				disposeIncompleteSession(handler);
+			if (monitor != null)
+				monitor.done();
 		}
 		return null; // does not happen
 	}
 
+	/**
+	 * Deletes the failure traces of a test run session whose import failed or was cancelled.
+	 *
+	 * @param handler the handler of the import
+	 */
+	private static void disposeIncompleteSession(TestRunHandler handler) {
+		TestRunSession session= handler.getTestRunSession();
+		if (session != null)
+			session.disposeFailureTraceStore();
+	}
+
 	/**
 	 * Imports a test run session from the given URL.
 	 *
@@ -421,6 +454,7 @@ public final class JUnitModel {
 
 		final CoreException[] exception= { null };
 		final TestRunSession[] session= { null };
+		final boolean[] abandoned= { false };
 
 		Thread importThread= new Thread("JUnit URL importer") { //$NON-NLS-1$
 			@Override
@@ -430,9 +464,16 @@ public final class JUnitModel {
 //					parserFactory.setValidating(true); // TODO: add DTD and debug flag
 					SAXParser parser= parserFactory.newSAXParser();
 					parser.parse(trimmedUrl, handler);
-					session[0]= handler.getTestRunSession();
+					synchronized (session) {
+						if (!abandoned[0]) {
+							session[0]= handler.getTestRunSession();
+							return;
+						}
+					}
+					disposeIncompleteSession(handler);
 				} catch (OperationCanceledException e) {
 					// canceled
+					disposeIncompleteSession(handler);
 				} catch (ParserConfigurationException | SAXException e) {
 					storeImportError(e);
 				} catch (IOException e) {
@@ -443,6 +484,7 @@ public final class JUnitModel {
 				}
 			}
 			private void storeImportError(Exception e) {
+				disposeIncompleteSession(handler);
 				exception[0]= new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
 						JUnitCorePlugin.getPluginId(), ModelMessages.JUnitModel_could_not_import, e));
 			}
@@ -456,6 +498,11 @@ public final class JUnitModel {
 				// that's OK
 			}
 		}
+		synchronized (session) {
+			// an import that completes after the cancellation deletes its failure traces
+			if (session[0] == null)
+				abandoned[0]= true;
+		}
 		if (session[0] == null) {
 			if (exception[0] != null) {
 				throw new InvocationTargetException(exception[0]);
@@ -495,14 +542,12 @@ public final class JUnitModel {
 	 * @throws CoreException if an error occurred
 	 */
 	public static void exportTestRunSession(TestRunSession testRunSession, File file) throws CoreException {
-		FileOutputStream out= null;
+		OutputStream out= null;
 		try {
-			out= new FileOutputStream(file);
-            exportTestRunSession(testRunSession, out);
+			out= new BufferedOutputStream(new FileOutputStream(file));
+			exportTestRunSession(testRunSession, out);
 
-		} catch (IOException | TransformerConfigurationException e) {
-			throwExportError(file, e);
-		} catch (TransformerException e) {
+		} catch (IOException | XMLStreamException e) {
 			throwExportError(file, e);
 		} finally {
 			if (out != null) {
@@ -515,28 +560,15 @@ public final class JUnitModel {
 		}
 	}
 
-	public static void exportTestRunSession(TestRunSession testRunSession, OutputStream out)
-			throws TransformerFactoryConfigurationError, TransformerException {
-
-		Transformer transformer= TransformerFactory.newInstance().newTransformer();
-		InputSource inputSource= new InputSource();
-		SAXSource source= new SAXSource(new TestRunSessionSerializer(testRunSession), inputSource);
-		StreamResult result= new StreamResult(out);
-		transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
-		transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
-		/*
-		 * Bug in Xalan: Only indents if proprietary property
-		 * org.apache.xalan.templates.OutputProperties.S_KEY_INDENT_AMOUNT is set.
-		 *
-		 * Bug in Xalan as shipped with J2SE 5.0:
-		 * Does not read the indent-amount property at all >:-(.
-		 */
-		try {
-			transformer.setOutputProperty("{http://xml.apache.org/xalan}indent-amount", "2"); //$NON-NLS-1$ //$NON-NLS-2$
-		} catch (IllegalArgumentException e) {
-			// no indentation today...
-		}
-		transformer.transform(source, result);
+	/**
+	 * Exports the given test run session to a stream. The stream is not closed.
+	 *
+	 * @param testRunSession the test run session
+	 * @param out the destination
+	 * @throws XMLStreamException if an error occurred
+	 */
+	public static void exportTestRunSession(TestRunSession testRunSession, OutputStream out) throws XMLStreamException {
+		new TestRunSessionSerializer(testRunSession).serialize(out);
 	}
 
 	private static void throwExportError(File file, Exception e) throws CoreException {
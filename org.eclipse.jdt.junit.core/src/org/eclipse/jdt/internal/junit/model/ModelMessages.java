@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ public class ModelMessages extends NLS {
 	public static String JUnitModel_could_not_read;
 	public static String JUnitModel_could_not_write;
 	public static String JUnitModel_importing_from_url;
+	public static String JUnitModel_importing_from_file;
 	public static String TestRunHandler_lines_read;
 	static {
 		// initialize resource bundle
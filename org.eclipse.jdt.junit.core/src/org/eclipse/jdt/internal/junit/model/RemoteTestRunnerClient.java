@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -228,6 +230,11 @@ public class RemoteTestRunnerClient {
 	private int fPort= -1;
 	private PrintWriter fWriter;
 	private PushbackReader fPushbackReader;
+	/**
+	 * The reader of the binary protocol, or <code>null</code> if the RemoteTestRunner
+	 * uses the text protocol
+	 */
+	private BinaryMessageReader fBinaryReader;
 	private String fLastLineDelimiter;
 	/**
 	 * The protocol version
@@ -266,11 +273,21 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
+				InputStream input= new BufferedInputStream(fSocket.getInputStream());
 				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				if (BinaryMessageReader.readPreamble(input)) {
+					// records are not terminated by line delimiters, use "\n" where the trace states append one
+					fLastLineDelimiter= "\n"; //$NON-NLS-1$
+					fBinaryReader= new BinaryMessageReader(input);
+					BinaryMessageReader reader;
+					while ((reader= fBinaryReader) != null && (message= reader.readMessage()) != null)
+						receiveMessage(message);
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -324,6 +341,10 @@ public class RemoteTestRunnerClient {
 				fPushbackReader.close();
 				fPushbackReader= null;
 			}
+			if (fBinaryReader != null) {
+				fBinaryReader.close();
+				fBinaryReader= null;
+			}
 		} catch(IOException e) {
 		}
 		try {
@@ -614,4 +635,16 @@ public class RemoteTestRunnerClient {
 			fWriter.flush();
 		}
 	}
+
+	/**
+	 * Requests a runner in daemon mode to run all tests again.
+	 */
+	public void rerunAllTests() {
+		if (isRunning()) {
+			fActualResult.setLength(0);
+			fExpectedResult.setLength(0);
+			fWriter.println(MessageIds.TEST_RERUN_ALL);
+			fWriter.flush();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -72,6 +72,20 @@ public class TestCaseElement extends TestElement implements ITestCaseElement {
 
 	public void setIgnored(boolean ignored) {
 		fIgnored= ignored;
+		ignoredChanged();
+	}
+
+	@Override
+	public void setAssumptionFailed(boolean assumptionFailed) {
+		super.setAssumptionFailed(assumptionFailed);
+		ignoredChanged();
+	}
+
+	private void ignoredChanged() {
+		TestSuiteElement parent= getParent();
+		if (parent != null) {
+			parent.descendantChanged(getTestResult(false) == Result.IGNORED);
+		}
 	}
 
 	public boolean isIgnored() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -194,6 +194,12 @@ public abstract class TestElement implements ITestElement {
 	private String fExpected;
 	private String fActual;
 
+	/**
+	 * The failure of an imported test element, kept in the failure trace store of the session, or
+	 * <code>null</code>.
+	 */
+	private FailureTraceStore.Entry fStoredFailure;
+
 	private boolean fAssumptionFailed;
 
 	/**
@@ -262,8 +268,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && hasTrace())) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -304,14 +310,32 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		if (trace != null && hasTrace()) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
+			fTrace= getTrace() + trace;
+			fExpected= getExpected();
+			fActual= getActual();
 		} else {
 			fTrace= trace;
 			fExpected= expected;
 			fActual= actual;
 		}
+		fStoredFailure= null;
+		setStatus(status);
+	}
+
+	/**
+	 * Sets the status of an imported test element together with its failure, which is read from
+	 * the failure trace store when requested.
+	 *
+	 * @param status the status
+	 * @param failure the stored failure
+	 */
+	public void setStatus(Status status, FailureTraceStore.Entry failure) {
+		fTrace= null;
+		fExpected= null;
+		fActual= null;
+		fStoredFailure= failure;
 		setStatus(status);
 	}
 
@@ -320,18 +344,32 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
+		if (fStoredFailure != null)
+			return fStoredFailure.getTrace();
 		return fTrace;
 	}
 
 	public String getExpected() {
+		if (fStoredFailure != null)
+			return fStoredFailure.getExpected();
 		return fExpected;
 	}
 
 	public String getActual() {
+		if (fStoredFailure != null)
+			return fStoredFailure.getActual();
 		return fActual;
 	}
 
+	private boolean hasTrace() {
+		if (fStoredFailure != null)
+			return fStoredFailure.hasTrace();
+		return fTrace != null;
+	}
+
 	public boolean isComparisonFailure() {
+		if (fStoredFailure != null)
+			return fStoredFailure.isComparisonFailure();
 		return fExpected != null && fActual != null;
 	}
 
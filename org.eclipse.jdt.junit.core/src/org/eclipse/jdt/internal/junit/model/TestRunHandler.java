@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -96,7 +96,7 @@ public class TestRunHandler extends DefaultHandler {
 				fMonitor.subTask(NLS.bind(ModelMessages.TestRunHandler_lines_read, Integer.valueOf(line)));
 			}
 		}
-		if (Thread.interrupted())
+		if (Thread.interrupted() || fMonitor != null && fMonitor.isCanceled())
 			throw new OperationCanceledException();
 
 		switch (qName) {
@@ -318,7 +318,7 @@ public class TestRunHandler extends DefaultHandler {
 
 	private void handleFailure(TestElement testElement) {
 		if (fFailureBuffer != null) {
-			fTestRunSession.registerTestFailureStatus(testElement, fStatus, fFailureBuffer.toString(), toString(fExpectedBuffer), toString(fActualBuffer));
+			fTestRunSession.registerImportedTestFailureStatus(testElement, fStatus, fFailureBuffer.toString(), toString(fExpectedBuffer), toString(fActualBuffer));
 			fFailureBuffer= null;
 			fExpectedBuffer= null;
 			fActualBuffer= null;
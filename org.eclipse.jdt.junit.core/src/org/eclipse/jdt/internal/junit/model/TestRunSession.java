@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -71,6 +72,12 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private RemoteTestRunnerClient fTestRunnerClient;
 
+	/**
+	 * The test runner clients of all VMs if the tests are distributed to several VMs, or
+	 * <code>null</code>. The first one is {@link #fTestRunnerClient}.
+	 */
+	private RemoteTestRunnerClient[] fShardClients;
+
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
 	/**
@@ -100,6 +107,11 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private TestSuiteElement fUnrootedSuite;
 
+	/**
+	 * Store for the failure traces of an imported test run, or <code>null</code>.
+	 */
+	private FailureTraceStore fFailureTraceStore;
+
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
 	/**
@@ -144,6 +156,15 @@ public class TestRunSession implements ITestRunSession {
 	 * </ul>
 	 */
 	volatile long fStartTime;
+	/**
+	 * Time of the launch or of the last request to run all tests again, or 0 once the first test
+	 * result has been received.
+	 */
+	private volatile long fRunRequestTime;
+	/**
+	 * Time in millis from the run request to the first test result, or -1 if not known yet.
+	 */
+	private volatile long fTimeToFirstResult= -1;
 	volatile boolean fIsRunning;
 
 	volatile boolean fIsStopped;
@@ -176,10 +197,23 @@ public class TestRunSession implements ITestRunSession {
 
 
 	public TestRunSession(ILaunch launch, IJavaProject project, int port) {
+		this(launch, project, new int[] { port });
+	}
+
+	/**
+	 * Creates a test run session for a launch whose tests may be distributed to several VMs. The
+	 * results of all VMs are merged into this session.
+	 *
+	 * @param launch the launch
+	 * @param project the project
+	 * @param ports the ports the test runners of the VMs connect to
+	 */
+	public TestRunSession(ILaunch launch, IJavaProject project, int[] ports) {
 		Assert.isNotNull(launch);
 
 		fLaunch= launch;
 		fProject= project;
+		fRunRequestTime= System.currentTimeMillis();
 
 		ILaunchConfiguration launchConfiguration= launch.getLaunchConfiguration();
 		if (launchConfiguration != null) {
@@ -193,16 +227,26 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fIdToTest= new HashMap<>();
 
-		fTestRunnerClient= new RemoteTestRunnerClient();
-		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
+		if (ports.length == 1) {
+			fTestRunnerClient= new RemoteTestRunnerClient();
+			fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, ports[0]);
+		} else {
+			ShardedTestSessionNotifier notifier= new ShardedTestSessionNotifier(new TestSessionNotifier(), ports.length);
+			fShardClients= new RemoteTestRunnerClient[ports.length];
+			for (int i= 0; i < ports.length; i++) {
+				fShardClients[i]= new RemoteTestRunnerClient();
+				fShardClients[i].startListening(new ITestRunListener2[] { notifier.createShardListener(i) }, ports[i]);
+			}
+			fTestRunnerClient= fShardClients[0];
+		}
 
 		final ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.addLaunchListener(new ILaunchesListener2() {
 			@Override
 			public void launchesTerminated(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
+					for (RemoteTestRunnerClient client : getTestRunnerClients()) {
+						client.stopWaiting();
 					}
 					launchManager.removeLaunchListener(this);
 				}
@@ -210,8 +254,8 @@ public class TestRunSession implements ITestRunSession {
 			@Override
 			public void launchesRemoved(ILaunch[] launches) {
 				if (Arrays.asList(launches).contains(fLaunch)) {
-					if (fTestRunnerClient != null) {
-						fTestRunnerClient.stopWaiting();
+					for (RemoteTestRunnerClient client : getTestRunnerClients()) {
+						client.stopWaiting();
 					}
 					launchManager.removeLaunchListener(this);
 				}
@@ -239,6 +283,7 @@ public class TestRunSession implements ITestRunSession {
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
 		fIdToTest= new HashMap<>();
+		disposeFailureTraceStore();
 	}
 
 	@Override
@@ -340,6 +385,16 @@ public class TestRunSession implements ITestRunSession {
 		return fStartTime;
 	}
 
+	/**
+	 * Returns the time from the launch of this session, or from the last request to run all tests
+	 * again in a runner in daemon mode, to the first test result.
+	 *
+	 * @return the time in millis or -1 if no test result has been received yet
+	 */
+	public long getTimeToFirstResult() {
+		return fTimeToFirstResult;
+	}
+
 	/**
 	 * @return <code>true</code> iff the session has been stopped or terminated
 	 */
@@ -374,10 +429,12 @@ public class TestRunSession implements ITestRunSession {
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
+			fShardClients= null;
 			fIdToTest= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
+			disposeFailureTraceStore();
 
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
@@ -393,6 +450,23 @@ public class TestRunSession implements ITestRunSession {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		disposeFailureTraceStore();
+	}
+
+	private synchronized FailureTraceStore getFailureTraceStore() throws IOException {
+		if (fFailureTraceStore == null)
+			fFailureTraceStore= new FailureTraceStore();
+		return fFailureTraceStore;
+	}
+
+	/**
+	 * Closes and deletes the file holding the failure traces of an imported session.
+	 */
+	synchronized void disposeFailureTraceStore() {
+		if (fFailureTraceStore != null) {
+			fFailureTraceStore.dispose();
+			fFailureTraceStore= null;
+		}
 	}
 
 	private File getSwapFile() throws IllegalStateException {
@@ -419,14 +493,27 @@ public class TestRunSession implements ITestRunSession {
 	public void stopTestRun() {
 		if (isRunning() || ! isKeptAlive())
 			fIsStopped= true;
-		if (fTestRunnerClient != null)
-			fTestRunnerClient.stopTest();
+		for (RemoteTestRunnerClient client : getTestRunnerClients()) {
+			client.stopTest();
+		}
+	}
+
+	private RemoteTestRunnerClient[] getTestRunnerClients() {
+		RemoteTestRunnerClient[] shardClients= fShardClients;
+		if (shardClients != null) {
+			return shardClients;
+		}
+		RemoteTestRunnerClient client= fTestRunnerClient;
+		return client != null ? new RemoteTestRunnerClient[] { client } : new RemoteTestRunnerClient[0];
 	}
 
 	/**
 	 * @return <code>true</code> iff the runtime VM of this test session is still alive
 	 */
 	public boolean isKeptAlive() {
+		if (isDaemon()) {
+			return true;
+		}
 		if (fTestRunnerClient != null
 				&& fLaunch != null
 				&& fTestRunnerClient.isRunning()
@@ -444,6 +531,44 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * @return <code>true</code> iff the runtime VM of this test session is still alive and runs
+	 *         all tests again on request
+	 */
+	public boolean isDaemon() {
+		if (fTestRunnerClient != null
+				&& fLaunch != null
+				&& fTestRunnerClient.isRunning()) {
+			ILaunchConfiguration config= fLaunch.getLaunchConfiguration();
+			try {
+				return config != null
+				&& config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DAEMON, false);
+			} catch (CoreException e) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Runs all tests again in the runtime VM of this session. The test tree is reported anew by
+	 * the runner, classes that changed since the last run are reloaded.
+	 *
+	 * @return <code>false</code> iff the rerun could not be started
+	 */
+	public boolean rerunAllTests() {
+		if (isRunning() || !isDaemon()) {
+			return false;
+		}
+		reset();
+		fUnrootedSuite= null;
+		fIsStopped= false;
+		fTimeToFirstResult= -1;
+		fRunRequestTime= System.currentTimeMillis();
+		fTestRunnerClient.rerunAllTests();
+		return true;
+	}
+
 	/**
 	 * @return <code>true</code> iff this session has been started, but not ended nor stopped nor terminated
 	 */
@@ -724,6 +849,10 @@ public class TestRunSession implements ITestRunSession {
 
 		@Override
 		public void testEnded(String testId, String testName) {
+			if (fRunRequestTime != 0) {
+				fTimeToFirstResult= System.currentTimeMillis() - fRunRequestTime;
+				fRunRequestTime= 0;
+			}
 			boolean isIgnored= testName.startsWith(MessageIds.IGNORED_TEST_PREFIX);
 
 			TestElement testElement= getTestElement(testId);
@@ -787,6 +916,8 @@ public class TestRunSession implements ITestRunSession {
 				return;
 			}
 			TestCaseElement testCaseElement= (TestCaseElement) testElement;
+			// the outcome of the rerun replaces an assumption failure of the previous run
+			testCaseElement.setAssumptionFailed(false);
 
 			Status status= Status.convert(statusCode);
 			registerTestFailureStatus(testElement, status, trace, expectedResult, actualResult);
@@ -802,6 +933,177 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Merges the events of the test runners of a launch whose tests are distributed to several VMs
+	 * into the events of a single test run. Test ids are made unique by prefixing them with the index
+	 * of the VM, and the events of all VMs are serialized.
+	 */
+	private class ShardedTestSessionNotifier {
+		private final ITestRunListener2 fNotifier;
+		private final int fShardCount;
+		private int fStartedShards;
+		private int fFinishedShards;
+		private long fElapsedTime;
+		private boolean fShardStopped;
+		private boolean fShardTerminated;
+
+		ShardedTestSessionNotifier(ITestRunListener2 notifier, int shardCount) {
+			fNotifier= notifier;
+			fShardCount= shardCount;
+		}
+
+		ITestRunListener2 createShardListener(int index) {
+			return new ShardListener(index + ":"); //$NON-NLS-1$
+		}
+
+		private void shardFinished(long elapsedTime) {
+			fFinishedShards++;
+			fElapsedTime= Math.max(fElapsedTime, elapsedTime);
+			if (fFinishedShards < fShardCount) {
+				return;
+			}
+			if (fShardTerminated) {
+				fNotifier.testRunTerminated();
+			} else if (fShardStopped) {
+				fNotifier.testRunStopped(fElapsedTime);
+			} else {
+				fNotifier.testRunEnded(fElapsedTime);
+			}
+		}
+
+		private class ShardListener implements ITestRunListener2 {
+			private final String fPrefix;
+			/**
+			 * Tree entries received before the first test started. The tree of a VM is forwarded
+			 * as a whole, since the tree entries of different VMs must not interleave.
+			 */
+			private List<String> fPendingTreeEntries= new ArrayList<>();
+			private boolean fFinished;
+
+			ShardListener(String prefix) {
+				fPrefix= prefix;
+			}
+
+			private void flushTree() {
+				if (fPendingTreeEntries != null) {
+					for (String treeEntry : fPendingTreeEntries) {
+						fNotifier.testTreeEntry(treeEntry);
+					}
+					fPendingTreeEntries= null;
+				}
+			}
+
+			private void finished(long elapsedTime) {
+				flushTree();
+				if (!fFinished) {
+					fFinished= true;
+					shardFinished(elapsedTime);
+				}
+			}
+
+			@Override
+			public void testRunStarted(int testCount) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					if (fStartedShards++ == 0) {
+						fNotifier.testRunStarted(testCount);
+					} else {
+						fTotalCount+= testCount;
+					}
+				}
+			}
+
+			@Override
+			public void testTreeEntry(String description) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					String treeEntry= prefixTreeEntryIds(description, fPrefix);
+					if (fPendingTreeEntries != null) {
+						fPendingTreeEntries.add(treeEntry);
+					} else {
+						fNotifier.testTreeEntry(treeEntry);
+					}
+				}
+			}
+
+			@Override
+			public void testStarted(String testId, String testName) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					flushTree();
+					fNotifier.testStarted(fPrefix + testId, testName);
+				}
+			}
+
+			@Override
+			public void testEnded(String testId, String testName) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					flushTree();
+					fNotifier.testEnded(fPrefix + testId, testName);
+				}
+			}
+
+			@Override
+			public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					flushTree();
+					fNotifier.testFailed(status, fPrefix + testId, testName, trace, expected, actual);
+				}
+			}
+
+			@Override
+			public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					flushTree();
+					fNotifier.testReran(fPrefix + testId, testClass, testName, status, trace, expected, actual);
+				}
+			}
+
+			@Override
+			public void testRunEnded(long elapsedTime) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					finished(elapsedTime);
+				}
+			}
+
+			@Override
+			public void testRunStopped(long elapsedTime) {
+				synchronized (ShardedTestSessionNotifier.this) {
+					fShardStopped= true;
+					finished(elapsedTime);
+				}
+			}
+
+			@Override
+			public void testRunTerminated() {
+				synchronized (ShardedTestSessionNotifier.this) {
+					fShardTerminated= true;
+					finished(0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Prefixes the test id and the parent id of a tree entry.
+	 *
+	 * @param treeEntry the tree entry as described in {@link ITestRunListener2#testTreeEntry(String)}
+	 * @param prefix the prefix
+	 * @return the tree entry with the prefixed ids
+	 */
+	private String prefixTreeEntryIds(String treeEntry, String prefix) {
+		// format: testId","testName","isSuite","testcount","isDynamicTest","parentId","displayName","parameterTypes","uniqueId
+		int index0= treeEntry.indexOf(',');
+		int index1= scanTestName(treeEntry, index0 + 1, new StringBuffer());
+		int index2= treeEntry.indexOf(',', index1 + 1);
+		int index3= treeEntry.indexOf(',', index2 + 1);
+		if (index3 != -1) {
+			int index4= treeEntry.indexOf(',', index3 + 1);
+			int index5= treeEntry.indexOf(',', index4 + 1);
+			if (index4 != -1 && index5 != -1 && !"-1".equals(treeEntry.substring(index4 + 1, index5))) { //$NON-NLS-1$
+				return prefix + treeEntry.substring(0, index4 + 1) + prefix + treeEntry.substring(index4 + 1);
+			}
+		}
+		return prefix + treeEntry;
+	}
+
 	private static class IncompleteTestSuite {
 		public TestSuiteElement fTestSuiteElement;
 		public int fOutstandingChildren;
@@ -814,6 +1116,35 @@ public class TestRunSession implements ITestRunSession {
 
 	public void registerTestFailureStatus(TestElement testElement, Status status, String trace, String expected, String actual) {
 		testElement.setStatus(status, trace, expected, actual);
+		countFailure(testElement, status);
+	}
+
+	/**
+	 * Registers a failure read from a test run session transcript. Unlike
+	 * {@link #registerTestFailureStatus(TestElement, Status, String, String, String)}, the trace
+	 * is written to a temporary file and only read back when it is requested.
+	 *
+	 * @param testElement the failed test element
+	 * @param status the status
+	 * @param trace the trace
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 */
+	public void registerImportedTestFailureStatus(TestElement testElement, Status status, String trace, String expected, String actual) {
+		if (testElement.getTrace() == null) {
+			try {
+				testElement.setStatus(status, getFailureTraceStore().store(trace, expected, actual));
+				countFailure(testElement, status);
+				return;
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+			}
+		}
+		// multiple failures are concatenated in memory
+		registerTestFailureStatus(testElement, status, trace, expected, actual);
+	}
+
+	private void countFailure(TestElement testElement, Status status) {
 		if (!testElement.isAssumptionFailure()) {
 			if (status.isError()) {
 				fErrorCount++;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,7 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
-import java.io.IOException;
+import java.io.OutputStream;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
@@ -24,15 +24,9 @@ import java.util.Arrays;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
-import org.xml.sax.Attributes;
-import org.xml.sax.ContentHandler;
-import org.xml.sax.DTDHandler;
-import org.xml.sax.EntityResolver;
-import org.xml.sax.ErrorHandler;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-import org.xml.sax.XMLReader;
-import org.xml.sax.helpers.AttributesImpl;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.eclipse.jdt.junit.model.ITestElement;
 import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
@@ -43,16 +37,24 @@ import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jdt.core.IJavaProject;
 
-public class TestRunSessionSerializer implements XMLReader {
-
-	private static final String EMPTY= ""; //$NON-NLS-1$
-	private static final String CDATA= "CDATA"; //$NON-NLS-1$
-	private static final Attributes NO_ATTS= new AttributesImpl();
+/**
+ * Writes a test run session as XML. The elements are written to the stream while the test tree
+ * is traversed, so that the size of the transcript does not affect the memory needed for the
+ * export.
+ */
+public class TestRunSessionSerializer {
 
+	private static final String ENCODING= "UTF-8"; //$NON-NLS-1$
+	private static final String INDENT= "  "; //$NON-NLS-1$
 
 	private final TestRunSession fTestRunSession;
-	private ContentHandler fHandler;
-	private ErrorHandler fErrorHandler;
+	private XMLStreamWriter fWriter;
+	private int fDepth;
+	/**
+	 * <code>true</code> if the last thing written was a complete element, so that the next end
+	 * tag starts on a new line
+	 */
+	private boolean fIndentEndTag;
 
 	private final NumberFormat timeFormat= new DecimalFormat("0.0##", new DecimalFormatSymbols(Locale.US)); //$NON-NLS-1$ // not localized, parseable by Double.parseDouble(..)
 
@@ -64,36 +66,46 @@ public class TestRunSessionSerializer implements XMLReader {
 		fTestRunSession= testRunSession;
 	}
 
-	@Override
-	public void parse(InputSource input) throws IOException, SAXException {
-		if (fHandler == null)
-			throw new SAXException("ContentHandler missing"); //$NON-NLS-1$
-
-		fHandler.startDocument();
-		handleTestRun();
-		fHandler.endDocument();
+	/**
+	 * Writes the test run session to the given stream. The stream is not closed.
+	 *
+	 * @param out the stream
+	 * @throws XMLStreamException if writing fails
+	 */
+	public void serialize(OutputStream out) throws XMLStreamException {
+		fWriter= XMLOutputFactory.newInstance().createXMLStreamWriter(out, ENCODING);
+		try {
+			fWriter.writeStartDocument(ENCODING, "1.0"); //$NON-NLS-1$
+			fIndentEndTag= true;
+			handleTestRun();
+			fWriter.writeCharacters("\n"); //$NON-NLS-1$
+			fWriter.writeEndDocument();
+			fWriter.flush();
+		} finally {
+			fWriter.close();
+			fWriter= null;
+		}
 	}
 
-	private void handleTestRun() throws SAXException {
-		AttributesImpl atts= new AttributesImpl();
-		addCDATA(atts, IXMLTags.ATTR_NAME, fTestRunSession.getTestRunName());
+	private void handleTestRun() throws XMLStreamException {
+		startElement(IXMLTags.NODE_TESTRUN, false);
+		addAttribute(IXMLTags.ATTR_NAME, fTestRunSession.getTestRunName());
 		IJavaProject project= fTestRunSession.getLaunchedProject();
 		if (project != null)
-			addCDATA(atts, IXMLTags.ATTR_PROJECT, project.getElementName());
-		addCDATA(atts, IXMLTags.ATTR_TESTS, fTestRunSession.getTotalCount());
-		addCDATA(atts, IXMLTags.ATTR_STARTED, fTestRunSession.getStartedCount());
-		addCDATA(atts, IXMLTags.ATTR_FAILURES, fTestRunSession.getFailureCount());
-		addCDATA(atts, IXMLTags.ATTR_ERRORS, fTestRunSession.getErrorCount());
-		addCDATA(atts, IXMLTags.ATTR_IGNORED, fTestRunSession.getIgnoredCount());
+			addAttribute(IXMLTags.ATTR_PROJECT, project.getElementName());
+		addAttribute(IXMLTags.ATTR_TESTS, fTestRunSession.getTotalCount());
+		addAttribute(IXMLTags.ATTR_STARTED, fTestRunSession.getStartedCount());
+		addAttribute(IXMLTags.ATTR_FAILURES, fTestRunSession.getFailureCount());
+		addAttribute(IXMLTags.ATTR_ERRORS, fTestRunSession.getErrorCount());
+		addAttribute(IXMLTags.ATTR_IGNORED, fTestRunSession.getIgnoredCount());
 		String includeTags= fTestRunSession.getIncludeTags();
 		if (includeTags != null && !includeTags.trim().isEmpty()) {
-			addCDATA(atts, IXMLTags.ATTR_INCLUDE_TAGS, includeTags);
+			addAttribute(IXMLTags.ATTR_INCLUDE_TAGS, includeTags);
 		}
 		String excludeTags= fTestRunSession.getExcludeTags();
 		if (excludeTags != null && !excludeTags.trim().isEmpty()) {
-			addCDATA(atts, IXMLTags.ATTR_EXCLUDE_TAGS, excludeTags);
+			addAttribute(IXMLTags.ATTR_EXCLUDE_TAGS, excludeTags);
 		}
-		startElement(IXMLTags.NODE_TESTRUN, atts);
 
 		TestRoot testRoot= fTestRunSession.getTestRoot();
 		ITestElement[] topSuites= testRoot.getChildren();
@@ -101,70 +113,74 @@ public class TestRunSessionSerializer implements XMLReader {
 			handleTestElement(topSuite);
 		}
 
-		endElement(IXMLTags.NODE_TESTRUN);
+		endElement();
 	}
 
-	private void handleTestElement(ITestElement testElement) throws SAXException {
+	private void handleTestElement(ITestElement testElement) throws XMLStreamException {
 		if (testElement instanceof TestSuiteElement) {
 			TestSuiteElement testSuiteElement= (TestSuiteElement) testElement;
 
-			AttributesImpl atts= new AttributesImpl();
+			ITestElement[] children= testSuiteElement.getChildren();
+			boolean empty= children.length == 0 && !hasFailure(testSuiteElement);
+			startElement(IXMLTags.NODE_TESTSUITE, empty);
 			// Need to store the full #getTestName instead of only the #getSuiteTypeName for test factory methods
-			addCDATA(atts, IXMLTags.ATTR_NAME, testSuiteElement.getTestName());
+			addAttribute(IXMLTags.ATTR_NAME, testSuiteElement.getTestName());
 			if (! Double.isNaN(testSuiteElement.getElapsedTimeInSeconds()))
-				addCDATA(atts, IXMLTags.ATTR_TIME, timeFormat.format(testSuiteElement.getElapsedTimeInSeconds()));
+				addAttribute(IXMLTags.ATTR_TIME, timeFormat.format(testSuiteElement.getElapsedTimeInSeconds()));
 			if (testElement.getProgressState() != ProgressState.COMPLETED || testElement.getTestResult(false) != Result.UNDEFINED)
-				addCDATA(atts, IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
+				addAttribute(IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
 			if (testSuiteElement.getDisplayName() != null) {
-				addCDATA(atts, IXMLTags.ATTR_DISPLAY_NAME, testSuiteElement.getDisplayName());
+				addAttribute(IXMLTags.ATTR_DISPLAY_NAME, testSuiteElement.getDisplayName());
 			}
 			String[] paramTypes= testSuiteElement.getParameterTypes();
 			if (paramTypes != null) {
 				String paramTypesStr= Arrays.stream(paramTypes).collect(Collectors.joining(",")); //$NON-NLS-1$
-				addCDATA(atts, IXMLTags.ATTR_PARAMETER_TYPES, paramTypesStr);
+				addAttribute(IXMLTags.ATTR_PARAMETER_TYPES, paramTypesStr);
 			}
 			if (testSuiteElement.getUniqueId() != null) {
-				addCDATA(atts, IXMLTags.ATTR_UNIQUE_ID, testSuiteElement.getUniqueId());
+				addAttribute(IXMLTags.ATTR_UNIQUE_ID, testSuiteElement.getUniqueId());
 			}
-			startElement(IXMLTags.NODE_TESTSUITE, atts);
+			if (empty)
+				return;
 			addFailure(testSuiteElement);
 
-			ITestElement[] children= testSuiteElement.getChildren();
 			for (ITestElement child : children) {
 				handleTestElement(child);
 			}
-			endElement(IXMLTags.NODE_TESTSUITE);
+			endElement();
 
 		} else if (testElement instanceof TestCaseElement) {
 			TestCaseElement testCaseElement= (TestCaseElement) testElement;
 
-			AttributesImpl atts= new AttributesImpl();
-			addCDATA(atts, IXMLTags.ATTR_NAME, testCaseElement.getTestMethodName());
-			addCDATA(atts, IXMLTags.ATTR_CLASSNAME, testCaseElement.getClassName());
+			boolean empty= !hasFailure(testCaseElement);
+			startElement(IXMLTags.NODE_TESTCASE, empty);
+			addAttribute(IXMLTags.ATTR_NAME, testCaseElement.getTestMethodName());
+			addAttribute(IXMLTags.ATTR_CLASSNAME, testCaseElement.getClassName());
 			if (! Double.isNaN(testCaseElement.getElapsedTimeInSeconds()))
-				addCDATA(atts, IXMLTags.ATTR_TIME, timeFormat.format(testCaseElement.getElapsedTimeInSeconds()));
+				addAttribute(IXMLTags.ATTR_TIME, timeFormat.format(testCaseElement.getElapsedTimeInSeconds()));
 			if (testElement.getProgressState() != ProgressState.COMPLETED)
-				addCDATA(atts, IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
+				addAttribute(IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
 			if (testCaseElement.isIgnored())
-				addCDATA(atts, IXMLTags.ATTR_IGNORED, Boolean.TRUE.toString());
+				addAttribute(IXMLTags.ATTR_IGNORED, Boolean.TRUE.toString());
 			if (testCaseElement.isDynamicTest()) {
-				addCDATA(atts, IXMLTags.ATTR_DYNAMIC_TEST, Boolean.TRUE.toString());
+				addAttribute(IXMLTags.ATTR_DYNAMIC_TEST, Boolean.TRUE.toString());
 			}
 			if (testCaseElement.getDisplayName() != null) {
-				addCDATA(atts, IXMLTags.ATTR_DISPLAY_NAME, testCaseElement.getDisplayName());
+				addAttribute(IXMLTags.ATTR_DISPLAY_NAME, testCaseElement.getDisplayName());
 			}
 			String[] paramTypes= testCaseElement.getParameterTypes();
 			if (paramTypes != null) {
 				String paramTypesStr= Arrays.stream(paramTypes).collect(Collectors.joining(",")); //$NON-NLS-1$
-				addCDATA(atts, IXMLTags.ATTR_PARAMETER_TYPES, paramTypesStr);
+				addAttribute(IXMLTags.ATTR_PARAMETER_TYPES, paramTypesStr);
 			}
 			if (testCaseElement.getUniqueId() != null) {
-				addCDATA(atts, IXMLTags.ATTR_UNIQUE_ID, testCaseElement.getUniqueId());
+				addAttribute(IXMLTags.ATTR_UNIQUE_ID, testCaseElement.getUniqueId());
 			}
-			startElement(IXMLTags.NODE_TESTCASE, atts);
+			if (empty)
+				return;
 			addFailure(testCaseElement);
 
-			endElement(IXMLTags.NODE_TESTCASE);
+			endElement();
 
 		} else {
 			throw new IllegalStateException(String.valueOf(testElement));
@@ -172,59 +188,103 @@ public class TestRunSessionSerializer implements XMLReader {
 
 	}
 
-	private void addFailure(TestElement testElement) throws SAXException {
+	private static boolean hasFailure(TestElement testElement) {
+		return testElement.isAssumptionFailure() || testElement.getFailureTrace() != null;
+	}
+
+	private void addFailure(TestElement testElement) throws XMLStreamException {
 		FailureTrace failureTrace= testElement.getFailureTrace();
 
 		if (testElement.isAssumptionFailure()) {
-			startElement(IXMLTags.NODE_SKIPPED, NO_ATTS);
 			if (failureTrace != null) {
+				startElement(IXMLTags.NODE_SKIPPED, false);
 				addCharacters(failureTrace.getTrace());
+				endElement();
+			} else {
+				startElement(IXMLTags.NODE_SKIPPED, true);
 			}
-			endElement(IXMLTags.NODE_SKIPPED);
 
 		} else if (failureTrace != null) {
-			AttributesImpl failureAtts= new AttributesImpl();
-//				addCDATA(failureAtts, IXMLTags.ATTR_MESSAGE, xx);
-//				addCDATA(failureAtts, IXMLTags.ATTR_TYPE, xx);
+//				addAttribute(IXMLTags.ATTR_MESSAGE, xx);
+//				addAttribute(IXMLTags.ATTR_TYPE, xx);
 			String failureKind= testElement.getTestResult(false) == Result.ERROR ? IXMLTags.NODE_ERROR : IXMLTags.NODE_FAILURE;
-			startElement(failureKind, failureAtts);
+			startElement(failureKind, false);
 			String expected= failureTrace.getExpected();
 			String actual= failureTrace.getActual();
 			if (expected != null) {
-				startElement(IXMLTags.NODE_EXPECTED, NO_ATTS);
+				startElement(IXMLTags.NODE_EXPECTED, false);
 				addCharacters(expected);
-				endElement(IXMLTags.NODE_EXPECTED);
+				endElement();
 			}
 			if (actual != null) {
-				startElement(IXMLTags.NODE_ACTUAL, NO_ATTS);
+				startElement(IXMLTags.NODE_ACTUAL, false);
 				addCharacters(actual);
-				endElement(IXMLTags.NODE_ACTUAL);
+				endElement();
 			}
 			String trace= failureTrace.getTrace();
 			addCharacters(trace);
-			endElement(failureKind);
+			endElement();
 		}
 	}
 
-	private void startElement(String name, Attributes atts) throws SAXException {
-		fHandler.startElement(EMPTY, name, name, atts);
+	/**
+	 * Starts an element on a new, indented line. The attributes of the element have to be added
+	 * before any content.
+	 *
+	 * @param name the element name
+	 * @param empty <code>true</code> for an element without content, which must not be ended
+	 * @throws XMLStreamException if writing fails
+	 */
+	private void startElement(String name, boolean empty) throws XMLStreamException {
+		writeIndent();
+		if (empty) {
+			fWriter.writeEmptyElement(name);
+			fIndentEndTag= true;
+		} else {
+			fWriter.writeStartElement(name);
+			fDepth++;
+			fIndentEndTag= false;
+		}
+	}
+
+	private void endElement() throws XMLStreamException {
+		fDepth--;
+		if (fIndentEndTag)
+			writeIndent();
+		fWriter.writeEndElement();
+		fIndentEndTag= true;
 	}
 
-	private void endElement(String name) throws SAXException {
-		fHandler.endElement(EMPTY, name, name);
+	private void writeIndent() throws XMLStreamException {
+		StringBuilder indent= new StringBuilder(1 + fDepth * INDENT.length());
+		if (fDepth > 0 || fIndentEndTag)
+			indent.append('\n');
+		for (int i= 0; i < fDepth; i++)
+			indent.append(INDENT);
+		if (indent.length() > 0)
+			fWriter.writeCharacters(indent.toString());
 	}
 
-	private static void addCDATA(AttributesImpl atts, String name, int value) {
-		addCDATA(atts, name, Integer.toString(value));
+	private void addAttribute(String name, int value) throws XMLStreamException {
+		addAttribute(name, Integer.toString(value));
 	}
 
-	private static void addCDATA(AttributesImpl atts, String name, String value) {
-		atts.addAttribute(EMPTY, EMPTY, name, CDATA, value);
+	private void addAttribute(String name, String value) throws XMLStreamException {
+		fWriter.writeAttribute(name, value);
 	}
 
-	private void addCharacters(String string) throws SAXException {
+	private void addCharacters(String string) throws XMLStreamException {
 		string= escapeNonUnicodeChars(string);
-		fHandler.characters(string.toCharArray(), 0, string.length());
+		// write carriage returns as character references, a parser would normalize them away
+		int start= 0;
+		int cr;
+		while ((cr= string.indexOf('\r', start)) >= 0) {
+			fWriter.writeCharacters(string.substring(start, cr));
+			fWriter.writeEntityRef("#13"); //$NON-NLS-1$
+			start= cr + 1;
+		}
+		fWriter.writeCharacters(string.substring(start));
+		fIndentEndTag= false;
 	}
 
 	/**
@@ -256,66 +316,4 @@ public class TestRunSessionSerializer implements XMLReader {
 		}
 		return string;
 	}
-
-	@Override
-	public void setContentHandler(ContentHandler handler) {
-		this.fHandler= handler;
-	}
-
-	@Override
-	public ContentHandler getContentHandler() {
-		return fHandler;
-	}
-
-	@Override
-	public void setErrorHandler(ErrorHandler handler) {
-		fErrorHandler= handler;
-	}
-
-	@Override
-	public ErrorHandler getErrorHandler() {
-		return fErrorHandler;
-	}
-
-	// ignored:
-
-	@Override
-	public void parse(String systemId) throws IOException, SAXException {
-	}
-
-	@Override
-	public void setDTDHandler(DTDHandler handler) {
-	}
-
-	@Override
-	public DTDHandler getDTDHandler() {
-		return null;
-	}
-
-	@Override
-	public void setEntityResolver(EntityResolver resolver) {
-	}
-
-	@Override
-	public EntityResolver getEntityResolver() {
-		return null;
-	}
-
-	@Override
-	public void setProperty(java.lang.String name, java.lang.Object value) {
-	}
-
-	@Override
-	public Object getProperty(java.lang.String name) {
-		return null;
-	}
-
-	@Override
-	public void setFeature(java.lang.String name, boolean value) {
-	}
-
-	@Override
-	public boolean getFeature(java.lang.String name) {
-		return false;
-	}
 }
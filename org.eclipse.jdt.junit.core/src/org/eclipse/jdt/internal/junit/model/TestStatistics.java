@@ -0,0 +1,467 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.junit.TestRunListener;
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestRunSession;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Persistent statistics about the tests of each project: the duration of a test, when it failed
+ * last and how often its result flipped between passing and failing.
+ * <p>
+ * The statistics are fed from finished test run sessions and drive the test order of launches
+ * with {@link org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants#ATTR_PRIORITIZE}
+ * and the distribution of test classes to the VMs of launches with
+ * {@link org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants#ATTR_SHARDS}.
+ * Only sessions of such launches are recorded. The results are captured when a session finishes
+ * and merged and saved by a background job.
+ * </p>
+ */
+public final class TestStatistics extends TestRunListener {
+
+	/**
+	 * Statistics of a single test.
+	 */
+	static final class Entry {
+		final String fClassName;
+		/**
+		 * Smoothed duration in seconds.
+		 */
+		double fDuration;
+		/**
+		 * Time of the last failure in milliseconds, or 0 if the test never failed.
+		 */
+		long fLastFailure;
+		long fLastRun;
+		int fRuns;
+		/**
+		 * Number of times the result changed between passing and failing.
+		 */
+		int fFlips;
+		boolean fLastFailed;
+
+		Entry(String className) {
+			fClassName= className;
+		}
+
+		double getFlakiness() {
+			return fRuns > 1 ? (double) fFlips / (fRuns - 1) : 0;
+		}
+	}
+
+	private static final String STATISTICS_DIR_NAME= "statistics"; //$NON-NLS-1$
+
+	/**
+	 * Weight of a new measurement in the smoothed duration.
+	 */
+	private static final double DURATION_WEIGHT= 0.3;
+
+	/**
+	 * Failures within this period put a test in front of the tests that only passed.
+	 */
+	static final long RECENT_FAILURE_PERIOD= 7L * 24 * 60 * 60 * 1000;
+
+	/**
+	 * A test whose result flipped in at least this share of its runs is treated as failing.
+	 */
+	private static final double FLAKINESS_THRESHOLD= 0.2;
+
+	/**
+	 * Number of runs before the flakiness of a test is considered.
+	 */
+	private static final int MIN_RUNS_FOR_FLAKINESS= 5;
+
+	/**
+	 * Upper bound for the number of tests remembered per project, the least recently run tests are
+	 * dropped when it is exceeded.
+	 */
+	private static final int MAX_ENTRIES= 50000;
+
+	/**
+	 * Duration assumed for a class without statistics when distributing classes.
+	 */
+	private static final double DEFAULT_CLASS_DURATION= 1.0;
+
+	/**
+	 * Result of a single test in a finished session.
+	 */
+	private static final class Run {
+		final String fTestName;
+		final String fClassName;
+		final double fDuration;
+		final boolean fFailed;
+
+		Run(String testName, String className, double duration, boolean failed) {
+			fTestName= testName;
+			fClassName= className;
+			fDuration= duration;
+			fFailed= failed;
+		}
+	}
+
+	/**
+	 * Results of a finished session that are not recorded yet.
+	 */
+	private static final class PendingSession {
+		final IJavaProject fProject;
+		final List<Run> fRuns;
+		final long fTime;
+
+		PendingSession(IJavaProject project, List<Run> runs, long time) {
+			fProject= project;
+			fRuns= runs;
+			fTime= time;
+		}
+	}
+
+	/**
+	 * Loaded statistics per project name.
+	 */
+	private final Map<String, Map<String, Entry>> fProjects= new HashMap<>();
+
+	/**
+	 * Finished sessions to record, guarded by itself.
+	 */
+	private final List<PendingSession> fPending= new ArrayList<>();
+
+	private final Job fSaveJob= new Job("Save test statistics") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			recordPending();
+			return org.eclipse.core.runtime.Status.OK_STATUS;
+		}
+	};
+
+	public TestStatistics() {
+		fSaveJob.setSystem(true);
+	}
+
+	@Override
+	public void sessionFinished(ITestRunSession session) {
+		IJavaProject project= session.getLaunchedProject();
+		if (project == null || !(session instanceof TestRunSession) || !isRecorded(((TestRunSession) session).getLaunch())) {
+			return;
+		}
+		TestRoot root= ((TestRunSession) session).getTestRoot();
+		if (root == null) {
+			return;
+		}
+		List<Run> runs= new ArrayList<>();
+		collectRuns(root, runs);
+		if (runs.isEmpty()) {
+			return;
+		}
+		synchronized (fPending) {
+			fPending.add(new PendingSession(project, runs, System.currentTimeMillis()));
+		}
+		fSaveJob.schedule();
+	}
+
+	/**
+	 * Tells whether the sessions of the given launch are recorded, i.e. whether the launch
+	 * prioritizes or shards its tests.
+	 *
+	 * @param launch the launch, may be <code>null</code>
+	 * @return <code>true</code> if the results of the launch are recorded
+	 */
+	private static boolean isRecorded(ILaunch launch) {
+		ILaunchConfiguration configuration= launch != null ? launch.getLaunchConfiguration() : null;
+		if (configuration == null) {
+			return false;
+		}
+		try {
+			return configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE, false)
+					|| configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, 1) > 1;
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Records the pending sessions immediately. Called when the plug-in is stopped.
+	 */
+	public void flush() {
+		fSaveJob.cancel();
+		recordPending();
+	}
+
+	private void recordPending() {
+		List<PendingSession> pending;
+		synchronized (fPending) {
+			pending= new ArrayList<>(fPending);
+			fPending.clear();
+		}
+		synchronized (this) {
+			Map<String, Map<String, Entry>> changed= new HashMap<>();
+			for (PendingSession session : pending) {
+				Map<String, Entry> entries= getEntries(session.fProject);
+				for (Run run : session.fRuns) {
+					record(entries, run, session.fTime);
+				}
+				changed.put(session.fProject.getElementName(), entries);
+			}
+			for (Map.Entry<String, Map<String, Entry>> e : changed.entrySet()) {
+				trim(e.getValue());
+				save(e.getKey(), e.getValue());
+			}
+		}
+	}
+
+	private static void collectRuns(TestSuiteElement suite, List<Run> result) {
+		for (ITestElement child : suite.getChildren()) {
+			if (child instanceof TestCaseElement) {
+				TestCaseElement testCase= (TestCaseElement) child;
+				Status status= testCase.getStatus();
+				if (!status.isDone() || testCase.isIgnored() || testCase.isAssumptionFailure() || testCase.isDynamicTest()) {
+					continue;
+				}
+				String testName= testCase.getTestName();
+				if (isStorable(testName)) {
+					result.add(new Run(testName, testCase.getClassName(), testCase.getElapsedTimeInSeconds(), status.isErrorOrFailure()));
+				}
+			} else if (child instanceof TestSuiteElement) {
+				collectRuns((TestSuiteElement) child, result);
+			}
+		}
+	}
+
+	private static void record(Map<String, Entry> entries, Run run, long now) {
+		Entry entry= entries.get(run.fTestName);
+		if (entry == null) {
+			entry= new Entry(run.fClassName);
+			entries.put(run.fTestName, entry);
+		}
+		double duration= run.fDuration;
+		if (!Double.isNaN(duration)) {
+			entry.fDuration= entry.fRuns == 0 ? duration : (1 - DURATION_WEIGHT) * entry.fDuration + DURATION_WEIGHT * duration;
+		}
+		boolean failed= run.fFailed;
+		if (entry.fRuns > 0 && failed != entry.fLastFailed) {
+			entry.fFlips++;
+		}
+		if (failed) {
+			entry.fLastFailure= now;
+		}
+		entry.fLastFailed= failed;
+		entry.fLastRun= now;
+		entry.fRuns++;
+	}
+
+	private static boolean isStorable(String s) {
+		return s.indexOf('\t') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0;
+	}
+
+	private static void trim(Map<String, Entry> entries) {
+		if (entries.size() <= MAX_ENTRIES) {
+			return;
+		}
+		List<Map.Entry<String, Entry>> list= new ArrayList<>(entries.entrySet());
+		list.sort(Comparator.comparingLong(e -> e.getValue().fLastRun));
+		for (int i= 0; i < list.size() - MAX_ENTRIES; i++) {
+			entries.remove(list.get(i).getKey());
+		}
+	}
+
+	/**
+	 * Returns the names of the known tests of a project in the order in which they should run:
+	 * tests that failed recently, most recent failure first, followed by the other tests, fastest
+	 * first. Flaky tests count as recently failed.
+	 *
+	 * @param project the project
+	 * @return the test names (<code>method(class)</code>)
+	 */
+	public synchronized List<String> getPriorityOrder(IJavaProject project) {
+		return getPriorityOrder(getEntries(project), System.currentTimeMillis());
+	}
+
+	static List<String> getPriorityOrder(Map<String, Entry> entries, long now) {
+		List<Map.Entry<String, Entry>> list= new ArrayList<>(entries.entrySet());
+		list.sort((e1, e2) -> {
+			Entry s1= e1.getValue();
+			Entry s2= e2.getValue();
+			boolean f1= isRecentlyFailing(s1, now);
+			boolean f2= isRecentlyFailing(s2, now);
+			if (f1 != f2) {
+				return f1 ? -1 : 1;
+			}
+			if (f1) {
+				return Long.compare(s2.fLastFailure, s1.fLastFailure);
+			}
+			return Double.compare(s1.fDuration, s2.fDuration);
+		});
+		List<String> result= new ArrayList<>(list.size());
+		for (Map.Entry<String, Entry> e : list) {
+			result.add(e.getKey());
+		}
+		return result;
+	}
+
+	private static boolean isRecentlyFailing(Entry entry, long now) {
+		return entry.fLastFailed || (entry.fLastFailure != 0 && now - entry.fLastFailure < RECENT_FAILURE_PERIOD) 
+				|| (entry.fRuns >= MIN_RUNS_FOR_FLAKINESS && entry.getFlakiness() >= FLAKINESS_THRESHOLD);
+	}
+
+	/**
+	 * Distributes test classes to the given number of shards so that the recorded durations of the
+	 * shards are balanced.
+	 *
+	 * @param project the project
+	 * @param classNames the fully qualified names of the test classes
+	 * @param shardCount the number of shards
+	 * @return the class names per shard, shards without classes are omitted
+	 */
+	public synchronized List<List<String>> createShards(IJavaProject project, Collection<String> classNames, int shardCount) {
+		return createShards(getClassDurations(getEntries(project)), classNames, shardCount);
+	}
+
+	private static Map<String, Double> getClassDurations(Map<String, Entry> entries) {
+		Map<String, Double> durations= new HashMap<>();
+		for (Entry entry : entries.values()) {
+			durations.merge(entry.fClassName, entry.fDuration, Double::sum);
+		}
+		return durations;
+	}
+
+	static List<List<String>> createShards(Map<String, Double> classDurations, Collection<String> classNames, int shardCount) {
+		double known= 0;
+		for (Double duration : classDurations.values()) {
+			known+= duration;
+		}
+		double defaultDuration= classDurations.isEmpty() ? DEFAULT_CLASS_DURATION : known / classDurations.size();
+
+		// longest processing time first: assign each class, longest first, to the shard with the least work
+		List<String> sorted= new ArrayList<>(classNames);
+		sorted.sort((c1, c2) -> Double.compare(classDurations.getOrDefault(c2, defaultDuration), classDurations.getOrDefault(c1, defaultDuration)));
+		int count= Math.max(1, Math.min(shardCount, sorted.size()));
+		List<List<String>> shards= new ArrayList<>(count);
+		double[] loads= new double[count];
+		PriorityQueue<Integer> queue= new PriorityQueue<>(count, (i1, i2) -> loads[i1] != loads[i2] ? Double.compare(loads[i1], loads[i2]) : Integer.compare(i1, i2));
+		for (int i= 0; i < count; i++) {
+			shards.add(new ArrayList<>());
+			queue.add(i);
+		}
+		for (String className : sorted) {
+			int shard= queue.poll();
+			shards.get(shard).add(className);
+			loads[shard]+= classDurations.getOrDefault(className, defaultDuration);
+			queue.add(shard);
+		}
+		shards.removeIf(List::isEmpty);
+		return shards;
+	}
+
+	private Map<String, Entry> getEntries(IJavaProject project) {
+		String projectName= project.getElementName();
+		Map<String, Entry> entries= fProjects.get(projectName);
+		if (entries == null) {
+			entries= load(projectName);
+			fProjects.put(projectName, entries);
+		}
+		return entries;
+	}
+
+	private static File getFile(String projectName) {
+		File dir= JUnitCorePlugin.getDefault().getStateLocation().append(STATISTICS_DIR_NAME).toFile();
+		if (!dir.isDirectory()) {
+			dir.mkdir();
+		}
+		return new File(dir, projectName + ".txt"); //$NON-NLS-1$
+	}
+
+	private static Map<String, Entry> load(String projectName) {
+		Map<String, Entry> entries= new HashMap<>();
+		File file= getFile(projectName);
+		if (!file.isFile()) {
+			return entries;
+		}
+		try (BufferedReader reader= new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line= reader.readLine()) != null) {
+				String[] fields= line.split("\t"); //$NON-NLS-1$
+				if (fields.length != 7) {
+					continue;
+				}
+				Entry entry= new Entry(fields[1]);
+				entry.fDuration= Double.parseDouble(fields[2]);
+				entry.fLastFailure= Long.parseLong(fields[3]);
+				entry.fLastRun= Long.parseLong(fields[4]);
+				entry.fRuns= Integer.parseInt(fields[5]);
+				entry.fFlips= Integer.parseInt(fields[6].substring(1));
+				entry.fLastFailed= fields[6].charAt(0) == 'F';
+				entries.put(fields[0], entry);
+			}
+		} catch (IOException | NumberFormatException | IndexOutOfBoundsException e) {
+			JUnitCorePlugin.log(e);
+		}
+		return entries;
+	}
+
+	private static void save(String projectName, Map<String, Entry> entries) {
+		File file= getFile(projectName);
+		try (BufferedWriter writer= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+			for (Map.Entry<String, Entry> e : entries.entrySet()) {
+				Entry entry= e.getValue();
+				writer.write(e.getKey());
+				writer.write('\t');
+				writer.write(entry.fClassName);
+				writer.write('\t');
+				writer.write(Double.toString(entry.fDuration));
+				writer.write('\t');
+				writer.write(Long.toString(entry.fLastFailure));
+				writer.write('\t');
+				writer.write(Long.toString(entry.fLastRun));
+				writer.write('\t');
+				writer.write(Integer.toString(entry.fRuns));
+				writer.write('\t');
+				writer.write(entry.fLastFailed ? 'F' : 'P');
+				writer.write(Integer.toString(entry.fFlips));
+				writer.newLine();
+			}
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,13 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 
 	private List<TestElement> fChildren;
 	private Status fChildrenStatus;
+	/**
+	 * Whether a test case below this suite was skipped, or <code>null</code> if that has to be
+	 * recomputed from the children. Set when a test case below this suite is skipped, and only
+	 * reset when a skipped test case below it is removed or no longer skipped, so that filtering
+	 * for skipped tests does not walk the children on every refresh.
+	 */
+	private Boolean fHasIgnoredDescendant;
 
 	public TestSuiteElement(TestSuiteElement parent, String id, String testName, int childrenCount, String displayName, String[] parameterTypes, String uniqueId) {
 		super(parent, id, testName, displayName, parameterTypes, uniqueId);
@@ -51,11 +58,61 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	}
 
 	public void addChild(TestElement child) {
+		// called while the child is created, so it is not skipped yet and the flag stays valid
 		fChildren.add(child);
 	}
 
 	public void removeChild(TestElement child) {
 		fChildren.remove(child);
+		if (isIgnored(child))
+			descendantChanged(false);
+	}
+
+	private static boolean isIgnored(TestElement element) {
+		return element instanceof TestSuiteElement
+				? ((TestSuiteElement) element).hasIgnoredDescendant()
+				: element.getTestResult(false) == Result.IGNORED;
+	}
+
+	/**
+	 * @return <code>true</code> if a test case below this suite is ignored or had an assumption
+	 *         failure
+	 */
+	public synchronized boolean hasIgnoredDescendant() {
+		if (fHasIgnoredDescendant == null) {
+			fHasIgnoredDescendant= Boolean.FALSE;
+			TestElement[] children= fChildren.toArray(new TestElement[fChildren.size()]); // copy list to avoid concurreny problems
+			for (TestElement child : children) {
+				if (isIgnored(child)) {
+					fHasIgnoredDescendant= Boolean.TRUE;
+					break;
+				}
+			}
+		}
+		return fHasIgnoredDescendant.booleanValue();
+	}
+
+	/**
+	 * Called when a skipped test case below this suite has been removed, or a test case below this
+	 * suite has changed whether it is skipped.
+	 *
+	 * @param ignored <code>true</code> if a test case is now skipped, <code>false</code> if a
+	 *            skipped test case has been removed or is no longer skipped
+	 */
+	void descendantChanged(boolean ignored) {
+		// updates from the bottom up, so a suite computing its flag meanwhile is updated afterwards
+		for (TestSuiteElement suite= this; suite != null; suite= suite.getParent()) {
+			suite.updateIgnoredDescendant(ignored);
+		}
+	}
+
+	private synchronized void updateIgnoredDescendant(boolean ignored) {
+		if (ignored) {
+			fHasIgnoredDescendant= Boolean.TRUE;
+		} else if (fHasIgnoredDescendant == Boolean.TRUE) {
+			// another skipped test case may still be below this suite
+			fHasIgnoredDescendant= null;
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,7 +22,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.HashSet;
 import java.util.Set;
 
-import javax.xml.transform.TransformerException;
+import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.jdt.junit.model.ITestRunSession;
 
@@ -182,7 +182,7 @@ public class JUnitCore {
 		try {
 			JUnitModel.exportTestRunSession((TestRunSession)testRunSession, output);
 
-		} catch (TransformerException exception) {
+		} catch (XMLStreamException exception) {
 			String pluginID= JUnitCorePlugin.getPluginId();
 			String message= ModelMessages.JUnitModel_could_not_export;
 			throw new CoreException(new Status(IStatus.ERROR, pluginID, message, exception));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,12 +29,14 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.osgi.framework.Bundle;
 import org.osgi.framework.Constants;
+import org.osgi.framework.Version;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -66,6 +68,7 @@ import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
@@ -94,11 +97,22 @@ import org.eclipse.jdt.launching.VMRunnerConfiguration;
 public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigurationDelegate {
 
 	private boolean fKeepAlive= false;
+	private boolean fDaemon= false;
 	private int fPort;
 	private IJavaElement[] fTestElements;
+	/**
+	 * The test elements per VM if the tests are distributed to several VMs, or <code>null</code>.
+	 */
+	private IJavaElement[][] fShards;
+	private VMRunnerConfiguration[] fShardRunConfigs;
 
 	private static final String DEFAULT= "<default>"; //$NON-NLS-1$
 
+	private static final String JUNIT_RUNTIME_PLUGIN_ID= "org.eclipse.jdt.junit.runtime"; //$NON-NLS-1$
+
+	/** The first version of the JUnit runtime that understands <code>-binaryprotocol</code> */
+	private static final Version BINARY_PROTOCOL_RUNTIME_VERSION= new Version(3, 6, 0);
+
 	@Override
 	public String showCommandLine(ILaunchConfiguration configuration, String mode, ILaunch launch, IProgressMonitor monitor) throws CoreException {
 		if (monitor == null) {
@@ -118,6 +132,8 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			}
 			return cmdLine;
 		} finally {
+			fShards= null;
+			fShardRunConfigs= null;
 			monitor.done();
 		}
 	}
@@ -153,8 +169,12 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			}
 
 			fKeepAlive= ILaunchManager.DEBUG_MODE.equals(mode) && configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
+			fDaemon= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DAEMON, false);
+			if (configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE, false)
+					|| configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, 1) > 1) {
+				JUnitCorePlugin.getDefault().registerTestStatistics();
+			}
 			fPort= evaluatePort();
-			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
 
 			ITestKind testKind= getTestRunnerKind(configuration);
 			IJavaProject javaProject= getJavaProject(configuration);
@@ -169,81 +189,155 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 				}
 			}
 
-			String mainTypeName= verifyMainTypeName(configuration);
-
+			fShards= createShards(configuration, mode, javaProject);
+			if (fShards == null) {
+				launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
+				runConfig= createRunConfiguration(configuration, mode, javaProject);
+			} else {
+				int[] ports= new int[fShards.length];
+				StringBuilder portsAttribute= new StringBuilder();
+				for (int i= 0; i < fShards.length; i++) {
+					ports[i]= i == 0 ? fPort : evaluateOtherPort(ports, i);
+					if (i > 0) {
+						portsAttribute.append(',');
+					}
+					portsAttribute.append(ports[i]);
+				}
+				launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, portsAttribute.toString());
 
-			File workingDir = verifyWorkingDirectory(configuration);
-			String workingDirName = null;
-			if (workingDir != null) {
-				workingDirName= workingDir.getAbsolutePath();
+				fShardRunConfigs= new VMRunnerConfiguration[fShards.length];
+				for (int i= 0; i < fShards.length; i++) {
+					fTestElements= fShards[i];
+					fPort= ports[i];
+					fShardRunConfigs[i]= createRunConfiguration(configuration, mode, javaProject);
+				}
+				runConfig= fShardRunConfigs[0];
 			}
 
-			// Environment variables
-			String[] envp= getEnvironment(configuration);
-
-			ArrayList<String> vmArguments= new ArrayList<>();
-			ArrayList<String> programArguments= new ArrayList<>();
-			collectExecutionArguments(configuration, vmArguments, programArguments);
-			vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
-			if (JavaRuntime.isModularProject(javaProject)) {
-				vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
+			// check for cancellation
+			if (monitor.isCanceled()) {
+				return null;
 			}
+		}finally {
+			// done the verification phase
+			monitor.worked(1);
+		}
+		return runConfig;
+	}
 
-			// VM-specific attributes
-			Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
-
-			// Classpath and modulepath
-			String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
-			String[] classpath= classpathAndModulepath[0];
-			String[] modulepath= classpathAndModulepath[1];
-
-			if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
-				if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
-					if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
-						try {
-							JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("org.junit.platform.launcher", null); //$NON-NLS-1$
-							String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
-							int length= classpath.length;
-							System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
-							classpath[length]= entryString;
-						} catch (IOException | URISyntaxException e) {
-							throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
-						}
+	private VMRunnerConfiguration createRunConfiguration(ILaunchConfiguration configuration, String mode, IJavaProject javaProject) throws CoreException {
+		String mainTypeName= verifyMainTypeName(configuration);
+
+		File workingDir = verifyWorkingDirectory(configuration);
+		String workingDirName = null;
+		if (workingDir != null) {
+			workingDirName= workingDir.getAbsolutePath();
+		}
+
+		// Environment variables
+		String[] envp= getEnvironment(configuration);
+
+		ArrayList<String> vmArguments= new ArrayList<>();
+		ArrayList<String> programArguments= new ArrayList<>();
+		collectExecutionArguments(configuration, vmArguments, programArguments);
+		vmArguments.addAll(Arrays.asList(DebugPlugin.parseArguments(getVMArguments(configuration, mode))));
+		if (JavaRuntime.isModularProject(javaProject)) {
+			vmArguments.add("--add-modules=ALL-MODULE-PATH"); //$NON-NLS-1$
+		}
+
+		// VM-specific attributes
+		Map<String, Object> vmAttributesMap= getVMSpecificAttributesMap(configuration);
+
+		// Classpath and modulepath
+		String[][] classpathAndModulepath= getClasspathAndModulepath(configuration);
+		String[] classpath= classpathAndModulepath[0];
+		String[] modulepath= classpathAndModulepath[1];
+
+		if (TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId())) {
+			if (!configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY, false)) {
+				if (!Arrays.stream(classpath).anyMatch(s -> s.contains("junit-platform-launcher") || s.contains("org.junit.platform.launcher"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					try {
+						JUnitRuntimeClasspathEntry x= new JUnitRuntimeClasspathEntry("org.junit.platform.launcher", null); //$NON-NLS-1$
+						String entryString= new ClasspathLocalizer(Platform.inDevelopmentMode()).entryString(x);
+						int length= classpath.length;
+						System.arraycopy(classpath, 0, classpath= new String[length + 1], 0, length);
+						classpath[length]= entryString;
+					} catch (IOException | URISyntaxException e) {
+						throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
 					}
 				}
 			}
+		}
 
-			// Create VM config
-			runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
-			runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
-			runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
-			runConfig.setEnvironment(envp);
-			runConfig.setWorkingDirectory(workingDirName);
-			runConfig.setVMSpecificAttributesMap(vmAttributesMap);
-			runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
+		// Create VM config
+		VMRunnerConfiguration runConfig= new VMRunnerConfiguration(mainTypeName, classpath);
+		runConfig.setVMArguments(vmArguments.toArray(new String[vmArguments.size()]));
+		runConfig.setProgramArguments(programArguments.toArray(new String[programArguments.size()]));
+		runConfig.setEnvironment(envp);
+		runConfig.setWorkingDirectory(workingDirName);
+		runConfig.setVMSpecificAttributesMap(vmAttributesMap);
+		runConfig.setPreviewEnabled(supportsPreviewFeatures(configuration));
 
-			if (!JavaRuntime.isModularConfiguration(configuration)) {
-				// Bootpath
-				runConfig.setBootClassPath(getBootpath(configuration));
+		if (!JavaRuntime.isModularConfiguration(configuration)) {
+			// Bootpath
+			runConfig.setBootClassPath(getBootpath(configuration));
+		} else {
+			// module path
+			runConfig.setModulepath(modulepath);
+			if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
+				runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
 			} else {
-				// module path
-				runConfig.setModulepath(modulepath);
-				if (!configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_DEFAULT_MODULE_CLI_OPTIONS, true)) {
-					runConfig.setOverrideDependencies(configuration.getAttribute(IJavaLaunchConfigurationConstants.ATTR_MODULE_CLI_OPTIONS, "")); //$NON-NLS-1$
-				} else {
-					runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
-				}
+				runConfig.setOverrideDependencies(getModuleCLIOptions(configuration));
 			}
+		}
+		return runConfig;
+	}
 
-			// check for cancellation
-			if (monitor.isCanceled()) {
+	/**
+	 * Distributes the test classes to the VMs requested by
+	 * {@link JUnitLaunchConfigurationConstants#ATTR_SHARDS}, balanced by the recorded test durations.
+	 *
+	 * @param configuration the launch configuration
+	 * @param mode the launch mode
+	 * @param javaProject the project of the tests
+	 * @return the test elements per VM, or <code>null</code> if all tests run in a single VM
+	 * @throws CoreException if the configuration can't be read
+	 */
+	private IJavaElement[][] createShards(ILaunchConfiguration configuration, String mode, IJavaProject javaProject) throws CoreException {
+		int shardCount= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, 1);
+		if (shardCount < 2 || fKeepAlive || fDaemon || !ILaunchManager.RUN_MODE.equals(mode) || fTestElements.length < 2) {
+			return null;
+		}
+		Map<String, IType> types= new LinkedHashMap<>();
+		for (IJavaElement testElement : fTestElements) {
+			if (!(testElement instanceof IType)) {
 				return null;
 			}
-		}finally {
-			// done the verification phase
-			monitor.worked(1);
+			IType type= (IType) testElement;
+			types.put(type.getFullyQualifiedName('.'), type);
+		}
+		List<List<String>> shards= JUnitCorePlugin.getDefault().getTestStatistics().createShards(javaProject, types.keySet(), shardCount);
+		if (shards.size() < 2) {
+			return null;
+		}
+		IJavaElement[][] result= new IJavaElement[shards.size()][];
+		for (int i= 0; i < result.length; i++) {
+			result[i]= shards.get(i).stream().map(types::get).toArray(IJavaElement[]::new);
+		}
+		return result;
+	}
+
+	private int evaluateOtherPort(int[] ports, int count) throws CoreException {
+		while (true) {
+			int port= evaluatePort();
+			boolean used= false;
+			for (int i= 0; i < count; i++) {
+				used|= ports[i] == port;
+			}
+			if (!used) {
+				return port;
+			}
 		}
-		return runConfig;
 	}
 
 	@Override
@@ -265,7 +359,13 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			monitor.worked(1);
 
 			// Launch the configuration - 1 unit of work
-			runner.run(runConfig, launch, monitor);
+			if (fShardRunConfigs != null) {
+				for (VMRunnerConfiguration shardRunConfig : fShardRunConfigs) {
+					runner.run(shardRunConfig, launch, monitor);
+				}
+			} else {
+				runner.run(runConfig, launch, monitor);
+			}
 
 			// check for cancellation
 			if (monitor.isCanceled()) {
@@ -273,6 +373,8 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			}
 		} finally {
 			fTestElements= null;
+			fShards= null;
+			fShardRunConfigs= null;
 			monitor.done();
 		}
 	}
@@ -419,9 +521,14 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
+		if (fDaemon)
+			programArguments.add(0, "-daemon"); //$NON-NLS-1$
 
 		ITestKind testRunnerKind= getTestRunnerKind(configuration);
 
+		if (useBinaryProtocol(testRunnerKind))
+			programArguments.add("-binaryprotocol"); //$NON-NLS-1$
+
 		programArguments.add("-testLoaderClass"); //$NON-NLS-1$
 		programArguments.add(testRunnerKind.getLoaderClassName());
 		programArguments.add("-loaderpluginname"); //$NON-NLS-1$
@@ -467,6 +574,12 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		if (testFailureNames.length() > 0) {
 			programArguments.add("-testfailures"); //$NON-NLS-1$
 			programArguments.add(testFailureNames);
+		} else if (configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE, false)) {
+			List<String> priorities= JUnitCorePlugin.getDefault().getTestStatistics().getPriorityOrder(getJavaProject(configuration));
+			if (!priorities.isEmpty()) {
+				programArguments.add("-testpriorities"); //$NON-NLS-1$
+				programArguments.add(createTestPrioritiesFile(priorities));
+			}
 		}
 
 		String uniqueId= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, ""); //$NON-NLS-1$
@@ -622,6 +735,22 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		}
 	}
 
+	private String createTestPrioritiesFile(List<String> testNames) throws CoreException {
+		try {
+			File file= File.createTempFile("testPriorities", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.deleteOnExit();
+			try (BufferedWriter bw= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));) {
+				for (String testName : testNames) {
+					bw.write(testName);
+					bw.newLine();
+				}
+			}
+			return file.getAbsolutePath();
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
+		}
+	}
+
 	@Override
 	public String[][] getClasspathAndModulepath(ILaunchConfiguration configuration) throws CoreException {
 		String[][] cpmp= super.getClasspathAndModulepath(configuration);
@@ -665,6 +794,26 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		return classPath;
 	}
 
+	/**
+	 * Tells whether the test runner is asked to use the binary protocol. This is only the case if
+	 * the preference is enabled and the runtime on the class path of the test kind knows the
+	 * protocol. Otherwise the runner keeps using the text protocol.
+	 *
+	 * @param kind the test kind
+	 * @return <code>true</code> if <code>-binaryprotocol</code> is passed to the runner
+	 */
+	private static boolean useBinaryProtocol(ITestKind kind) {
+		if (!Platform.getPreferencesService().getBoolean(JUnitCorePlugin.CORE_PLUGIN_ID, JUnitPreferencesConstants.BINARY_PROTOCOL, true, null))
+			return false;
+		for (JUnitRuntimeClasspathEntry entry : kind.getClasspathEntries()) {
+			if (JUNIT_RUNTIME_PLUGIN_ID.equals(entry.getPluginId())) {
+				Bundle bundle= JUnitCorePlugin.getDefault().getBundle(JUNIT_RUNTIME_PLUGIN_ID);
+				return bundle != null && bundle.getVersion().compareTo(BINARY_PROTOCOL_RUNTIME_VERSION) >= 0;
+			}
+		}
+		return false;
+	}
+
 	private static class ClasspathLocalizer {
 
 		private boolean fInDevelopmentMode;
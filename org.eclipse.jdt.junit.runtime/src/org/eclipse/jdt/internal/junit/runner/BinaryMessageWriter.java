@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sends the messages of the remote test runner in the binary protocol.
+ * <p>
+ * The writer is selected when the IDE passes <code>-binaryprotocol</code> to the runner. It
+ * starts the connection with {@link #PREAMBLE}, whose first byte can never start a message of
+ * the text protocol, so that the client can tell the two protocols apart. All further data is
+ * sent in frames: a 4 byte big-endian payload length followed by a sequence of records. A
+ * record starts with its type byte:
+ * </p>
+ * <ul>
+ * <li>{@link #RECORD_TEXT}: a message of the text protocol as a string</li>
+ * <li>{@link #RECORD_TEST_START}, {@link #RECORD_TEST_END}, {@link #RECORD_TEST_ERROR},
+ * {@link #RECORD_TEST_FAILED}: a varint <code>(id &lt;&lt; 1) | hasName</code>, followed by the
+ * escaped test name as a string if <code>hasName</code> is set. The name is omitted when it
+ * equals the name last sent for the id.</li>
+ * <li>{@link #RECORD_TEST_TREE}: a varint id, followed by the rest of the tree entry as a
+ * string. The escaped name at the start of the entry becomes the name of the id.</li>
+ * </ul>
+ * <p>
+ * Strings are sent as a varint byte length followed by their UTF-8 bytes.
+ * </p>
+ * <p>
+ * The messages are collected in a batch that a writer thread sends when it is full, when it is
+ * closed, or {@link #LINGER_TIME} milliseconds after a {@link #flush()}, so that the many short
+ * notifications of a fast test run share a single write. Senders are blocked while a full batch
+ * is pending, which bounds the memory used by the writer.
+ * </p>
+ *
+ * @since 3.6
+ */
+public class BinaryMessageWriter implements MessageSender {
+
+	/**
+	 * The version of the binary protocol.
+	 */
+	public static final byte PROTOCOL_VERSION= 1;
+
+	/**
+	 * The bytes that start a connection in the binary protocol.
+	 */
+	public static final byte[] PREAMBLE= { 0, 'J', 'U', 'B', PROTOCOL_VERSION };
+
+	public static final int RECORD_TEXT= 0;
+	public static final int RECORD_TEST_START= 1;
+	public static final int RECORD_TEST_END= 2;
+	public static final int RECORD_TEST_ERROR= 3;
+	public static final int RECORD_TEST_FAILED= 4;
+	public static final int RECORD_TEST_TREE= 5;
+
+	/**
+	 * The size of a batch after which it is sent without waiting for a flush.
+	 */
+	public static final int MAX_BATCH_SIZE= 64 * 1024;
+
+	/**
+	 * The time in milliseconds a flushed batch waits for more messages before it is sent.
+	 */
+	public static final long LINGER_TIME= 20;
+
+	private static final int FRAME_HEADER_SIZE= 4;
+
+	private final OutputStream fOutput;
+
+	private final Thread fWriterThread;
+
+	/**
+	 * The names last sent for the test ids, indexed by id.
+	 */
+	private String[] fNames= new String[256];
+
+	private byte[] fBatch= new byte[FRAME_HEADER_SIZE + MAX_BATCH_SIZE];
+
+	private int fBatchLength= FRAME_HEADER_SIZE;
+
+	/**
+	 * The time at which the current batch has to be sent, or <code>0</code> if the batch has
+	 * not been flushed yet.
+	 */
+	private long fFlushDeadline;
+
+	/**
+	 * The batch that has last been sent, reused for the next batch.
+	 */
+	private byte[] fSpareBatch;
+
+	private boolean fClosed;
+
+	/**
+	 * Creates a writer that sends the binary protocol to the given stream. The preamble is sent
+	 * immediately.
+	 *
+	 * @param output the stream of the connection to the IDE
+	 * @throws IOException if the preamble could not be sent
+	 */
+	public BinaryMessageWriter(OutputStream output) throws IOException {
+		fOutput= output;
+		fOutput.write(PREAMBLE);
+		fOutput.flush();
+		fWriterThread= new Thread("JUnit Binary Message Writer") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				writeBatches();
+			}
+		};
+		fWriterThread.setDaemon(true);
+		fWriterThread.start();
+	}
+
+	public synchronized void sendMessage(String msg) {
+		while (!fClosed && fBatchLength - FRAME_HEADER_SIZE >= MAX_BATCH_SIZE) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		if (fClosed)
+			return;
+		if (!appendTestRecord(msg)) {
+			appendByte(RECORD_TEXT);
+			appendString(msg, 0);
+		}
+		if (fBatchLength - FRAME_HEADER_SIZE >= MAX_BATCH_SIZE)
+			notifyAll();
+	}
+
+	public synchronized void flush() {
+		if (fFlushDeadline == 0 && fBatchLength > FRAME_HEADER_SIZE) {
+			fFlushDeadline= System.currentTimeMillis() + LINGER_TIME;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Sends the pending messages and stops the writer thread. Messages sent after closing are
+	 * ignored.
+	 */
+	public void close() {
+		synchronized (this) {
+			if (fClosed)
+				return;
+			fClosed= true;
+			notifyAll();
+		}
+		try {
+			fWriterThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeBatches() {
+		while (true) {
+			byte[] batch;
+			int length;
+			synchronized (this) {
+				while (!isBatchDue()) {
+					try {
+						if (fFlushDeadline == 0)
+							wait();
+						else
+							wait(Math.max(1, fFlushDeadline - System.currentTimeMillis()));
+					} catch (InterruptedException e) {
+						fClosed= true;
+					}
+				}
+				if (fBatchLength == FRAME_HEADER_SIZE) {
+					// closed and drained
+					return;
+				}
+				batch= fBatch;
+				length= fBatchLength;
+				fBatch= fSpareBatch != null ? fSpareBatch : new byte[FRAME_HEADER_SIZE + MAX_BATCH_SIZE];
+				fSpareBatch= null;
+				fBatchLength= FRAME_HEADER_SIZE;
+				fFlushDeadline= 0;
+				// wake up senders waiting for a full batch
+				notifyAll();
+			}
+			boolean failed= false;
+			try {
+				int payload= length - FRAME_HEADER_SIZE;
+				batch[0]= (byte) (payload >>> 24);
+				batch[1]= (byte) (payload >>> 16);
+				batch[2]= (byte) (payload >>> 8);
+				batch[3]= (byte) payload;
+				fOutput.write(batch, 0, length);
+				fOutput.flush();
+			} catch (IOException e) {
+				failed= true;
+			}
+			synchronized (this) {
+				fSpareBatch= batch;
+				if (failed) {
+					// the IDE has gone away, drop all further messages
+					fClosed= true;
+					fBatchLength= FRAME_HEADER_SIZE;
+					notifyAll();
+					return;
+				}
+			}
+		}
+	}
+
+	private boolean isBatchDue() {
+		if (fClosed || fBatchLength - FRAME_HEADER_SIZE >= MAX_BATCH_SIZE)
+			return true;
+		return fFlushDeadline != 0 && System.currentTimeMillis() >= fFlushDeadline;
+	}
+
+	/**
+	 * Appends the given message as a test record if it is a test notification with a numeric
+	 * id.
+	 *
+	 * @param msg the message of the text protocol
+	 * @return <code>true</code> if the message has been appended
+	 */
+	private boolean appendTestRecord(String msg) {
+		int type;
+		if (msg.startsWith(MessageIds.TEST_START))
+			type= RECORD_TEST_START;
+		else if (msg.startsWith(MessageIds.TEST_END))
+			type= RECORD_TEST_END;
+		else if (msg.startsWith(MessageIds.TEST_ERROR))
+			type= RECORD_TEST_ERROR;
+		else if (msg.startsWith(MessageIds.TEST_FAILED))
+			type= RECORD_TEST_FAILED;
+		else if (msg.startsWith(MessageIds.TEST_TREE))
+			type= RECORD_TEST_TREE;
+		else
+			return false;
+
+		int comma= msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH);
+		int id= parseId(msg, MessageIds.MSG_HEADER_LENGTH, comma);
+		if (id <= 0)
+			return false;
+
+		int nameStart= comma + 1;
+		if (type == RECORD_TEST_TREE) {
+			appendByte(type);
+			appendVarint(id);
+			appendString(msg, nameStart);
+			setName(id, msg.substring(nameStart, getEscapedNameEnd(msg, nameStart)));
+		} else {
+			String known= id < fNames.length ? fNames[id] : null;
+			appendByte(type);
+			if (known != null && known.length() == msg.length() - nameStart && msg.startsWith(known, nameStart)) {
+				appendVarint(id << 1);
+			} else {
+				appendVarint((id << 1) | 1);
+				appendString(msg, nameStart);
+				setName(id, msg.substring(nameStart));
+			}
+		}
+		return true;
+	}
+
+	private static int parseId(String msg, int start, int end) {
+		if (end <= start || end - start > 9)
+			return -1;
+		int id= 0;
+		for (int i= start; i < end; i++) {
+			char ch= msg.charAt(i);
+			if (ch < '0' || ch > '9')
+				return -1;
+			id= id * 10 + (ch - '0');
+		}
+		return id;
+	}
+
+	private static int getEscapedNameEnd(String msg, int start) {
+		for (int i= start; i < msg.length(); i++) {
+			char ch= msg.charAt(i);
+			if (ch == '\\')
+				i++;
+			else if (ch == ',')
+				return i;
+		}
+		return msg.length();
+	}
+
+	private void setName(int id, String name) {
+		if (id >= fNames.length) {
+			String[] names= new String[Math.max(id + 1, 2 * fNames.length)];
+			System.arraycopy(fNames, 0, names, 0, fNames.length);
+			fNames= names;
+		}
+		fNames[id]= name;
+	}
+
+	private void ensureCapacity(int additional) {
+		if (fBatchLength + additional > fBatch.length) {
+			byte[] batch= new byte[Math.max(fBatchLength + additional, 2 * fBatch.length)];
+			System.arraycopy(fBatch, 0, batch, 0, fBatchLength);
+			fBatch= batch;
+		}
+	}
+
+	private void appendByte(int value) {
+		ensureCapacity(1);
+		fBatch[fBatchLength++]= (byte) value;
+	}
+
+	private void appendVarint(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			fBatch[fBatchLength++]= (byte) ((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		fBatch[fBatchLength++]= (byte) value;
+	}
+
+	/**
+	 * Appends the substring of the given string that starts at the given index as its UTF-8
+	 * byte length and bytes. Unpaired surrogates are sent as <code>'?'</code>.
+	 *
+	 * @param string the string
+	 * @param start the index of the first character to append
+	 */
+	private void appendString(String string, int start) {
+		int end= string.length();
+		int byteLength= 0;
+		for (int i= start; i < end; i++) {
+			char ch= string.charAt(i);
+			if (ch < 0x80) {
+				byteLength++;
+			} else if (ch < 0x800) {
+				byteLength+= 2;
+			} else if (Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(string.charAt(i + 1))) {
+				byteLength+= 4;
+				i++;
+			} else if (Character.isHighSurrogate(ch) || Character.isLowSurrogate(ch)) {
+				byteLength++;
+			} else {
+				byteLength+= 3;
+			}
+		}
+		appendVarint(byteLength);
+		ensureCapacity(byteLength);
+		byte[] batch= fBatch;
+		int pos= fBatchLength;
+		for (int i= start; i < end; i++) {
+			char ch= string.charAt(i);
+			if (ch < 0x80) {
+				batch[pos++]= (byte) ch;
+			} else if (ch < 0x800) {
+				batch[pos++]= (byte) (0xC0 | (ch >> 6));
+				batch[pos++]= (byte) (0x80 | (ch & 0x3F));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(string.charAt(i + 1))) {
+				int codePoint= Character.toCodePoint(ch, string.charAt(++i));
+				batch[pos++]= (byte) (0xF0 | (codePoint >> 18));
+				batch[pos++]= (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				batch[pos++]= (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				batch[pos++]= (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isHighSurrogate(ch) || Character.isLowSurrogate(ch)) {
+				batch[pos++]= (byte) '?';
+			} else {
+				batch[pos++]= (byte) (0xE0 | (ch >> 12));
+				batch[pos++]= (byte) (0x80 | ((ch >> 6) & 0x3F));
+				batch[pos++]= (byte) (0x80 | (ch & 0x3F));
+			}
+		}
+		fBatchLength= pos;
+	}
+}
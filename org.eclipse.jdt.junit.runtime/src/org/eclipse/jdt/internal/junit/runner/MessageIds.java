@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -133,6 +133,13 @@ public class MessageIds {
 	 * TEST_RERUN + testId + " " + testClass + " "+testName
 	 */
 	public static final String TEST_RERUN=	">RERUN  "; //$NON-NLS-1$
+	/**
+	 * Request to run all tests of the launch again.
+	 * Only honored by a runner started with <code>-daemon</code>, which
+	 * reloads changed test classes and answers with a complete test run,
+	 * starting with TEST_RUN_START.
+	 */
+	public static final String TEST_RERUN_ALL=	">RERUNAL"; //$NON-NLS-1$
 
 	/**
 	 * MessageFormat to encode test method identifiers:
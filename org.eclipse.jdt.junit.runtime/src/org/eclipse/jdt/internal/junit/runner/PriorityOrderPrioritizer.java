@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+import junit.extensions.TestDecorator;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Orders the tests of every suite by a ranking of test names. A suite is ranked
+ * like its best ranked test, tests that are not ranked keep their relative order
+ * after the ranked ones.
+ */
+public class PriorityOrderPrioritizer implements ITestPrioritizer {
+
+	private final Map<String, Integer> fRanks;
+
+	/**
+	 * @param orderedNames the names of the tests (<code>method(class)</code>) in the order
+	 *        in which they should run
+	 */
+	public PriorityOrderPrioritizer(String[] orderedNames) {
+		fRanks= new HashMap<String, Integer>(orderedNames.length * 2);
+		for (int i= 0; i < orderedNames.length; i++) {
+			if (!fRanks.containsKey(orderedNames[i]))
+				fRanks.put(orderedNames[i], Integer.valueOf(i));
+		}
+	}
+
+	public Test prioritize(Test suite) {
+		rank(suite, new IdentityHashMap<Test, Integer>());
+		return suite;
+	}
+
+	private int rank(Test test, final Map<Test, Integer> ranks) {
+		int rank= Integer.MAX_VALUE;
+		if (test instanceof TestCase) {
+			Integer value= fRanks.get(test.toString());
+			if (value != null)
+				rank= value.intValue();
+		} else if (test instanceof TestSuite) {
+			@SuppressWarnings("unchecked")
+			Vector<Test> tests= (Vector<Test>) FailuresFirstPrioritizer.getField(test, "fTests"); //$NON-NLS-1$
+			TestSuite suite= (TestSuite) test;
+			for (int i= 0; i < suite.testCount(); i++) {
+				rank= Math.min(rank, rank(suite.testAt(i), ranks));
+			}
+			if (tests != null) {
+				// stable, so tests without a rank keep their order
+				Collections.sort(tests, new Comparator<Test>() {
+					public int compare(Test t1, Test t2) {
+						int r1= ranks.get(t1).intValue();
+						int r2= ranks.get(t2).intValue();
+						return r1 < r2 ? -1 : (r1 == r2 ? 0 : 1);
+					}
+				});
+			}
+		} else if (test instanceof TestDecorator) {
+			rank= rank(((TestDecorator) test).getTest(), ranks);
+		}
+		ranks.put(test, Integer.valueOf(rank));
+		return rank;
+	}
+}
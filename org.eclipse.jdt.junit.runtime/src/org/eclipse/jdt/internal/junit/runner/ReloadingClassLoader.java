@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Vector;
+
+/**
+ * Class loader for the test classes of a runner in daemon mode.
+ * <p>
+ * The class folders of the class path are loaded by this loader itself instead of being delegated
+ * to the parent, so a new instance picks up recompiled classes. Classes from archives are still
+ * loaded by the parent and stay loaded and compiled across test runs.
+ * </p>
+ */
+class ReloadingClassLoader extends URLClassLoader {
+
+	private final File[] fFolders;
+
+	/**
+	 * Time before the creation of this loader. Class files modified later are considered changed.
+	 */
+	private final long fCreationTime;
+
+	private ReloadingClassLoader(File[] folders, URL[] urls, ClassLoader parent, long creationTime) {
+		super(urls, parent);
+		fFolders= folders;
+		fCreationTime= creationTime;
+	}
+
+	/**
+	 * Creates a loader for the class folders of the <code>java.class.path</code>.
+	 *
+	 * @param parent the parent loader, used for everything outside the class folders
+	 * @param excluded class folders to leave to the parent, e.g. the folder of the runner itself
+	 * @return the class loader
+	 */
+	static ReloadingClassLoader create(ClassLoader parent, File[] excluded) {
+		// file time stamps may only have a resolution of a second
+		long creationTime= System.currentTimeMillis() - 1000;
+		Vector<File> folders= new Vector<File>();
+		Vector<URL> urls= new Vector<URL>();
+		String classPath= System.getProperty("java.class.path", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		String[] entries= classPath.split(File.pathSeparator);
+		for (String entry : entries) {
+			File file= new File(entry).getAbsoluteFile();
+			if (entry.length() == 0 || !file.isDirectory() || isExcluded(file, excluded))
+				continue;
+			try {
+				urls.add(file.toURI().toURL());
+				folders.add(file);
+			} catch (MalformedURLException e) {
+				// leave the folder to the parent
+			}
+		}
+		return new ReloadingClassLoader(folders.toArray(new File[folders.size()]), urls.toArray(new URL[urls.size()]), parent, creationTime);
+	}
+
+	private static boolean isExcluded(File folder, File[] excluded) {
+		for (File file : excluded) {
+			if (file != null && file.getAbsoluteFile().equals(folder))
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		Class<?> c= findLoadedClass(name);
+		if (c == null && !name.startsWith("java.")) { //$NON-NLS-1$
+			try {
+				c= findClass(name);
+			} catch (ClassNotFoundException e) {
+				// not in a class folder
+			}
+		}
+		if (c == null)
+			return super.loadClass(name, resolve);
+		if (resolve)
+			resolveClass(c);
+		return c;
+	}
+
+	@Override
+	public URL getResource(String name) {
+		URL url= findResource(name);
+		return url != null ? url : super.getResource(name);
+	}
+
+	/**
+	 * Tells whether a class file in one of the class folders has been modified since this loader
+	 * was created.
+	 *
+	 * @return <code>true</code> if a new loader is needed to see the current classes
+	 */
+	boolean isStale() {
+		for (File folder : fFolders) {
+			if (containsNewerClassFile(folder))
+				return true;
+		}
+		return false;
+	}
+
+	private boolean containsNewerClassFile(File folder) {
+		File[] files= folder.listFiles();
+		if (files == null)
+			return false;
+		for (File file : files) {
+			if (file.isDirectory()) {
+				if (containsNewerClassFile(file))
+					return true;
+			} else if (file.getName().endsWith(".class") && file.lastModified() >= fCreationTime) { //$NON-NLS-1$
+				return true;
+			}
+		}
+		return false;
+	}
+}
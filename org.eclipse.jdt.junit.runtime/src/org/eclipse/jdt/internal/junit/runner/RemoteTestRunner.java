@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,8 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.Socket;
+import java.net.URL;
+import java.security.CodeSource;
 import java.util.Vector;
 
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
@@ -90,6 +92,11 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Print writer for sending messages
 	 */
 	private PrintWriter fWriter;
+	/**
+	 * Writer for sending messages in the binary protocol, or <code>null</code> if the
+	 * text protocol is used
+	 */
+	private BinaryMessageWriter fBinaryWriter;
 	/**
 	 * Reader for incoming messages
 	 */
@@ -111,6 +118,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * This allows to rerun tests.
 	 */
 	private boolean fKeepAlive= false;
+	/**
+	 * Keep the test run server alive and run all tests again on request,
+	 * reloading the test classes whose class files have changed.
+	 */
+	private boolean fDaemon= false;
+	/**
+	 * The class loader for the test classes in daemon mode, or <code>null</code>
+	 * if a new one has to be created for the next run.
+	 */
+	private ReloadingClassLoader fReloadingClassLoader;
 	/**
 	 * Has the server been stopped
 	 */
@@ -119,6 +136,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Queue of rerun requests.
 	 */
 	private Vector<RerunRequest> fRerunRequests= new Vector<RerunRequest>(10);
+	/**
+	 * Has a run of all tests been requested
+	 */
+	private boolean fRerunAllRequested= false;
 	/**
 	 * Thread reading from the socket
 	 */
@@ -130,12 +151,22 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private String[] fFailureNames;
 
+	/**
+	 * Names of the tests in the order in which they should run, or <code>null</code>
+	 */
+	private String[] fPriorityNames;
+
 	private ITestLoader fLoader;
 
 	private MessageSender fSender;
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * Send the messages in the binary protocol offered by the IDE.
+	 */
+	private boolean fBinaryProtocol= false;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -160,6 +191,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 							break;
 						}
 
+						else if (message.startsWith(MessageIds.TEST_RERUN_ALL)) {
+							synchronized(RemoteTestRunner.this) {
+								fRerunAllRequested= true;
+								RemoteTestRunner.this.notifyAll();
+							}
+						}
+
 						else if (message.startsWith(MessageIds.TEST_RERUN)) {
 							String arg= message.substring(MessageIds.MSG_HEADER_LENGTH);
 							//format: testId className testName
@@ -196,11 +234,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @param args Parameters:
 	 * <pre>-classnames: the name of the test suite class
 	 * -testfilename: the name of a file containing classnames of test suites
+	 * -testpriorities: the name of a file containing test names in the order in which they should run
 	 * -test: the test method name (format classname testname)
 	 * -packagenamefile: the name of a file containing package names of tests
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -daemon: keep the process alive and run all tests again on request
+	 * -binaryprotocol: send the messages in the binary protocol
      * </pre>
      */
 	public static void main(String[] args) {
@@ -231,9 +272,42 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @return the class loader to lead test classes
 	 */
 	protected ClassLoader getTestClassLoader() {
+		if (fDaemon) {
+			if (fReloadingClassLoader == null) {
+				File[] excluded= { getCodeSourceFolder(getClass()), getCodeSourceFolder(RemoteTestRunner.class),
+						fLoader != null ? getCodeSourceFolder(fLoader.getClass()) : null };
+				fReloadingClassLoader= ReloadingClassLoader.create(getClass().getClassLoader(), excluded);
+				Thread.currentThread().setContextClassLoader(fReloadingClassLoader);
+			}
+			return fReloadingClassLoader;
+		}
 		return getClass().getClassLoader();
 	}
 
+	private static File getCodeSourceFolder(Class<?> clazz) {
+		try {
+			CodeSource codeSource= clazz.getProtectionDomain().getCodeSource();
+			URL location= codeSource != null ? codeSource.getLocation() : null;
+			if (location != null && "file".equals(location.getProtocol())) //$NON-NLS-1$
+				return new File(location.toURI());
+		} catch (Exception e) {
+			// no folder to exclude
+		}
+		return null;
+	}
+
+	/**
+	 * Drops the class loader for the test classes in daemon mode if class files
+	 * have changed since it was created, so that the next run reloads them.
+	 */
+	private void refreshTestClassLoader() {
+		if (fReloadingClassLoader != null && fReloadingClassLoader.isStale()) {
+			if (fDebugMode)
+				System.out.println("reloading test classes"); //$NON-NLS-1$
+			fReloadingClassLoader= null;
+		}
+	}
+
 	/**
 	 * Process the default arguments.
 	 * @param args arguments
@@ -285,6 +359,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 				}
 				i++;
 
+			} else if ("-testpriorities".equals(args[i].toLowerCase())) { //$NON-NLS-1$
+				String testPrioritiesFile= args[i+1];
+				try {
+					fPriorityNames= readLines(testPrioritiesFile);
+				} catch (IOException e) {
+					throw new IllegalArgumentException("Cannot read testpriorities file.");		 //$NON-NLS-1$
+				}
+				i++;
+
 			} else if("-port".equals(args[i].toLowerCase())) { //$NON-NLS-1$
 				fPort= Integer.parseInt(args[i+1]);
 				i++;
@@ -300,6 +383,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equals(args[i].toLowerCase())) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if("-daemon".equals(args[i].toLowerCase())) { //$NON-NLS-1$
+				fDaemon= true;
+				fKeepAlive= true;
+			}
+			else if("-binaryprotocol".equals(args[i].toLowerCase())) { //$NON-NLS-1$
+				fBinaryProtocol= true;
+			}
 			else if("-debugging".equals(args[i].toLowerCase()) || "-debug".equals(args[i].toLowerCase())){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -448,6 +538,21 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		}
 	}
 
+	private String[] readLines(String fileName) throws IOException {
+		BufferedReader br= new BufferedReader(new InputStreamReader(new FileInputStream(new File(fileName)), "UTF-8")); //$NON-NLS-1$
+		try {
+			String line;
+			Vector<String> list= new Vector<String>();
+			while ((line= br.readLine()) != null) {
+				list.add(line);
+			}
+			return list.toArray(new String[list.size()]);
+		}
+		finally {
+			br.close();
+		}
+	}
+
 	/**
 	 * Connects to the remote ports and runs the tests.
 	 */
@@ -456,6 +561,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			return;
 		if (fRerunTest != null) {
 			rerunTest(new RerunRequest(Integer.parseInt(fRerunTest), fTestClassNames[0], fTestName));
+			shutDown();
 			return;
 		}
 
@@ -479,8 +585,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	private synchronized void waitForReruns() {
 		while (!fStopped) {
 			try {
-				wait();
-				if (!fStopped && fRerunRequests.size() > 0) {
+				if (!fRerunAllRequested && fRerunRequests.isEmpty())
+					wait();
+				if (fStopped)
+					break;
+				if (fRerunAllRequested) {
+					fRerunAllRequested= false;
+					if (fDaemon)
+						rerunAllTests();
+				} else if (fRerunRequests.size() > 0) {
 					RerunRequest r= fRerunRequests.remove(0);
 					rerunTest(r);
 				}
@@ -489,6 +602,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		}
 	}
 
+	/**
+	 * Runs all tests of the launch again in daemon mode. Classes are only
+	 * reloaded if their class files have changed.
+	 */
+	private void rerunAllTests() {
+		refreshTestClassLoader();
+		fExecution= new TestExecution(firstRunExecutionListener(), getClassifier());
+		runTests(fExecution);
+	}
+
 	public void runFailed(String message, Exception exception) {
 		//TODO: remove System.err.println?
 		System.err.println(message);
@@ -568,6 +691,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @param r rerun request
 	 */
 	public void rerunTest(RerunRequest r) {
+		if (fDaemon)
+			refreshTestClassLoader();
 		final Class<?>[] classes= loadClasses(new String[] { r.fRerunClassName });
 		ITestReference rerunTest1= fLoader.loadTests(classes, r.fRerunTestName, null, null, fIncludeExcludeTags, fUniqueId, this)[0];
 		RerunExecutionListener service= rerunExecutionListener();
@@ -658,11 +783,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fBinaryProtocol) {
+					fBinaryWriter= new BinaryMessageWriter(fClientSocket.getOutputStream());
+				} else {
+					try {
+						fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
+					} catch (UnsupportedEncodingException e1) {
+						fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+					}
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), "UTF-8")); //$NON-NLS-1$
                 } catch (UnsupportedEncodingException e1) {
@@ -687,6 +816,11 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinaryWriter != null) {
+			// sends the pending messages
+			fBinaryWriter.close();
+			fBinaryWriter= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -722,6 +856,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * @see org.eclipse.jdt.internal.junit.runner.MessageSender#sendMessage(java.lang.String)
 	 */
 	public void sendMessage(String msg) {
+		if (fBinaryWriter != null) {
+			fBinaryWriter.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -761,6 +899,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	}
 
 	public void flush() {
+		if (fBinaryWriter != null) {
+			fBinaryWriter.flush();
+			return;
+		}
 	    fWriter.flush();
 	}
 
@@ -768,6 +910,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		runTests(fTestClassNames, fTestName, execution);
 	}
 
+	/**
+	 * Returns the names of the tests in the order in which they should run if no
+	 * failures are to be run first. Tests that are not listed run after the listed ones.
+	 *
+	 * @return the test names, or <code>null</code> to keep the natural order
+	 */
+	public String[] getTestPriorities() {
+		return fPriorityNames;
+	}
+
 	public ITestLoader getTestLoader() {
 		return fLoader;
 	}
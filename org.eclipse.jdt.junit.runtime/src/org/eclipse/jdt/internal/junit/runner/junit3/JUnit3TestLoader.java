@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jdt.internal.junit.runner.ITestPrioritizer;
 import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.JUnitMessages;
 import org.eclipse.jdt.internal.junit.runner.NullPrioritizer;
+import org.eclipse.jdt.internal.junit.runner.PriorityOrderPrioritizer;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
 public class JUnit3TestLoader implements ITestLoader {
@@ -46,6 +47,8 @@ public class JUnit3TestLoader implements ITestLoader {
 
 		if (failureNames != null)
 			prioritizer= new FailuresFirstPrioritizer(failureNames);
+		else if (listener != null && listener.getTestPriorities() != null)
+			prioritizer= new PriorityOrderPrioritizer(listener.getTestPriorities());
 		else
 			prioritizer= new NullPrioritizer();
 
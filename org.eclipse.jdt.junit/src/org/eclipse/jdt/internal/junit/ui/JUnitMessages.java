@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -141,6 +141,9 @@ public final class JUnitMessages extends NLS {
 	public static String JUnitLaunchConfigurationTab_label_containerTest;
 
 	public static String JUnitLaunchConfigurationTab_label_keeprunning;
+	public static String JUnitLaunchConfigurationTab_label_daemon;
+	public static String JUnitLaunchConfigurationTab_label_prioritize;
+	public static String JUnitLaunchConfigurationTab_label_shards;
 
 	public static String JUnitLaunchConfigurationTab_label_method;
 
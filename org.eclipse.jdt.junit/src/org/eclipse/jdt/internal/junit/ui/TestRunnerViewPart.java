@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ILock;
@@ -199,6 +200,11 @@ public class TestRunnerViewPart extends ViewPart {
 	protected boolean fShowOnErrorOnly= false;
 	protected Clipboard fClipboard;
 	protected volatile String fInfoMessage;
+	/**
+	 * The test case that was started last and for which no message has been shown yet, or
+	 * <code>null</code>. The message is only formatted when the view is updated.
+	 */
+	private volatile TestCaseElement fStartedTestCase;
 
 	private FailureTrace fFailureTrace;
 
@@ -520,11 +526,23 @@ public class TestRunnerViewPart extends ViewPart {
 			//TODO: MULTI: getFileNames()
 			File file= new File(path);
 
+			// parse in the background, large transcripts would otherwise freeze the workbench
 			try {
-				JUnitModel.importTestRunSession(file);
-			} catch (CoreException e) {
-				JUnitPlugin.log(e);
-				ErrorDialog.openError(fShell, JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_error_title, e.getStatus().getMessage(), e.getStatus());
+				PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
+					try {
+						JUnitModel.importTestRunSession(file, monitor);
+					} catch (CoreException e) {
+						throw new InvocationTargetException(e);
+					} catch (OperationCanceledException e) {
+						throw new InterruptedException();
+					}
+				});
+			} catch (InterruptedException e) {
+				// cancelled
+			} catch (InvocationTargetException e) {
+				IStatus status= getImportErrorStatus(e);
+				JUnitPlugin.log(status);
+				ErrorDialog.openError(fShell, JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_error_title, status.getMessage(), status);
 			}
 		}
 	}
@@ -814,11 +832,7 @@ public class TestRunnerViewPart extends ViewPart {
 		public void testStarted(TestCaseElement testCaseElement) {
 			fTestViewer.registerAutoScrollTarget(testCaseElement);
 			fTestViewer.registerViewerUpdate(testCaseElement);
-
-			String className= BasicElementLabels.getJavaElementName(testCaseElement.getClassName());
-			String method= BasicElementLabels.getJavaElementName(testCaseElement.getTestMethodName());
-			String status= Messages.format(JUnitMessages.TestRunnerViewPart_message_started, new String[] { className, method });
-			registerInfoMessage(status);
+			registerStartedTestCase(testCaseElement);
 		}
 
 		@Override
@@ -1395,6 +1409,10 @@ public class TestRunnerViewPart extends ViewPart {
 	 * Stops the currently running test and shuts down the RemoteTestRunner
 	 */
 	public void rerunTestRun() {
+		if (fTestRunSession != null && fTestRunSession.rerunAllTests()) {
+			// the test runner daemon runs the tests again in the same VM
+			return;
+		}
 		if (lastLaunchIsKeptAlive()) {
 			// prompt for terminating the existing run
 			if (MessageDialog.openQuestion(getSite().getShell(), JUnitMessages.TestRunnerViewPart_terminate_title, JUnitMessages.TestRunnerViewPart_terminate_message)) {
@@ -1827,13 +1845,27 @@ action enablement
 		if (fInfoMessage != null) {
 			setContentDescription(fInfoMessage);
 			fInfoMessage= null;
+		} else {
+			TestCaseElement testCaseElement= fStartedTestCase;
+			if (testCaseElement != null) {
+				fStartedTestCase= null;
+				String className= BasicElementLabels.getJavaElementName(testCaseElement.getClassName());
+				String method= BasicElementLabels.getJavaElementName(testCaseElement.getTestMethodName());
+				setContentDescription(Messages.format(JUnitMessages.TestRunnerViewPart_message_started, new String[] { className, method }));
+			}
 		}
 	}
 
 	protected void registerInfoMessage(String message) {
+		fStartedTestCase= null;
 		fInfoMessage= message;
 	}
 
+	private void registerStartedTestCase(TestCaseElement testCaseElement) {
+		fInfoMessage= null;
+		fStartedTestCase= testCaseElement;
+	}
+
 	private SashForm createSashForm(Composite parent) {
 		fSashForm= new SashForm(parent, SWT.VERTICAL);
 
@@ -2321,11 +2353,24 @@ action enablement
 		} catch (InterruptedException e) {
 			// cancelled
 		} catch (InvocationTargetException e) {
-			CoreException ce= (CoreException) e.getCause();
-			StatusManager.getManager().handle(ce.getStatus(), StatusManager.SHOW | StatusManager.LOG);
+			StatusManager.getManager().handle(getImportErrorStatus(e), StatusManager.SHOW | StatusManager.LOG);
 		}
 	}
 
+	/**
+	 * Returns the status of a failed import. Imports report problems as {@link CoreException}s,
+	 * other causes are unexpected runtime exceptions or errors.
+	 *
+	 * @param e the exception thrown by the import
+	 * @return the status describing the cause
+	 */
+	private static IStatus getImportErrorStatus(InvocationTargetException e) {
+		Throwable cause= e.getCause();
+		if (cause instanceof CoreException)
+			return ((CoreException) cause).getStatus();
+		return new Status(IStatus.ERROR, JUnitPlugin.getPluginId(), JUnitMessages.TestRunnerViewPart_ImportTestRunSessionAction_error_title, cause != null ? cause : e);
+	}
+
 	public FailureTrace getFailureTrace() {
 		return fFailureTrace;
 	}
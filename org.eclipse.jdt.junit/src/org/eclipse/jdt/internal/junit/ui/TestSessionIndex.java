@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestRoot;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * The elements of a test run session as shown by a virtual viewer of the JUnit view, with the
+ * viewer's filter and sort order applied.
+ * <p>
+ * The shown children of a suite are computed when the viewer first asks for them and are kept
+ * until they are updated, so that the viewer only filters and sorts the suites it displays.
+ * </p>
+ * <p>
+ * This class must be accessed in the UI thread.
+ * </p>
+ */
+public class TestSessionIndex {
+
+	private static final TestElement[] NO_ELEMENTS= new TestElement[0];
+
+	private final Map<TestSuiteElement, TestElement[]> fChildren= new HashMap<>();
+
+	private Predicate<TestElement> fFilter;
+	private Comparator<ITestElement> fComparator;
+
+	/**
+	 * @param filter the filter for the shown elements, or <code>null</code> to show all elements
+	 */
+	public void setFilter(Predicate<TestElement> filter) {
+		fFilter= filter;
+		clear();
+	}
+
+	/**
+	 * @param comparator the sort order of the shown elements, or <code>null</code> for the
+	 *            execution order
+	 */
+	public void setComparator(Comparator<ITestElement> comparator) {
+		fComparator= comparator;
+		clear();
+	}
+
+	/**
+	 * @return <code>true</code> if a status change of a test can change which elements are shown
+	 *         or their order
+	 */
+	public boolean isStatusDependent() {
+		return fFilter != null || fComparator != null;
+	}
+
+	/**
+	 * Forgets all computed children.
+	 */
+	public void clear() {
+		fChildren.clear();
+	}
+
+	/**
+	 * @param suite the test suite
+	 * @return the shown children of the suite
+	 */
+	public TestElement[] getChildren(TestSuiteElement suite) {
+		TestElement[] children= fChildren.get(suite);
+		if (children == null) {
+			children= computeChildren(suite);
+			fChildren.put(suite, children);
+		}
+		return children;
+	}
+
+	/**
+	 * Recomputes the shown children of a suite after a test below it has been added or has changed
+	 * its status. Suites whose children have not been asked for are skipped.
+	 *
+	 * @param suite the test suite
+	 * @return <code>true</code> if the shown children of the suite have changed
+	 */
+	public boolean updateChildren(TestSuiteElement suite) {
+		TestElement[] oldChildren= fChildren.get(suite);
+		if (oldChildren == null)
+			return false;
+		TestElement[] children= computeChildren(suite);
+		fChildren.put(suite, children);
+		return !Arrays.equals(oldChildren, children);
+	}
+
+	/**
+	 * Returns the shown elements of the flat layout: all test cases and the failed suites.
+	 *
+	 * @param root the test root
+	 * @return the shown test cases and failed suites
+	 */
+	public TestElement[] getFlatElements(TestRoot root) {
+		List<TestElement> all= new ArrayList<>();
+		addFlatElements(all, root);
+		TestElement[] elements= all.toArray(new TestElement[all.size()]);
+		if (fComparator != null)
+			Arrays.sort(elements, fComparator);
+		return elements;
+	}
+
+	private void addFlatElements(List<TestElement> all, TestSuiteElement suite) {
+		for (ITestElement element : suite.getChildren()) {
+			if (element instanceof TestSuiteElement) {
+				TestSuiteElement child= (TestSuiteElement) element;
+				if (child.getSuiteStatus().isErrorOrFailure() && isShown(child))
+					all.add(child); // add failed suite to flat list too
+				addFlatElements(all, child);
+			} else if (element instanceof TestCaseElement) {
+				TestCaseElement child= (TestCaseElement) element;
+				if (isShown(child))
+					all.add(child);
+			}
+		}
+	}
+
+	private TestElement[] computeChildren(TestSuiteElement suite) {
+		ITestElement[] children= suite.getChildren();
+		if (children.length == 0)
+			return NO_ELEMENTS;
+		List<TestElement> shown= new ArrayList<>(children.length);
+		for (ITestElement child : children) {
+			if (isShown((TestElement) child))
+				shown.add((TestElement) child);
+		}
+		TestElement[] elements= shown.toArray(new TestElement[shown.size()]);
+		if (fComparator != null)
+			Arrays.sort(elements, fComparator);
+		return elements;
+	}
+
+	private boolean isShown(TestElement element) {
+		return fFilter == null || fFilter.test(element);
+	}
+}
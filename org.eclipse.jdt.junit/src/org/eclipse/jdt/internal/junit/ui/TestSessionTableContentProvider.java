@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,42 +14,59 @@
 
 package org.eclipse.jdt.internal.junit.ui;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
-import org.eclipse.jdt.junit.model.ITestElement;
-
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
 
-import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
 import org.eclipse.jdt.internal.junit.model.TestRoot;
-import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 
-public class TestSessionTableContentProvider implements IStructuredContentProvider {
+public class TestSessionTableContentProvider implements ILazyContentProvider {
+
+	private static final TestElement[] NO_ELEMENTS= new TestElement[0];
+
+	private final TestSessionIndex fIndex;
+	private TableViewer fViewer;
+	private TestRoot fRoot;
+	private TestElement[] fElements= NO_ELEMENTS;
+
+	/**
+	 * @param index the index to take the shown elements from
+	 */
+	public TestSessionTableContentProvider(TestSessionIndex index) {
+		fIndex= index;
+	}
 
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		fViewer= (TableViewer) viewer;
+		fRoot= (TestRoot) newInput;
+		fElements= NO_ELEMENTS;
+		fIndex.clear();
+		updateElements();
 	}
 
 	@Override
-	public Object[] getElements(Object inputElement) {
-		ArrayList<ITestElement> all= new ArrayList<>();
-		addAll(all, (TestRoot) inputElement);
-		return all.toArray();
+	public void updateElement(int index) {
+		if (index < fElements.length)
+			fViewer.replace(fElements[index], index);
 	}
 
-	private void addAll(ArrayList<ITestElement> all, TestSuiteElement suite) {
-		ITestElement[] children= suite.getChildren();
-		for (ITestElement element : children) {
-			if (element instanceof TestSuiteElement) {
-				if (((TestSuiteElement) element).getSuiteStatus().isErrorOrFailure())
-					all.add(element); // add failed suite to flat list too
-				addAll(all, (TestSuiteElement) element);
-			} else if (element instanceof TestCaseElement) {
-				all.add(element);
-			}
-		}
+	/**
+	 * Takes the shown elements from the index again and updates the item count of the table.
+	 *
+	 * @return <code>true</code> if the shown elements have changed
+	 */
+	public boolean updateElements() {
+		TestElement[] elements= fRoot != null ? fIndex.getFlatElements(fRoot) : NO_ELEMENTS;
+		if (Arrays.equals(elements, fElements))
+			return false;
+		fElements= elements;
+		fViewer.setItemCount(elements.length);
+		return true;
 	}
 
 	@Override
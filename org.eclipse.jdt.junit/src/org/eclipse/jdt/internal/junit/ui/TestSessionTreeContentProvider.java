@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,33 +14,45 @@
 
 package org.eclipse.jdt.internal.junit.ui;
 
-import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 
 import org.eclipse.jdt.internal.junit.model.TestElement;
-import org.eclipse.jdt.internal.junit.model.TestRoot;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 
-public class TestSessionTreeContentProvider implements ITreeContentProvider {
+public class TestSessionTreeContentProvider implements ILazyTreeContentProvider {
 
-	private final Object[] NO_CHILDREN= new Object[0];
+	private final TestSessionIndex fIndex;
+	private TreeViewer fViewer;
+
+	/**
+	 * @param index the index to take the shown children of the suites from
+	 */
+	public TestSessionTreeContentProvider(TestSessionIndex index) {
+		fIndex= index;
+	}
 
 	@Override
 	public void dispose() {
 	}
 
 	@Override
-	public Object[] getChildren(Object parentElement) {
-		if (parentElement instanceof TestSuiteElement)
-			return ((TestSuiteElement) parentElement).getChildren();
-		else
-			return NO_CHILDREN;
+	public void updateElement(Object parent, int index) {
+		TestElement[] children= fIndex.getChildren((TestSuiteElement) parent);
+		if (index < children.length) {
+			TestElement child= children[index];
+			fViewer.replace(parent, index, child);
+			updateChildCount(child, -1);
+		}
 	}
 
 	@Override
-	public Object[] getElements(Object inputElement) {
-		return ((TestRoot) inputElement).getChildren();
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count= getChildCount(element);
+		if (count != currentChildCount)
+			fViewer.setChildCount(element, count);
 	}
 
 	@Override
@@ -48,15 +60,17 @@ public class TestSessionTreeContentProvider implements ITreeContentProvider {
 		return ((TestElement) element).getParent();
 	}
 
-	@Override
-	public boolean hasChildren(Object element) {
-		if (element instanceof TestSuiteElement)
-			return ((TestSuiteElement) element).getChildren().length != 0;
-		else
-			return false;
+	/**
+	 * @param element the test element
+	 * @return the number of shown children of the element
+	 */
+	public int getChildCount(Object element) {
+		return element instanceof TestSuiteElement ? fIndex.getChildren((TestSuiteElement) element).length : 0;
 	}
 
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		fViewer= (TreeViewer) viewer;
+		fIndex.clear();
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,8 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.junit.model.ITestElement;
@@ -40,7 +42,6 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Menu;
-import org.eclipse.swt.widgets.TableItem;
 
 import org.eclipse.core.runtime.CoreException;
 
@@ -56,9 +57,6 @@ import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TreeViewer;
-import org.eclipse.jface.viewers.Viewer;
-import org.eclipse.jface.viewers.ViewerComparator;
-import org.eclipse.jface.viewers.ViewerFilter;
 
 import org.eclipse.ui.IWorkbenchActionConstants;
 import org.eclipse.ui.part.PageBook;
@@ -100,13 +98,9 @@ public class TestViewer {
 		}
 	}
 
-	private final class FailuresOnlyFilter extends ViewerFilter {
+	private final class FailuresOnlyFilter implements Predicate<TestElement> {
 		@Override
-		public boolean select(Viewer viewer, Object parentElement, Object element) {
-			return select(((TestElement) element));
-		}
-
-		public boolean select(TestElement testElement) {
+		public boolean test(TestElement testElement) {
 			Status status= testElement.getStatus();
 			if (status.isErrorOrFailure())
 				return true;
@@ -115,13 +109,9 @@ public class TestViewer {
 		}
 	}
 
-	private final class IgnoredOnlyFilter extends ViewerFilter {
+	private final class IgnoredOnlyFilter implements Predicate<TestElement> {
 		@Override
-		public boolean select(Viewer viewer, Object parentElement, Object element) {
-			return select(((TestElement) element));
-		}
-
-		public boolean select(TestElement testElement) {
+		public boolean test(TestElement testElement) {
 			if (hasIgnoredInTestResult(testElement))
 				return true;
 			else
@@ -139,14 +129,7 @@ public class TestViewer {
 		 */
 		private boolean hasIgnoredInTestResult(TestElement testElement) {
 			if (testElement instanceof TestSuiteElement) {
-				ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
-				for (ITestElement child : children) {
-					boolean hasIgnoredTestResult= hasIgnoredInTestResult((TestElement) child);
-					if (hasIgnoredTestResult) {
-						return true;
-					}
-				}
-				return false;
+				return ((TestSuiteElement) testElement).hasIgnoredDescendant();
 			}
 
 			return testElement.getTestResult(false) == Result.IGNORED;
@@ -201,9 +184,11 @@ public class TestViewer {
 
 	private PageBook fViewerbook;
 	private TreeViewer fTreeViewer;
+	private TestSessionIndex fTreeIndex;
 	private TestSessionTreeContentProvider fTreeContentProvider;
 	private TestSessionLabelProvider fTreeLabelProvider;
 	private TableViewer fTableViewer;
+	private TestSessionIndex fTableIndex;
 	private TestSessionTableContentProvider fTableContentProvider;
 	private TestSessionLabelProvider fTableLabelProvider;
 	private SelectionProviderMediator fSelectionProvider;
@@ -217,6 +202,7 @@ public class TestViewer {
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
 	private HashSet<TestElement> fNeedUpdate;
+	private LinkedHashSet<TestSuiteElement> fAddedParents;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -239,16 +225,20 @@ public class TestViewer {
 	private void createTestViewers(Composite parent) {
 		fViewerbook= new PageBook(parent, SWT.NULL);
 
-		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE);
+		// virtual viewers only create items for the rows that are shown, the filters and the sort
+		// order are applied by the indexes of the lazy content providers
+		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTreeViewer.setUseHashlookup(true);
-		fTreeContentProvider= new TestSessionTreeContentProvider();
+		fTreeIndex= new TestSessionIndex();
+		fTreeContentProvider= new TestSessionTreeContentProvider(fTreeIndex);
 		fTreeViewer.setContentProvider(fTreeContentProvider);
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTableViewer.setUseHashlookup(true);
-		fTableContentProvider= new TestSessionTableContentProvider();
+		fTableIndex= new TestSessionIndex();
+		fTableContentProvider= new TestSessionTableContentProvider(fTableIndex);
 		fTableViewer.setContentProvider(fTableContentProvider);
 		fTableLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_FLAT);
 		fTableViewer.setLabelProvider(new ColoringLabelProvider(fTableLabelProvider));
@@ -479,41 +469,22 @@ public class TestViewer {
 	}
 
 	public synchronized void setSortingCriterion(SortingCriterion sortingCriterion) {
-		ViewerComparator viewerComparator;
-		switch (sortingCriterion) {
-			case SORT_BY_EXECUTION_ORDER:
-				viewerComparator= null;
-				break;
-			case SORT_BY_EXECUTION_TIME:
-				viewerComparator= new TestExecutionTimeComparator();
-				break;
-			case SORT_BY_NAME:
-				viewerComparator= new TestNameComparator();
-				break;
-			default:
-				viewerComparator= null;
-				break;
+		Comparator<ITestElement> comparator= getComparator(sortingCriterion);
+		fTreeIndex.setComparator(comparator);
+		fTableIndex.setComparator(comparator);
+		if (fTreeViewer.getInput() != null)
+			fTreeViewer.refresh();
+		if (fTableViewer.getInput() != null) {
+			fTableContentProvider.updateElements();
+			fTableViewer.refresh();
 		}
-		fTableViewer.setComparator(viewerComparator);
-		fTreeViewer.setComparator(viewerComparator);
 	}
 
-	private final class TestNameComparator extends ViewerComparator {
-		@Override
-		public int compare(Viewer viewer, Object o1, Object o2) {
-			return compareName(o1, o2);
-		}
-	}
-
-	private final class TestExecutionTimeComparator extends ViewerComparator {
-		@Override
-		public int compare(Viewer viewer, Object o1, Object o2) {
-			return compareElapsedTime(o1, o2);
-		}
+	private Comparator<ITestElement> getComparator() {
+		return getComparator(fTestRunnerPart.getSortingCriterion());
 	}
 
-	private Comparator<ITestElement> getComparator() {
-		SortingCriterion sortingCriterion= fTestRunnerPart.getSortingCriterion();
+	private Comparator<ITestElement> getComparator(SortingCriterion sortingCriterion) {
 		Comparator<ITestElement> comparator;
 		switch (sortingCriterion) {
 			case SORT_BY_EXECUTION_ORDER:
@@ -589,22 +560,17 @@ public class TestViewer {
 				fLayoutMode= layoutMode;
 				fViewerbook.showPage(getActiveViewer().getControl());
 			}
-			//avoid realizing all TableItems, especially in flat mode!
 			StructuredViewer viewer= getActiveViewer();
+			TestSessionIndex index= getActiveIndex();
 			if (failuresOnly || ignoredOnly) {
-				if (getActiveViewerHasFilter()) {
-					//For simplicity clear both filters (only one of them is used)
-					viewer.removeFilter(fFailuresOnlyFilter);
-					viewer.removeFilter(fIgnoredOnlyFilter);
-				}
 				setActiveViewerHasFilter(true);
 				viewer.setInput(null);
 				//Set either the failures or the skipped tests filter
-				ViewerFilter filter= fFailuresOnlyFilter;
+				Predicate<TestElement> filter= fFailuresOnlyFilter;
 				if (ignoredOnly == true) {
 					filter= fIgnoredOnlyFilter;
 				}
-				viewer.addFilter(filter);
+				index.setFilter(filter);
 				setActiveViewerNeedsRefresh(true);
 
 			} else {
@@ -612,8 +578,7 @@ public class TestViewer {
 					setActiveViewerNeedsRefresh(true);
 					setActiveViewerHasFilter(false);
 					viewer.setInput(null);
-					viewer.removeFilter(fIgnoredOnlyFilter);
-					viewer.removeFilter(fFailuresOnlyFilter);
+					index.setFilter(null);
 				}
 			}
 			processChangesInUI();
@@ -651,6 +616,13 @@ public class TestViewer {
 			return fTableViewer;
 	}
 
+	private TestSessionIndex getActiveIndex() {
+		if (fLayoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL)
+			return fTreeIndex;
+		else
+			return fTableIndex;
+	}
+
 	private boolean getActiveViewerNeedsRefresh() {
 		if (fLayoutMode == TestRunnerViewPart.LAYOUT_HIERARCHICAL)
 			return fTreeNeedsRefresh;
@@ -689,30 +661,43 @@ public class TestViewer {
 
 		} else {
 			Object[] toUpdate;
+			HashSet<TestSuiteElement> addedParents;
 			synchronized (this) {
 				toUpdate= fNeedUpdate.toArray();
 				fNeedUpdate.clear();
+				addedParents= new HashSet<>(fAddedParents);
+				fAddedParents.clear();
 			}
-			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
-				if (fTreeHasFilter)
+			if (! fTreeNeedsRefresh) {
+				// with a filter or a sort order, a status change can change the children shown
+				// by the suites above the test
+				Set<TestSuiteElement> changedParents= new LinkedHashSet<>(addedParents);
+				if (fTreeIndex.isStatusDependent()) {
 					for (Object element : toUpdate)
-						updateElementInTree((TestElement) element);
-				else {
+						addAncestors((TestElement) element, changedParents);
+				}
+				Set<TestSuiteElement> refreshParents= new HashSet<>();
+				for (TestSuiteElement parent : changedParents) {
+					if (fTreeIndex.updateChildren(parent))
+						refreshParents.add(parent);
+				}
+				for (TestSuiteElement parent : refreshParents) {
+					if (hasAncestorIn(parent, refreshParents))
+						continue; // refreshed with its ancestor
+					refreshInTree(parent);
+				}
+				if (toUpdate.length > 0) {
+					HashSet<TestSuiteElement> parents= new HashSet<>();
+					for (Object element : toUpdate)
+						addAncestors((TestElement) element, parents);
 					HashSet<Object> toUpdateWithParents= new HashSet<>(Arrays.asList(toUpdate));
-					for (Object element : toUpdate) {
-						TestElement parent= ((TestElement) element).getParent();
-						while (parent != null) {
-							toUpdateWithParents.add(parent);
-							parent= parent.getParent();
-						}
-					}
+					toUpdateWithParents.addAll(parents);
 					fTreeViewer.update(toUpdateWithParents.toArray(), null);
 				}
 			}
 			if (! fTableNeedsRefresh && toUpdate.length > 0) {
-				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
+				if (fTableIndex.isStatusDependent() && fTableContentProvider.updateElements())
+					fTableViewer.refresh();
 				else
 					fTableViewer.update(toUpdate, null);
 			}
@@ -720,61 +705,22 @@ public class TestViewer {
 		autoScrollInUI();
 	}
 
-	private void updateElementInTree(final TestElement testElement) {
-		if (isShown(testElement)) {
-			updateShownElementInTree(testElement);
-		} else {
-			TestElement current= testElement;
-			do {
-				if (fTreeViewer.testFindItem(current) != null)
-					fTreeViewer.remove(current);
-				current= current.getParent();
-			} while (! (current instanceof TestRoot) && ! isShown(current));
-
-			while (current != null && ! (current instanceof TestRoot)) {
-				fTreeViewer.update(current, null);
-				current= current.getParent();
-			}
-		}
-	}
-
-	private void updateShownElementInTree(TestElement testElement) {
-		if (testElement == null || testElement instanceof TestRoot) // paranoia null check
-			return;
-
-		TestSuiteElement parent= testElement.getParent();
-		updateShownElementInTree(parent); // make sure parent is shown and up-to-date
-
-		if (fTreeViewer.testFindItem(testElement) == null) {
-			fTreeViewer.add(parent, testElement); // if not yet in tree: add
-		} else {
-			fTreeViewer.update(testElement, null); // if in tree: update
+	private void refreshInTree(TestSuiteElement suite) {
+		if (suite instanceof TestRoot) {
+			fTreeViewer.refresh(false);
+		} else if (fTreeViewer.testFindItem(suite) != null) {
+			// the children of collapsed suites are only asked for on expansion
+			fTreeViewer.setChildCount(suite, fTreeContentProvider.getChildCount(suite));
+			fTreeViewer.refresh(suite, false);
 		}
 	}
 
-	private void updateElementInTable(TestElement element) {
-		if (isShown(element)) {
-			if (fTableViewer.testFindItem(element) == null) {
-				TestElement previous= getNextFailure(element, false);
-				int insertionIndex= -1;
-				if (previous != null) {
-					TableItem item= (TableItem) fTableViewer.testFindItem(previous);
-					if (item != null)
-						insertionIndex= fTableViewer.getTable().indexOf(item);
-				}
-				fTableViewer.insert(element, insertionIndex);
-			} else  {
-				fTableViewer.update(element, null);
-			}
-		} else {
-			fTableViewer.remove(element);
+	private static void addAncestors(TestElement element, Set<TestSuiteElement> suites) {
+		for (TestSuiteElement parent= element.getParent(); parent != null; parent= parent.getParent()) {
+			suites.add(parent);
 		}
 	}
 
-	private boolean isShown(TestElement current) {
-		return fFailuresOnlyFilter.select(current);
-	}
-
 	private void autoScrollInUI() {
 		if (! fTestRunnerPart.isAutoScroll()) {
 			clearAutoExpand();
@@ -918,7 +864,11 @@ public class TestViewer {
 	}
 
 	private void clearUpdateAndExpansion() {
+		if (fAddedParents != null && ! fAddedParents.isEmpty()) {
+			fTreeNeedsRefresh= true;
+		}
 		fNeedUpdate= new LinkedHashSet<>();
+		fAddedParents= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -927,9 +877,24 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
 		fTableNeedsRefresh= true;
+		if (fTreeNeedsRefresh)
+			return;
+		TestSuiteElement parent= testElement.getParent();
+		if (parent == null) {
+			fTreeNeedsRefresh= true;
+			fAddedParents.clear();
+		} else {
+			fAddedParents.add(parent);
+		}
+	}
+
+	private static boolean hasAncestorIn(TestElement element, Set<TestSuiteElement> suites) {
+		for (TestSuiteElement parent= element.getParent(); parent != null; parent= parent.getParent()) {
+			if (suites.contains(parent))
+				return true;
+		}
+		return false;
 	}
 
 	public synchronized void registerViewerUpdate(final TestElement testElement) {
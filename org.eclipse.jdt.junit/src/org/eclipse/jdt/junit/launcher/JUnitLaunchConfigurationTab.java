@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 
 import org.eclipse.core.runtime.CoreException;
@@ -139,6 +140,9 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 	private Text fProjText;
 	private Button fProjButton;
 	private Button fKeepRunning;
+	private Button fDaemon;
+	private Button fPrioritize;
+	private Spinner fShards;
 
 	// Test class UI widgets
 	private Text fTestText;
@@ -438,6 +442,54 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		gd.horizontalAlignment= GridData.FILL;
 		gd.horizontalSpan= 2;
 		fKeepRunning.setLayoutData(gd);
+
+		fDaemon= new Button(comp, SWT.CHECK);
+		fDaemon.addSelectionListener(new SelectionListener() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+
+			@Override
+			public void widgetDefaultSelected(SelectionEvent e) {
+			}
+		});
+		fDaemon.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_daemon);
+		gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 2;
+		fDaemon.setLayoutData(gd);
+
+		fPrioritize= new Button(comp, SWT.CHECK);
+		fPrioritize.addSelectionListener(new SelectionListener() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				updateLaunchConfigurationDialog();
+			}
+
+			@Override
+			public void widgetDefaultSelected(SelectionEvent e) {
+			}
+		});
+		fPrioritize.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_prioritize);
+		gd= new GridData();
+		gd.horizontalAlignment= GridData.FILL;
+		gd.horizontalSpan= 2;
+		fPrioritize.setLayoutData(gd);
+
+		Label shardsLabel= new Label(comp, SWT.NONE);
+		shardsLabel.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_shards);
+		gd= new GridData();
+		gd.horizontalIndent= 0;
+		shardsLabel.setLayoutData(gd);
+
+		fShards= new Spinner(comp, SWT.BORDER);
+		fShards.setValues(1, 1, 64, 0, 1, 4);
+		fShards.addModifyListener(evt -> updateLaunchConfigurationDialog());
+		gd= new GridData();
+		gd.horizontalAlignment= GridData.BEGINNING;
+		gd.horizontalSpan= 2;
+		fShards.setLayoutData(gd);
 	}
 
 	private static Image createImage(String path) {
@@ -491,6 +543,27 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		} catch (CoreException ce) {
 		}
 		fKeepRunning.setSelection(running);
+
+		boolean daemon= false;
+		try {
+			daemon= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_DAEMON, false);
+		} catch (CoreException ce) {
+		}
+		fDaemon.setSelection(daemon);
+
+		boolean prioritize= false;
+		try {
+			prioritize= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE, false);
+		} catch (CoreException ce) {
+		}
+		fPrioritize.setSelection(prioritize);
+
+		int shards= 1;
+		try {
+			shards= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, 1);
+		} catch (CoreException ce) {
+		}
+		fShards.setSelection(shards);
 	}
 
 	private void updateProjectFromConfig(ILaunchConfiguration config) {
@@ -555,6 +628,9 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, fTestMethodText.getText());
 		}
 		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, fKeepRunning.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_DAEMON, fDaemon.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PRIORITIZE, fPrioritize.getSelection());
+		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_SHARDS, fShards.getSelection());
 		try {
 			mapResources(config);
 		} catch (CoreException e) {
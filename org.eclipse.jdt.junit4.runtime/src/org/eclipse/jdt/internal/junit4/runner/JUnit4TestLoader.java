@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -71,31 +71,34 @@ public class JUnit4TestLoader implements ITestLoader {
 			return new JUnit3TestReference(test);
 		}
 		if (testName != null) {
-			return createFilteredTest(clazz, testName, failureNames);
+			return createFilteredTest(clazz, testName, failureNames, listener);
 		}
-		return createUnfilteredTest(clazz, failureNames);
+		return createUnfilteredTest(clazz, failureNames, listener);
 	}
 
-	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames) {
+	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames, RemoteTestRunner listener) {
 		DescriptionMatcher matcher= DescriptionMatcher.create(clazz, testName);
 		SubForestFilter filter= new SubForestFilter(matcher);
-		Request request= sortByFailures(Request.classWithoutSuiteMethod(clazz).filterWith(filter), failureNames);
+		Request request= sortByFailures(Request.classWithoutSuiteMethod(clazz).filterWith(filter), failureNames, listener);
 		Runner runner= request.getRunner();
 		Description description= getRootDescription(runner, matcher);
 		return new JUnit4TestReference(runner, description);
 	}
 
-	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames) {
-		Request request= sortByFailures(Request.aClass(clazz), failureNames);
+	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames, RemoteTestRunner listener) {
+		Request request= sortByFailures(Request.aClass(clazz), failureNames, listener);
 		Runner runner= request.getRunner();
 		Description description= runner.getDescription();
 		return new JUnit4TestReference(runner, description);
 	}
 
-	private Request sortByFailures(Request request, String[] failureNames) {
+	private Request sortByFailures(Request request, String[] failureNames, RemoteTestRunner listener) {
 		if (failureNames != null) {
 			return request.sortWith(new FailuresFirstSorter(failureNames));
 		}
+		if (listener != null && listener.getTestPriorities() != null) {
+			return request.sortWith(new PriorityOrderSorter(listener.getTestPriorities()));
+		}
 		return request;
 	}
 
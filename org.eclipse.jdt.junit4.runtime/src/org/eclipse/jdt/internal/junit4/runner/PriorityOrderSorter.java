@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit4.runner;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.runner.Description;
+
+/**
+ * Comparator for descriptions to sort according to a ranking of test names.
+ * A description is ranked like its best ranked transitive child, descriptions
+ * that are not ranked compare equal and sort after the ranked ones.
+ */
+public class PriorityOrderSorter implements Comparator<Description> {
+
+	private final Map<String, Integer> fRanks;
+
+	private final Map<Description, Integer> fDescriptionRanks= new HashMap<Description, Integer>();
+
+	/**
+	 * Creates a sorter.
+	 *
+	 * @param orderedNames the display names of the tests in the order in which they should run
+	 */
+	public PriorityOrderSorter(String[] orderedNames) {
+		fRanks= new HashMap<String, Integer>(orderedNames.length * 2);
+		for (int i= 0; i < orderedNames.length; i++) {
+			if (!fRanks.containsKey(orderedNames[i]))
+				fRanks.put(orderedNames[i], Integer.valueOf(i));
+		}
+	}
+
+	public int compare(Description d1, Description d2) {
+		int r1= getRank(d1);
+		int r2= getRank(d2);
+		return r1 < r2 ? -1 : (r1 == r2 ? 0 : 1);
+	}
+
+	private int getRank(Description d) {
+		Integer cached= fDescriptionRanks.get(d);
+		if (cached != null)
+			return cached.intValue();
+		int rank= Integer.MAX_VALUE;
+		Integer value= fRanks.get(d.getDisplayName());
+		if (value != null)
+			rank= value.intValue();
+		for (Description child : d.getChildren()) {
+			rank= Math.min(rank, getRank(child));
+		}
+		fDescriptionRanks.put(d, Integer.valueOf(rank));
+		return rank;
+	}
+}
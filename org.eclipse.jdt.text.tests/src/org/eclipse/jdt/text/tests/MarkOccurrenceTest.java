@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,7 +19,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -180,6 +182,46 @@ public class MarkOccurrenceTest {
 		assertOccurrencesInWidget();
 	}
 
+	@Test
+	public void markOccurrencesAfterFastCaretMoves() throws Exception {
+		final List<ITextSelection> notified= new ArrayList<>();
+		ISelectionListenerWithAST recorder= (part, selection, astRoot) -> {
+			synchronized (notified) {
+				notified.add(selection);
+			}
+		};
+		// let the selection events of opening the editor pass
+		EditorTestHelper.runEventQueue(1000);
+		SelectionListenerWithASTManager.getDefault().addListener(fEditor, recorder);
+		try {
+			// a burst of caret moves without a chance for the listeners to run in between
+			int moves= 0;
+			int offset= 0;
+			IRegion match;
+			while (moves < 50 && (match= fFindReplaceDocumentAdapter.find(offset, "Test", true, true, false, false)) != null) {
+				fEditor.selectAndReveal(match.getOffset(), 0);
+				offset= match.getOffset() + match.getLength();
+				moves++;
+			}
+			assertTrue(moves > 10);
+
+			fMatch= fFindReplaceDocumentAdapter.find(0, "TestResult", true, true, true, false);
+			assertNotNull(fMatch);
+			fEditor.selectAndReveal(fMatch.getOffset(), fMatch.getLength());
+
+			assertOccurrences(8);
+			EditorTestHelper.runEventQueue(500);
+			synchronized (notified) {
+				assertEquals("listeners not informed exactly once for the last of a burst of caret moves", 1, notified.size());
+				ITextSelection last= notified.get(0);
+				assertEquals(fMatch.getOffset(), last.getOffset());
+				assertEquals(fMatch.getLength(), last.getLength());
+			}
+		} finally {
+			SelectionListenerWithASTManager.getDefault().removeListener(fEditor, recorder);
+		}
+	}
+
 	@Test
 	public void markOccurrencesAfterEditorReuse() {
 		IPreferenceStore store= getPlatformUIStore();
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaCodeMiningReconciler;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaSourceViewer;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaElementCodeMiningProvider;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaImplementationCodeMining;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaReferenceCodeMining;
+
+public class JavaElementCodeMiningTest {
+	private static final String[] PREFERENCES= {
+			PreferenceConstants.EDITOR_CODEMINING_ENABLED,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_TYPES,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_FIELDS,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_REFERENCES_ON_METHODS,
+			PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_IMPLEMENTATIONS
+	};
+
+	private IJavaProject fProject;
+	private IPackageFragment fPackage;
+	private final Map<String, Boolean> fPreferences= new HashMap<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= root.getPackageFragment("");
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		for (String preference : PREFERENCES) {
+			fPreferences.put(preference, Boolean.valueOf(store.getBoolean(preference)));
+			store.setValue(preference, true);
+		}
+		store.setValue(PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_CODEMINING_AT_LEAST_ONE, false);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		for (Map.Entry<String, Boolean> entry : fPreferences.entrySet()) {
+			store.setValue(entry.getKey(), entry.getValue().booleanValue());
+		}
+		store.setToDefault(PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_CODEMINING_AT_LEAST_ONE);
+		IWorkbenchPage workbenchPage= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		for (IEditorReference ref : workbenchPage.getEditorReferences()) {
+			workbenchPage.closeEditor(ref.getEditor(false), false);
+		}
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private void waitReconciled(JavaSourceViewer viewer) {
+		assertTrue("Editor not reconciled", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return JavaCodeMiningReconciler.isReconciled(viewer);
+			}
+		}.waitForCondition(viewer.getTextWidget().getDisplay(), 2000));
+	}
+
+	private Map<String, String> resolveLabels(ICompilationUnit cu, Class<?> miningClass) throws Exception {
+		JavaEditor editor= (JavaEditor) EditorUtility.openInEditor(cu);
+		JavaSourceViewer viewer= (JavaSourceViewer) editor.getViewer();
+		waitReconciled(viewer);
+		JavaElementCodeMiningProvider provider= new JavaElementCodeMiningProvider();
+		provider.setContext(editor);
+		List<? extends ICodeMining> minings= provider.provideCodeMinings(viewer, new NullProgressMonitor()).get();
+		Map<String, String> labels= new HashMap<>();
+		for (ICodeMining mining : minings) {
+			if (miningClass.isInstance(mining)) {
+				mining.resolve(viewer, new NullProgressMonitor()).get();
+				IJavaElement element= miningClass == JavaReferenceCodeMining.class
+						? ((JavaReferenceCodeMining) mining).getElement()
+						: ((JavaImplementationCodeMining) mining).getElement();
+				String key= element.getElementName();
+				if (element instanceof IMethod && ((IMethod) element).getParameterTypes().length > 0) {
+					key+= "(" + String.join(",", ((IMethod) element).getParameterTypes()) + ")";
+				}
+				labels.put(key, mining.getLabel());
+			}
+		}
+		return labels;
+	}
+
+	@Test
+	public void testReferenceCounts() throws Exception {
+		fPackage.createCompilationUnit("Bar.java", "public class Bar extends Foo {\n" +
+				"	void helper() {\n" +
+				"		count= new Foo().count;\n" +
+				"	}\n" +
+				"}\n", true, new NullProgressMonitor());
+		String contents= "public class Foo {\n" +
+				"	int count;\n" +
+				"	void run() {\n" +
+				"		count++;\n" +
+				"		helper();\n" +
+				"		this.helper();\n" +
+				"	}\n" +
+				"	void helper() {\n" +
+				"		overload(1);\n" +
+				"	}\n" +
+				"	void overload(int i) {\n" +
+				"	}\n" +
+				"	void overload(String s) {\n" +
+				"	}\n" +
+				"}\n";
+		ICompilationUnit cu= fPackage.createCompilationUnit("Foo.java", contents, true, new NullProgressMonitor());
+
+		Map<String, String> labels= resolveLabels(cu, JavaReferenceCodeMining.class);
+		assertEquals("2 references", labels.get("Foo"));
+		assertEquals("3 references", labels.get("count"));
+		assertEquals("0 references", labels.get("run"));
+		assertEquals("2 references", labels.get("helper"));
+		assertEquals("1 reference", labels.get("overload(I)"));
+		assertEquals("0 references", labels.get("overload(QString;)"));
+	}
+
+	@Test
+	public void testImplementationCounts() throws Exception {
+		fPackage.createCompilationUnit("Bar.java", "public class Bar extends Foo {\n" +
+				"	void helper() {\n" +
+				"	}\n" +
+				"}\n", true, new NullProgressMonitor());
+		fPackage.createCompilationUnit("Baz.java", "public class Baz extends Bar {\n" +
+				"}\n", true, new NullProgressMonitor());
+		String contents= "public class Foo {\n" +
+				"	void run() {\n" +
+				"	}\n" +
+				"	void helper() {\n" +
+				"	}\n" +
+				"}\n";
+		ICompilationUnit cu= fPackage.createCompilationUnit("Foo.java", contents, true, new NullProgressMonitor());
+
+		Map<String, String> labels= resolveLabels(cu, JavaImplementationCodeMining.class);
+		assertEquals("2 implementations", labels.get("Foo"));
+		assertEquals("0 implementations", labels.get("run"));
+		assertEquals("1 implementation", labels.get("helper"));
+	}
+}
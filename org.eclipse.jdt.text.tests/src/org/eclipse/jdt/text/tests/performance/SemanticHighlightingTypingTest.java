@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.SourceViewer;
+
+import org.eclipse.ui.texteditor.AbstractTextEditor;
+
+
+/**
+ * Measures the cost of reconciling a keystroke in a method body, including the semantic
+ * highlighting, for compilation units of increasing size.
+ *
+ * @since 3.23
+ */
+public class SemanticHighlightingTypingTest extends TextPerformanceTestCase {
+
+	private static final Class<SemanticHighlightingTypingTest> THIS= SemanticHighlightingTypingTest.class;
+
+	private static final String FILE_PREFIX= "/" + PerformanceTestSetup.PROJECT + "/Eclipse SWT Custom Widgets/common/org/eclipse/swt/custom/SemanticHighlightingTyping";
+
+	private static final int[] METHOD_COUNTS= { 100, 500, 1000 };
+
+	private static final int LINES_PER_METHOD= 10;
+
+	private static final String MARKER= "int marker= 0;";
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 20;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		EditorTestHelper.closeAllEditors();
+		for (int methodCount : METHOD_COUNTS) {
+			if (ResourceTestHelper.findFile(getFile(methodCount)).exists())
+				ResourceTestHelper.delete(getFile(methodCount));
+		}
+	}
+
+	public void testTypeInMethodBody() throws Exception {
+		for (int methodCount : METHOD_COUNTS) {
+			String file= getFile(methodCount);
+			ResourceTestHelper.write(file, createSource(methodCount));
+			AbstractTextEditor editor= (AbstractTextEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(file), true);
+			EditorTestHelper.joinBackgroundActivities(editor);
+
+			measure(editor, getNullPerformanceMeter(), getWarmUpRuns());
+			measure(editor, createPerformanceMeter(methodCount * LINES_PER_METHOD + " lines"), getMeasuredRuns());
+
+			EditorTestHelper.revertEditor(editor, true);
+			EditorTestHelper.closeAllEditors();
+		}
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measure(AbstractTextEditor editor, PerformanceMeter performanceMeter, int runs) throws BadLocationException {
+		SourceViewer sourceViewer= EditorTestHelper.getSourceViewer(editor);
+		IDocument document= EditorTestHelper.getDocument(editor);
+		// rename the local variable declared in the middle of the file, which changes the highlighting of its references
+		int offset= document.get().indexOf(MARKER, document.getLength() / 2) + "int marker".length();
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			document.replace(offset, 0, "x");
+			EditorTestHelper.joinReconciler(sourceViewer, 0, 10000, 10);
+			EditorTestHelper.runEventQueue();
+			performanceMeter.stop();
+
+			document.replace(offset, 1, "");
+			EditorTestHelper.joinReconciler(sourceViewer, 0, 10000, 10);
+			EditorTestHelper.runEventQueue();
+		}
+	}
+
+	private static String getFile(int methodCount) {
+		return FILE_PREFIX + methodCount + ".java";
+	}
+
+	private static String createSource(int methodCount) {
+		StringBuilder buffer= new StringBuilder();
+		buffer.append("package org.eclipse.swt.custom;\n\n");
+		buffer.append("import java.util.ArrayList;\nimport java.util.List;\n\n");
+		buffer.append("public class SemanticHighlightingTyping").append(methodCount).append(" {\n");
+		buffer.append("\tprivate final List<String> fValues= new ArrayList<>();\n");
+		buffer.append("\tprivate static int fgCount;\n\n");
+		for (int i= 0; i < methodCount; i++) {
+			buffer.append("\t@Deprecated\n");
+			buffer.append("\tpublic int method").append(i).append("(int parameter) {\n");
+			buffer.append("\t\t").append(MARKER).append('\n');
+			buffer.append("\t\tString value= fValues.isEmpty() ? null : fValues.get(parameter);\n");
+			buffer.append("\t\tfgCount+= marker + parameter;\n");
+			buffer.append("\t\tif (value != null)\n");
+			buffer.append("\t\t\treturn value.length() + marker + method").append(Math.max(0, i - 1)).append("(marker);\n");
+			buffer.append("\t\treturn marker;\n");
+			buffer.append("\t}\n\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.text.tests.performance;
 
+import java.io.File;
+import java.net.URL;
+import java.util.Locale;
+
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
@@ -42,9 +46,12 @@ import org.eclipse.ui.editors.text.EditorsUI;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
+
 
 /**
- * Measures the time to spell check a large compilation unit.
+ * Measures the time to spell check a large compilation unit and to load a dictionary.
  *
  * @since 3.6
  */
@@ -107,6 +114,46 @@ public class SpellCheckingTest extends TextPerformanceTestCase {
 		assertAllPerformance();
 	}
 
+	public void testColdLoad() throws Exception {
+		measureLoad(getNullPerformanceMeter(), getWarmUpRuns(), false, false);
+		measureLoad(createPerformanceMeter("Spelling dictionary: load word list"), getMeasuredRuns(), false, true);
+		measureLoad(getNullPerformanceMeter(), getWarmUpRuns(), true, false);
+		measureLoad(createPerformanceMeter("Spelling dictionary: load index"), getMeasuredRuns(), true, true);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureLoad(PerformanceMeter performanceMeter, int runs, boolean indexed, boolean printDebugInfo) throws Exception {
+		URL location= SpellCheckEngine.getDictionaryLocations().nextElement();
+		Locale locale= Locale.US;
+		long heap= 0;
+		for (int i= 0; i < runs; i++) {
+			IndexedDictionary dictionary= new IndexedDictionary(locale, location);
+			if (indexed)
+				dictionary.createIndex();
+			else
+				dictionary.deleteIndex();
+
+			long usedBefore= getUsedMemory();
+			performanceMeter.start();
+			dictionary.isCorrect("dictionary");
+			performanceMeter.stop();
+			heap+= getUsedMemory() - usedBefore;
+
+			assertTrue(dictionary.isLoaded());
+			dictionary.unload();
+		}
+		if (printDebugInfo)
+			System.out.println("Resident memory of the " + (indexed ? "indexed" : "parsed") + " dictionary: " + heap / runs / 1024 + " KB");
+	}
+
+	private static long getUsedMemory() {
+		Runtime runtime= Runtime.getRuntime();
+		for (int i= 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
 	private void measure(PerformanceMeter performanceMeter, int runs, boolean printDebugInfo) {
 		SpellingService spellingService= EditorsUI.getSpellingService();
 		for (int i= 0; i < runs; i++) {
@@ -116,6 +163,34 @@ public class SpellCheckingTest extends TextPerformanceTestCase {
 		}
 	}
 
+	/**
+	 * Locale sensitive dictionary with access to its index file.
+	 */
+	private static class IndexedDictionary extends LocaleSensitiveSpellDictionary {
+
+		private final URL fLocation;
+
+		public IndexedDictionary(Locale locale, URL location) {
+			super(locale, location);
+			fLocation= location;
+		}
+
+		public void deleteIndex() throws Exception {
+			File indexFile= getIndexFile(getURL());
+			if (indexFile != null && indexFile.exists())
+				assertTrue(indexFile.delete());
+		}
+
+		public void createIndex() throws Exception {
+			File indexFile= getIndexFile(getURL());
+			assertNotNull(indexFile);
+			if (!indexFile.exists()) {
+				new IndexedDictionary(getLocale(), fLocation).isCorrect("dictionary");
+				assertTrue(indexFile.exists());
+			}
+		}
+	}
+
 	/**
 	 * Spelling problem collector.
 	 */
@@ -13,6 +13,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.refactoring.reorg;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+
 import org.eclipse.ltk.core.refactoring.participants.RenameRefactoring;
 
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -24,15 +30,51 @@ import org.eclipse.jdt.internal.corext.refactoring.rename.RenameTypeProcessor;
 
 public abstract class AbstractRenameTypePerfTest extends RepeatingRefactoringPerformanceTestCaseCommon {
 
+	private boolean fUpdateTextMatches;
+
+	/**
+	 * Executes the refactoring with textual matches in comments and strings and with qualified
+	 * names in non-Java files updated.
+	 */
+	protected void executeRefactoringWithTextMatches(int numberOfCus, int numberOfRefs, boolean measure, int sampleCount) throws Exception {
+		fUpdateTextMatches= true;
+		try {
+			executeRefactoring(numberOfCus, numberOfRefs, measure, sampleCount);
+		} finally {
+			fUpdateTextMatches= false;
+		}
+	}
+
 	@Override
 	protected void doExecuteRefactoring(int numberOfCus, int numberOfRefs, boolean measure) throws Exception {
 		ICompilationUnit cunit= generateSources(numberOfCus, numberOfRefs);
 		IType type= cunit.findPrimaryType();
 		RenameTypeProcessor processor= new RenameTypeProcessor(type);
 		processor.setNewElementName("B");
+		if (fUpdateTextMatches) {
+			generateResources(numberOfCus, numberOfRefs);
+			processor.setUpdateTextualMatches(true);
+			processor.setUpdateQualifiedNames(true);
+			processor.setFilePatterns("*.xml");
+		}
 		executeRefactoring(new RenameRefactoring(processor), measure);
 	}
 
+	private void generateResources(int numberOfFiles, int numberOfRefs) throws Exception {
+		IFolder folder= fTestProject.getProject().getProject().getFolder("resources");
+		folder.create(true, true, null);
+		for (int i= 0; i < numberOfFiles; i++) {
+			StringBuilder buf= new StringBuilder();
+			buf.append("<classes>\n");
+			for (int j= 0; j < numberOfRefs; j++) {
+				buf.append("    <class name=\"def.A\"/>\n");
+			}
+			buf.append("</classes>\n");
+			IFile file= folder.getFile("classes" + i + ".xml");
+			file.create(new ByteArrayInputStream(buf.toString().getBytes(StandardCharsets.UTF_8)), true, null);
+		}
+	}
+
 	private ICompilationUnit generateSources(int numberOfCus, int numberOfRefs) throws Exception {
 		IPackageFragment definition= fTestProject.getSourceFolder().createPackageFragment("def", false, null);
 		StringBuilder buf= new StringBuilder();
@@ -54,6 +96,8 @@ public abstract class AbstractRenameTypePerfTest extends RepeatingRefactoringPer
 		buf.append("import def.A;\n");
 		buf.append("public class Ref" + index + " {\n");
 		for (int i= 0; i < numberOfRefs - 1; i++) {
+			if (fUpdateTextMatches)
+				buf.append("    /** Refers to A, see def.A */\n");
 			buf.append("    A field" + i +";\n");
 		}
 		buf.append("}\n");
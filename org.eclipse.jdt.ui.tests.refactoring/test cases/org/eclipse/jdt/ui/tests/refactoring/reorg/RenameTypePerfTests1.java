@@ -49,6 +49,11 @@ public class RenameTypePerfTests1 extends AbstractRenameTypePerfTest {
 		executeRefactoring(1000, 10, true, 10);
 	}
 
+	@Test
+	public void testE_1000_10_TextMatches() throws Exception {
+		executeRefactoringWithTextMatches(1000, 10, true, 10);
+	}
+
 	@Override
 	protected void assertMeasurements() {
 		assertPerformanceInRelativeBand(Dimension.CPU_TIME, -100, +10);
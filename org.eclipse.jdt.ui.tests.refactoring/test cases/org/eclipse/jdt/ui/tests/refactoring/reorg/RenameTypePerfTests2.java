@@ -48,4 +48,9 @@ public class RenameTypePerfTests2 extends AbstractRenameTypePerfTest {
 		tagAsSummary("Rename type - 10 CUs, 1000 Refs", Dimension.ELAPSED_PROCESS);
 		executeRefactoring(10, 1000, true, 10);
 	}
+
+	@Test
+	public void testE_10_1000_TextMatches() throws Exception {
+		executeRefactoringWithTextMatches(10, 1000, true, 10);
+	}
 }
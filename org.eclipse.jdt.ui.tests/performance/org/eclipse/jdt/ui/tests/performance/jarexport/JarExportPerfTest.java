@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.jarexport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.jarpackager.IJarExportRunnable;
+import org.eclipse.jdt.ui.jarpackager.JarPackageData;
+import org.eclipse.jdt.ui.tests.jarexport.FatJarExportTests;
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.ExtractLibraryHandler;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.LibraryHandler;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.PackageLibraryHandler;
+import org.eclipse.jdt.internal.ui.util.BusyIndicatorRunnableContext;
+
+/**
+ * Measures the export of a large runnable JAR: a project with many resources and many libraries,
+ * which are extracted into the JAR or packaged as nested JARs, compressed and uncompressed.
+ */
+public class JarExportPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int LIBRARY_COUNT= 100;
+	private static final int LIBRARY_ENTRY_COUNT= 100;
+	private static final int RESOURCE_COUNT= 2000;
+	private static final int ENTRY_SIZE= 16 * 1024;
+	private static final int RUNS= 5;
+
+	private IJavaProject fProject;
+	private IPath fLibraryLocation;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("JarExportPerf", "bin");
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JavaRuntime.newDefaultJREContainerPath()));
+		JavaProjectHelper.addSourceContainer(fProject, "src");
+		JavaProjectHelper.addSourceContainer(fProject, "res");
+		Random random= new Random(42);
+		IFolder res= fProject.getProject().getFolder("res");
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (int i= 0; i < RESOURCE_COUNT; i++) {
+				IFolder folder= res.getFolder("r" + i % 20);
+				if (!folder.exists())
+					folder.create(true, true, null);
+				folder.getFile("resource" + i + ".txt").create(new ByteArrayInputStream(createContent(random)), true, null);
+			}
+			fProject.getPackageFragmentRoot(fProject.getProject().getFolder("src")).createPackageFragment("org.eclipse.jdt.ui.test", true, null)
+					.createCompilationUnit("Main.java",
+							"package org.eclipse.jdt.ui.test;\n" +
+							"public class Main {\n" +
+							"	public static void main(String[] args) {\n" +
+							"	}\n" +
+							"}\n", true, null);
+		}, null);
+
+		fLibraryLocation= ResourcesPlugin.getWorkspace().getRoot().getLocation().append("jarexportlibs");
+		fLibraryLocation.toFile().mkdirs();
+		for (int i= 0; i < LIBRARY_COUNT; i++) {
+			IPath jar= fLibraryLocation.append("lib" + i + ".jar");
+			writeLibrary("lib" + i, jar.toFile(), random);
+			JavaProjectHelper.addLibrary(fProject, jar);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+		File[] jars= fLibraryLocation.toFile().listFiles();
+		if (jars != null) {
+			for (File jar : jars)
+				jar.delete();
+		}
+		fLibraryLocation.toFile().delete();
+	}
+
+	/*
+	 * Text with a compression ratio similar to class files and sources.
+	 */
+	private static byte[] createContent(Random random) {
+		StringBuilder builder= new StringBuilder(ENTRY_SIZE);
+		while (builder.length() < ENTRY_SIZE) {
+			builder.append("word").append(random.nextInt(2000)).append(random.nextInt(10) == 0 ? '\n' : ' ');
+		}
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void writeLibrary(String name, File jar, Random random) throws IOException {
+		try (JarOutputStream out= new JarOutputStream(new FileOutputStream(jar))) {
+			for (int i= 0; i < LIBRARY_ENTRY_COUNT; i++) {
+				out.putNextEntry(new JarEntry(name + "/Entry" + i + ".class"));
+				out.write(createContent(random));
+				out.closeEntry();
+			}
+		}
+	}
+
+	private File export(LibraryHandler libraryHandler, boolean compress) throws Exception {
+		JarPackageData data= new JarPackageData();
+		data.setOverwrite(true);
+		data.setCompress(compress);
+		data.setIncludeDirectoryEntries(true);
+		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append("jarexportperf.jar"));
+
+		MultiStatus status= new MultiStatus(JavaUI.ID_PLUGIN, 0, "", null);
+		Object[] elements= FatJarPackageWizardPage.getSelectedElementsWithoutContainedChildren(FatJarExportTests.createTempLaunchConfig(fProject), data, new BusyIndicatorRunnableContext(), status);
+		assertTrue(status.getMessage(), status.getSeverity() == IStatus.OK || status.getSeverity() == IStatus.INFO);
+		data.setElements(elements);
+		data.setJarBuilder(libraryHandler.getBuilder(data));
+
+		IWorkbenchWindow window= PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+		IJarExportRunnable op= data.createJarExportRunnable(window.getShell());
+		window.run(false, false, op);
+		assertTrue(op.getStatus().getMessage(), op.getStatus().getSeverity() != IStatus.ERROR);
+		return data.getAbsoluteJarLocation().toFile();
+	}
+
+	private void measureExport(LibraryHandler libraryHandler, boolean compress, int expectedEntries) throws Exception {
+		File jar= export(libraryHandler, compress); // warm up
+		try {
+			try (ZipFile zip= new ZipFile(jar)) {
+				assertTrue("entries: " + zip.size(), zip.size() >= expectedEntries);
+			}
+			long length= jar.length();
+			for (int i= 0; i < RUNS; i++) {
+				joinBackgroudActivities();
+				startMeasuring();
+				File exported= export(libraryHandler, compress);
+				stopMeasuring();
+				assertEquals(length, exported.length());
+			}
+			commitMeasurements();
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		} finally {
+			jar.delete();
+		}
+	}
+
+	@Test
+	public void testExtractedCompressed() throws Exception {
+		measureExport(new ExtractLibraryHandler(), true, RESOURCE_COUNT + LIBRARY_COUNT * LIBRARY_ENTRY_COUNT);
+	}
+
+	@Test
+	public void testExtractedUncompressed() throws Exception {
+		tagAsSummary("Export of a runnable JAR with extracted libraries", Dimension.ELAPSED_PROCESS);
+		measureExport(new ExtractLibraryHandler(), false, RESOURCE_COUNT + LIBRARY_COUNT * LIBRARY_ENTRY_COUNT);
+	}
+
+	@Test
+	public void testPackagedCompressed() throws Exception {
+		measureExport(new PackageLibraryHandler(), true, RESOURCE_COUNT + LIBRARY_COUNT);
+	}
+}
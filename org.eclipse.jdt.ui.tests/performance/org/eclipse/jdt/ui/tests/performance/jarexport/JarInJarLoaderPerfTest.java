@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.jarexport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.jarpackager.IJarExportRunnable;
+import org.eclipse.jdt.ui.jarpackager.JarPackageData;
+import org.eclipse.jdt.ui.tests.jarexport.FatJarExportTests;
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.LibraryHandler;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.MappedPackageLibraryHandler;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.PackageLibraryHandler;
+import org.eclipse.jdt.internal.ui.util.BusyIndicatorRunnableContext;
+
+/**
+ * Measures the start-up time of a runnable JAR with 100 packaged libraries, once with the
+ * libraries loaded through "rsrc" URLs and once with the memory-mapped loader.
+ */
+public class JarInJarLoaderPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int LIBRARY_COUNT= 100;
+	private static final int CLASS_COUNT= 20;
+	private static final int RUNS= 10;
+
+	private IJavaProject fLibraryProject;
+	private IJavaProject fProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fLibraryProject= JavaProjectHelper.createJavaProject("JarInJarLibraries", "bin");
+		JavaProjectHelper.addToClasspath(fLibraryProject, JavaCore.newContainerEntry(JavaRuntime.newDefaultJREContainerPath()));
+		IPackageFragmentRoot libraryRoot= JavaProjectHelper.addSourceContainer(fLibraryProject, "src");
+
+		fProject= JavaProjectHelper.createJavaProject("JarInJarMain", "bin");
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JavaRuntime.newDefaultJREContainerPath()));
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (int i= 0; i < LIBRARY_COUNT; i++) {
+				IPackageFragment pack= libraryRoot.createPackageFragment("dep" + i, true, null);
+				for (int j= 0; j < CLASS_COUNT; j++) {
+					String next= j + 1 < CLASS_COUNT ? "C" + (j + 1) + ".run();" : "";
+					pack.createCompilationUnit("C" + j + ".java",
+							"package dep" + i + ";\n" +
+							"public class C" + j + " {\n" +
+							"	public static void run() {\n" +
+							"		" + next + "\n" +
+							"	}\n" +
+							"}\n", true, null);
+				}
+			}
+			IPackageFragment pack= root.createPackageFragment("org.eclipse.jdt.ui.test", true, null);
+			pack.createCompilationUnit("Main.java",
+					"package org.eclipse.jdt.ui.test;\n" +
+					"public class Main {\n" +
+					"	public static void main(String[] args) throws Exception {\n" +
+					"		for (int i= 0; i < " + LIBRARY_COUNT + "; i++) {\n" +
+					"			Class.forName(\"dep\" + i + \".C0\").getMethod(\"run\").invoke(null);\n" +
+					"		}\n" +
+					"	}\n" +
+					"}\n", true, null);
+		}, null);
+		ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.FULL_BUILD, null);
+
+		IPath libraryLocation= ResourcesPlugin.getWorkspace().getRoot().getLocation().append("jarinjarlibs");
+		libraryLocation.toFile().mkdirs();
+		IFolder output= fLibraryProject.getProject().getFolder("bin");
+		for (int i= 0; i < LIBRARY_COUNT; i++) {
+			IPath jar= libraryLocation.append("dep" + i + ".jar");
+			writeLibrary(output.getFolder("dep" + i), jar.toFile());
+			JavaProjectHelper.addLibrary(fProject, jar);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+		JavaProjectHelper.delete(fLibraryProject);
+		File libraryLocation= ResourcesPlugin.getWorkspace().getRoot().getLocation().append("jarinjarlibs").toFile();
+		File[] jars= libraryLocation.listFiles();
+		if (jars != null) {
+			for (File jar : jars)
+				jar.delete();
+		}
+		libraryLocation.delete();
+	}
+
+	private static void writeLibrary(IFolder classFolder, File jar) throws CoreException, IOException {
+		try (JarOutputStream out= new JarOutputStream(new FileOutputStream(jar))) {
+			for (IResource member : classFolder.members()) {
+				if (member instanceof IFile) {
+					out.putNextEntry(new JarEntry(classFolder.getName() + "/" + member.getName()));
+					try (InputStream in= ((IFile) member).getContents()) {
+						byte[] buffer= new byte[4096];
+						int count;
+						while ((count= in.read(buffer)) != -1)
+							out.write(buffer, 0, count);
+					}
+					out.closeEntry();
+				}
+			}
+		}
+	}
+
+	private File export(String name, LibraryHandler libraryHandler) throws Exception {
+		JarPackageData data= new JarPackageData();
+		data.setOverwrite(true);
+		data.setCompress(true);
+		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(name + ".jar"));
+
+		MultiStatus status= new MultiStatus(JavaUI.ID_PLUGIN, 0, "", null);
+		Object[] elements= FatJarPackageWizardPage.getSelectedElementsWithoutContainedChildren(FatJarExportTests.createTempLaunchConfig(fProject), data, new BusyIndicatorRunnableContext(), status);
+		assertTrue(status.getMessage(), status.getSeverity() == IStatus.OK || status.getSeverity() == IStatus.INFO);
+		data.setElements(elements);
+		data.setJarBuilder(libraryHandler.getBuilder(data));
+
+		IWorkbenchWindow window= PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+		IJarExportRunnable op= data.createJarExportRunnable(window.getShell());
+		window.run(false, false, op);
+		assertTrue(op.getStatus().getMessage(), op.getStatus().getSeverity() != IStatus.ERROR);
+		return data.getAbsoluteJarLocation().toFile();
+	}
+
+	private static void runJar(File jar) throws Exception {
+		String executable= System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process= new ProcessBuilder(executable, "-jar", jar.getAbsolutePath())
+				.directory(jar.getParentFile())
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.INHERIT)
+				.start();
+		assertEquals("exit code", 0, process.waitFor());
+	}
+
+	private void measureStartup(File jar) throws Exception {
+		try {
+			runJar(jar); // warm up the file system cache
+			for (int i= 0; i < RUNS; i++) {
+				startMeasuring();
+				runJar(jar);
+				stopMeasuring();
+			}
+			commitMeasurements();
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		} finally {
+			jar.delete();
+		}
+	}
+
+	@Test
+	public void testPackagedStartup() throws Exception {
+		measureStartup(export("jarinjar_packaged", new PackageLibraryHandler()));
+	}
+
+	@Test
+	public void testMappedStartup() throws Exception {
+		measureStartup(export("jarinjar_mapped", new MappedPackageLibraryHandler()));
+	}
+}
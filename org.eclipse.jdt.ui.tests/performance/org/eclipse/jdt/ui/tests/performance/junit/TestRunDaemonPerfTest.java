@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+import org.eclipse.jdt.junit.tests.TestRunDaemonTest;
+import org.eclipse.jdt.junit.tests.TestRunDaemonTest.SessionRecorder;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.debug.core.ILaunch;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+/**
+ * Measures the time to the result of a single test: launched in a new VM compared to a rerun
+ * in a test runner in daemon mode.
+ */
+public class TestRunDaemonPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int RUNS= 5;
+
+	private IJavaProject fProject;
+	private IType fType;
+	private SessionRecorder fRecorder;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestRunDaemonPerf", "bin");
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JUnitCore.JUNIT4_CONTAINER_PATH));
+		JavaProjectHelper.addRTJar15(fProject);
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fProject, "src").createPackageFragment("pack", true, null);
+		fType= pack.createCompilationUnit("DaemonTest.java", TestRunDaemonTest.getSource(true), true, null).findPrimaryType();
+		TestRunDaemonTest.build(fProject);
+		fRecorder= new SessionRecorder();
+		JUnitCore.addTestRunListener(fRecorder);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JUnitCore.removeTestRunListener(fRecorder);
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void testLaunch() throws Exception {
+		for (int i= 0; i < RUNS; i++) {
+			joinBackgroudActivities();
+			int finished= fRecorder.getFinishedCount();
+			startMeasuring();
+			ILaunch launch= TestRunDaemonTest.launchDaemon(fType);
+			try {
+				TestRunSession session= fRecorder.waitForSessions(finished + 1);
+				stopMeasuring();
+				assertEquals(Result.OK, session.getTestResult(true));
+			} finally {
+				TestRunDaemonTest.terminate(launch);
+			}
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testDaemonRerun() throws Exception {
+		tagAsSummary("Time to the result of a test rerun in a test runner daemon", Dimension.ELAPSED_PROCESS);
+		ILaunch launch= TestRunDaemonTest.launchDaemon(fType);
+		try {
+			TestRunSession session= fRecorder.waitForSessions(1);
+			for (int i= 0; i < RUNS; i++) {
+				joinBackgroudActivities();
+				int finished= fRecorder.getFinishedCount();
+				startMeasuring();
+				assertTrue(session.rerunAllTests());
+				session= fRecorder.waitForSessions(finished + 1);
+				stopMeasuring();
+				assertEquals(Result.OK, session.getTestResult(true));
+			}
+			commitMeasurements();
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		} finally {
+			TestRunDaemonTest.terminate(launch);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -864,6 +864,52 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		doCleanUp(cleanUpRefactoring);
 	}
 
+	@Test
+	public void testParallelCleanUps() throws Exception {
+		Map<String, String> node= getNullSettings();
+
+		node.put(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS_ALWAYS, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.CONTROL_STATEMENTS_USE_BLOCKS_ALWAYS, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.REMOVE_UNNECESSARY_CASTS, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.VARIABLE_DECLARATIONS_USE_FINAL, CleanUpOptions.TRUE);
+		node.put(CleanUpConstants.VARIABLE_DECLARATIONS_USE_FINAL_LOCAL_VARIABLES, CleanUpOptions.TRUE);
+
+		storeSettings(node);
+
+		int cores= Runtime.getRuntime().availableProcessors();
+		long sequentialTime= 0;
+		for (int threads= 1; threads <= cores; threads++) {
+			CleanUpRefactoring cleanUpRefactoring= new CleanUpRefactoring();
+			addAllCUs(cleanUpRefactoring, MyTestSetup.fJProject1.getChildren());
+			cleanUpRefactoring.addCleanUp(new CodeStyleCleanUp());
+			cleanUpRefactoring.addCleanUp(new ControlStatementsCleanUp());
+			cleanUpRefactoring.addCleanUp(new UnnecessaryCodeCleanUp());
+			cleanUpRefactoring.addCleanUp(new VariableDeclarationCleanUp());
+			cleanUpRefactoring.setUseOptionsFromProfile(true);
+			cleanUpRefactoring.setParallelThreadCount(threads);
+
+			// warm up
+			performRefactoring(cleanUpRefactoring, false, IStatus.WARNING, true);
+
+			// only the run with the most threads is measured
+			long start= System.nanoTime();
+			for (int i= 0; i < 3; i++) {
+				performRefactoring(cleanUpRefactoring, threads == cores, IStatus.WARNING, true);
+			}
+			long time= System.nanoTime() - start;
+			if (threads == 1)
+				sequentialTime= time;
+
+			System.out.println(CleanUpPerfTest.class.getName() + "#testParallelCleanUps: " + threads + " thread(s), speedup "
+					+ String.format("%.2f", Double.valueOf((double) sequentialTime / time)));
+		}
+
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
 	private void doCleanUp(CleanUpRefactoring refactoring) throws CoreException {
 		refactoring.setUseOptionsFromProfile(true);
 
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jface.viewers.StructuredSelection;
+
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.JavaUI;
+
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
+
+/**
+ * Simulates a change of many files outside of the workbench, like a checkout of another branch:
+ * the files are rewritten, deleted and added on disk, and the package folders are refreshed one by
+ * one from a background job. The package explorer receives one delta per package folder.
+ */
+class MassChangeScenario {
+
+	private static final String SRC_CONTAINER= "src";
+
+	private final int fPackageCount;
+	private final int fUnitCount;
+	private IJavaProject fProject;
+	private int fGeneration;
+
+	/**
+	 * @param packageCount the number of packages
+	 * @param unitCount the number of compilation units per package
+	 */
+	MassChangeScenario(int packageCount, int unitCount) {
+		fPackageCount= packageCount;
+		fUnitCount= unitCount;
+	}
+
+	IJavaProject createProject(String name) throws CoreException {
+		fProject= JavaProjectHelper.createJavaProject(name, "bin");
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, SRC_CONTAINER);
+		ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) monitor -> {
+			for (int i= 0; i < fPackageCount; i++) {
+				IPackageFragment pack= root.createPackageFragment("p" + i, true, null);
+				for (int j= 0; j < fUnitCount; j++) {
+					pack.createCompilationUnit("C" + j + ".java", getSource(pack.getElementName(), "C" + j, 0), true, null);
+				}
+			}
+		}, null);
+		return fProject;
+	}
+
+	void deleteProject() throws CoreException {
+		if (fProject != null && fProject.exists()) {
+			JavaProjectHelper.delete(fProject);
+		}
+	}
+
+	/**
+	 * Shows the project with all packages expanded.
+	 */
+	void expandProject() {
+		PackageExplorerPart view= getView();
+		view.selectAndReveal(fProject);
+		view.getTreeViewer().expandToLevel(fProject, 3);
+	}
+
+	/**
+	 * Changes all files on disk, refreshes the package folders from a background job and waits
+	 * until the package explorer has applied all updates.
+	 *
+	 * @throws Exception if the change failed
+	 */
+	void run() throws Exception {
+		fGeneration++;
+		IFolder src= fProject.getProject().getFolder(SRC_CONTAINER);
+		for (int i= 0; i < fPackageCount; i++) {
+			String packName= "p" + i;
+			File dir= src.getFolder(packName).getLocation().toFile();
+			for (int j= 0; j < fUnitCount; j++) {
+				File file= new File(dir, "C" + j + ".java");
+				if (j == fGeneration % fUnitCount) {
+					Files.deleteIfExists(file.toPath());
+				} else {
+					write(file, getSource(packName, "C" + j, fGeneration));
+				}
+			}
+			String added= "Added" + fGeneration;
+			write(new File(dir, added + ".java"), getSource(packName, added, fGeneration));
+		}
+
+		Job job= Job.create("Refresh packages", monitor -> {
+			for (int i= 0; i < fPackageCount; i++) {
+				src.getFolder("p" + i).refreshLocal(IResource.DEPTH_ONE, monitor);
+			}
+		});
+		job.schedule();
+		job.join();
+
+		getView().selectReveal(new StructuredSelection(fProject)); // runs pending updates
+	}
+
+	private static void write(File file, String contents) throws IOException {
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(System.currentTimeMillis() + 1000);
+	}
+
+	private static String getSource(String packName, String typeName, int generation) {
+		return "package " + packName + ";\n" +
+				"public class " + typeName + " {\n" +
+				"	public int m" + generation + "() {\n" +
+				"		return " + generation + ";\n" +
+				"	}\n" +
+				"}\n";
+	}
+
+	private static PackageExplorerPart getView() {
+		return (PackageExplorerPart) PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().findView(JavaUI.ID_PACKAGES);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.performance.views;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -41,6 +42,8 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.core.manipulation.TypeNameMatchIndex;
+
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
 public class OrganizeImportsPerfTest extends JdtPerformanceTestCaseCommon {
@@ -107,6 +110,39 @@ public class OrganizeImportsPerfTest extends JdtPerformanceTestCaseCommon {
 		Performance.getDefault().assertPerformance(fPerformanceMeter);
 	}
 
+	@Test
+	public void testOrganizeImportsWithTypeNameIndex() throws Exception {
+		measureWithIndex(Performance.getDefault().getNullPerformanceMeter(), 10);
+		measureWithIndex(fPerformanceMeter, 10);
+
+		commitMeasurements();
+		Performance.getDefault().assertPerformance(fPerformanceMeter);
+	}
+
+	private void measureWithIndex(PerformanceMeter performanceMeter, int runs) throws Exception {
+		for (int j= 0; j < runs; j++) {
+			List<IJavaElement> cusList= new ArrayList<>();
+			addAllCUs(MyTestSetup.fJProject1.getChildren(), cusList);
+			ICompilationUnit[] cus= cusList.toArray(new ICompilationUnit[cusList.size()]);
+			CompilationUnit[] roots= createASTs(cus);
+
+			joinBackgroudActivities();
+
+			TypeNameMatchIndex index= new TypeNameMatchIndex();
+			try {
+				performanceMeter.start();
+				for (int i= 0; i < roots.length; i++) {
+					OrganizeImportsOperation op= index.createOrganizeImportsOperation(cus[i], roots[i], true, true, true, null);
+					op.run(new NullProgressMonitor());
+				}
+				performanceMeter.stop();
+				assertTrue(index.getSearchCount() <= cus.length);
+			} finally {
+				index.dispose();
+			}
+		}
+	}
+
 	private void measure(PerformanceMeter performanceMeter, int runs) throws Exception {
 		for (int j= 0; j < runs; j++) {
 			List<IJavaElement> cusList= new ArrayList<>();
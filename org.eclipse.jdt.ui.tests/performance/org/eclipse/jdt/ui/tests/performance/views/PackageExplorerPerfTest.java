@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -149,6 +149,22 @@ public class PackageExplorerPerfTest extends JdtPerformanceTestCaseCommon {
 		finishMeasurements();
 	}
 
+	@Test
+	public void testEMassChange() throws Exception {
+		PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().showView(JavaUI.ID_PACKAGES);
+		MassChangeScenario scenario= new MassChangeScenario(100, 100);
+		try {
+			scenario.createProject("MassChange");
+			scenario.expandProject();
+			joinBackgroudActivities();
+			startMeasuring();
+			scenario.run();
+			finishMeasurements();
+		} finally {
+			scenario.deleteProject();
+		}
+	}
+
 	private void touchAllFilesOnDisk(IFolder folder) throws CoreException {
 		final long now= System.currentTimeMillis();
 		folder.accept(resource -> {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,4 +49,27 @@ public class PackageExplorerWarmPerfTest extends JdtPerformanceTestCaseCommon {
 		// don't spend more than 500 ms.
 		Performance.getDefault().assertPerformanceInAbsoluteBand(fPerformanceMeter, Dimension.ELAPSED_PROCESS, 0, 500);
 	}
+
+	@Test
+	public void testMassChange() throws Exception {
+		IWorkbenchPage page= PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		page.showView(JavaUI.ID_PACKAGES);
+		MassChangeScenario scenario= new MassChangeScenario(20, 50);
+		try {
+			scenario.createProject("MassChangeWarm");
+			scenario.expandProject();
+			joinBackgroudActivities();
+			scenario.run();
+			for (int i= 0; i < 10; i++) {
+				joinBackgroudActivities();
+				startMeasuring();
+				scenario.run();
+				stopMeasuring();
+			}
+			commitMeasurements();
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+		} finally {
+			scenario.deleteProject();
+		}
+	}
 }
\ No newline at end of file
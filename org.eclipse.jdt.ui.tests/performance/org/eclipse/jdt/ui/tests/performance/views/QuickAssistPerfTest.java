@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+import org.eclipse.jdt.ui.text.java.IProblemLocation;
+
+import org.eclipse.jdt.internal.ui.text.correction.AssistContext;
+import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionProcessor;
+
+/**
+ * Invokes quick assist at many offsets of the largest compilation unit of JUnit 3.8.1, once with
+ * the processors evaluated one after the other and once with the processors that do not require
+ * the UI thread evaluated concurrently.
+ */
+public class QuickAssistPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int MAX_OFFSETS= 500;
+
+	private static final String SRC_CONTAINER= "src";
+
+	private IJavaProject fJProject1;
+
+	@Before
+	public void setUpProject() throws Exception {
+		fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+		File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
+		JavaProjectHelper.addSourceContainerWithImport(fJProject1, SRC_CONTAINER, junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
+	}
+
+	@After
+	public void tearDownProject() throws Exception {
+		if (fJProject1 != null && fJProject1.exists()) {
+			JavaProjectHelper.delete(fJProject1);
+		}
+	}
+
+	private void addAllCUs(IJavaElement[] children, List<ICompilationUnit> result) throws JavaModelException {
+		for (IJavaElement element : children) {
+			if (element instanceof ICompilationUnit) {
+				result.add((ICompilationUnit) element);
+			} else if (element instanceof IPackageFragmentRoot) {
+				addAllCUs(((IPackageFragmentRoot) element).getChildren(), result);
+			} else if (element instanceof IPackageFragment) {
+				addAllCUs(((IPackageFragment) element).getChildren(), result);
+			}
+		}
+	}
+
+	private ICompilationUnit getLargestCU() throws JavaModelException {
+		List<ICompilationUnit> cus= new ArrayList<>();
+		addAllCUs(fJProject1.getChildren(), cus);
+		ICompilationUnit largest= null;
+		for (ICompilationUnit cu : cus) {
+			if (largest == null || cu.getSource().length() > largest.getSource().length()) {
+				largest= cu;
+			}
+		}
+		return largest;
+	}
+
+	private static List<Integer> getOffsets(CompilationUnit root) {
+		List<Integer> names= new ArrayList<>();
+		root.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(SimpleName node) {
+				names.add(Integer.valueOf(node.getStartPosition()));
+				return false;
+			}
+		});
+		List<Integer> offsets= new ArrayList<>();
+		int step= Math.max(1, names.size() / MAX_OFFSETS);
+		for (int i= 0; i < names.size(); i+= step) {
+			offsets.add(names.get(i));
+		}
+		return offsets;
+	}
+
+	@Test
+	public void testQuickAssistSerial() throws Exception {
+		measureWithBudget(0);
+	}
+
+	@Test
+	public void testQuickAssistConcurrent() throws Exception {
+		measureWithBudget(-1);
+	}
+
+	private void measureWithBudget(int budget) throws Exception {
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		if (budget >= 0) {
+			store.setValue(PreferenceConstants.CORRECTION_PROCESSOR_BUDGET, budget);
+		}
+		try {
+			ICompilationUnit cu= getLargestCU();
+			CompilationUnit root= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, new NullProgressMonitor());
+			List<Integer> offsets= getOffsets(root);
+			assertTrue(offsets.size() > 100);
+
+			joinBackgroudActivities();
+
+			measure(cu, offsets, Performance.getDefault().getNullPerformanceMeter(), 2);
+			measure(cu, offsets, fPerformanceMeter, 10);
+
+			commitMeasurements();
+			Performance.getDefault().assertPerformance(fPerformanceMeter);
+		} finally {
+			store.setToDefault(PreferenceConstants.CORRECTION_PROCESSOR_BUDGET);
+		}
+	}
+
+	private int measure(ICompilationUnit cu, List<Integer> offsets, PerformanceMeter performanceMeter, int runs) throws Exception {
+		int count= -1;
+		for (int j= 0; j < runs; j++) {
+			int proposals= 0;
+			performanceMeter.start();
+			for (Integer offset : offsets) {
+				AssistContext context= new AssistContext(cu, offset.intValue(), 0);
+				List<IJavaCompletionProposal> result= new ArrayList<>();
+				IStatus status= JavaCorrectionProcessor.collectAssists(context, new IProblemLocation[0], result);
+				assertTrue(status.isOK());
+				proposals+= result.size();
+			}
+			performanceMeter.stop();
+			if (count != -1) {
+				assertEquals("different proposals in consecutive runs", count, proposals);
+			}
+			count= proposals;
+		}
+		return count;
+	}
+}
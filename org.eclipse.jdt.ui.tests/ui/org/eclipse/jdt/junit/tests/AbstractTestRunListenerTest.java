@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,7 +104,7 @@ public class AbstractTestRunListenerTest {
 		JavaProjectHelper.delete(fProject);
 	}
 
-	private static class TestJUnitLaunchShortcut extends JUnitLaunchShortcut {
+	protected static class TestJUnitLaunchShortcut extends JUnitLaunchShortcut {
 		public static ILaunchConfigurationWorkingCopy createConfiguration(IJavaElement element, String testName) throws CoreException {
 			ILaunchConfigurationWorkingCopy copy= new TestJUnitLaunchShortcut().createLaunchConfiguration(element, testName);
 			return copy;
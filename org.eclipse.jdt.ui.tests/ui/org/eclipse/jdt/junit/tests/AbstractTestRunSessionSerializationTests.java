@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -197,6 +197,7 @@ public class AbstractTestRunSessionSerializationTests {
 			assertEquals(exp.getTestName(), act.getTestName());
 			assertEquals(exp.getTrace(), act.getTrace());
 			assertEquals(exp.getTestName(), act.getTestName());
+			assertEquals(containsIgnored(act), act.hasIgnoredDescendant());
 			ITestElement[] expChildren= exp.getChildren();
 			ITestElement[] actChildren= act.getChildren();
 			assertEquals(expChildren.length, actChildren.length);
@@ -214,6 +215,18 @@ public class AbstractTestRunSessionSerializationTests {
 		}
 	}
 
+	private static boolean containsIgnored(ITestSuiteElement suite) {
+		for (ITestElement child : suite.getChildren()) {
+			if (child instanceof ITestSuiteElement) {
+				if (containsIgnored((ITestSuiteElement) child))
+					return true;
+			} else if (child.getTestResult(false) == ITestElement.Result.IGNORED) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private void assertEqualTestCase(ITestCaseElement expected, ITestCaseElement actual) {
 		assertEquals(expected.getTestClassName(), actual.getTestClassName());
 		assertEquals(expected.getTestMethodName(), actual.getTestMethodName());
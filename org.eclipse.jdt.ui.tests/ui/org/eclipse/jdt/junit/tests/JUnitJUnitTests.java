@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,11 +26,13 @@ import org.junit.runners.Suite;
 
 TestEnableAssertions.class,
 TestPriorization.class,
+TestPriorityOrder.class,
 TestTestSearchEngine.class,
 
 TestRunListenerTest3.class,
 TestRunListenerTest4.class,
 TestRunListenerTest5.class,
+TestRunDaemonTest.class,
 
 TestRunFilteredStandardRunnerTest4.class,
 TestRunFilteredParameterizedRunnerTest4.class,
@@ -38,8 +40,11 @@ TestRunFilteredParameterizedRunnerTest4.class,
 TestRunSessionSerializationTests3.class,
 TestRunSessionSerializationTests4.class,
 
+RemoteTestRunnerProtocolTest.class,
+
 JUnit3TestFinderTest.class,
 JUnit4TestFinderTest.class,
+TestDiscoveryEngineTest.class,
 
 TestSorting.class
 /**
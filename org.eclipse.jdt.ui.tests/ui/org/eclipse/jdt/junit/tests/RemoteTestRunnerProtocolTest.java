@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageWriter;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+
+/**
+ * Replays a recorded session of parameterized tests through the text and the binary protocol of
+ * the remote test runner and checks that the IDE side receives the same events.
+ */
+public class RemoteTestRunnerProtocolTest {
+
+	private static final int TEST_COUNT= 200;
+
+	private static final int FAILURE_INTERVAL= 10;
+
+	private static final long TIMEOUT= 30;
+
+	private static final String TRACE= "java.lang.AssertionError: expected:<1> but was:<2>\n"
+			+ "\tat org.junit.Assert.fail(Assert.java:89)\n"
+			+ "\tat pack.ParameterizedTest.testValue(ParameterizedTest.java:42)";
+
+	/**
+	 * Records the events received by the IDE side as a count per kind and a hash of their
+	 * sequence.
+	 */
+	private static class EventRecorder implements ITestRunListener2 {
+		final CountDownLatch fRunEnded= new CountDownLatch(1);
+		int fTreeEntries;
+		int fStarted;
+		int fEnded;
+		int fFailed;
+		long fHash;
+
+		private void record(String event) {
+			fHash= 31 * fHash + event.hashCode();
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			record("runStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			record("runEnded");
+			fRunEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			record("runStopped");
+			fRunEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			fStarted++;
+			record("started " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEnded++;
+			record("ended " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fRunEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			fTreeEntries++;
+			record("tree " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fFailed++;
+			// the text protocol joins the lines of the trace with the line separator of the runner
+			record("failed " + status + " " + testId + " " + testName + " " + trace.replace("\r\n", "\n") + expected + actual);
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			record("reran " + testId);
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+		long fCount;
+
+		public CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			fCount++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			fCount+= len;
+		}
+	}
+
+	/**
+	 * Returns the messages of the recorded session. <code>null</code> elements stand for a
+	 * flush of the sender.
+	 *
+	 * @return the recorded session
+	 */
+	private static List<String> recordSession() {
+		List<String> session= new ArrayList<>();
+		session.add(MessageIds.TEST_RUN_START + TEST_COUNT + " v2");
+		session.add(MessageIds.TEST_TREE + "1,pack.ParameterizedTest,true," + TEST_COUNT + ",false,-1,ParameterizedTest,,"
+				+ RemoteTestRunner.escapeText("[engine:junit-vintage]/[runner:pack.ParameterizedTest]"));
+		for (int i= 0; i < TEST_COUNT; i++) {
+			session.add(MessageIds.TEST_TREE + (i + 2) + ',' + getEscapedName(i) + ",false,1,false,1," + RemoteTestRunner.escapeText("testValue[" + i + ": a, b]")
+					+ ",," + RemoteTestRunner.escapeText("[engine:junit-vintage]/[runner:pack.ParameterizedTest]/[test:testValue[" + i + "]]"));
+		}
+		for (int i= 0; i < TEST_COUNT; i++) {
+			String test= (i + 2) + "," + getEscapedName(i);
+			session.add(MessageIds.TEST_START + test);
+			session.add(null);
+			if (i % FAILURE_INTERVAL == 0) {
+				session.add(MessageIds.TEST_FAILED + test);
+				session.add(MessageIds.TRACE_START);
+				session.add(TRACE);
+				session.add(MessageIds.TRACE_END);
+				session.add(null);
+			}
+			session.add(MessageIds.TEST_END + test);
+			session.add(null);
+		}
+		session.add(MessageIds.TEST_RUN_END + 1000);
+		session.add(null);
+		return session;
+	}
+
+	private static String getEscapedName(int i) {
+		return RemoteTestRunner.escapeText("testValue[" + i + ": a, b](pack.ParameterizedTest)");
+	}
+
+	private static int findFreePort() throws IOException {
+		try (ServerSocket socket= new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static Socket connect(int port) throws Exception {
+		long deadline= System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT);
+		while (true) {
+			try {
+				return new Socket("localhost", port);
+			} catch (ConnectException e) {
+				// the client has not opened its server socket yet
+				if (System.currentTimeMillis() > deadline)
+					throw e;
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	/**
+	 * Sends the session like the remote test runner and waits until the IDE side has received
+	 * the end of the test run.
+	 *
+	 * @param session the recorded session
+	 * @param binary whether to use the binary protocol
+	 * @param recorder the listener of the IDE side
+	 * @return the number of bytes sent
+	 * @throws Exception if the replay fails
+	 */
+	private static long replay(List<String> session, boolean binary, EventRecorder recorder) throws Exception {
+		int port= findFreePort();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+		client.startListening(new ITestRunListener2[] { recorder }, port);
+		try (Socket socket= connect(port)) {
+			CountingOutputStream output= new CountingOutputStream(socket.getOutputStream());
+			if (binary) {
+				BinaryMessageWriter writer= new BinaryMessageWriter(output);
+				for (String message : session) {
+					if (message == null)
+						writer.flush();
+					else
+						writer.sendMessage(message);
+				}
+				writer.close();
+			} else {
+				PrintWriter writer= new PrintWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)), false);
+				for (String message : session) {
+					if (message == null)
+						writer.flush();
+					else
+						writer.println(message);
+				}
+				writer.flush();
+			}
+			assertTrue("test run has not ended", recorder.fRunEnded.await(TIMEOUT, TimeUnit.SECONDS));
+			return output.fCount;
+		}
+	}
+
+	@Test
+	public void testReplayRecordedSession() throws Exception {
+		List<String> session= recordSession();
+
+		EventRecorder text= new EventRecorder();
+		long textBytes= replay(session, false, text);
+
+		EventRecorder binary= new EventRecorder();
+		long binaryBytes= replay(session, true, binary);
+
+		assertEquals(TEST_COUNT + 1, text.fTreeEntries);
+		assertEquals(TEST_COUNT, text.fStarted);
+		assertEquals(TEST_COUNT, text.fEnded);
+		assertEquals(TEST_COUNT / FAILURE_INTERVAL, text.fFailed);
+
+		assertEquals(text.fTreeEntries, binary.fTreeEntries);
+		assertEquals(text.fStarted, binary.fStarted);
+		assertEquals(text.fEnded, binary.fEnded);
+		assertEquals(text.fFailed, binary.fFailed);
+		assertEquals(text.fHash, binary.fHash);
+		assertTrue("binary protocol is not more compact", binaryBytes < textBytes);
+	}
+}
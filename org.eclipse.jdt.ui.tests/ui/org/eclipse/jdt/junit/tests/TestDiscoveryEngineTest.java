@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.TestDiscoveryEngine;
+
+public class TestDiscoveryEngineTest {
+
+	private IJavaProject fProject;
+	private IPackageFragmentRoot fRoot;
+	private IPackageFragment fPackage;
+
+	private IType fSuper;
+	private IType fTest;
+
+	private AtomicInteger fEvaluations;
+	private TestDiscoveryEngine fEngine;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar(fProject);
+		fRoot= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= fRoot.createPackageFragment("p", true, null);
+		fSuper= fPackage.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", true, null).getType("A");
+		fTest= fPackage.createCompilationUnit("B.java", "package p;\npublic class B extends A {\n}\n", true, null).getType("B");
+		fPackage.createCompilationUnit("Marker.java", "package p;\npublic @interface Marker {\n}\n", true, null);
+
+		TestDiscoveryEngine.clearCache();
+		fEvaluations= new AtomicInteger();
+		fEngine= new TestDiscoveryEngine("test", type -> {
+			fEvaluations.incrementAndGet();
+			return "B".equals(type.getElementName());
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		TestDiscoveryEngine.clearCache();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	private void assertEvaluations(int expected) throws Exception {
+		IRegion region= JavaCore.newRegion();
+		region.add(fRoot);
+		ITypeHierarchy hierarchy= fProject.newTypeHierarchy(region, null);
+		fEvaluations.set(0);
+		List<IType> tests= fEngine.findTests(Arrays.asList(fSuper, fTest), hierarchy, null);
+		assertEquals(Collections.singletonList(fTest), tests);
+		assertEquals(expected, fEvaluations.get());
+	}
+
+	@Test
+	public void cachedResultsAreReused() throws Exception {
+		assertEvaluations(2);
+		assertEvaluations(0);
+	}
+
+	@Test
+	public void changedSuperTypeInvalidatesSubTypes() throws Exception {
+		assertEvaluations(2);
+		fPackage.createCompilationUnit("A.java", "package p;\npublic class A {\n\tvoid foo() {}\n}\n", true, null);
+		assertEvaluations(2);
+	}
+
+	@Test
+	public void unrelatedChangeKeepsCache() throws Exception {
+		assertEvaluations(2);
+		fPackage.createCompilationUnit("C.java", "package p;\npublic class C {\n}\n", true, null);
+		assertEvaluations(0);
+	}
+
+	@Test
+	public void classpathChangeClearsCache() throws Exception {
+		assertEvaluations(2);
+		JavaProjectHelper.addSourceContainer(fProject, "src2");
+		assertEvaluations(2);
+	}
+
+	@Test
+	public void annotationChangeClearsCache() throws Exception {
+		assertEvaluations(2);
+		fPackage.createCompilationUnit("Marker.java", "package p;\npublic @interface Marker {\n\tString value();\n}\n", true, null);
+		assertEvaluations(2);
+	}
+}
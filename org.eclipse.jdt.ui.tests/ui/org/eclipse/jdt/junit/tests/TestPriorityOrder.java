@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.junit.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.eclipse.jdt.internal.junit.runner.PriorityOrderPrioritizer;
+
+import junit.extensions.TestDecorator;
+import junit.extensions.TestSetup;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class TestPriorityOrder extends TestCase {
+
+	public void testOrderSimple() {
+		TestSuite suite= createSuiteDEF();
+		String[] priority= {
+				"testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)",
+				"testE(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)"
+		};
+		String[] expected= {
+				"testF", "testE", "testD"
+		};
+		assertEquals(Arrays.asList(expected), collectOrder(prioritize(suite, priority)));
+	}
+
+	public void testUnrankedKeepOrder() {
+		// suite
+		//		suite1
+		//			A
+		//			B
+		//			C
+		//		suite2
+		//			D
+		//			E
+		//			F
+		//		suite3
+		//			X
+		//			Y
+		//			Z
+		TestSuite suite= new TestSuite();
+		suite.addTest(createSuiteABC());
+		suite.addTest(createSuiteDEF());
+		suite.addTest(createSuiteXYZ());
+
+		String[] priority= {
+				"testZ(org.eclipse.jdt.junit.tests.TestPriorizationSuite)"
+		};
+		String[] expected= {
+				"testZ", "testX", "testY", "testA", "testB", "testC", "testD", "testE", "testF"
+		};
+		assertEquals(Arrays.asList(expected), collectOrder(prioritize(suite, priority)));
+	}
+
+	public void testSuitesRankedByBestTest() {
+		// suite
+		//		suite1
+		//			A
+		//			B
+		//			C*3
+		//		suite2
+		//			D*2
+		//			E
+		//			F*0
+		//		decorator
+		//			suite3
+		//				X
+		//				Y*1
+		//				Z
+		TestSuite suite= new TestSuite();
+		suite.addTest(createSuiteABC());
+		suite.addTest(createSuiteDEF());
+		suite.addTest(new TestSetup(createSuiteXYZ()) {
+			@Override
+			protected void setUp() throws Exception {
+			}
+		});
+
+		String[] priority= {
+				"testF(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)",
+				"testY(org.eclipse.jdt.junit.tests.TestPriorizationSuite)",
+				"testD(org.eclipse.jdt.junit.tests.TestPriorizationSuite2)",
+				"testC(org.eclipse.jdt.junit.tests.TestPriorizationSuite1)"
+		};
+		String[] expected= {
+				"testF", "testD", "testE", "testY", "testX", "testZ", "testC", "testA", "testB"
+		};
+		assertEquals(Arrays.asList(expected), collectOrder(prioritize(suite, priority)));
+	}
+
+	public void testUnknownNames() {
+		TestSuite suite= createSuiteABC();
+		String[] priority= {
+				"testQ(org.eclipse.jdt.junit.tests.TestPriorizationSuite1)"
+		};
+		String[] expected= {
+				"testA", "testB", "testC"
+		};
+		assertEquals(Arrays.asList(expected), collectOrder(prioritize(suite, priority)));
+	}
+
+	private TestSuite createSuiteDEF() {
+		TestSuite suite= new TestSuite();
+		suite.addTest(new TestPriorizationSuite2("testD"));
+		suite.addTest(new TestPriorizationSuite2("testE"));
+		suite.addTest(new TestPriorizationSuite2("testF"));
+		return suite;
+	}
+
+	private TestSuite createSuiteABC() {
+		TestSuite suite= new TestSuite();
+		suite.addTest(new TestPriorizationSuite1("testA"));
+		suite.addTest(new TestPriorizationSuite1("testB"));
+		suite.addTest(new TestPriorizationSuite1("testC"));
+		return suite;
+	}
+
+	private TestSuite createSuiteXYZ() {
+		TestSuite suite= new TestSuite();
+		suite.addTest(new TestPriorizationSuite("testX"));
+		suite.addTest(new TestPriorizationSuite("testY"));
+		suite.addTest(new TestPriorizationSuite("testZ"));
+		return suite;
+	}
+
+	private List<String> collectOrder(Test suite) {
+		List<String> order= new ArrayList<>();
+		collectOrder(suite, order);
+		return order;
+	}
+
+	private void collectOrder(Test suite, List<String> order) {
+		if (suite instanceof TestCase) {
+			String s= suite.toString();
+			s= s.substring(0, s.indexOf('('));
+			order.add(s);
+		} else if (suite instanceof TestSuite) {
+			TestSuite aSuite= (TestSuite)suite;
+			for (Enumeration<Test> e= aSuite.tests(); e.hasMoreElements();) {
+				collectOrder(e.nextElement(), order);
+			}
+		} else if (suite instanceof TestDecorator) {
+			collectOrder(((TestDecorator)suite).getTest(), order);
+		}
+	}
+
+	private Test prioritize(Test suite, String[] priority) {
+		return new PriorityOrderPrioritizer(priority).prioritize(suite);
+	}
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.junit.TestRunListener;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+import org.eclipse.jdt.junit.model.ITestRunSession;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.core.ILaunchManager;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+/**
+ * Runs tests in a test runner in daemon mode and reruns them in the same VM.
+ */
+public class TestRunDaemonTest extends AbstractTestRunListenerTest {
+
+	/**
+	 * Records the finished sessions.
+	 */
+	public static class SessionRecorder extends TestRunListener {
+		private final List<TestRunSession> fFinished= new ArrayList<>();
+
+		@Override
+		public synchronized void sessionFinished(ITestRunSession session) {
+			fFinished.add((TestRunSession) session);
+		}
+
+		public synchronized int getFinishedCount() {
+			return fFinished.size();
+		}
+
+		public synchronized TestRunSession getLastSession() {
+			return fFinished.get(fFinished.size() - 1);
+		}
+
+		/**
+		 * Waits until the given number of sessions has finished.
+		 *
+		 * @param count the number of finished sessions to wait for
+		 * @return the last finished session
+		 */
+		public TestRunSession waitForSessions(int count) {
+			boolean success= new DisplayHelper() {
+				@Override
+				protected boolean condition() {
+					return getFinishedCount() >= count;
+				}
+			}.waitForCondition(Display.getCurrent(), 30 * 1000, 100);
+			assertTrue("test run has not finished", success);
+			return getLastSession();
+		}
+	}
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestRunDaemonTest", "bin");
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JUnitCore.JUNIT4_CONTAINER_PATH));
+		JavaProjectHelper.addRTJar15(fProject);
+	}
+
+	public static String getSource(boolean succeed) {
+		return "package pack;\n" +
+				"import org.junit.Assert;\n" +
+				"import org.junit.Test;\n" +
+				"public class DaemonTest {\n" +
+				"    @Test public void testValue() { Assert.assertTrue(" + succeed + "); }\n" +
+				"}";
+	}
+
+	public static void build(IJavaProject project) throws CoreException {
+		ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+		for (IMarker marker : project.getProject().findMarkers(null, true, IResource.DEPTH_INFINITE)) {
+			if (marker.getAttribute(IMarker.SEVERITY, 0) >= IMarker.SEVERITY_ERROR) {
+				fail("unexpected errors, e.g. :" + marker.toString());
+			}
+		}
+	}
+
+	/**
+	 * Launches the given test in a test runner in daemon mode.
+	 *
+	 * @param type the test to run
+	 * @return the launch
+	 * @throws CoreException if the launch fails
+	 */
+	public static ILaunch launchDaemon(IType type) throws CoreException {
+		ILaunchConfigurationWorkingCopy configuration= TestJUnitLaunchShortcut.createConfiguration(type, null);
+		configuration.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_RUNNER_KIND, TestKindRegistry.JUNIT4_TEST_KIND_ID);
+		configuration.setAttribute(JUnitLaunchConfigurationConstants.ATTR_DAEMON, true);
+		return configuration.launch(ILaunchManager.RUN_MODE, null);
+	}
+
+	public static void terminate(ILaunch launch) throws CoreException {
+		ILaunchManager lm= DebugPlugin.getDefault().getLaunchManager();
+		try {
+			launch.terminate();
+		} finally {
+			lm.removeLaunch(launch);
+			if (launch.getLaunchConfiguration() != null) {
+				launch.getLaunchConfiguration().delete();
+			}
+		}
+	}
+
+	@Test
+	public void testRerunReloadsChangedClasses() throws Exception {
+		IType type= createType(getSource(true), "pack", "DaemonTest.java");
+		build(fProject);
+
+		SessionRecorder recorder= new SessionRecorder();
+		JUnitCore.addTestRunListener(recorder);
+		ILaunch launch= launchDaemon(type);
+		try {
+			TestRunSession session= recorder.waitForSessions(1);
+			assertEquals(Result.OK, session.getTestResult(true));
+			assertTrue(session.isDaemon());
+			assertTrue(session.getTimeToFirstResult() >= 0);
+
+			type.getCompilationUnit().getBuffer().setContents(getSource(false));
+			type.getCompilationUnit().save(null, true);
+			build(fProject);
+
+			assertTrue(session.rerunAllTests());
+			assertEquals(-1, session.getTimeToFirstResult());
+			session= recorder.waitForSessions(2);
+			assertEquals(Result.FAILURE, session.getTestResult(true));
+			assertTrue(session.getTimeToFirstResult() >= 0);
+			assertFalse("runner VM has terminated", launch.isTerminated());
+		} finally {
+			JUnitCore.removeTestRunListener(recorder);
+			terminate(launch);
+		}
+	}
+
+	@Test
+	public void testRerunWithoutChanges() throws Exception {
+		IType type= createType(getSource(true), "pack", "DaemonTest.java");
+		build(fProject);
+
+		SessionRecorder recorder= new SessionRecorder();
+		JUnitCore.addTestRunListener(recorder);
+		ILaunch launch= launchDaemon(type);
+		try {
+			TestRunSession session= recorder.waitForSessions(1);
+			for (int i= 2; i <= 3; i++) {
+				assertTrue(session.rerunAllTests());
+				session= recorder.waitForSessions(i);
+				assertEquals(Result.OK, session.getTestResult(true));
+			}
+			assertFalse("runner VM has terminated", launch.isTerminated());
+		} finally {
+			JUnitCore.removeTestRunListener(recorder);
+			terminate(launch);
+		}
+	}
+}
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -44,9 +46,13 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 
 /**
  * Tests the AST provider.
@@ -141,6 +147,30 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void recentlyActiveAST() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", "package test1;\npublic class E1 {\n}\n", false, null);
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", "package test1;\npublic class E2 {\n}\n", false, null);
+
+		try {
+			JavaUI.openInEditor(cu2);
+			CompilationUnit ast= SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_YES, null);
+			assertNotNull(ast);
+
+			// the AST of the previously active editor is kept
+			JavaUI.openInEditor(cu1);
+			assertSame(ast, SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_NO, null));
+
+			// and discarded when its compilation unit changes
+			cu2.getBuffer().replace(cu2.getSource().indexOf('}'), 0, "int a;\n");
+			JavaModelUtil.reconcile(cu2);
+			assertNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_NO, null));
+		} finally {
+			JavaPlugin.getActivePage().closeAllEditors(false);
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,23 +16,31 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -468,6 +476,41 @@ public class CallHierarchyTest {
         assertEquals("Wrong line number", 12, recursiveMethod2Wrapper.getMethodCall().getFirstCallLocation().getLineNumber());
     }
 
+	@Test
+	public void indexedCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        CallGraphIndex index= CallGraphIndex.getDefault();
+        Job.getJobManager().join(CallGraphIndex.class, null);
+        assertTrue(index.isUpToDate());
+        assertTrue(index.getCallSiteCount() > 0);
+
+        Map<String, MethodCall> callers= index.getCallers(helper.getMethod1());
+        Set<String> expectedCallers= new HashSet<>();
+        expectedCallers.add(helper.getMethod2().getHandleIdentifier());
+        expectedCallers.add(helper.getMethod3().getHandleIdentifier());
+        assertEquals(expectedCallers, callers.keySet());
+        assertEquals(9, callers.get(helper.getMethod2().getHandleIdentifier()).getFirstCallLocation().getLineNumber());
+
+        // constructors are left to the search engine, which also finds implicit constructor calls
+        assertNull(index.getCallers(helper.getType1().getMethod("A", EMPTY)));
+    }
+
+	@Test
+	public void indexedCallersAfterStructuralChange() throws Exception {
+        helper.createSimpleClasses();
+
+        CallGraphIndex index= CallGraphIndex.getDefault();
+        Job.getJobManager().join(CallGraphIndex.class, null);
+        assertEquals(Collections.singleton(helper.getMethod4().getHandleIdentifier()), index.getCallers(helper.getMethod3()).keySet());
+
+        // B.method3() now overrides a method of A, so the unit of B has to be re-indexed as well
+        helper.getType1().createMethod("public void method3() {\n}\n", null, true, null);
+        Job.getJobManager().join(CallGraphIndex.class, null);
+        assertTrue(index.isUpToDate());
+        assertNull(index.getCallers(helper.getMethod3()));
+    }
+
     private void assertRecursive(MethodWrapper[] callResults, boolean shouldBeRecursive) {
     	for (MethodWrapper callResult : callResults) {
     		assertEquals("Wrong recursive value: " + callResult.getName(), shouldBeRecursive, callResult.isRecursive());
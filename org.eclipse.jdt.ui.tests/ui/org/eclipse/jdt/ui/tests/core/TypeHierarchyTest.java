@@ -14,7 +14,10 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,6 +39,7 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
 
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -268,4 +272,41 @@ public class TypeHierarchyTest {
 		assertEquals("Should contain 3 types, contains: " + allTypes.length, 3, allTypes.length);
 		assertEquals("Update count should be 1, is: " + updateCount[0], 1, updateCount[0]);
 	}
+
+	@Test
+	public void superTypeHierarchyCache() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.getCompilationUnit("A.java").createType("public class A {\n}\n", null, true, null);
+		IType typeB= pack1.getCompilationUnit("B.java").createType("public class B extends A {\n}\n", null, true, null);
+		IType typeC= pack1.getCompilationUnit("C.java").createType("public class C {\n}\n", null, true, null);
+
+		// the cache is shared with other tests and background jobs, only compare counts before and after each step
+		SuperTypeHierarchyCache.clear();
+		try {
+			int misses= SuperTypeHierarchyCache.getCacheMisses();
+			ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(typeB);
+			assertTrue(SuperTypeHierarchyCache.getCacheMisses() > misses);
+
+			// the super type is contained in the hierarchy of the sub type
+			int hits= SuperTypeHierarchyCache.getCacheHits();
+			assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(typeA));
+			assertTrue(SuperTypeHierarchyCache.hasInCache(typeA));
+			assertTrue(SuperTypeHierarchyCache.getCacheHits() > hits);
+			assertSame(SuperTypeHierarchyCache.getMethodOverrideTester(typeB), SuperTypeHierarchyCache.getMethodOverrideTester(typeB));
+
+			// a cache of one hierarchy evicts B's hierarchy when C's is added
+			int evictions= SuperTypeHierarchyCache.getCacheEvictions();
+			SuperTypeHierarchyCache.setCacheLimits(1, 100);
+			SuperTypeHierarchyCache.getTypeHierarchy(typeC);
+			assertEquals(1, SuperTypeHierarchyCache.getCacheSize());
+			assertTrue(SuperTypeHierarchyCache.getCacheEvictions() > evictions);
+			assertFalse(SuperTypeHierarchyCache.hasInCache(typeB));
+			assertTrue(SuperTypeHierarchyCache.hasInCache(typeC));
+		} finally {
+			SuperTypeHierarchyCache.setCacheLimits(32, 4000);
+			SuperTypeHierarchyCache.clear();
+		}
+	}
 }
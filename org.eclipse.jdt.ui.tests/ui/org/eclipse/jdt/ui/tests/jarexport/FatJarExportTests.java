@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,8 +28,13 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.util.Enumeration;
 import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -100,6 +105,7 @@ import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage;
 import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.CopyLibraryHandler;
 import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.ExtractLibraryHandler;
 import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.LibraryHandler;
+import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.MappedPackageLibraryHandler;
 import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarPackageWizardPage.PackageLibraryHandler;
 import org.eclipse.jdt.internal.ui.jarpackagerfat.FatJarRsrcUrlBuilder;
 import org.eclipse.jdt.internal.ui.util.BusyIndicatorRunnableContext;
@@ -175,7 +181,8 @@ public class FatJarExportTests {
 				data= assertFatJarExport(project, testName, compressJar, libraryHandler);
 				break;
 			}
-			case PackageLibraryHandler.ID: {
+			case PackageLibraryHandler.ID:
+			case MappedPackageLibraryHandler.ID: {
 				data= assertFatJarWithLoaderExport(project, testName, compressJar, libraryHandler);
 				break;
 			}
@@ -457,7 +464,8 @@ public class FatJarExportTests {
 				assertAntScriptExtract(archiveName, antScriptLocation, filesets, zipfilesets);
 				break;
 			}
-			case PackageLibraryHandler.ID: {
+			case PackageLibraryHandler.ID:
+			case MappedPackageLibraryHandler.ID: {
 				assertAntScriptPackage(archiveName, antScriptLocation, filesets, zipfilesets);
 				break;
 			}
@@ -840,6 +848,102 @@ public class FatJarExportTests {
 		}
 	}
 
+	@Test
+	public void exportInternalLib_MappedJarInJar() throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+
+		try {
+			JarPackageData data= createAndRunFatJar(fProject, getName(), true, new MappedPackageLibraryHandler());
+			assertAntScript(data, antScriptLocation(getName()),
+					new MappedPackageLibraryHandler(),
+					new String[] { "TestSetupProject/bin" }, //$NON-NLS-1$
+					new String[] { "rtstubs15.jar", "mylib_stdout.jar" }); //$NON-NLS-1$  //$NON-NLS-2$
+
+			try (ZipFile generatedArchive= JarPackagerUtil.getArchiveFile(data.getJarLocation())) {
+				ZipEntry libEntry= generatedArchive.getEntry("mylib_stdout.jar"); //$NON-NLS-1$
+				assertNotNull(libEntry);
+				assertEquals("library must be stored for the mapped loader", ZipEntry.STORED, libEntry.getMethod()); //$NON-NLS-1$
+				ZipEntry classEntry= generatedArchive.getEntry("org/eclipse/jdt/ui/test/Main.class"); //$NON-NLS-1$
+				assertEquals(ZipEntry.DEFLATED, classEntry.getMethod());
+				try (InputStream in= generatedArchive.getInputStream(generatedArchive.getEntry("META-INF/MANIFEST.MF"))) { //$NON-NLS-1$
+					assertEquals("mapped", new Manifest(in).getMainAttributes().getValue("Rsrc-Loader-Mode")); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+
+			Element xmlJar= (Element) readXML(antScriptLocation(getName())).getElementsByTagName("jar").item(0); //$NON-NLS-1$
+			assertEquals("false", xmlJar.getAttribute("compress")); //$NON-NLS-1$ //$NON-NLS-2$
+			Element xmlAttribute= (Element) xmlJar.getElementsByTagName("attribute").item(4); //$NON-NLS-1$
+			assertEquals("Rsrc-Loader-Mode", xmlAttribute.getAttribute("name")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("mapped", xmlAttribute.getAttribute("value")); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+		}
+	}
+
+	@Test
+	public void exportInternalLib_MappedJarInJarRun() throws Exception {
+		File lib= createVersionedLibrary();
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+
+		try {
+			StringBuilder buf= new StringBuilder();
+			buf.append("package org.eclipse.jdt.ui.test;\n"); //$NON-NLS-1$
+			buf.append("import java.io.InputStream;\n"); //$NON-NLS-1$
+			buf.append("import java.net.URL;\n"); //$NON-NLS-1$
+			buf.append("import mylib.Foo;\n"); //$NON-NLS-1$
+			buf.append("public class Main {\n"); //$NON-NLS-1$
+			buf.append("    public static void main(String[] args) throws Exception {\n"); //$NON-NLS-1$
+			buf.append("        System.out.println(Foo.class.getClassLoader().getClass().getName());\n"); //$NON-NLS-1$
+			buf.append("        System.out.println(Foo.class.getPackage().getImplementationVersion());\n"); //$NON-NLS-1$
+			buf.append("        URL url= new URL(Foo.class.getResource(\"Foo.class\").toExternalForm());\n"); //$NON-NLS-1$
+			buf.append("        InputStream in= url.openStream();\n"); //$NON-NLS-1$
+			buf.append("        System.out.println(url.getProtocol() + \" \" + (in.read() == 0xCA));\n"); //$NON-NLS-1$
+			buf.append("        in.close();\n"); //$NON-NLS-1$
+			buf.append("    }\n"); //$NON-NLS-1$
+			buf.append("}\n"); //$NON-NLS-1$
+			fMainRoot.getPackageFragment("org.eclipse.jdt.ui.test").createCompilationUnit("Main.java", buf.toString(), true, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+			JarPackageData data= assertFatJarWithLoaderExport(fProject, getName(), true, new MappedPackageLibraryHandler());
+			String stdout= runJar(fProject, data.getJarLocation().toOSString());
+			stdout= stdout.replaceAll("\r\n", "\n").replaceAll("\r", "\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			String expected= "org.eclipse.jdt.internal.jarinjarloader.MappedJarClassLoader\n" //$NON-NLS-1$
+					+ "1.2.3\n" //$NON-NLS-1$
+					+ "rsrcmap true\n"; //$NON-NLS-1$
+			assertEquals(expected, stdout);
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+			lib.delete();
+		}
+	}
+
+	/*
+	 * Copies mylib_stdout.jar with an Implementation-Version in its manifest.
+	 */
+	private static File createVersionedLibrary() throws Exception {
+		File lib= File.createTempFile("mylib_versioned", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		Manifest manifest= new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0"); //$NON-NLS-1$
+		manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_VERSION, "1.2.3"); //$NON-NLS-1$
+		try (ZipFile source= new ZipFile(JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT));
+				JarOutputStream out= new JarOutputStream(new FileOutputStream(lib), manifest)) {
+			for (Enumeration<? extends ZipEntry> entries= source.entries(); entries.hasMoreElements();) {
+				ZipEntry entry= entries.nextElement();
+				if (entry.getName().startsWith("META-INF/")) //$NON-NLS-1$
+					continue;
+				out.putNextEntry(new ZipEntry(entry.getName()));
+				try (InputStream in= source.getInputStream(entry)) {
+					byte[] buffer= new byte[4096];
+					int read;
+					while ((read= in.read(buffer)) != -1)
+						out.write(buffer, 0, read);
+				}
+				out.closeEntry();
+			}
+		}
+		return lib;
+	}
+
 	@Test
 	public void exportInternalLib_UncompressedJar() throws Exception {
 		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.jarexport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.jarpackager.IncrementalJarExport;
+import org.eclipse.jdt.internal.jarpackager.ParallelJarOutputStream;
+
+public class IncrementalJarExportTest {
+
+	private static final String[] NAMES= { "a.txt", "b.txt", "c.txt", "large.bin" };
+
+	private File fDirectory;
+	private File fJar;
+	private File fIndex;
+
+	@Before
+	public void setUp() throws IOException {
+		fDirectory= Files.createTempDirectory("incremental").toFile();
+		fJar= new File(fDirectory, "export.jar");
+		fIndex= new File(fDirectory, "export.jarindex");
+		for (int i= 0; i < NAMES.length; i++)
+			writeFile(NAMES[i], createContent(i, i == 3 ? 10 * 1024 * 1024 : 10000 + i));
+	}
+
+	@After
+	public void tearDown() {
+		File[] files= fDirectory.listFiles();
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+		fDirectory.delete();
+	}
+
+	/*
+	 * Random bytes, so that the large entry is also large when compressed.
+	 */
+	private static byte[] createContent(int seed, int size) {
+		byte[] content= new byte[size];
+		new Random(seed).nextBytes(content);
+		return content;
+	}
+
+	private void writeFile(String name, byte[] content) throws IOException {
+		Files.write(new File(fDirectory, name).toPath(), content);
+	}
+
+	private static byte[] read(InputStream in) throws IOException {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		byte[] buffer= new byte[8192];
+		int count;
+		while ((count= in.read(buffer)) != -1)
+			out.write(buffer, 0, count);
+		return out.toByteArray();
+	}
+
+	private int export(boolean compress) throws IOException {
+		IncrementalJarExport incrementalExport= IncrementalJarExport.open(fJar, fIndex);
+		boolean closed= false;
+		try {
+			try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar)) {
+				incrementalExport.attach(out);
+				for (String name : NAMES) {
+					File file= new File(fDirectory, name);
+					JarEntry entry= new JarEntry(name);
+					entry.setMethod(compress ? ZipEntry.DEFLATED : ZipEntry.STORED);
+					incrementalExport.write(entry, file);
+				}
+			}
+			closed= true;
+		} finally {
+			incrementalExport.close(closed);
+		}
+		assertFalse(new File(fDirectory, "export.jar.previous").exists());
+		return incrementalExport.getReusedCount();
+	}
+
+	private void assertJarContent(boolean compress) throws IOException {
+		try (JarFile jar= new JarFile(fJar)) {
+			assertEquals(NAMES.length, jar.size());
+			for (String name : NAMES) {
+				ZipEntry entry= jar.getEntry(name);
+				assertEquals(compress ? ZipEntry.DEFLATED : ZipEntry.STORED, entry.getMethod());
+				try (InputStream in= jar.getInputStream(entry)) {
+					assertArrayEquals(name, Files.readAllBytes(new File(fDirectory, name).toPath()), read(in));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void unchangedEntriesAreCopied() throws Exception {
+		for (boolean compress : new boolean[] { true, false }) {
+			fJar.delete();
+			fIndex.delete();
+			assertEquals(0, export(compress));
+			assertTrue(fIndex.exists());
+			assertJarContent(compress);
+
+			// b changes, c is written again with the same content
+			File b= new File(fDirectory, "b.txt");
+			File c= new File(fDirectory, "c.txt");
+			writeFile("b.txt", createContent(compress ? 42 : 43, (int) b.length()));
+			b.setLastModified(b.lastModified() + 10000);
+			c.setLastModified(c.lastModified() + 10000);
+
+			assertEquals(3, export(compress));
+			assertJarContent(compress);
+			assertEquals(4, export(compress));
+			assertJarContent(compress);
+		}
+	}
+
+	@Test
+	public void changedContentWithSameStampIsNotReused() throws Exception {
+		for (boolean compress : new boolean[] { true, false }) {
+			fJar.delete();
+			fIndex.delete();
+			export(compress);
+
+			// b and the large entry change, but keep their stamp and size
+			for (int i : new int[] { 1, 3 }) {
+				File file= new File(fDirectory, NAMES[i]);
+				long stamp= file.lastModified();
+				writeFile(NAMES[i], createContent(compress ? 44 : 45, (int) file.length()));
+				file.setLastModified(stamp);
+			}
+
+			assertEquals(2, export(compress));
+			assertJarContent(compress);
+		}
+	}
+
+	@Test
+	public void modifiedJarIsNotReused() throws Exception {
+		export(true);
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar)) {
+			out.putNextEntry(new ZipEntry("other.txt"));
+			out.write(1);
+		}
+		assertEquals(0, export(true));
+		assertJarContent(true);
+	}
+
+	@Test
+	public void changedCompressionIsNotReused() throws Exception {
+		export(true);
+		assertEquals(0, export(false));
+		assertJarContent(false);
+	}
+
+	@Test
+	public void failedExportRemovesIndex() throws Exception {
+		export(true);
+		IncrementalJarExport incrementalExport= IncrementalJarExport.open(fJar, fIndex);
+		assertFalse(fJar.exists());
+		incrementalExport.close(false);
+		assertFalse(fIndex.exists());
+		// the JAR was not written, the previous JAR is kept
+		assertTrue(fJar.exists());
+		assertJarContent(true);
+		assertEquals(0, export(true));
+		assertJarContent(true);
+	}
+}
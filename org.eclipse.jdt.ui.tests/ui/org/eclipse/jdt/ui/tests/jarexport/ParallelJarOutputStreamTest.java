@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.jarexport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.jarpackager.ParallelJarOutputStream;
+
+public class ParallelJarOutputStreamTest {
+
+	private File fJar;
+
+	@Before
+	public void setUp() throws IOException {
+		fJar= File.createTempFile("parallel", ".jar");
+	}
+
+	@After
+	public void tearDown() {
+		fJar.delete();
+	}
+
+	private static byte[] createContent(int seed, int size) {
+		Random random= new Random(seed);
+		byte[] content= new byte[size];
+		for (int i= 0; i < size; i++)
+			content[i]= (byte) ('a' + random.nextInt(16));
+		return content;
+	}
+
+	private static byte[] read(InputStream in) throws IOException {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		byte[] buffer= new byte[8192];
+		int count;
+		while ((count= in.read(buffer)) != -1)
+			out.write(buffer, 0, count);
+		return out.toByteArray();
+	}
+
+	@Test
+	public void entriesInOrder() throws Exception {
+		Manifest manifest= new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "p.Main");
+		int count= 500;
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar, manifest)) {
+			out.setComment("comment");
+			for (int i= 0; i < count; i++) {
+				JarEntry entry= new JarEntry("p" + i % 10 + "/entry" + i + ".txt");
+				entry.setMethod(i % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED);
+				entry.setTime(1600000000000L + i * 1000L);
+				out.putNextEntry(entry);
+				out.write(createContent(i, 1000 + i * 10));
+			}
+		}
+
+		try (JarFile jar= new JarFile(fJar)) {
+			assertEquals("p.Main", jar.getManifest().getMainAttributes().getValue(Attributes.Name.MAIN_CLASS));
+			assertEquals("comment", jar.getComment());
+			assertEquals(count + 1, jar.size());
+			for (int i= 0; i < count; i++) {
+				JarEntry entry= jar.getJarEntry("p" + i % 10 + "/entry" + i + ".txt");
+				assertNotNull(entry);
+				assertEquals(i % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED, entry.getMethod());
+				assertEquals((1600000000000L + i * 1000L) / 2000, entry.getTime() / 2000);
+				try (InputStream in= jar.getInputStream(entry)) {
+					assertArrayEquals(createContent(i, 1000 + i * 10), read(in));
+				}
+			}
+		}
+
+		// the local headers are in the order of the entries
+		try (JarInputStream in= new JarInputStream(new FileInputStream(fJar))) {
+			assertNotNull(in.getManifest());
+			for (int i= 0; i < count; i++) {
+				assertEquals("p" + i % 10 + "/entry" + i + ".txt", in.getNextEntry().getName());
+				assertArrayEquals(createContent(i, 1000 + i * 10), read(in));
+			}
+		}
+	}
+
+	@Test
+	public void largeEntries() throws Exception {
+		byte[] content= createContent(0, 20 * 1024 * 1024);
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar)) {
+			out.putNextEntry(new ZipEntry("small.txt"));
+			out.write("small".getBytes(StandardCharsets.UTF_8));
+			ZipEntry stored= new ZipEntry("stored.bin");
+			stored.setMethod(ZipEntry.STORED);
+			out.putNextEntry(stored);
+			out.write(content);
+			out.putNextEntry(new ZipEntry("deflated.bin"));
+			for (int offset= 0; offset < content.length; offset+= 100000)
+				out.write(content, offset, Math.min(100000, content.length - offset));
+		}
+
+		try (JarFile jar= new JarFile(fJar)) {
+			try (InputStream in= jar.getInputStream(jar.getEntry("small.txt"))) {
+				assertEquals("small", new String(read(in), StandardCharsets.UTF_8));
+			}
+			try (InputStream in= jar.getInputStream(jar.getEntry("stored.bin"))) {
+				assertArrayEquals(content, read(in));
+			}
+			try (InputStream in= jar.getInputStream(jar.getEntry("deflated.bin"))) {
+				assertArrayEquals(content, read(in));
+			}
+		}
+	}
+
+	@Test
+	public void transferFromFile() throws Exception {
+		File source= File.createTempFile("source", ".bin");
+		try {
+			byte[] content= createContent(1, 100000);
+			Files.write(source.toPath(), content);
+			try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar)) {
+				ZipEntry entry= new ZipEntry("file.bin");
+				entry.setMethod(ZipEntry.STORED);
+				out.putNextEntry(entry);
+				out.transferFrom(new FileInputStream(source));
+			}
+			try (JarFile jar= new JarFile(fJar)) {
+				ZipEntry entry= jar.getEntry("file.bin");
+				assertEquals(content.length, entry.getSize());
+				try (InputStream in= jar.getInputStream(entry)) {
+					assertArrayEquals(content, read(in));
+				}
+			}
+		} finally {
+			source.delete();
+		}
+	}
+
+	@Test
+	public void duplicateEntry() throws Exception {
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar)) {
+			out.putNextEntry(new ZipEntry("a.txt"));
+			try {
+				out.putNextEntry(new ZipEntry("a.txt"));
+				fail("duplicate entry not detected");
+			} catch (ZipException e) {
+				assertTrue(e.getMessage(), e.getMessage().startsWith("duplicate entry:"));
+			}
+			out.putNextEntry(new ZipEntry("b.txt"));
+		}
+		try (JarFile jar= new JarFile(fJar)) {
+			assertEquals(2, jar.size());
+		}
+	}
+
+	@Test
+	public void invalidStoredSize() throws Exception {
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(fJar)) {
+			ZipEntry entry= new ZipEntry("a.txt");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(10);
+			out.putNextEntry(entry);
+			out.write(new byte[5]);
+			out.finish();
+			fail("invalid size not detected");
+		} catch (ZipException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("invalid entry size"));
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,42 +13,171 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.dom;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
 
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.IBinding;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 /**
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * The size of a subset is bounded by the number of compilation units and by the cumulative
+ * length of their sources. Both bounds are adapted after each subset: they shrink if less than a
+ * quarter of the maximal heap is free after the last garbage collection, and they grow if more
+ * than half of the heap is free. The bounds are
+ * shared by all batch parsers, such that later operations start with the learned window.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
-	private static final int MAX_AT_ONCE;
+	/**
+	 * Statistics about a single call to {@link ASTParser#createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}.
+	 */
+	public static final class BatchStatistics {
+
+		private final int fUnitCount;
+		private final long fSourceLength;
+		private final long fDuration;
+		private final long fHeapUsed;
+		private final long fHeapMax;
+		private final int fNextMaxUnits;
+		private final long fNextMaxSourceLength;
+
+		BatchStatistics(int unitCount, long sourceLength, long duration, long heapUsed, long heapMax, int nextMaxUnits, long nextMaxSourceLength) {
+			fUnitCount= unitCount;
+			fSourceLength= sourceLength;
+			fDuration= duration;
+			fHeapUsed= heapUsed;
+			fHeapMax= heapMax;
+			fNextMaxUnits= nextMaxUnits;
+			fNextMaxSourceLength= nextMaxSourceLength;
+		}
+
+		/**
+		 * @return the number of compilation units parsed in the batch
+		 */
+		public int getUnitCount() {
+			return fUnitCount;
+		}
+
+		/**
+		 * @return the cumulative (estimated) source length of the batch in characters
+		 */
+		public long getSourceLength() {
+			return fSourceLength;
+		}
+
+		/**
+		 * @return the time spent in the batch, including the requestor, in milliseconds
+		 */
+		public long getDuration() {
+			return fDuration;
+		}
+
+		/**
+		 * @return the used heap after the batch in bytes
+		 */
+		public long getHeapUsed() {
+			return fHeapUsed;
+		}
+
+		/**
+		 * @return the maximal heap size in bytes
+		 */
+		public long getHeapMax() {
+			return fHeapMax;
+		}
+
+		/**
+		 * @return the maximal number of compilation units of the next batch
+		 */
+		public int getNextMaxUnits() {
+			return fNextMaxUnits;
+		}
+
+		/**
+		 * @return the maximal cumulative source length of the next batch
+		 */
+		public long getNextMaxSourceLength() {
+			return fNextMaxSourceLength;
+		}
+
+		@Override
+		public String toString() {
+			return "ASTBatchParser: " + fUnitCount + " units, " + fSourceLength + " chars, " + fDuration + " ms, heap " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					+ (fHeapUsed >> 20) + "/" + (fHeapMax >> 20) + " MiB, next window " + fNextMaxUnits + " units / " + fNextMaxSourceLength + " chars"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	/**
+	 * The bounds shrink if less than this fraction of the maximal heap is free after a batch.
+	 */
+	private static final double LOW_HEADROOM= 0.25;
+
+	/**
+	 * The bounds grow if more than this fraction of the maximal heap is free after a batch.
+	 */
+	private static final double HIGH_HEADROOM= 0.5;
+
+	/**
+	 * Source length assumed for a compilation unit whose size is not known.
+	 */
+	private static final long DEFAULT_SOURCE_LENGTH= 8 * 1024;
+
+	private static final int MIN_UNITS= 1;
+	private static final long MIN_SOURCE_LENGTH= 64 * 1024;
+
+	private static final int MAX_UNITS;
+	private static final long MAX_SOURCE_LENGTH;
+	private static final int INITIAL_UNITS;
 	static {
 		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
 
-		if      (maxMemory >= 2000) MAX_AT_ONCE= 400;
-		else if (maxMemory >= 1500) MAX_AT_ONCE= 300;
-		else if (maxMemory >= 1000) MAX_AT_ONCE= 200;
-		else if (maxMemory >=  500) MAX_AT_ONCE= 100;
-		else                        MAX_AT_ONCE=  25;
+		if      (maxMemory >= 2000) INITIAL_UNITS= 400;
+		else if (maxMemory >= 1500) INITIAL_UNITS= 300;
+		else if (maxMemory >= 1000) INITIAL_UNITS= 200;
+		else if (maxMemory >=  500) INITIAL_UNITS= 100;
+		else                        INITIAL_UNITS=  25;
+
+		MAX_UNITS= 4 * INITIAL_UNITS;
+		// an AST with bindings is typically one to two orders of magnitude larger than its source
+		MAX_SOURCE_LENGTH= Math.max(MIN_SOURCE_LENGTH, Runtime.getRuntime().maxMemory() / 64);
 	}
 
+	/**
+	 * The bounds of the next batch, shared by all parsers. Updated with {@link #adaptWindow(int, long, long)}
+	 * while holding the lock of this class, so that concurrent parsers don't lose updates.
+	 */
+	private static volatile int fgMaxUnits= INITIAL_UNITS;
+	private static volatile long fgMaxSourceLength= MAX_SOURCE_LENGTH / 4;
+
 	/**
 	 * Creates ASTs for each compilation unit in <code>units</code>.
 	 * <p>
@@ -78,20 +207,30 @@ public class ASTBatchParser {
 		try {
 
 			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, new SubProgressMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
+				long[] sourceLengths= new long[units.length];
+				for (int i= 0; i < units.length; i++) {
+					sourceLengths[i]= getSourceLength(units[i]);
+				}
+
+				int cursor= 0;
+				while (cursor < units.length) {
+					int maxUnits= fgMaxUnits;
+					long maxSourceLength= fgMaxSourceLength;
+
+					List<ICompilationUnit> toParse= new ArrayList<>(Math.min(maxUnits, units.length - cursor));
+					long sourceLength= 0;
+					do {
+						sourceLength+= sourceLengths[cursor];
+						toParse.add(units[cursor]);
+						cursor++;
+					} while (cursor < units.length && toParse.size() < maxUnits && sourceLength + sourceLengths[cursor] <= maxSourceLength);
+
+					long start= System.currentTimeMillis();
+					createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
 							new SubProgressMonitor(monitor, toParse.size()));
-						cursor= end;
-					}
+					long duration= System.currentTimeMillis() - start;
+
+					batchDone(adaptWindow(toParse.size(), sourceLength, duration));
 				}
 			}
 		} finally {
@@ -99,6 +238,19 @@ public class ASTBatchParser {
 		}
 	}
 
+	/**
+	 * Called after each batch of compilation units has been parsed and passed to the requestor.
+	 * <p>
+	 * Subclasses may extend
+	 * </p>
+	 *
+	 * @param statistics the statistics of the batch
+	 */
+	protected void batchDone(BatchStatistics statistics) {
+		if (JavaPlugin.DEBUG_AST_BATCH_PARSER)
+			System.out.println(statistics);
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
@@ -117,6 +269,76 @@ public class ASTBatchParser {
 		return result;
 	}
 
+	private static BatchStatistics adaptWindow(int unitCount, long sourceLength, long duration) {
+		long heapMax= Runtime.getRuntime().maxMemory();
+		long heapUsed= getHeapUsedAfterCollection();
+		double headroom= heapMax > 0 ? (double) (heapMax - heapUsed) / heapMax : 1.0;
+
+		int maxUnits;
+		long maxSourceLength;
+		synchronized (ASTBatchParser.class) {
+			maxUnits= fgMaxUnits;
+			maxSourceLength= fgMaxSourceLength;
+			if (headroom < LOW_HEADROOM) {
+				maxUnits= Math.max(MIN_UNITS, Math.min(maxUnits, unitCount) / 2);
+				maxSourceLength= Math.max(MIN_SOURCE_LENGTH, Math.min(maxSourceLength, sourceLength) / 2);
+			} else if (headroom > HIGH_HEADROOM) {
+				// only grow if the last batch actually used the window
+				if (unitCount >= maxUnits)
+					maxUnits= Math.min(MAX_UNITS, maxUnits + maxUnits / 2);
+				if (sourceLength >= maxSourceLength / 2)
+					maxSourceLength= Math.min(MAX_SOURCE_LENGTH, maxSourceLength + maxSourceLength / 2);
+			}
+			fgMaxUnits= maxUnits;
+			fgMaxSourceLength= maxSourceLength;
+		}
+
+		return new BatchStatistics(unitCount, sourceLength, duration, heapUsed, heapMax, maxUnits, maxSourceLength);
+	}
+
+	/**
+	 * Returns the used heap after the last garbage collection, which is a better measure for
+	 * the live data than the current usage. Falls back to the current usage if the VM does not
+	 * report collection usage.
+	 *
+	 * @return the used heap in bytes
+	 */
+	private static long getHeapUsedAfterCollection() {
+		long result= 0;
+		boolean hasCollectionUsage= false;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() != MemoryType.HEAP)
+				continue;
+			MemoryUsage usage= pool.getCollectionUsage();
+			if (usage != null) {
+				result+= usage.getUsed();
+				hasCollectionUsage= true;
+			}
+		}
+		if (!hasCollectionUsage)
+			result= ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		return result;
+	}
+
+	private static long getSourceLength(ICompilationUnit unit) {
+		try {
+			if (unit.isWorkingCopy()) {
+				IBuffer buffer= unit.getBuffer();
+				if (buffer != null)
+					return buffer.getLength();
+			}
+			IResource resource= unit.getResource();
+			if (resource != null && resource.getLocationURI() != null) {
+				IFileInfo info= EFS.getStore(resource.getLocationURI()).fetchInfo();
+				if (info.exists() && info.getLength() != EFS.NONE)
+					return info.getLength();
+			}
+		} catch (CoreException e) {
+			// fall through
+		}
+		return DEFAULT_SOURCE_LENGTH;
+	}
+
 	private static ICompilationUnit[][] splitByProject(ICompilationUnit[] units) {
 		if (hasOnlyOneProject(units))
 			return new ICompilationUnit[][] { units };
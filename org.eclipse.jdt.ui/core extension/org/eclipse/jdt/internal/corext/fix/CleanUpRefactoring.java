@@ -14,11 +14,19 @@
 package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -244,6 +252,22 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	private static final class ParsedUnit {
+
+		private final ICompilationUnit fSource;
+		private final CompilationUnit fAST;
+		private final Throwable fError;
+
+		/*
+		 * A unit without source marks the end of a slice.
+		 */
+		public ParsedUnit(ICompilationUnit source, CompilationUnit ast, Throwable error) {
+			fSource= source;
+			fAST= ast;
+			fError= error;
+		}
+	}
+
 	private static class CleanUpASTRequestor extends ASTRequestor {
 
 		private final List<ParseListElement> fUndoneElements;
@@ -325,19 +349,23 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	private class CleanUpFixpointIterator {
 
 		private List<ParseListElement> fParseList;
+		private final List<ICompilationUnit> fTargetUnits;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
 		private final Map<String, String> fCleanUpOptions;
 		private final int fSize;
 		private int fIndex;
+		private ExecutorService fExecutor;
 
 		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
 			fParseList= new ArrayList<>(targets.length);
+			fTargetUnits= new ArrayList<>(targets.length);
 			for (CleanUpTarget target : targets) {
 				fParseList.add(new ParseListElement(target, cleanUps));
+				fTargetUnits.add(target.getCompilationUnit());
 			}
 
 			fCleanUpOptions= new Hashtable<>();
@@ -382,23 +410,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
 				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
 				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							options.putAll(fCleanUpOptions);
-							result.setCompilerOptions(options);
-							return result;
+					if (fThreadCount > 1 && parseList.size() > 1) {
+						parseInParallel(parseList, requestor, cuMonitor);
+					} else {
+						try {
+							ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
+							createParser().createASTs(units, new String[0], requestor, cuMonitor);
+						} catch (FixCalculationException e) {
+							throw e.getException();
 						}
-					};
-					try {
-						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
-					} catch (FixCalculationException e) {
-						throw e.getException();
 					}
 				}
 
@@ -417,6 +437,123 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 		}
 
+		private ASTBatchParser createParser() {
+			return new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser result= createCleanUpASTParser();
+					result.setProject(project);
+
+					Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+					options.putAll(fCleanUpOptions);
+					result.setCompilerOptions(options);
+					return result;
+				}
+			};
+		}
+
+		/**
+		 * Splits <code>parseList</code> into one slice per worker and parses each slice with its
+		 * own batch parser on a worker thread. The clean ups are not required to be thread safe,
+		 * so the fixes are calculated on this thread, as the ASTs arrive. The undone elements are
+		 * sorted into the order of <code>parseList</code>, such that the result does not depend on
+		 * thread scheduling.
+		 *
+		 * @param parseList the compilation units to parse
+		 * @param requestor the requestor calculating the fixes
+		 * @param cuMonitor the monitor to report progress to, must only be used by this thread
+		 * @throws CoreException if calculating a fix failed
+		 */
+		private void parseInParallel(List<ICompilationUnit> parseList, CleanUpASTRequestor requestor, final CleanUpRefactoringProgressMonitor cuMonitor) throws CoreException {
+			int sliceCount= Math.min(fThreadCount, parseList.size());
+			int sliceSize= (parseList.size() + sliceCount - 1) / sliceCount;
+
+			// bounds the number of parsed ASTs waiting for their fixes
+			final BlockingQueue<ParsedUnit> parsedUnits= new ArrayBlockingQueue<>(2 * sliceCount);
+			final IProgressMonitor cancelMonitor= new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return cuMonitor.isCanceled();
+				}
+			};
+
+			List<Future<?>> futures= new ArrayList<>(sliceCount);
+			for (int start= 0; start < parseList.size(); start+= sliceSize) {
+				List<ICompilationUnit> slice= parseList.subList(start, Math.min(start + sliceSize, parseList.size()));
+				final ICompilationUnit[] units= slice.toArray(new ICompilationUnit[slice.size()]);
+				futures.add(getExecutor().submit(() -> {
+					Throwable error= null;
+					try {
+						createParser().createASTs(units, new String[0], new ASTRequestor() {
+							@Override
+							public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+								try {
+									parsedUnits.put(new ParsedUnit(source, ast, null));
+								} catch (InterruptedException e) {
+									throw new OperationCanceledException();
+								}
+							}
+						}, cancelMonitor);
+					} catch (Throwable e) {
+						error= e;
+					}
+					parsedUnits.put(new ParsedUnit(null, null, error));
+					return null;
+				}));
+			}
+
+			cuMonitor.beginTask("", parseList.size()); //$NON-NLS-1$
+			try {
+				for (int running= futures.size(); running > 0;) {
+					ParsedUnit parsed= parsedUnits.take();
+					if (parsed.fSource == null) {
+						running--;
+						if (parsed.fError != null)
+							throw asCoreException(parsed.fError);
+						continue;
+					}
+					cuMonitor.worked(1);
+					requestor.acceptAST(parsed.fSource, parsed.fAST);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (FixCalculationException e) {
+				throw e.getException();
+			} finally {
+				for (Future<?> future : futures) {
+					future.cancel(true);
+				}
+			}
+
+			final Map<ICompilationUnit, Integer> order= new HashMap<>(parseList.size());
+			for (ICompilationUnit unit : parseList) {
+				order.put((ICompilationUnit)unit.getPrimaryElement(), Integer.valueOf(order.size()));
+			}
+			requestor.getUndoneElements().sort(Comparator.comparing(element -> order.get(element.getTarget().getCompilationUnit())));
+		}
+
+		private CoreException asCoreException(Throwable error) {
+			if (error instanceof OperationCanceledException)
+				throw (OperationCanceledException)error;
+			if (error instanceof RuntimeException)
+				throw (RuntimeException)error;
+			if (error instanceof Error)
+				throw (Error)error;
+			return new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, error.getMessage(), error));
+		}
+
+		private ExecutorService getExecutor() {
+			if (fExecutor == null) {
+				fExecutor= Executors.newFixedThreadPool(fThreadCount, runnable -> {
+					Thread thread= new Thread(runnable, "Clean Up Worker"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			return fExecutor;
+		}
+
 		public void dispose() {
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
@@ -426,6 +563,11 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 			}
 			fWorkingCopies.clear();
+
+			if (fExecutor != null) {
+				fExecutor.shutdownNow();
+				fExecutor= null;
+			}
 		}
 
 		private boolean requiresAST(ICleanUp[] cleanUps) {
@@ -441,9 +583,11 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 			Change[] result= new Change[fSolutions.size()];
 			int i=0;
-			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : fSolutions.entrySet()) {
-				List<CleanUpChange> changes= entry.getValue();
-				ICompilationUnit unit= entry.getKey();
+			// iterate in target order, such that the result does not depend on the execution mode
+			for (ICompilationUnit unit : new LinkedHashSet<>(fTargetUnits)) {
+				List<CleanUpChange> changes= fSolutions.get(unit);
+				if (changes == null)
+					continue;
 
 				int saveMode;
 				if (fLeaveFilesDirty) {
@@ -509,6 +653,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fThreadCount;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -518,12 +664,29 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fThreadCount= 1;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of worker threads used to parse the compilation units of a
+	 * project. The fixes are always calculated on the calling thread. A value of
+	 * <code>1</code> or less, the default, parses all compilation units on the
+	 * calling thread.
+	 *
+	 * @param threadCount the number of worker threads
+	 */
+	public void setParallelThreadCount(int threadCount) {
+		fThreadCount= threadCount;
+	}
+
+	public int getParallelThreadCount() {
+		return fThreadCount;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,11 +32,16 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 
 import org.eclipse.jdt.internal.ui.actions.ActionMessages;
+import org.eclipse.jdt.internal.core.manipulation.TypeNameMatchIndex;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 
 public class ImportsFix extends TextEditFix {
 
 	public static ICleanUpFix createCleanUp(final CompilationUnit cu, CodeGenerationSettings settings, boolean organizeImports, RefactoringStatus status) throws CoreException {
+		return createCleanUp(cu, settings, organizeImports, status, null);
+	}
+
+	public static ICleanUpFix createCleanUp(final CompilationUnit cu, CodeGenerationSettings settings, boolean organizeImports, RefactoringStatus status, TypeNameMatchIndex typeNameIndex) throws CoreException {
 		if (!organizeImports)
 			return null;
 
@@ -47,7 +52,12 @@ public class ImportsFix extends TextEditFix {
 		};
 
 		final ICompilationUnit unit= (ICompilationUnit)cu.getJavaElement();
-		OrganizeImportsOperation op= new OrganizeImportsOperation(unit, cu, settings.importIgnoreLowercase, false, false, query);
+		OrganizeImportsOperation op;
+		if (typeNameIndex != null) {
+			op= typeNameIndex.createOrganizeImportsOperation(unit, cu, settings.importIgnoreLowercase, false, false, query);
+		} else {
+			op= new OrganizeImportsOperation(unit, cu, settings.importIgnoreLowercase, false, false, query);
+		}
 		final TextEdit edit= op.createTextEdit(null);
 		if (hasAmbiguity[0]) {
 			status.addInfo(Messages.format(ActionMessages.OrganizeImportsAction_multi_error_unresolvable, getLocationString(cu)));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -142,6 +149,8 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 	private static final GroupCategorySet CATEGORY_FIELD_RENAME= new GroupCategorySet(new GroupCategory("org.eclipse.jdt.internal.corext.refactoring.rename.renameType.field", RefactoringCoreMessages.RenameTypeProcessor_changeCategory_fields, RefactoringCoreMessages.RenameTypeProcessor_changeCategory_fields_description)); //$NON-NLS-1$
 	private static final GroupCategorySet CATEGORY_LOCAL_RENAME= new GroupCategorySet(new GroupCategory("org.eclipse.jdt.internal.corext.refactoring.rename.renameType.local", RefactoringCoreMessages.RenameTypeProcessor_changeCategory_local_variables, RefactoringCoreMessages.RenameTypeProcessor_changeCategory_local_variables_description)); //$NON-NLS-1$
 
+	private static ExecutorService fgQualifiedNameSearchExecutor;
+
 	private IType fType;
 	private SearchResultGroup[] fReferences;
 	private TextChangeManager fChangeManager;
@@ -573,10 +582,31 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 					return result;
 			}
 
-			createChanges(new SubProgressMonitor(pm, createChangeTicks));
+			// the qualified name search only visits non-Java files, so it runs while the changes
+			// for the compilation units, including their textual matches, are created. The text
+			// search may need to access open editors, so don't block the UI thread on it.
+			AtomicBoolean abortQualifiedNameSearch= new AtomicBoolean();
+			CompletableFuture<Void> qualifiedNameSearch= null;
+			if (fUpdateQualifiedNames && Display.getCurrent() == null)
+				qualifiedNameSearch= startQualifiedNameSearch(pm, abortQualifiedNameSearch);
 
-			if (fUpdateQualifiedNames)
+			boolean changesCreated= false;
+			try {
+				createChanges(new SubProgressMonitor(pm, createChangeTicks));
+				changesCreated= true;
+			} finally {
+				if (qualifiedNameSearch != null && !changesCreated) {
+					abortQualifiedNameSearch.set(true);
+					qualifiedNameSearch.exceptionally(e -> null).join();
+				}
+			}
+
+			if (qualifiedNameSearch != null) {
+				joinQualifiedNameSearch(qualifiedNameSearch);
+				pm.worked(qualifiedNamesTicks);
+			} else if (fUpdateQualifiedNames) {
 				computeQualifiedNameMatches(new SubProgressMonitor(pm, qualifiedNamesTicks));
+			}
 
 			return result;
 		} finally {
@@ -1207,6 +1237,43 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		}
 	}
 
+	private CompletableFuture<Void> startQualifiedNameSearch(final IProgressMonitor pm, final AtomicBoolean abort) {
+		final IProgressMonitor monitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return abort.get() || pm.isCanceled();
+			}
+		};
+		return CompletableFuture.runAsync(() -> computeQualifiedNameMatches(monitor), getQualifiedNameSearchExecutor());
+	}
+
+	/*
+	 * The search blocks on file I/O, so it must not run on the common pool.
+	 */
+	private static synchronized ExecutorService getQualifiedNameSearchExecutor() {
+		if (fgQualifiedNameSearchExecutor == null) {
+			fgQualifiedNameSearchExecutor= Executors.newCachedThreadPool(runnable -> {
+				Thread thread= new Thread(runnable, "Rename Type Qualified Name Search"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgQualifiedNameSearchExecutor;
+	}
+
+	private static void joinQualifiedNameSearch(CompletableFuture<Void> search) {
+		try {
+			search.join();
+		} catch (CompletionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw e;
+		}
+	}
+
 	private void computeQualifiedNameMatches(IProgressMonitor pm) {
 		IPackageFragment fragment= fType.getPackageFragment();
 		if (fQualifiedNameSearchResult == null)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -66,7 +73,14 @@ class TextMatchUpdater {
 	private final SearchResultGroup[] fReferences;
 	private final boolean fOnlyQualified;
 
-	private final RefactoringScanner fScanner;
+	/**
+	 * Minimal number of compilation units each scanning thread should get, below this the
+	 * compilation units are scanned in the calling thread.
+	 */
+	private static final int MIN_UNITS_PER_THREAD= 16;
+
+	private final String fCurrentName;
+	private final String fCurrentQualifier;
 	private final String fNewName;
 	private final int fCurrentNameLength;
 
@@ -79,9 +93,10 @@ class TextMatchUpdater {
 		fReferences= references;
 		fOnlyQualified= onlyQualified;
 
+		fCurrentName= currentName;
+		fCurrentQualifier= currentQualifier;
 		fNewName= newName;
 		fCurrentNameLength= currentName.length();
-		fScanner= new RefactoringScanner(currentName, currentQualifier);
 	}
 
 	static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified) throws JavaModelException{
@@ -96,12 +111,14 @@ class TextMatchUpdater {
 		try{
 			IProject[] projectsInScope= getProjectsInScope();
 
-			pm.beginTask("", projectsInScope.length); //$NON-NLS-1$
+			pm.beginTask("", 2 * projectsInScope.length + 1); //$NON-NLS-1$
+			List<ICompilationUnit> cus= new ArrayList<>();
 			for (IProject project : projectsInScope) {
 				if (pm.isCanceled())
 					throw new OperationCanceledException();
-				addTextMatches(project, new SubProgressMonitor(pm, 1));
+				collectCompilationUnits(project, cus, new SubProgressMonitor(pm, 1));
 			}
+			addTextMatches(cus, new SubProgressMonitor(pm, projectsInScope.length + 1));
 		} finally{
 			pm.done();
 		}
@@ -120,7 +137,7 @@ class TextMatchUpdater {
 		return projectsInScope.toArray(new IProject[projectsInScope.size()]);
 	}
 
-	private void addTextMatches(IResource resource, IProgressMonitor pm) throws JavaModelException{
+	private void collectCompilationUnits(IResource resource, List<ICompilationUnit> cus, IProgressMonitor pm) throws JavaModelException{
 		try{
 			String task= RefactoringCoreMessages.TextMatchUpdater_searching + resource.getFullPath();
 			if (resource instanceof IFile){
@@ -132,7 +149,7 @@ class TextMatchUpdater {
 					return;
 				if (! fScope.encloses(element))
 					return;
-				addCuTextMatches((ICompilationUnit) element);
+				cus.add((ICompilationUnit) element);
 
 			} else if (resource instanceof IContainer){
 				IResource[] members= ((IContainer) resource).members();
@@ -141,7 +158,7 @@ class TextMatchUpdater {
 				for (IResource member : members) {
 					if (pm.isCanceled())
 						throw new OperationCanceledException();
-					addTextMatches(member, new SubProgressMonitor(pm, 1));
+					collectCompilationUnits(member, cus, new SubProgressMonitor(pm, 1));
 				}
 			}
 		} catch (JavaModelException e){
@@ -153,9 +170,81 @@ class TextMatchUpdater {
 		}
 	}
 
-	private void addCuTextMatches(ICompilationUnit cu) throws JavaModelException{
-		fScanner.scan(cu);
-		Set<TextMatch> matches= fScanner.getMatches(); //Set of TextMatch
+	/**
+	 * Scans the given compilation units and adds their text matches to the change manager. If
+	 * there are enough compilation units, they are scanned in parallel while the matches of the
+	 * units already scanned are added in order by the calling thread.
+	 *
+	 * @param cus the compilation units to scan
+	 * @param pm the progress monitor
+	 * @throws JavaModelException if a compilation unit could not be read
+	 */
+	private void addTextMatches(List<ICompilationUnit> cus, IProgressMonitor pm) throws JavaModelException {
+		try {
+			pm.beginTask("", cus.size()); //$NON-NLS-1$
+			int threads= Math.min(Runtime.getRuntime().availableProcessors(), cus.size() / MIN_UNITS_PER_THREAD);
+			if (threads <= 1) {
+				for (ICompilationUnit cu : cus) {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					addCuTextMatches(cu, scan(cu));
+					pm.worked(1);
+				}
+				return;
+			}
+
+			ExecutorService executor= Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread= new Thread(runnable, "Text Match Scanner"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			try {
+				List<Future<Set<TextMatch>>> scans= new ArrayList<>(cus.size());
+				for (ICompilationUnit cu : cus)
+					scans.add(executor.submit(() -> scan(cu)));
+				for (int i= 0; i < cus.size(); i++) {
+					addCuTextMatches(cus.get(i), getMatches(scans.get(i), pm));
+					pm.worked(1);
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		} finally {
+			pm.done();
+		}
+	}
+
+	private Set<TextMatch> scan(ICompilationUnit cu) throws JavaModelException {
+		RefactoringScanner scanner= new RefactoringScanner(fCurrentName, fCurrentQualifier);
+		scanner.scan(cu);
+		return scanner.getMatches();
+	}
+
+	private static Set<TextMatch> getMatches(Future<Set<TextMatch>> scan, IProgressMonitor pm) throws JavaModelException {
+		while (true) {
+			if (pm.isCanceled())
+				throw new OperationCanceledException();
+			try {
+				return scan.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof JavaModelException)
+					throw (JavaModelException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
+	private void addCuTextMatches(ICompilationUnit cu, Set<TextMatch> matches) {
 		if (matches.isEmpty())
 			return;
 
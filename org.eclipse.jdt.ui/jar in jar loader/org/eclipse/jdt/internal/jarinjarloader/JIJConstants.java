@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,12 +26,16 @@ final class JIJConstants {
 
 	static final String REDIRECTED_CLASS_PATH_MANIFEST_NAME  = "Rsrc-Class-Path";  //$NON-NLS-1$
 	static final String REDIRECTED_MAIN_CLASS_MANIFEST_NAME  = "Rsrc-Main-Class";  //$NON-NLS-1$
+	static final String LOADER_MODE_MANIFEST_NAME            = "Rsrc-Loader-Mode";  //$NON-NLS-1$
+	static final String MAPPED_LOADER_MODE                   = "mapped";  //$NON-NLS-1$
 	static final String DEFAULT_REDIRECTED_CLASSPATH         = "";  //$NON-NLS-1$
 	static final String MAIN_METHOD_NAME                     = "main";  //$NON-NLS-1$
 	static final String JAR_INTERNAL_URL_PROTOCOL_WITH_COLON = "jar:rsrc:";  //$NON-NLS-1$
 	static final String JAR_INTERNAL_SEPARATOR               = "!/";  //$NON-NLS-1$
 	static final String INTERNAL_URL_PROTOCOL_WITH_COLON     = "rsrc:";  //$NON-NLS-1$
 	static final String INTERNAL_URL_PROTOCOL                = "rsrc";  //$NON-NLS-1$
+	static final String MAPPED_URL_PROTOCOL                  = "rsrcmap";  //$NON-NLS-1$
+	static final String FILE_URL_PROTOCOL                    = "file";  //$NON-NLS-1$
 	static final String PATH_SEPARATOR                       = "/";  //$NON-NLS-1$
 	static final String CURRENT_DIR                          = "./";  //$NON-NLS-1$
 	static final String UTF8_ENCODING                        = "UTF-8";  //$NON-NLS-1$
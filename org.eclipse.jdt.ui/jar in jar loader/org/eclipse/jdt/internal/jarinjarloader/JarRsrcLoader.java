@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,15 +13,20 @@
  *     Ferenc Hechler, ferenc_hechler@users.sourceforge.net - 219530 [jar application] add Jar-in-Jar ClassLoader option
  *     Ferenc Hechler, ferenc_hechler@users.sourceforge.net - 262746 [jar exporter] Create a builder for jar-in-jar-loader.zip
  *     Ferenc Hechler, ferenc_hechler@users.sourceforge.net - 262748 [jar exporter] extract constants for string literals in JarRsrcLoader et al.
+ *     IBM Corporation - memory-mapped loader mode
  *******************************************************************************/
 package org.eclipse.jdt.internal.jarinjarloader;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.net.URLDecoder;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
@@ -40,27 +45,78 @@ public class JarRsrcLoader {
 	private static class ManifestInfo {
 		String rsrcMainClass;
 		String[] rsrcClassPath;
+		String loaderMode;
 	}
 
 	public static void main(String[] args) throws ClassNotFoundException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, SecurityException, NoSuchMethodException, IOException {
 		ManifestInfo mi = getManifestInfo();
 		ClassLoader cl = Thread.currentThread().getContextClassLoader();
-		URL.setURLStreamHandlerFactory(new RsrcURLStreamHandlerFactory(cl));
-		URL[] rsrcUrls = new URL[mi.rsrcClassPath.length];
-		for (int i = 0; i < mi.rsrcClassPath.length; i++) {
-			String rsrcPath = mi.rsrcClassPath[i];
-			if (rsrcPath.endsWith(JIJConstants.PATH_SEPARATOR))
-				rsrcUrls[i] = new URL(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath);
-			else
-				rsrcUrls[i] = new URL(JIJConstants.JAR_INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath + JIJConstants.JAR_INTERNAL_SEPARATOR);
+		RsrcURLStreamHandlerFactory factory = new RsrcURLStreamHandlerFactory(cl);
+		URL.setURLStreamHandlerFactory(factory);
+		ClassLoader jceClassLoader = null;
+		if (JIJConstants.MAPPED_LOADER_MODE.equals(mi.loaderMode)) {
+			MappedJarClassLoader mappedClassLoader = createMappedClassLoader(mi.rsrcClassPath);
+			if (mappedClassLoader != null) {
+				factory.setMappedURLStreamHandler(mappedClassLoader.getURLStreamHandler());
+				jceClassLoader = mappedClassLoader;
+			}
+		}
+		if (jceClassLoader == null) {
+			URL[] rsrcUrls = new URL[mi.rsrcClassPath.length];
+			for (int i = 0; i < mi.rsrcClassPath.length; i++) {
+				String rsrcPath = mi.rsrcClassPath[i];
+				if (rsrcPath.endsWith(JIJConstants.PATH_SEPARATOR))
+					rsrcUrls[i] = new URL(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath);
+				else
+					rsrcUrls[i] = new URL(JIJConstants.JAR_INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath + JIJConstants.JAR_INTERNAL_SEPARATOR);
+			}
+			jceClassLoader = new URLClassLoader(rsrcUrls, getParentClassLoader());
 		}
-		ClassLoader jceClassLoader = new URLClassLoader(rsrcUrls, getParentClassLoader());
 		Thread.currentThread().setContextClassLoader(jceClassLoader);
 		Class c = Class.forName(mi.rsrcMainClass, true, jceClassLoader);
 		Method main = c.getMethod(JIJConstants.MAIN_METHOD_NAME, args.getClass());
 		main.invoke((Object) null, new Object[] {args});
 	}
 
+	/**
+	 * Creates a class loader that reads the nested JARs from a memory-mapped view of the runnable
+	 * JAR. This requires the runnable JAR to be a local file and the nested JARs to be stored
+	 * uncompressed.
+	 *
+	 * @param rsrcClassPath the redirected class path
+	 * @return the class loader, or <code>null</code> if the nested JARs cannot be mapped
+	 * @throws InvocationTargetException if the parent class loader cannot be determined
+	 * @throws IllegalAccessException if the parent class loader cannot be determined
+	 */
+	private static MappedJarClassLoader createMappedClassLoader(String[] rsrcClassPath) throws InvocationTargetException, IllegalAccessException {
+		try {
+			CodeSource codeSource = JarRsrcLoader.class.getProtectionDomain().getCodeSource();
+			if (codeSource == null || codeSource.getLocation() == null || !JIJConstants.FILE_URL_PROTOCOL.equals(codeSource.getLocation().getProtocol()))
+				return null;
+			MappedJarFile runnableJar = MappedJarFile.open(new File(codeSource.getLocation().toURI()), JIJConstants.CURRENT_DIR);
+			MappedJarFile[] jars = new MappedJarFile[rsrcClassPath.length];
+			for (int i = 0; i < rsrcClassPath.length; i++) {
+				String rsrcPath = rsrcClassPath[i];
+				if (JIJConstants.CURRENT_DIR.equals(rsrcPath)) {
+					jars[i] = runnableJar;
+				} else if (rsrcPath.endsWith(JIJConstants.PATH_SEPARATOR)) {
+					return null; // folders are only supported by "rsrc" URLs
+				} else {
+					jars[i] = runnableJar.getNestedJar(URLDecoder.decode(rsrcPath, JIJConstants.UTF8_ENCODING));
+					if (jars[i] == null)
+						return null;
+				}
+			}
+			return new MappedJarClassLoader(jars, codeSource, getParentClassLoader());
+		} catch (IOException e) {
+			return null;
+		} catch (URISyntaxException e) {
+			return null;
+		} catch (SecurityException e) {
+			return null;
+		}
+	}
+
 	private static ClassLoader getParentClassLoader() throws InvocationTargetException, IllegalAccessException {
 		// On Java8, it is ok to use a null parent class loader, but, starting with Java 9,
 		// we need to provide one that has access to the restricted list of packages that
@@ -92,6 +148,7 @@ public class JarRsrcLoader {
 					if (rsrcCP == null)
 						rsrcCP = JIJConstants.DEFAULT_REDIRECTED_CLASSPATH;
 					result.rsrcClassPath = splitSpaces(rsrcCP);
+					result.loaderMode = mainAttribs.getValue(JIJConstants.LOADER_MODE_MANIFEST_NAME);
 					if ((result.rsrcMainClass != null) && !result.rsrcMainClass.trim().isEmpty())
 							return result;
 				}
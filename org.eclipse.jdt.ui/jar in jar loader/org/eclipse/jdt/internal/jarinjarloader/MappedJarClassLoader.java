@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarinjarloader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * This class will be compiled into the binary jar-in-jar-loader.zip. This ZIP is used for the
+ * "Runnable JAR File Exporter"
+ *
+ * Loads classes and resources from archives that are stored uncompressed in the runnable JAR. The
+ * class files are read from a memory-mapped view of the runnable JAR, so unlike the
+ * <code>URLClassLoader</code> over "rsrc" URLs, no nested archive is copied to a temporary file.
+ * Resource URLs use the "rsrcmap" protocol, e.g. "rsrcmap:lib.jar!/path/file.ext" for an entry of a
+ * nested archive and "rsrcmap:./!/path/file.ext" for an entry of the runnable JAR itself. The
+ * handler for the protocol is registered in the {@link RsrcURLStreamHandlerFactory}, so the URLs can
+ * also be created from their external form.
+ *
+ * @since 3.23
+ */
+class MappedJarClassLoader extends ClassLoader {
+
+	private class MappedURLStreamHandler extends URLStreamHandler {
+
+		@Override
+		protected URLConnection openConnection(URL url) throws IOException {
+			String file = url.getFile();
+			int separator = file.indexOf(JIJConstants.JAR_INTERNAL_SEPARATOR);
+			MappedJarFile jar = separator != -1 ? jarsByName.get(file.substring(0, separator)) : null;
+			if (jar == null)
+				throw new MalformedURLException("Could not open URL '" + url + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+			final String entryName = file.substring(separator + JIJConstants.JAR_INTERNAL_SEPARATOR.length());
+			final MappedJarFile entryJar = jar;
+			return new URLConnection(url) {
+				@Override
+				public void connect() {
+				}
+
+				@Override
+				public InputStream getInputStream() throws IOException {
+					InputStream result = entryJar.getInputStream(entryName);
+					if (result == null)
+						throw new MalformedURLException("Could not open InputStream for URL '" + url + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+					return result;
+				}
+			};
+		}
+	}
+
+	private static final String CLASS_FILE_EXTENSION = ".class"; //$NON-NLS-1$
+
+	private final MappedJarFile[] jars;
+	private final Map<String, MappedJarFile> jarsByName = new HashMap<String, MappedJarFile>();
+	private final ProtectionDomain protectionDomain;
+	private final URLStreamHandler handler = new MappedURLStreamHandler();
+	private final Set<String> definedPackages = new HashSet<String>();
+	private final Map<MappedJarFile, Manifest> manifests = new HashMap<MappedJarFile, Manifest>();
+
+	private static final Attributes.Name[] PACKAGE_ATTRIBUTES = { Attributes.Name.SPECIFICATION_TITLE, Attributes.Name.SPECIFICATION_VERSION,
+			Attributes.Name.SPECIFICATION_VENDOR, Attributes.Name.IMPLEMENTATION_TITLE, Attributes.Name.IMPLEMENTATION_VERSION,
+			Attributes.Name.IMPLEMENTATION_VENDOR };
+
+	/**
+	 * Creates a class loader.
+	 *
+	 * @param jars the archives in class path order
+	 * @param codeSource the code source of the runnable JAR
+	 * @param parent the parent class loader
+	 */
+	MappedJarClassLoader(MappedJarFile[] jars, CodeSource codeSource, ClassLoader parent) {
+		super(parent);
+		this.jars = jars;
+		for (int i = 0; i < jars.length; i++) {
+			if (!jarsByName.containsKey(jars[i].getName()))
+				jarsByName.put(jars[i].getName(), jars[i]);
+		}
+		protectionDomain = new ProtectionDomain(codeSource, null, this, null);
+	}
+
+	/**
+	 * Returns the handler for "rsrcmap" URLs of this class loader.
+	 *
+	 * @return the URL stream handler
+	 */
+	URLStreamHandler getURLStreamHandler() {
+		return handler;
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/').concat(CLASS_FILE_EXTENSION);
+		for (int i = 0; i < jars.length; i++) {
+			ByteBuffer content;
+			try {
+				content = jars[i].getContent(path);
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+			if (content != null) {
+				definePackageOf(name, jars[i]);
+				return defineClass(name, content, protectionDomain);
+			}
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	private void definePackageOf(String className, MappedJarFile jar) {
+		int index = className.lastIndexOf('.');
+		if (index == -1)
+			return;
+		String packageName = className.substring(0, index);
+		synchronized (definedPackages) {
+			if (definedPackages.add(packageName)) {
+				try {
+					definePackage(packageName, getManifest(jar));
+				} catch (IllegalArgumentException e) {
+					// already defined by a parent class loader
+				}
+			}
+		}
+	}
+
+	/**
+	 * Defines a package with the specification and implementation attributes of the manifest of
+	 * the archive that contains it, like <code>URLClassLoader</code> does. Attributes of the
+	 * package's section override the main attributes.
+	 *
+	 * @param packageName the package name
+	 * @param manifest the manifest or <code>null</code>
+	 */
+	private void definePackage(String packageName, Manifest manifest) {
+		String[] values = new String[PACKAGE_ATTRIBUTES.length];
+		if (manifest != null) {
+			readPackageAttributes(manifest.getAttributes(packageName.replace('.', '/').concat(JIJConstants.PATH_SEPARATOR)), values);
+			readPackageAttributes(manifest.getMainAttributes(), values);
+		}
+		definePackage(packageName, values[0], values[1], values[2], values[3], values[4], values[5], null);
+	}
+
+	private static void readPackageAttributes(Attributes attributes, String[] values) {
+		if (attributes == null)
+			return;
+		for (int i = 0; i < PACKAGE_ATTRIBUTES.length; i++) {
+			if (values[i] == null)
+				values[i] = attributes.getValue(PACKAGE_ATTRIBUTES[i]);
+		}
+	}
+
+	/**
+	 * Returns the manifest of an archive. Must be called with the lock on {@link #definedPackages}.
+	 *
+	 * @param jar the archive
+	 * @return the manifest or <code>null</code> if the archive has none or it can't be read
+	 */
+	private Manifest getManifest(MappedJarFile jar) {
+		if (manifests.containsKey(jar))
+			return manifests.get(jar);
+		Manifest manifest = null;
+		try {
+			InputStream in = jar.getInputStream(JarFile.MANIFEST_NAME);
+			if (in != null) {
+				try {
+					manifest = new Manifest(in);
+				} finally {
+					in.close();
+				}
+			}
+		} catch (IOException e) {
+			// define the package without attributes
+		}
+		manifests.put(jar, manifest);
+		return manifest;
+	}
+
+	@Override
+	protected URL findResource(String name) {
+		for (int i = 0; i < jars.length; i++) {
+			if (jars[i].hasEntry(name))
+				return createURL(jars[i], name);
+		}
+		return null;
+	}
+
+	@Override
+	protected Enumeration<URL> findResources(String name) {
+		Vector<URL> result = new Vector<URL>();
+		for (int i = 0; i < jars.length; i++) {
+			if (jars[i].hasEntry(name)) {
+				URL url = createURL(jars[i], name);
+				if (url != null)
+					result.add(url);
+			}
+		}
+		return result.elements();
+	}
+
+	private URL createURL(MappedJarFile jar, String name) {
+		try {
+			return new URL(JIJConstants.MAPPED_URL_PROTOCOL, null, -1, jar.getName() + JIJConstants.JAR_INTERNAL_SEPARATOR + name, handler);
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+}
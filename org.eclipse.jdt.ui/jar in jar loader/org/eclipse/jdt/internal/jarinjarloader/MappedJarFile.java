@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarinjarloader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * This class will be compiled into the binary jar-in-jar-loader.zip. This ZIP is used for the
+ * "Runnable JAR File Exporter"
+ *
+ * A read-only view of a ZIP archive in a byte buffer. The central directory is read once into an
+ * index from entry names to offsets, so that entries can be read without copying the archive. A
+ * nested archive that is stored uncompressed is a view on a slice of the same buffer.
+ *
+ * @since 3.23
+ */
+final class MappedJarFile {
+
+	private static final int LOCAL_HEADER_SIGNATURE   = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_SIGNATURE            = 0x06054b50;
+	private static final int LOCAL_HEADER_LENGTH      = 30;
+	private static final int CENTRAL_HEADER_LENGTH    = 46;
+	private static final int END_LENGTH               = 22;
+	private static final int MAX_COMMENT_LENGTH       = 0xFFFF;
+	private static final long ZIP64_MAGIC             = 0xFFFFFFFFL;
+
+	private static final Charset UTF8 = Charset.forName(JIJConstants.UTF8_ENCODING);
+
+	private static class Entry {
+		final int method;
+		final int compressedSize;
+		final int size;
+		final int headerOffset;
+		int dataOffset = -1;
+
+		Entry(int method, int compressedSize, int size, int headerOffset) {
+			this.method = method;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.headerOffset = headerOffset;
+		}
+	}
+
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0)
+				return 0;
+			if (!buffer.hasRemaining())
+				return -1;
+			int count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+
+	private final String name;
+	private final ByteBuffer buffer;
+	private final Map<String, Entry> entries;
+
+	private MappedJarFile(String name, ByteBuffer buffer) throws IOException {
+		this.name = name;
+		this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		this.entries = readCentralDirectory();
+	}
+
+	/**
+	 * Maps the given archive into memory and reads its central directory.
+	 *
+	 * @param file the archive
+	 * @param name the name of the mapped archive
+	 * @return the mapped archive
+	 * @throws IOException if the file cannot be mapped or is not a supported ZIP archive
+	 */
+	static MappedJarFile open(File file, String name) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+		try {
+			FileChannel channel = raf.getChannel();
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new ZipException("Archive too large to be mapped: " + file); //$NON-NLS-1$
+			// the mapping stays valid after the channel has been closed
+			return new MappedJarFile(name, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			raf.close();
+		}
+	}
+
+	String getName() {
+		return name;
+	}
+
+	boolean hasEntry(String entryName) {
+		return entries.containsKey(entryName);
+	}
+
+	/**
+	 * Returns the content of an entry. The content of a stored entry is a view on the mapped
+	 * archive, the content of a deflated entry is inflated into a new buffer.
+	 *
+	 * @param entryName the entry name
+	 * @return the content, or <code>null</code> if there is no such entry
+	 * @throws IOException if the entry cannot be read
+	 */
+	ByteBuffer getContent(String entryName) throws IOException {
+		Entry entry = entries.get(entryName);
+		if (entry == null)
+			return null;
+		if (entry.method == ZipEntry.STORED)
+			return slice(getDataOffset(entry), entry.size);
+		if (entry.method != ZipEntry.DEFLATED)
+			throw new ZipException("Unsupported compression method " + entry.method + " for " + entryName + " in " + name); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		// the 'nowrap' inflater needs an extra dummy byte
+		byte[] input = new byte[entry.compressedSize + 1];
+		slice(getDataOffset(entry), entry.compressedSize).get(input, 0, entry.compressedSize);
+		byte[] output = new byte[entry.size];
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(input);
+			int count = 0;
+			while (count < output.length) {
+				int inflated = inflater.inflate(output, count, output.length - count);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				count += inflated;
+			}
+			if (count != output.length)
+				throw new ZipException("Truncated entry " + entryName + " in " + name); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (DataFormatException e) {
+			throw new ZipException("Invalid entry " + entryName + " in " + name + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} finally {
+			inflater.end();
+		}
+		return ByteBuffer.wrap(output);
+	}
+
+	/**
+	 * Returns a stream on the content of an entry.
+	 *
+	 * @param entryName the entry name
+	 * @return the stream, or <code>null</code> if there is no such entry
+	 * @throws IOException if the entry cannot be read
+	 */
+	InputStream getInputStream(String entryName) throws IOException {
+		ByteBuffer content = getContent(entryName);
+		return content != null ? new ByteBufferInputStream(content) : null;
+	}
+
+	/**
+	 * Returns a nested archive that is stored uncompressed in this archive.
+	 *
+	 * @param entryName the entry name of the nested archive
+	 * @return a view on the nested archive, or <code>null</code> if there is no such entry or the
+	 *         entry is compressed
+	 * @throws IOException if the nested archive is not a supported ZIP archive
+	 */
+	MappedJarFile getNestedJar(String entryName) throws IOException {
+		Entry entry = entries.get(entryName);
+		if (entry == null || entry.method != ZipEntry.STORED)
+			return null;
+		return new MappedJarFile(entryName, slice(getDataOffset(entry), entry.size));
+	}
+
+	private Map<String, Entry> readCentralDirectory() throws IOException {
+		int limit = buffer.limit();
+		int end = -1;
+		for (int pos = limit - END_LENGTH, min = Math.max(0, pos - MAX_COMMENT_LENGTH); pos >= min; pos--) {
+			if (buffer.getInt(pos) == END_SIGNATURE) {
+				end = pos;
+				break;
+			}
+		}
+		if (end == -1)
+			throw new ZipException("Missing central directory in " + name); //$NON-NLS-1$
+		int count = buffer.getShort(end + 10) & 0xFFFF;
+		long directoryOffset = buffer.getInt(end + 16) & ZIP64_MAGIC;
+		if (count == 0xFFFF || directoryOffset == ZIP64_MAGIC)
+			throw new ZipException("ZIP64 archives are not supported: " + name); //$NON-NLS-1$
+
+		Map<String, Entry> result = new HashMap<String, Entry>(count * 2);
+		int pos = (int) directoryOffset;
+		for (int i = 0; i < count; i++) {
+			if (pos + CENTRAL_HEADER_LENGTH > limit || buffer.getInt(pos) != CENTRAL_HEADER_SIGNATURE)
+				throw new ZipException("Invalid central directory in " + name); //$NON-NLS-1$
+			int method = buffer.getShort(pos + 10) & 0xFFFF;
+			long compressedSize = buffer.getInt(pos + 20) & ZIP64_MAGIC;
+			long size = buffer.getInt(pos + 24) & ZIP64_MAGIC;
+			int nameLength = buffer.getShort(pos + 28) & 0xFFFF;
+			int extraLength = buffer.getShort(pos + 30) & 0xFFFF;
+			int commentLength = buffer.getShort(pos + 32) & 0xFFFF;
+			long headerOffset = buffer.getInt(pos + 42) & ZIP64_MAGIC;
+			if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || headerOffset == ZIP64_MAGIC)
+				throw new ZipException("ZIP64 archives are not supported: " + name); //$NON-NLS-1$
+			byte[] entryName = new byte[nameLength];
+			slice(pos + CENTRAL_HEADER_LENGTH, nameLength).get(entryName);
+			result.put(new String(entryName, UTF8), new Entry(method, (int) compressedSize, (int) size, (int) headerOffset));
+			pos += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+		}
+		return result;
+	}
+
+	private int getDataOffset(Entry entry) throws ZipException {
+		if (entry.dataOffset == -1) {
+			int pos = entry.headerOffset;
+			if (pos + LOCAL_HEADER_LENGTH > buffer.limit() || buffer.getInt(pos) != LOCAL_HEADER_SIGNATURE)
+				throw new ZipException("Invalid local header in " + name); //$NON-NLS-1$
+			// the local extra field may differ from the one in the central directory
+			entry.dataOffset = pos + LOCAL_HEADER_LENGTH + (buffer.getShort(pos + 26) & 0xFFFF) + (buffer.getShort(pos + 28) & 0xFFFF);
+		}
+		return entry.dataOffset;
+	}
+
+	private ByteBuffer slice(int offset, int length) throws ZipException {
+		if (offset < 0 || length < 0 || offset + length > buffer.limit())
+			throw new ZipException("Entry exceeds archive bounds in " + name); //$NON-NLS-1$
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.limit(offset + length);
+		return view.slice();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ public class RsrcURLStreamHandlerFactory implements URLStreamHandlerFactory {
 
 	private ClassLoader classLoader;
 	private URLStreamHandlerFactory chainFac;
+	private URLStreamHandler mappedHandler;
 
 	public RsrcURLStreamHandlerFactory(ClassLoader cl) {
 		this.classLoader = cl;
@@ -38,6 +39,8 @@ public class RsrcURLStreamHandlerFactory implements URLStreamHandlerFactory {
 	public URLStreamHandler createURLStreamHandler(String protocol) {
 		if (JIJConstants.INTERNAL_URL_PROTOCOL.equals(protocol))
 			return new RsrcURLStreamHandler(classLoader);
+		if (JIJConstants.MAPPED_URL_PROTOCOL.equals(protocol) && mappedHandler != null)
+			return mappedHandler;
 		if (chainFac != null)
 			return chainFac.createURLStreamHandler(protocol);
 		return null;
@@ -48,11 +51,20 @@ public class RsrcURLStreamHandlerFactory implements URLStreamHandlerFactory {
 	 * URL.setURLStreamHandlerFactory does not allow
 	 * multiple factories to be added.
 	 * The chained factory is called for all other protocols,
-	 * except "rsrc". Use null to clear previously set Handler.
+	 * except "rsrc" and "rsrcmap". Use null to clear previously set Handler.
 	 * @param fac another factory to be chained with ours.
 	 */
 	public void setURLStreamHandlerFactory(URLStreamHandlerFactory fac) {
 		chainFac = fac;
 	}
 
+	/**
+	 * Sets the handler for the "rsrcmap" URLs of the memory-mapped class loader,
+	 * so that these URLs can also be created from their external form.
+	 * @param handler the handler of the {@link MappedJarClassLoader}
+	 */
+	void setMappedURLStreamHandler(URLStreamHandler handler) {
+		mappedHandler = handler;
+	}
+
 }
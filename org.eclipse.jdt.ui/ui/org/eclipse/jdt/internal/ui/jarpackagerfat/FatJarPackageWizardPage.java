@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -166,6 +166,40 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 		}
 	}
 
+	/**
+	 * Packages the libraries uncompressed, so that the class loader can read them from a
+	 * memory-mapped view of the generated JAR.
+	 *
+	 * @since 3.23
+	 */
+	public static class MappedPackageLibraryHandler extends LibraryHandler {
+
+		public final static int ID= 4;
+
+		public MappedPackageLibraryHandler() {
+		}
+
+		@Override
+		public FatJarAntExporter getAntExporter(IPath antScriptLocation, IPath jarLocation, ILaunchConfiguration launchConfiguration) {
+			return new FatJarRsrcUrlAntExporter(antScriptLocation, jarLocation, launchConfiguration, true);
+		}
+
+		@Override
+		public FatJarBuilder getBuilder(JarPackageData jarPackageData) {
+			return new FatJarRsrcUrlBuilder(true);
+		}
+
+		@Override
+		public int getID() {
+			return ID;
+		}
+
+		@Override
+		public boolean isShowWarning() {
+			return false;
+		}
+	}
+
 	public static class CopyLibraryHandler extends LibraryHandler {
 
 		public final static int ID= 3;
@@ -287,6 +321,7 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 	private Composite fLibraryHandlingGroup;
 	private Button fExtractJarsRadioButton;
 	private Button fPackageJarsRadioButton;
+	private Button fPackageMappedJarsRadioButton;
 	private Button fCopyJarFilesRadioButton;
 
 	public FatJarPackageWizardPage(JarPackageData jarPackage, IStructuredSelection selection) {
@@ -476,6 +511,14 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 				fLibraryHandler= new PackageLibraryHandler();
 		});
 
+		fPackageMappedJarsRadioButton= new Button(fLibraryHandlingGroup, SWT.RADIO | SWT.LEFT);
+		fPackageMappedJarsRadioButton.setText(FatJarPackagerMessages.FatJarPackageWizardPage_packageMappedJars_text);
+		fPackageMappedJarsRadioButton.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+		fPackageMappedJarsRadioButton.addListener(SWT.Selection, event -> {
+			if (((Button)event.widget).getSelection())
+				fLibraryHandler= new MappedPackageLibraryHandler();
+		});
+
 		fCopyJarFilesRadioButton= new Button(fLibraryHandlingGroup, SWT.RADIO | SWT.LEFT);
 		fCopyJarFilesRadioButton.setText(FatJarPackagerMessages.FatJarPackageWizardPage_copyJarFiles_text);
 		fCopyJarFilesRadioButton.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
@@ -496,12 +539,15 @@ public class FatJarPackageWizardPage extends AbstractJarDestinationWizardPage {
 		fLibraryHandler= libraryHandler;
 		fExtractJarsRadioButton.setSelection(libraryHandler.getID() == ExtractLibraryHandler.ID);
 		fPackageJarsRadioButton.setSelection(libraryHandler.getID() == PackageLibraryHandler.ID);
+		fPackageMappedJarsRadioButton.setSelection(libraryHandler.getID() == MappedPackageLibraryHandler.ID);
 		fCopyJarFilesRadioButton.setSelection(libraryHandler.getID() == CopyLibraryHandler.ID);
 	}
 
 	LibraryHandler createLibraryHandlerById(int handlerId) {
 		if (handlerId == PackageLibraryHandler.ID)
 			return new PackageLibraryHandler();
+		if (handlerId == MappedPackageLibraryHandler.ID)
+			return new MappedPackageLibraryHandler();
 		if (handlerId == CopyLibraryHandler.ID)
 			return new CopyLibraryHandler();
 		return new ExtractLibraryHandler();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,8 @@ public final class FatJarPackagerMessages extends NLS {
 
 	public static String FatJarPackageWizardPage_packageJars_text;
 
+	public static String FatJarPackageWizardPage_packageMappedJars_text;
+
 	public static String FatJarPackageWizardPage_copyJarFiles_text;
 
 	public static String FatJarPackageWizardPage_error_missingClassFile;
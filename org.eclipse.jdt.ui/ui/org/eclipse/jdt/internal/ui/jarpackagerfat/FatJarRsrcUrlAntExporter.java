@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -53,8 +53,23 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
  */
 public class FatJarRsrcUrlAntExporter extends FatJarAntExporter {
 
+	private final boolean fMapped;
+
 	public FatJarRsrcUrlAntExporter(IPath antScriptLocation, IPath jarLocation, ILaunchConfiguration launchConfiguration) {
+		this(antScriptLocation, jarLocation, launchConfiguration, false);
+	}
+
+	/**
+	 * @param antScriptLocation the location of the ANT script
+	 * @param jarLocation the location of the generated jar
+	 * @param launchConfiguration the launch configuration which defines the class path
+	 * @param mapped <code>true</code> to store the libraries uncompressed for the memory-mapped
+	 *            class loader
+	 * @since 3.23
+	 */
+	public FatJarRsrcUrlAntExporter(IPath antScriptLocation, IPath jarLocation, ILaunchConfiguration launchConfiguration, boolean mapped) {
 		super(antScriptLocation, jarLocation, launchConfiguration);
+		fMapped= mapped;
 	}
 
 	@Override
@@ -111,6 +126,10 @@ public class FatJarRsrcUrlAntExporter extends FatJarAntExporter {
 
 		Element jar= document.createElement("jar"); //$NON-NLS-1$
 		jar.setAttribute("destfile", substituteBaseDirs(absJarname)); //$NON-NLS-1$s
+		if (fMapped) {
+			// the ANT jar task cannot store only the libraries uncompressed
+			jar.setAttribute("compress", "false"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
 		target.appendChild(jar);
 
 		Element manifest= document.createElement("manifest"); //$NON-NLS-1$
@@ -144,6 +163,13 @@ public class FatJarRsrcUrlAntExporter extends FatJarAntExporter {
 		attribute.setAttribute("value", rsrcClassPath.toString()); //$NON-NLS-1$
 		manifest.appendChild(attribute);
 
+		if (fMapped) {
+			attribute= document.createElement("attribute"); //$NON-NLS-1$
+			attribute.setAttribute("name", JIJConstants.LOADER_MODE_MANIFEST_NAME); //$NON-NLS-1$
+			attribute.setAttribute("value", JIJConstants.MAPPED_LOADER_MODE); //$NON-NLS-1$
+			manifest.appendChild(attribute);
+		}
+
 		Element zipfileset= document.createElement("zipfileset"); //$NON-NLS-1$
 		zipfileset.setAttribute("src", FatJarRsrcUrlBuilder.JAR_RSRC_LOADER_ZIP); //$NON-NLS-1$
 		jar.appendChild(zipfileset);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,12 +18,10 @@ package org.eclipse.jdt.internal.ui.jarpackagerfat;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.jar.JarEntry;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
@@ -41,11 +39,14 @@ import org.eclipse.jdt.ui.jarpackager.IManifestProvider;
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
-import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
 /**
  * A jar builder which copies the referenced libraries into the generated jar and adds a special
  * class loader which allows to load the classes from the referenced libraries.
+ * <p>
+ * In mapped mode, the libraries are always stored uncompressed, and the class loader reads them
+ * from a memory-mapped view of the generated jar instead of copying them to temporary files.
+ * </p>
  *
  * @since 3.5
  */
@@ -54,9 +55,32 @@ public class FatJarRsrcUrlBuilder extends FatJarBuilder {
 	public static final String BUILDER_ID= "org.eclipse.jdt.ui.fat_jar_rsrc_url_builder"; //$NON-NLS-1$
 	public static final String JAR_RSRC_LOADER_ZIP= "jar-in-jar-loader.zip"; //$NON-NLS-1$
 
+	private final boolean fMapped;
 	private Set<String> jarNames;
 	private JarPackageData fJarPackage;
 
+	public FatJarRsrcUrlBuilder() {
+		this(false);
+	}
+
+	/**
+	 * @param mapped <code>true</code> to store the libraries uncompressed for the memory-mapped
+	 *            class loader
+	 * @since 3.23
+	 */
+	public FatJarRsrcUrlBuilder(boolean mapped) {
+		fMapped= mapped;
+	}
+
+	/**
+	 * @return <code>true</code> if the libraries are stored uncompressed for the memory-mapped
+	 *         class loader
+	 * @since 3.23
+	 */
+	public boolean isMapped() {
+		return fMapped;
+	}
+
 	@Override
 	public String getId() {
 		return BUILDER_ID;
@@ -110,13 +134,9 @@ public class FatJarRsrcUrlBuilder extends FatJarBuilder {
 			jarName= FatJarPackagerUtil.nextNumberedFileName(jarName);
 		}
 		jarNames.add(jarName);
-		JarEntry newEntry = new JarEntry(jarName);
-		newEntry.setMethod(ZipEntry.STORED);
-		byte[] readBuffer= new byte[4096];
+		boolean compress= fJarPackage.isCompressed() && !fMapped;
 		try {
-			if (!fJarPackage.isCompressed())
-				JarPackagerUtil.calculateCrcAndSize(newEntry, new FileInputStream(jarPathFile), readBuffer);
-			getJarWriter().addZipEntryStream(newEntry, new FileInputStream(jarPathFile), jarName);
+			getJarWriter().addFile(jarPathFile, jarName, compress);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
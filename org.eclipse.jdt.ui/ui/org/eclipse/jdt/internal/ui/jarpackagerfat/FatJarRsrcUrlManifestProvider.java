@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,8 +34,11 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
  */
 public class FatJarRsrcUrlManifestProvider extends FatJarManifestProvider {
 
+	private final boolean fMapped;
+
 	public FatJarRsrcUrlManifestProvider(FatJarRsrcUrlBuilder builder) {
 		super(builder);
+		fMapped= builder.isMapped();
 	}
 
 	private void setManifestRsrcClasspath(Manifest ownManifest, JarPackageData jarPackage) {
@@ -83,6 +86,8 @@ public class FatJarRsrcUrlManifestProvider extends FatJarManifestProvider {
 		if (jarPackage.getManifestMainClass() != null && jarPackage.getManifestMainClass().getFullyQualifiedName().length() > 0) {
 			manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, JIJConstants.LOADER_MAIN_CLASS);
 			manifest.getMainAttributes().putValue(JIJConstants.REDIRECTED_MAIN_CLASS_MANIFEST_NAME, jarPackage.getManifestMainClass().getFullyQualifiedName());
+			if (fMapped)
+				manifest.getMainAttributes().putValue(JIJConstants.LOADER_MODE_MANIFEST_NAME, JIJConstants.MAPPED_LOADER_MODE);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,7 @@ import org.eclipse.core.runtime.Path;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.jarpackager.IncrementalJarExport;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
 
 import org.eclipse.jdt.ui.jarpackager.JarPackageData;
@@ -72,16 +73,33 @@ public class JarWriter4 extends JarWriter3 {
 	}
 
 	public void addZipEntryStream(ZipEntry zipEntry, InputStream is, String path) throws IOException {
+		addZipEntryStream(zipEntry, is, path, fJarPackage.isCompressed());
+	}
+
+	/**
+	 * Adds an entry with the given content.
+	 *
+	 * @param zipEntry the entry which provides size and CRC if the entry is not compressed and they
+	 *            are known, otherwise they are computed from the content
+	 * @param is the content
+	 * @param path the path of the entry
+	 * @param compress <code>true</code> to deflate the entry, <code>false</code> to store it
+	 * @throws IOException if the entry cannot be written
+	 * @since 3.23
+	 */
+	public void addZipEntryStream(ZipEntry zipEntry, InputStream is, String path, boolean compress) throws IOException {
 		if (fJarPackage.areDirectoryEntriesIncluded())
 			addDirectories(path);
 		JarEntry newEntry= new JarEntry(path.replace(File.separatorChar, '/'));
-		if (fJarPackage.isCompressed())
+		if (compress)
 			newEntry.setMethod(ZipEntry.DEFLATED);
 		// Entry is filled automatically.
 		else {
 			newEntry.setMethod(ZipEntry.STORED);
-			newEntry.setSize(zipEntry.getSize());
-			newEntry.setCrc(zipEntry.getCrc());
+			if (zipEntry.getSize() != -1)
+				newEntry.setSize(zipEntry.getSize());
+			if (zipEntry.getCrc() != -1)
+				newEntry.setCrc(zipEntry.getCrc());
 		}
 		long lastModified= System.currentTimeMillis();
 		// Set modification time
@@ -106,20 +124,35 @@ public class JarWriter4 extends JarWriter3 {
 	}
 
 	private void addFile(File file, IPath path) throws IOException {
+		addFile(file, path.toString(), fJarPackage.isCompressed());
+	}
+
+	/**
+	 * Adds an entry with the content of the given file. If the JAR is exported incrementally and
+	 * the file did not change since the previous export, the entry is copied from the previous JAR.
+	 *
+	 * @param file the file to add
+	 * @param path the path of the entry
+	 * @param compress <code>true</code> to deflate the entry, <code>false</code> to store it
+	 * @throws IOException if the entry cannot be written
+	 * @since 3.23
+	 */
+	public void addFile(File file, String path, boolean compress) throws IOException {
 		if (fJarPackage.areDirectoryEntriesIncluded())
 			addDirectories(path);
 
-		JarEntry newEntry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
+		JarEntry newEntry= new JarEntry(path.replace(File.separatorChar, '/'));
 
-		if (fJarPackage.isCompressed())
-			newEntry.setMethod(ZipEntry.DEFLATED);
-			// Entry is filled automatically.
-		else {
-			newEntry.setMethod(ZipEntry.STORED);
-			JarPackagerUtil.calculateCrcAndSize(newEntry, new FileInputStream(file), new byte[4096]);
-		}
+		// The CRC and size of a stored entry are computed while it is written.
+		newEntry.setMethod(compress ? ZipEntry.DEFLATED : ZipEntry.STORED);
 
-		newEntry.setTime(file.lastModified());
+		long lastModified= file.lastModified();
+		newEntry.setTime(lastModified);
+		IncrementalJarExport incrementalExport= IncrementalJarExport.get(getJarOutputStream());
+		if (incrementalExport != null) {
+			incrementalExport.write(newEntry, file);
+			return;
+		}
 		addEntry(newEntry, new FileInputStream(file));
 	}
 }
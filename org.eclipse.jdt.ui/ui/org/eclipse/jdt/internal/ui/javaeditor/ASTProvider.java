@@ -223,7 +223,6 @@ public final class ASTProvider implements IASTSharedValues {
 		synchronized (this) {
 			fActiveEditor= editor;
 			INSTANCE.setActiveJavaElement(javaElement);
-			INSTANCE.cache(null, javaElement);
 		}
 
 		if (JavaPlugin.DEBUG_AST_PROVIDER)
@@ -240,10 +239,11 @@ public final class ASTProvider implements IASTSharedValues {
 	 * cached by this AST provided.
 	 *
 	 * @param ast the compilation unit AST
-	 * @return <code>true</code> if the given AST is the cached one
+	 * @return <code>true</code> if the given AST is the cached one or the
+	 * one of a recently active Java element
 	 */
 	public boolean isCached(CompilationUnit ast) {
-		return ast != null && INSTANCE.getCachedAST() == ast;
+		return INSTANCE.isShared(ast);
 	}
 
 	/**
@@ -267,8 +267,7 @@ public final class ASTProvider implements IASTSharedValues {
 		PlatformUI.getWorkbench().removeWindowListener(fActivationListener);
 		fActivationListener= null;
 
-		INSTANCE.disposeAST();
-		INSTANCE.waitLockNotifyAll();
+		INSTANCE.dispose();
 
 	}
 
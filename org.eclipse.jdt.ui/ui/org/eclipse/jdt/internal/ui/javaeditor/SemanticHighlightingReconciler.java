@@ -25,9 +25,13 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -36,10 +40,16 @@ import org.eclipse.ui.IWorkbenchPartSite;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
@@ -262,8 +272,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		private void addPosition(int offset, int length, Highlighting highlighting) {
 			boolean isExisting= false;
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] == offset; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position == null)
 					continue;
@@ -288,8 +297,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(offset), n= fRemovedOffsets.length; i < n && fRemovedOffsets[i] < offset + length; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
 				if (position != null && position.isContained(offset, length)) {
 					fRemovedPositions.set(i, null);
@@ -297,8 +305,136 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				}
 			}
 		}
+
+		/**
+		 * Returns the index of the first removed position with an offset equal or greater than
+		 * the given offset.
+		 *
+		 * @param offset the offset
+		 * @return the index into <code>fRemovedOffsets</code>
+		 */
+		private int computeIndexAtOffset(int offset) {
+			int i= -1;
+			int j= fRemovedOffsets.length;
+			while (j - i > 1) {
+				int k= (i + j) >> 1;
+				if (fRemovedOffsets[k] >= offset)
+					j= k;
+				else
+					i= k;
+			}
+			return j;
+		}
+	}
+
+	/**
+	 * Tracks the region of the document that changed since the last reconcile.
+	 */
+	private static class DirtyRegionTracker implements IDocumentListener, ITextInputListener {
+
+		/** The source viewer this tracker is installed on */
+		private ISourceViewer fViewer;
+		/** Start offset of the changed region in the current document, <code>-1</code> if unchanged */
+		private int fStart= -1;
+		/** End offset of the changed region in the current document */
+		private int fEnd= -1;
+		/** <code>true</code> if the next reconcile has to visit the whole AST */
+		private boolean fInvalid= true;
+		/** <code>true</code> if a region has been handed over to a reconcile that has not started yet */
+		private boolean fPending;
+		/** The handed over region, <code>null</code> if the whole AST has to be visited */
+		private IRegion fPendingRegion;
+
+		void install(ISourceViewer viewer) {
+			fViewer= viewer;
+			fViewer.addTextInputListener(this);
+			IDocument document= fViewer.getDocument();
+			if (document != null)
+				document.addDocumentListener(this);
+		}
+
+		void uninstall() {
+			if (fViewer != null) {
+				fViewer.removeTextInputListener(this);
+				IDocument document= fViewer.getDocument();
+				if (document != null)
+					document.removeDocumentListener(this);
+				fViewer= null;
+			}
+		}
+
+		/**
+		 * Hands the changed region over to the reconcile that is about to start and starts
+		 * tracking the changes for the next one.
+		 */
+		synchronized void aboutToBeReconciled() {
+			// a region that was not picked up is in outdated coordinates
+			if (fPending || fInvalid || fStart == -1)
+				fPendingRegion= null;
+			else
+				fPendingRegion= new Region(fStart, fEnd - fStart);
+			fPending= true;
+			fInvalid= false;
+			fStart= -1;
+			fEnd= -1;
+		}
+
+		/**
+		 * Picks up the region handed over by {@link #aboutToBeReconciled()}.
+		 *
+		 * @return the changed region or <code>null</code> if the whole AST has to be visited
+		 */
+		synchronized IRegion reconcileStarted() {
+			IRegion region= fPending ? fPendingRegion : null;
+			fPending= false;
+			fPendingRegion= null;
+			return region;
+		}
+
+		/**
+		 * Forces the next reconcile to visit the whole AST.
+		 */
+		synchronized void invalidate() {
+			fInvalid= true;
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// Do nothing
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int end= offset + event.getLength();
+			String text= event.getText();
+			int newEnd= offset + (text == null ? 0 : text.length());
+			if (fStart == -1) {
+				fStart= offset;
+				fEnd= newEnd;
+			} else {
+				fStart= Math.min(fStart, offset);
+				fEnd= fEnd >= end ? fEnd + newEnd - end : newEnd;
+			}
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			if (oldInput != null)
+				oldInput.removeDocumentListener(this);
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			if (newInput != null)
+				newInput.addDocumentListener(this);
+			invalidate();
+		}
 	}
 
+	/** No removed offsets */
+	private static final int[] NO_OFFSETS= new int[0];
+
 	/** Position collector */
 	private PositionCollector fCollector= new PositionCollector();
 
@@ -319,6 +455,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private List<Position> fRemovedPositions= new ArrayList<>();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
+	/**
+	 * Offsets of the removed highlighted positions at the start of the reconcile, used to look
+	 * them up by offset while the positions are updated concurrently.
+	 */
+	private int[] fRemovedOffsets= NO_OFFSETS;
+
+	/** Tracks the document changes between reconciles */
+	private final DirtyRegionTracker fDirtyRegionTracker= new DirtyRegionTracker();
+	/**
+	 * Start positions and lengths of the body declarations of the last reconciled AST, followed
+	 * by the length of the AST, or <code>null</code> if the last reconcile did not complete.
+	 * Only accessed by the reconciling thread.
+	 */
+	private int[] fDeclarationRanges;
 
 	/** Background job */
 	private Job fJob;
@@ -354,7 +504,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		fDirtyRegionTracker.aboutToBeReconciled();
 	}
 
 	/*
@@ -362,17 +512,24 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		IRegion changedRegion= fDirtyRegionTracker.reconcileStarted();
+		// a forced reconcile may change bindings anywhere in the AST
+		if (forced)
+			changedRegion= null;
+
 		// ensure at most one thread can be reconciling at any time
 		synchronized (fReconcileLock) {
-			if (fIsReconciling)
+			if (fIsReconciling) {
+				fDirtyRegionTracker.invalidate();
 				return;
-			else
+			} else
 				fIsReconciling= true;
 		}
 		fJobPresenter= fPresenter;
 		fJobSemanticHighlightings= fSemanticHighlightings;
 		fJobHighlightings= fHighlightings;
 
+		boolean completed= false;
 		try {
 			if (fJobPresenter == null || fJobSemanticHighlightings == null || fJobHighlightings == null)
 				return;
@@ -382,11 +539,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
-			if (subtrees.length == 0)
+			ASTNode[] subtrees= getAffectedSubtrees(ast, changedRegion);
+			if (subtrees.length == 0) {
+				completed= true;
 				return;
+			}
 
-			startReconcilingPositions();
+			startReconcilingPositions(subtrees);
 
 			if (!fJobPresenter.isCanceled()) {
 				fJobDeprecatedMemberHighlighting= null;
@@ -404,8 +563,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
+			if (!fJobPresenter.isCanceled()) {
 				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				completed= true;
+			}
 
 			stopReconcilingPositions();
 		} finally {
@@ -413,6 +574,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
 			fJobDeprecatedMemberHighlighting= null;
+			if (!completed) {
+				fDeclarationRanges= null;
+				fDirtyRegionTracker.invalidate();
+			}
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
 			}
@@ -420,20 +585,120 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * @param node Root node
+	 * Returns the subtrees that may be affected by the document changes since the last
+	 * reconcile. If the changes are confined to the body of a single method or initializer and
+	 * all declarations around it are unchanged, only that body is returned: its content cannot
+	 * influence the highlighting outside of it. On any other change the whole AST is returned.
+	 *
+	 * @param ast Root node
+	 * @param changedRegion the region changed since the last reconcile or <code>null</code> if
+	 *            unknown
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, IRegion changedRegion) {
+		List<BodyDeclaration> declarations= new ArrayList<>();
+		for (Object type : ast.types())
+			collectDeclarations((BodyDeclaration) type, declarations);
+
+		int[] previousRanges= fDeclarationRanges;
+		int[] ranges= new int[2 * declarations.size() + 1];
+		for (int i= 0, n= declarations.size(); i < n; i++) {
+			BodyDeclaration declaration= declarations.get(i);
+			ranges[2 * i]= declaration.getStartPosition();
+			ranges[2 * i + 1]= declaration.getLength();
+		}
+		ranges[ranges.length - 1]= ast.getLength();
+		fDeclarationRanges= ranges;
+
+		if (changedRegion != null && previousRanges != null && previousRanges.length == ranges.length) {
+			Block body= getChangedBody(declarations, ranges, previousRanges, changedRegion);
+			if (body != null)
+				return new ASTNode[] { body };
+		}
+		return new ASTNode[] { ast };
+	}
+
+	/**
+	 * Adds the given declaration and, for types, its members in pre-order to the given list.
+	 *
+	 * @param declaration the declaration
+	 * @param declarations the list of declarations
+	 */
+	private static void collectDeclarations(BodyDeclaration declaration, List<BodyDeclaration> declarations) {
+		declarations.add(declaration);
+		if (declaration instanceof EnumDeclaration) {
+			for (Object constant : ((EnumDeclaration) declaration).enumConstants())
+				declarations.add((BodyDeclaration) constant);
+		}
+		if (declaration instanceof AbstractTypeDeclaration) {
+			for (Object member : ((AbstractTypeDeclaration) declaration).bodyDeclarations())
+				collectDeclarations((BodyDeclaration) member, declarations);
+		}
+	}
+
+	/**
+	 * Returns the body of the method or initializer that strictly contains the changed region,
+	 * provided that all declarations before the region are unchanged, all declarations after it
+	 * are only shifted and all declarations around it only changed in length.
+	 *
+	 * @param declarations the declarations of the current AST
+	 * @param ranges the ranges of the declarations of the current AST
+	 * @param previousRanges the ranges of the declarations of the last reconciled AST
+	 * @param changedRegion the changed region
+	 * @return the changed body or <code>null</code> if the change is structural
+	 */
+	private static Block getChangedBody(List<BodyDeclaration> declarations, int[] ranges, int[] previousRanges, IRegion changedRegion) {
+		int start= changedRegion.getOffset();
+		int end= start + changedRegion.getLength();
+		int delta= ranges[ranges.length - 1] - previousRanges[previousRanges.length - 1];
+		BodyDeclaration enclosing= null;
+		for (int i= 0, n= declarations.size(); i < n; i++) {
+			int oldStart= previousRanges[2 * i];
+			int oldEnd= oldStart + previousRanges[2 * i + 1];
+			int newStart= ranges[2 * i];
+			int newEnd= newStart + ranges[2 * i + 1];
+			if (newEnd <= start) {
+				if (oldStart != newStart || oldEnd != newEnd)
+					return null;
+			} else if (newStart >= end) {
+				if (oldStart + delta != newStart || oldEnd + delta != newEnd)
+					return null;
+			} else if (newStart < start && end < newEnd) {
+				if (oldStart != newStart || oldEnd + delta != newEnd)
+					return null;
+				// declarations are in pre-order, so the last enclosing one is the innermost
+				enclosing= declarations.get(i);
+			} else {
+				return null;
+			}
+		}
+
+		Block body= null;
+		if (enclosing instanceof MethodDeclaration)
+			body= ((MethodDeclaration) enclosing).getBody();
+		else if (enclosing instanceof Initializer)
+			body= ((Initializer) enclosing).getBody();
+		if (body == null || body.getStartPosition() >= start || end >= body.getStartPosition() + body.getLength())
+			return null;
+		return body;
 	}
 
 	/**
 	 * Start reconciling positions.
+	 *
+	 * @param subtrees the AST subtrees
 	 */
-	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+	private void startReconcilingPositions(ASTNode[] subtrees) {
+		if (subtrees.length == 1 && subtrees[0] instanceof CompilationUnit) {
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		} else {
+			for (ASTNode subtree : subtrees)
+				fJobPresenter.addAllPositions(fRemovedPositions, subtree.getStartPosition(), subtree.getLength());
+		}
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fRemovedOffsets= new int[fNOfRemovedPositions];
+		for (int i= 0; i < fNOfRemovedPositions; i++)
+			fRemovedOffsets[i]= fRemovedPositions.get(i).getOffset();
 	}
 
 	/**
@@ -442,10 +707,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param subtrees the AST subtrees
 	 */
 	private void reconcilePositions(ASTNode[] subtrees) {
-		// FIXME: remove positions not covered by subtrees
-
-
-
+		// only positions covered by the subtrees are candidates for removal, see startReconcilingPositions(ASTNode[])
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
 		List<Position> oldPositions= fRemovedPositions;
@@ -494,6 +756,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
 		fNOfRemovedPositions= 0;
+		fRemovedOffsets= NO_OFFSETS;
 		fAddedPositions.clear();
 	}
 
@@ -514,6 +777,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fSourceViewer= sourceViewer;
 
 		if (fEditor instanceof CompilationUnitEditor) {
+			fDirtyRegionTracker.install(fSourceViewer);
 			((CompilationUnitEditor)fEditor).addReconcileListener(this);
 		} else if (fEditor == null) {
 			fSourceViewer.addTextInputListener(this);
@@ -529,9 +793,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fPresenter.setCanceled(true);
 
 		if (fEditor != null) {
-			if (fEditor instanceof CompilationUnitEditor)
+			if (fEditor instanceof CompilationUnitEditor) {
 				((CompilationUnitEditor)fEditor).removeReconcileListener(this);
-			else
+				fDirtyRegionTracker.uninstall();
+			} else
 				fSourceViewer.removeTextInputListener(this);
 			fEditor= null;
 		}
@@ -570,7 +835,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						if (monitor.isCanceled())
 							return Status.CANCEL_STATUS;
 						CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-						reconciled(ast, false, monitor);
+						// not triggered by the document changes, so visit the whole AST
+						reconciled(ast, true, monitor);
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
 							if (fJob == this)
@@ -0,0 +1,585 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.search.ui.NewSearchUI;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICodeAssist;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Workspace wide cache for the results of the searches behind the reference and implementation
+ * code minings, shared by all editors.
+ * <p>
+ * Reference counts are computed in batches: the provider announces the members of an editor in the
+ * order in which they should be resolved (visible members first), and the first mining that
+ * resolves runs one search for all members of its batch. Reference counts are dropped on Java
+ * element changes that can affect references, i.e. not on edits of method bodies that are only
+ * reconciled, sub types are only dropped on changes that can affect type hierarchies.
+ * </p>
+ *
+ * @since 3.23
+ */
+final class JavaCodeMiningSearchCache implements IElementChangedListener {
+
+	private static final class Batch {
+		/**
+		 * The futures of the members, completed or canceled by the search of the batch.
+		 */
+		final Map<IJavaElement, CompletableFuture<Long>> fFutures;
+		final AtomicBoolean fStarted= new AtomicBoolean();
+		/**
+		 * Set when the reference counts are dropped while the batch is searched.
+		 */
+		volatile boolean fInvalidated;
+
+		Batch(Map<IJavaElement, CompletableFuture<Long>> futures) {
+			fFutures= futures;
+		}
+	}
+
+	/**
+	 * Upper bound for the number of remembered results, a cache is cleared when it is exceeded.
+	 */
+	private static final int MAX_CACHE_SIZE= 20000;
+
+	/**
+	 * Flags of a changed delta that affect neither references nor hierarchies by themselves.
+	 */
+	private static final int IRRELEVANT_FLAGS= IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED
+			| IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_AST_AFFECTED;
+
+	/**
+	 * Flags of a changed reconcile delta that don't affect references. Content changes of a
+	 * reconciled working copy that don't add, remove or change the signature of members are edits
+	 * of bodies and initializers, the reference counts are updated when the working copy is saved.
+	 */
+	private static final int IRRELEVANT_RECONCILE_FLAGS= IRRELEVANT_FLAGS | IJavaElementDelta.F_CONTENT;
+
+	/**
+	 * Flags of a changed delta that can affect type hierarchies.
+	 */
+	private static final int HIERARCHY_FLAGS= IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+			| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+			| IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
+
+	private static JavaCodeMiningSearchCache fgDefault;
+
+	/**
+	 * Reference counts by member. A future is not yet completed while its batch is searched.
+	 */
+	private final Map<IJavaElement, CompletableFuture<Long>> fReferenceCounts= new ConcurrentHashMap<>();
+
+	/**
+	 * Batches that have not been started yet, by member.
+	 */
+	private final Map<IJavaElement, Batch> fPendingBatches= new ConcurrentHashMap<>();
+
+	/**
+	 * Batches that are being searched.
+	 */
+	private final Set<Batch> fRunningBatches= ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Sub types declared in source, by type.
+	 */
+	private final Map<IType, CompletableFuture<IType[]>> fSubtypes= new ConcurrentHashMap<>();
+
+	private JavaCodeMiningSearchCache() {
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the shared cache
+	 */
+	static synchronized JavaCodeMiningSearchCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new JavaCodeMiningSearchCache();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Announces the members whose reference counts are going to be requested. The reference counts
+	 * of each batch are searched together, when the first of its members is requested.
+	 *
+	 * @param batches the members, grouped into batches
+	 */
+	void prepareReferenceCounts(List<List<IJavaElement>> batches) {
+		for (List<IJavaElement> members : batches) {
+			Map<IJavaElement, CompletableFuture<Long>> pending= new LinkedHashMap<>();
+			for (IJavaElement member : members) {
+				CompletableFuture<Long> future= new CompletableFuture<>();
+				if (fReferenceCounts.putIfAbsent(member, future) == null) {
+					pending.put(member, future);
+				}
+			}
+			if (!pending.isEmpty()) {
+				Batch batch= new Batch(pending);
+				for (IJavaElement member : pending.keySet()) {
+					fPendingBatches.put(member, batch);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of references to the given member.
+	 *
+	 * @param element the member
+	 * @param monitor the progress monitor
+	 * @return the number of references
+	 * @throws CoreException if the search failed
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	long getReferenceCount(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			Batch batch= fPendingBatches.get(element);
+			if (batch != null && batch.fStarted.compareAndSet(false, true)) {
+				runBatch(batch, monitor);
+			}
+			CompletableFuture<Long> future= fReferenceCounts.get(element);
+			if (future == null) {
+				// not announced, or dropped by a change
+				CompletableFuture<Long> newFuture= new CompletableFuture<>();
+				future= fReferenceCounts.putIfAbsent(element, newFuture);
+				if (future == null) {
+					future= newFuture;
+					runBatch(new Batch(Collections.singletonMap(element, newFuture)), monitor);
+				}
+			}
+			Long count= await(future, monitor);
+			if (count != null) {
+				return count.longValue();
+			}
+			// the search of another mining has been canceled, search again
+		}
+	}
+
+	/**
+	 * Returns the sub types of the given type that are declared in source.
+	 *
+	 * @param type the type
+	 * @param monitor the progress monitor
+	 * @return the sub types
+	 * @throws CoreException if the hierarchy could not be computed
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	IType[] getSourceSubtypes(IType type, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			CompletableFuture<IType[]> future= fSubtypes.get(type);
+			if (future == null) {
+				CompletableFuture<IType[]> newFuture= new CompletableFuture<>();
+				future= fSubtypes.putIfAbsent(type, newFuture);
+				if (future == null) {
+					future= newFuture;
+					if (fSubtypes.size() > MAX_CACHE_SIZE) {
+						fSubtypes.clear();
+					}
+					try {
+						IType[] subtypes= type.newTypeHierarchy(monitor).getAllSubtypes(type);
+						newFuture.complete(Stream.of(subtypes).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).toArray(IType[]::new));
+					} catch (CoreException | RuntimeException e) {
+						fSubtypes.remove(type, newFuture);
+						newFuture.cancel(false);
+						throw e;
+					}
+				}
+			}
+			IType[] subtypes= await(future, monitor);
+			if (subtypes != null) {
+				return subtypes;
+			}
+		}
+	}
+
+	/**
+	 * Waits for a result computed by any thread.
+	 *
+	 * @param future the future
+	 * @param monitor the progress monitor of the waiting thread
+	 * @return the result or <code>null</code> if the computation has been canceled by another thread
+	 * @throws CoreException if the computation failed
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	private static <T> T await(CompletableFuture<T> future, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return future.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (CancellationException e) {
+				return null;
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof OperationCanceledException) {
+					return null;
+				} else if (cause instanceof CoreException) {
+					throw (CoreException) cause;
+				}
+				throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), cause.getMessage(), cause));
+			}
+		}
+	}
+
+	private void runBatch(Batch batch, IProgressMonitor monitor) throws CoreException {
+		fRunningBatches.add(batch);
+		try {
+			for (IJavaElement member : batch.fFutures.keySet()) {
+				fPendingBatches.remove(member, batch);
+			}
+			Map<IJavaElement, Long> counts;
+			try {
+				counts= countReferences(new ArrayList<>(batch.fFutures.keySet()), monitor);
+			} catch (CoreException | RuntimeException e) {
+				for (Map.Entry<IJavaElement, CompletableFuture<Long>> entry : batch.fFutures.entrySet()) {
+					fReferenceCounts.remove(entry.getKey(), entry.getValue());
+					entry.getValue().completeExceptionally(e instanceof OperationCanceledException ? e : new OperationCanceledException());
+				}
+				throw e;
+			}
+			for (Map.Entry<IJavaElement, CompletableFuture<Long>> entry : batch.fFutures.entrySet()) {
+				Long count= counts.get(entry.getKey());
+				if (count == null || batch.fInvalidated) {
+					// dropped by a change during the search, waiting minings search again
+					fReferenceCounts.remove(entry.getKey(), entry.getValue());
+					entry.getValue().cancel(false);
+				} else {
+					entry.getValue().complete(count);
+				}
+			}
+		} finally {
+			fRunningBatches.remove(batch);
+		}
+		if (fReferenceCounts.size() > MAX_CACHE_SIZE) {
+			fReferenceCounts.values().removeIf(CompletableFuture::isDone);
+		}
+	}
+
+	/**
+	 * Counts the references to the given members of a compilation unit.
+	 * <p>
+	 * Members whose simple names are unique among the members are searched with a single pattern. A
+	 * match of the combined pattern is attributed to a member by the name referenced at the match
+	 * position, or else by the element selected at the match. Members are only searched together if
+	 * they share the search scope. Members with shared names (e.g. overloaded methods and
+	 * constructors) and matches that can't be attributed fall back to a search per member.
+	 * </p>
+	 *
+	 * @param members the members
+	 * @param monitor the progress monitor
+	 * @return the counts by member
+	 * @throws CoreException if a search failed
+	 */
+	private static Map<IJavaElement, Long> countReferences(List<IJavaElement> members, IProgressMonitor monitor) throws CoreException {
+		Map<IJavaElement, Long> counts= new HashMap<>();
+		Map<String, IJavaElement> byName= new HashMap<>();
+		List<IJavaElement> singles= new ArrayList<>();
+		for (IJavaElement member : members) {
+			String name= member.getElementName();
+			if (byName.containsKey(name)) {
+				IJavaElement other= byName.put(name, null);
+				if (other != null) {
+					singles.add(other);
+				}
+				singles.add(member);
+			} else {
+				byName.put(name, member);
+			}
+		}
+		byName.values().removeIf(member -> member == null);
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		Map<Boolean, Map<IJavaElement, SearchPattern>> patternsByScope= new HashMap<>();
+		for (IJavaElement member : byName.values()) {
+			SearchPattern pattern= SearchPattern.createPattern(member, IJavaSearchConstants.REFERENCES);
+			if (pattern != null) {
+				patternsByScope.computeIfAbsent(Boolean.valueOf(factory.isInsideJRE(member)), k -> new LinkedHashMap<>()).put(member, pattern);
+			} else {
+				counts.put(member, Long.valueOf(0));
+			}
+		}
+
+		for (Map.Entry<Boolean, Map<IJavaElement, SearchPattern>> entry : patternsByScope.entrySet()) {
+			Map<IJavaElement, SearchPattern> patterns= entry.getValue();
+			if (patterns.size() == 1) {
+				singles.addAll(patterns.keySet());
+			} else {
+				countReferences(patterns, byName, factory.createWorkspaceScope(entry.getKey().booleanValue()), counts, singles, monitor);
+			}
+		}
+
+		for (IJavaElement member : singles) {
+			counts.put(member, Long.valueOf(countReferences(member, monitor)));
+		}
+		return counts;
+	}
+
+	/**
+	 * Counts the references to members with unique names with a single search.
+	 *
+	 * @param patterns the reference patterns by member
+	 * @param byName the members with unique names by name
+	 * @param scope the search scope of all the members
+	 * @param counts the counts by member, the counts of the members are added
+	 * @param singles the members to search separately, the members are added if a match could not
+	 *            be attributed
+	 * @param monitor the progress monitor
+	 * @throws CoreException if the search failed
+	 */
+	private static void countReferences(Map<IJavaElement, SearchPattern> patterns, Map<String, IJavaElement> byName, IJavaSearchScope scope,
+			Map<IJavaElement, Long> counts, List<IJavaElement> singles, IProgressMonitor monitor) throws CoreException {
+		Map<IJavaElement, AtomicLong> memberCounts= new HashMap<>();
+		SearchPattern pattern= null;
+		for (Map.Entry<IJavaElement, SearchPattern> entry : patterns.entrySet()) {
+			memberCounts.put(entry.getKey(), new AtomicLong());
+			pattern= pattern == null ? entry.getValue() : SearchPattern.createOrPattern(pattern, entry.getValue());
+		}
+		Map<IOpenable, String> contents= new HashMap<>();
+		AtomicBoolean unattributed= new AtomicBoolean();
+		search(pattern, scope, match -> {
+			String name= getReferencedName(match, contents);
+			AtomicLong count= name != null ? memberCounts.get(byName.get(name)) : null;
+			if (count == null) {
+				count= memberCounts.get(getSelectedElement(match));
+			}
+			if (count != null) {
+				count.incrementAndGet();
+			} else {
+				unattributed.set(true);
+			}
+		}, monitor);
+		for (Map.Entry<IJavaElement, AtomicLong> entry : memberCounts.entrySet()) {
+			if (unattributed.get()) {
+				singles.add(entry.getKey());
+			} else {
+				counts.put(entry.getKey(), Long.valueOf(entry.getValue().get()));
+			}
+		}
+	}
+
+	/**
+	 * Counts the references to a single element.
+	 *
+	 * @param element the element
+	 * @param monitor the progress monitor
+	 * @return the number of references
+	 * @throws CoreException if the search failed
+	 */
+	private static long countReferences(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		if (pattern == null) {
+			return 0;
+		}
+		AtomicLong count= new AtomicLong();
+		search(pattern, createSearchScope(element), match -> count.incrementAndGet(), monitor);
+		return count.get();
+	}
+
+	private interface IMatchCounter {
+		void count(SearchMatch match);
+	}
+
+	private static void search(SearchPattern pattern, IJavaSearchScope scope, IMatchCounter counter, IProgressMonitor monitor) throws CoreException {
+		final boolean ignoreInaccurate= NewSearchUI.arePotentialMatchesIgnored();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+					return;
+				}
+				Object o= match.getElement();
+				if (o instanceof IJavaElement) {
+					IJavaElement e= (IJavaElement) o;
+					if (e.getAncestor(IJavaElement.COMPILATION_UNIT) != null
+							|| e.getAncestor(IJavaElement.CLASS_FILE) != null) {
+						counter.count(match);
+					}
+				}
+			}
+		}, monitor);
+	}
+
+	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		return factory.createWorkspaceScope(factory.isInsideJRE(element));
+	}
+
+	/**
+	 * Returns the simple name referenced by a reference match, e.g. <code>foo</code> for
+	 * <code>foo(bar())</code> and <code>Inner</code> for <code>Outer.Inner</code>.
+	 *
+	 * @param match the match
+	 * @param contents the contents of the openables seen so far
+	 * @return the name or <code>null</code> if it can't be determined
+	 */
+	private static String getReferencedName(SearchMatch match, Map<IOpenable, String> contents) {
+		IOpenable openable= ((IJavaElement) match.getElement()).getOpenable();
+		if (openable == null) {
+			return null;
+		}
+		String text= contents.computeIfAbsent(openable, o -> {
+			try {
+				IBuffer buffer= o.getBuffer();
+				return buffer != null ? buffer.getContents() : null;
+			} catch (JavaModelException e) {
+				return null;
+			}
+		});
+		int offset= match.getOffset();
+		int length= match.getLength();
+		if (text == null || offset < 0 || length <= 0 || offset + length > text.length()) {
+			return null;
+		}
+		int end= offset;
+		while (end < offset + length) {
+			char c= text.charAt(end);
+			if (c == '(' || c == '<' || c == '[') {
+				break;
+			}
+			end++;
+		}
+		while (end > offset && Character.isWhitespace(text.charAt(end - 1))) {
+			end--;
+		}
+		int start= end;
+		while (start > offset && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+			start--;
+		}
+		return start < end ? text.substring(start, end) : null;
+	}
+
+	/**
+	 * Returns the element selected at the start of a match.
+	 *
+	 * @param match the match
+	 * @return the element or <code>null</code> if none could be determined
+	 */
+	private static IJavaElement getSelectedElement(SearchMatch match) {
+		IOpenable openable= ((IJavaElement) match.getElement()).getOpenable();
+		if (openable instanceof ICodeAssist && match.getOffset() >= 0) {
+			try {
+				IJavaElement[] elements= ((ICodeAssist) openable).codeSelect(match.getOffset(), 0);
+				if (elements.length == 1) {
+					return elements[0];
+				}
+			} catch (JavaModelException e) {
+				// not attributed
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		IJavaElementDelta delta= event.getDelta();
+		if (!fSubtypes.isEmpty() && affectsHierarchies(delta)) {
+			fSubtypes.clear();
+		}
+		int irrelevantFlags= event.getType() == ElementChangedEvent.POST_RECONCILE ? IRRELEVANT_RECONCILE_FLAGS : IRRELEVANT_FLAGS;
+		if (!fReferenceCounts.isEmpty() && affectsReferences(delta, irrelevantFlags)) {
+			for (Batch batch : fRunningBatches) {
+				batch.fInvalidated= true;
+			}
+			fPendingBatches.clear();
+			fReferenceCounts.clear();
+		}
+	}
+
+	private static boolean affectsReferences(IJavaElementDelta delta, int irrelevantFlags) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~irrelevantFlags) != 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsReferences(child, irrelevantFlags)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean affectsHierarchies(IJavaElementDelta delta) {
+		int elementType= delta.getElement().getElementType();
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			// added or removed members don't change hierarchies
+			return elementType != IJavaElement.METHOD && elementType != IJavaElement.FIELD && elementType != IJavaElement.INITIALIZER;
+		}
+		int flags= delta.getFlags();
+		if ((flags & HIERARCHY_FLAGS) != 0) {
+			return true;
+		}
+		if (elementType == IJavaElement.COMPILATION_UNIT && (flags & IJavaElementDelta.F_CONTENT) != 0
+				&& (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+			// changed without details
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsHierarchies(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
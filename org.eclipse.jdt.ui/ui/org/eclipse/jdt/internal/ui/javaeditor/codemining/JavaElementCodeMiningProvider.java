@@ -14,14 +14,21 @@
 package org.eclipse.jdt.internal.ui.javaeditor.codemining;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.source.ISourceViewerExtension5;
@@ -67,6 +74,15 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 
 	private final boolean editorEnabled;
 
+	/**
+	 * The document region shown in the viewer, updated on the UI thread.
+	 */
+	private volatile IRegion fVisibleRegion;
+
+	private ITextViewer fTrackedViewer;
+
+	private IViewportListener fViewportListener;
+
 	public JavaElementCodeMiningProvider() {
 		editorEnabled= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_CODEMINING_ENABLED);
 		showAtLeastOne= editorEnabled && JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_SHOW_CODEMINING_AT_LEAST_ONE);
@@ -90,6 +106,9 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return CompletableFuture.completedFuture(Collections.emptyList());
 			}
 		}
+		if (showReferences) {
+			trackVisibleRegion(viewer);
+		}
 		return CompletableFuture.supplyAsync(() -> {
 			monitor.isCanceled();
 			ITextEditor textEditor= super.getAdapter(ITextEditor.class);
@@ -101,6 +120,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				IJavaElement[] elements= unit.getChildren();
 				List<ICodeMining> minings= new ArrayList<>(elements.length);
 				collectMinings(unit, textEditor, unit.getChildren(), minings, viewer, monitor);
+				prepareReferenceCounts(minings);
 				// interrupt if editor was marked to be reconciled in the meantime
 				if (viewer instanceof ISourceViewerExtension5) {
 					ISourceViewerExtension5 codeMiningViewer= (ISourceViewerExtension5)viewer;
@@ -117,6 +137,81 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 		});
 	}
 
+	/**
+	 * Announces the elements of the reference minings to the search cache, so that the references
+	 * to all elements are searched together, the ones on visible lines first.
+	 *
+	 * @param minings the minings
+	 */
+	private void prepareReferenceCounts(List<ICodeMining> minings) {
+		IRegion visibleRegion= fVisibleRegion;
+		List<IJavaElement> visible= new ArrayList<>();
+		List<IJavaElement> others= new ArrayList<>();
+		for (ICodeMining mining : minings) {
+			if (mining instanceof JavaReferenceCodeMining) {
+				int offset= mining.getPosition().getOffset();
+				if (visibleRegion != null && offset >= visibleRegion.getOffset() && offset <= visibleRegion.getOffset() + visibleRegion.getLength()) {
+					visible.add(((JavaReferenceCodeMining) mining).getElement());
+				} else {
+					others.add(((JavaReferenceCodeMining) mining).getElement());
+				}
+			}
+		}
+		JavaCodeMiningSearchCache.getDefault().prepareReferenceCounts(Arrays.asList(visible, others));
+	}
+
+	/**
+	 * Starts to track the document region shown in the given viewer.
+	 *
+	 * @param viewer the viewer
+	 */
+	private synchronized void trackVisibleRegion(ITextViewer viewer) {
+		if (fTrackedViewer == viewer) {
+			return;
+		}
+		StyledText textWidget= viewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return;
+		}
+		fTrackedViewer= viewer;
+		fViewportListener= verticalOffset -> updateVisibleRegion(viewer);
+		IViewportListener listener= fViewportListener;
+		Runnable install= () -> {
+			if (!textWidget.isDisposed()) {
+				viewer.addViewportListener(listener);
+				updateVisibleRegion(viewer);
+			}
+		};
+		Display display= textWidget.getDisplay();
+		if (display.getThread() == Thread.currentThread()) {
+			install.run();
+		} else {
+			// don't block on the UI thread, which may wait for the minings
+			display.asyncExec(install);
+		}
+	}
+
+	private void updateVisibleRegion(ITextViewer viewer) {
+		int start= viewer.getTopIndexStartOffset();
+		int end= viewer.getBottomIndexEndOffset();
+		fVisibleRegion= new Region(start, Math.max(0, end - start));
+	}
+
+	@Override
+	public synchronized void dispose() {
+		ITextViewer viewer= fTrackedViewer;
+		IViewportListener listener= fViewportListener;
+		if (viewer != null) {
+			StyledText textWidget= viewer.getTextWidget();
+			if (textWidget != null && !textWidget.isDisposed()) {
+				textWidget.getDisplay().asyncExec(() -> viewer.removeViewportListener(listener));
+			}
+		}
+		fTrackedViewer= null;
+		fViewportListener= null;
+		super.dispose();
+	}
+
 	/**
 	 * Collect java code minings.
 	 *
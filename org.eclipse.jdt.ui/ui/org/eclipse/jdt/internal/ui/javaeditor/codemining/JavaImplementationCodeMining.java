@@ -15,11 +15,9 @@
 package org.eclipse.jdt.internal.ui.javaeditor.codemining;
 
 import java.text.MessageFormat;
-import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.swt.SWT;
@@ -159,11 +157,10 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @param type the java element type.
 	 * @param monitor the monitor
 	 * @return the count of implementation for the given java element type.
-	 * @throws JavaModelException throws when Java error
+	 * @throws CoreException throws when Java error
 	 */
-	private static long countTypeImplementations(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).count();
+	private static long countTypeImplementations(IType type, IProgressMonitor monitor) throws CoreException {
+		return JavaCodeMiningSearchCache.getDefault().getSourceSubtypes(type, monitor).length;
 	}
 
 	/**
@@ -172,11 +169,10 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @param type the java element type.
 	 * @param monitor the monitor
 	 * @return the first type implementation.
-	 * @throws JavaModelException throws when Java error
+	 * @throws CoreException throws when Java error
 	 */
-	private static IType getTypeImplementation(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).findFirst().get();
+	private static IType getTypeImplementation(IType type, IProgressMonitor monitor) throws CoreException {
+		return JavaCodeMiningSearchCache.getDefault().getSourceSubtypes(type, monitor)[0];
 	}
 
 	/**
@@ -191,10 +187,8 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 		if (method == null) {
 			return 0;
 		}
-		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
-		long count= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).count();
+		IType[] subtypes= JavaCodeMiningSearchCache.getDefault().getSourceSubtypes(method.getDeclaringType(), monitor);
+		long count= Stream.of(subtypes).filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).count();
 		return count;
 	}
 
@@ -207,10 +201,8 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws CoreException throws when java error
 	 */
 	private static IMethod getMethodImplementation(IMethod method, IProgressMonitor monitor) throws CoreException {
-		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
-		Optional<IType> foundType= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).findFirst();
+		IType[] subtypes= JavaCodeMiningSearchCache.getDefault().getSourceSubtypes(method.getDeclaringType(), monitor);
+		Optional<IType> foundType= Stream.of(subtypes).filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).findFirst();
 		return foundType.get().getMethod(method.getElementName(), method.getParameterTypes());
 	}
 
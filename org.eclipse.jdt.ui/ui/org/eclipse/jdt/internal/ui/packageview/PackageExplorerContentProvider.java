@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,9 @@ package org.eclipse.jdt.internal.ui.packageview;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -83,6 +84,18 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	protected static final int GRANT_PARENT= 1 << 1;
 	protected static final int PROJECT= 1 << 2;
 
+	/**
+	 * Time in milliseconds during which updates posted while other updates are still queued are
+	 * collected before they are applied together. A single update is applied without delay.
+	 */
+	private static final int UPDATE_DELAY= 50;
+
+	/**
+	 * Time in milliseconds the update job may spend in the UI thread before it yields to the event
+	 * loop and continues with the remaining updates later.
+	 */
+	private static final long UPDATE_TIME_BUDGET= 50;
+
 	private TreeViewer fViewer;
 	private Object fInput;
 	private boolean fIsFlatLayout;
@@ -164,11 +177,11 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 						fPendingUpdates.addAll(runnables);
 					}
 				}
-				postAsyncUpdate(ctrl.getDisplay());
+				postAsyncUpdate(ctrl.getDisplay(), hasPendingUpdates);
 			}
 		}
 	}
-	private void postAsyncUpdate(final Display display) {
+	private void postAsyncUpdate(final Display display, boolean delay) {
 		if (fUpdateJob == null) {
 			fUpdateJob= new UIJob(display, PackagesMessages.PackageExplorerContentProvider_update_job_description) {
 				@Override
@@ -176,21 +189,33 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 					TreeViewer viewer= fViewer;
 					if (viewer != null && viewer.isBusy()) {
 						schedule(100); // reschedule when viewer is busy: bug 184991
-					} else {
-						runPendingUpdates();
+					} else if (!runPendingUpdates(UPDATE_TIME_BUDGET)) {
+						schedule(); // continue after pending UI events have been processed
 					}
 					return Status.OK_STATUS;
 				}
 			};
 			fUpdateJob.setSystem(true);
 		}
-		fUpdateJob.schedule();
+		fUpdateJob.schedule(delay ? UPDATE_DELAY : 0);
 	}
 
 	/**
 	 * Run all of the runnables that are the widget updates. Must be called in the display thread.
 	 */
 	public void runPendingUpdates() {
+		runPendingUpdates(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Runs the pending widget updates until the given time is used up. Must be called in the
+	 * display thread.
+	 *
+	 * @param timeBudget the time in milliseconds after which no further update is started
+	 * @return <code>true</code> if all pending updates have been run, <code>false</code> if some
+	 *         remain pending
+	 */
+	private boolean runPendingUpdates(long timeBudget) {
 		Collection<Runnable> pendingUpdates;
 		synchronized (this) {
 			pendingUpdates= fPendingUpdates;
@@ -199,16 +224,151 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		if (pendingUpdates != null && fViewer != null) {
 			Control control = fViewer.getControl();
 			if (control != null && !control.isDisposed()) {
-				runUpdates(pendingUpdates);
+				List<Runnable> remaining= runUpdates(pendingUpdates, timeBudget);
+				if (!remaining.isEmpty()) {
+					synchronized (this) {
+						if (fPendingUpdates != null) {
+							remaining.addAll(fPendingUpdates);
+						}
+						fPendingUpdates= remaining;
+					}
+					return false;
+				}
 			}
 		}
+		return true;
 	}
 
 	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+		runUpdates(runnables, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Coalesces and runs the given updates.
+	 *
+	 * @param runnables the updates
+	 * @param timeBudget the time in milliseconds after which no further update is started
+	 * @return the updates that have not been run
+	 */
+	private List<Runnable> runUpdates(Collection<Runnable> runnables, long timeBudget) {
+		List<Runnable> updates= coalesceUpdates(runnables);
+		long start= System.currentTimeMillis();
+		for (int i= 0; i < updates.size(); i++) {
+			if (i > 0 && System.currentTimeMillis() - start >= timeBudget) {
+				return new ArrayList<>(updates.subList(i, updates.size()));
+			}
+			updates.get(i).run();
+		}
+		return new ArrayList<>(0);
+	}
+
+	/**
+	 * Removes the updates that are made redundant by a refresh of the same element or of one of
+	 * its ancestors in the viewer. The order of the remaining updates is kept. Must be called in the
+	 * display thread.
+	 *
+	 * @param runnables the updates
+	 * @return the remaining updates
+	 */
+	private List<Runnable> coalesceUpdates(Collection<Runnable> runnables) {
+		List<Runnable> result= new ArrayList<>(runnables.size());
+		Map<Object, Boolean> refreshed= new HashMap<>();
+		boolean refreshAll= false;
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate update= (RefreshUpdate) runnable;
+				for (Object element : update.fElements) {
+					if (element == null || element.equals(fViewer.getInput())) {
+						refreshAll|= update.fUpdateLabels;
+					}
+					if (!Boolean.TRUE.equals(refreshed.get(element))) {
+						refreshed.put(element, Boolean.valueOf(update.fUpdateLabels));
+					}
+				}
+			}
 		}
+		if (runnables.size() < 2 || refreshed.isEmpty()) {
+			result.addAll(runnables);
+			return result;
+		}
+
+		Map<Object, Boolean> refreshesKept= new HashMap<>();
+		for (Runnable runnable : runnables) {
+			if (runnable instanceof RefreshUpdate) {
+				RefreshUpdate update= (RefreshUpdate) runnable;
+				List<Object> elements= new ArrayList<>(update.fElements.size());
+				for (Object element : update.fElements) {
+					boolean isRoot= element == null || element.equals(fViewer.getInput());
+					if (isRoot ? !refreshAll || update.fUpdateLabels : !refreshAll && !isRefreshedAbove(element, refreshed, update.fUpdateLabels, false)) {
+						Boolean kept= refreshesKept.get(element);
+						if (kept == null || !kept.booleanValue() && update.fUpdateLabels) {
+							refreshesKept.put(element, Boolean.valueOf(update.fUpdateLabels));
+							elements.add(element);
+						}
+					}
+				}
+				if (!elements.isEmpty()) {
+					result.add(elements.size() == update.fElements.size() ? update : new RefreshUpdate(elements, update.fUpdateLabels));
+				}
+			} else if (runnable instanceof AddUpdate) {
+				if (!refreshAll && !isRefreshedAbove(((AddUpdate) runnable).fParent, refreshed, false, true)) {
+					result.add(runnable);
+				}
+			} else if (runnable instanceof RemoveUpdate) {
+				if (!refreshAll && !isRefreshedAbove(((RemoveUpdate) runnable).fElement, refreshed, false, false)) {
+					result.add(runnable);
+				}
+			} else if (runnable instanceof UpdateIconUpdate) {
+				if (!refreshAll && !isRefreshedAbove(((UpdateIconUpdate) runnable).fElement, refreshed, true, true)) {
+					result.add(runnable);
+				}
+			} else {
+				result.add(runnable);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Tells whether every occurrence of an element in the viewer is refreshed by a refresh of one of
+	 * its ancestors. Elements that are not in the viewer are looked up by their parent chain.
+	 *
+	 * @param element the element
+	 * @param refreshed the refreshed elements, mapped to whether their labels are updated
+	 * @param needLabels whether the refresh must update labels
+	 * @param includeSelf whether a refresh of the element itself counts
+	 * @return <code>true</code> if the element is refreshed with an ancestor
+	 */
+	private boolean isRefreshedAbove(Object element, Map<Object, Boolean> refreshed, boolean needLabels, boolean includeSelf) {
+		Widget[] items= fViewer.testFindItems(element);
+		if (items.length == 0 || (items.length == 1 && !(items[0] instanceof TreeItem))) {
+			Object current= includeSelf ? element : getParent(element);
+			while (current != null) {
+				if (isRefreshed(current, refreshed, needLabels)) {
+					return true;
+				}
+				current= getParent(current);
+			}
+			return false;
+		}
+		for (Widget item : items) {
+			if (!(item instanceof TreeItem)) {
+				return false;
+			}
+			TreeItem current= includeSelf ? (TreeItem) item : ((TreeItem) item).getParentItem();
+			while (current != null && !isRefreshed(current.getData(), refreshed, needLabels)) {
+				current= current.getParentItem();
+			}
+			if (current == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isRefreshed(Object element, Map<Object, Boolean> refreshed, boolean needLabels) {
+		Boolean updateLabels= refreshed.get(element);
+		return updateLabels != null && (updateLabels.booleanValue() || !needLabels);
 	}
 
 
@@ -837,7 +997,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	 * @param runnables the resulting view changes as runnables (type {@link Runnable})
 	 */
 	 private void postUpdateIcon(final IJavaElement element, Collection<Runnable> runnables) {
-		 runnables.add(() -> fViewer.update(element, new String[]{IBasicPropertyConstants.P_IMAGE}));
+		 runnables.add(new UpdateIconUpdate(element));
 	 }
 
 	/**
@@ -949,46 +1109,108 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
+		runnables.add(new RefreshUpdate(toRefresh, updateLabels));
+	}
+
+	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
+		runnables.add(new AddUpdate(parent, element));
+	}
+
+	protected void postRemove(final Object element, Collection<Runnable> runnables) {
+		runnables.add(new RemoveUpdate(element));
+	}
+
+	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
 		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
+			fViewer.refresh(root, true);
+			// trigger a synthetic selection change so that action refresh their
+			// enable state.
+			fViewer.setSelection(fViewer.getSelection());
+		});
+	}
+
+
+	/**
+	 * Refreshes elements that are shown in the viewer.
+	 */
+	private final class RefreshUpdate implements Runnable {
+		final List<Object> fElements;
+		final boolean fUpdateLabels;
+
+		RefreshUpdate(List<Object> elements, boolean updateLabels) {
+			fElements= elements;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			for (Object element : fElements.toArray()) {
 				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
+					fViewer.refresh(element, fUpdateLabels);
 				}
 			}
-		});
+		}
 	}
 
-	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
+	/**
+	 * Adds an element unless a refresh already added it.
+	 */
+	private final class AddUpdate implements Runnable {
+		final Object fParent;
+		final Object fElement;
+
+		AddUpdate(Object parent, Object element) {
+			fParent= parent;
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			for (Widget item : fViewer.testFindItems(fElement)) {
 				if (item instanceof TreeItem && !item.isDisposed()) {
 					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
+					if (parentItem != null && !parentItem.isDisposed() && fParent.equals(parentItem.getData())) {
 						return; // no add, element already added (most likely by a refresh)
 					}
 				}
 			}
-			fViewer.add(parent, element);
-		});
+			fViewer.add(fParent, fElement);
+		}
 	}
 
-	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
+	/**
+	 * Removes an element that is shown in the viewer.
+	 */
+	private final class RemoveUpdate implements Runnable {
+		final Object fElement;
+
+		RemoveUpdate(Object element) {
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			if (fViewer.testFindItems(fElement).length > 0) {
+				fViewer.remove(fElement);
 			}
-		});
+		}
 	}
 
-	protected void postProjectStateChanged(final Object root, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			fViewer.refresh(root, true);
-			// trigger a synthetic selection change so that action refresh their
-			// enable state.
-			fViewer.setSelection(fViewer.getSelection());
-		});
-	}
+	/**
+	 * Updates the icon of an element.
+	 */
+	private final class UpdateIconUpdate implements Runnable {
+		final Object fElement;
 
+		UpdateIconUpdate(Object element) {
+			fElement= element;
+		}
+
+		@Override
+		public void run() {
+			fViewer.update(fElement, new String[]{IBasicPropertyConstants.P_IMAGE});
+		}
+	}
 
 	/*
 	 * @see org.eclipse.jface.util.IPropertyChangeListener#propertyChange(org.eclipse.jface.util.PropertyChangeEvent)
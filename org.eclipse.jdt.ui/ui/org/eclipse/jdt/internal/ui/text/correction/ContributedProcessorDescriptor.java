@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,7 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaUI;
 
@@ -47,11 +48,14 @@ public final class ContributedProcessorDescriptor {
 	private Boolean fStatus;
 	private String fRequiredSourceLevel;
 	private final Set<String> fHandledMarkerTypes;
+	private final boolean fRequiresUIThread;
+	private int fBudgetExceededCount;
 
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
 
 	private static final String REQUIRED_SOURCE_LEVEL= "requiredSourceLevel"; //$NON-NLS-1$
+	private static final String REQUIRES_UI_THREAD= "requiresUIThread"; //$NON-NLS-1$
 
 	private static final String HANDLED_MARKER_TYPES= "handledMarkerTypes"; //$NON-NLS-1$
 	private static final String MARKER_TYPE= "markerType"; //$NON-NLS-1$
@@ -65,6 +69,8 @@ public final class ContributedProcessorDescriptor {
 		}
 		fRequiredSourceLevel= element.getAttribute(REQUIRED_SOURCE_LEVEL);
 		fHandledMarkerTypes= testMarkerTypes ? getHandledMarkerTypes(element) : null;
+		// Not Boolean.parse() to ensure fRequiresUIThread is true if attribute is not set/null
+		fRequiresUIThread= !Boolean.FALSE.toString().equals(element.getAttribute(REQUIRES_UI_THREAD));
 	}
 
 	private Set<String> getHandledMarkerTypes(IConfigurationElement element) {
@@ -127,7 +133,7 @@ public final class ContributedProcessorDescriptor {
 		return false;
 	}
 
-	public Object getProcessor(ICompilationUnit cunit, Class<?> expectedType) {
+	public synchronized Object getProcessor(ICompilationUnit cunit, Class<?> expectedType) {
 		if (matches(cunit)) {
 			if (fProcessorInstance == null) {
 				try {
@@ -156,4 +162,44 @@ public final class ContributedProcessorDescriptor {
 		return fHandledMarkerTypes == null || fHandledMarkerTypes.contains(markerType);
 	}
 
+	/**
+	 * Returns whether the processor has to be evaluated in the thread that requests the
+	 * proposals. Processors which do not require the UI thread are evaluated concurrently.
+	 *
+	 * @return the <code>requiresUIThread</code> flag of the described extension
+	 * @since 3.23
+	 */
+	public boolean requiresUIThread() {
+		return fRequiresUIThread;
+	}
+
+	public String getId() {
+		return fConfigurationElement.getAttribute(ID);
+	}
+
+	/**
+	 * Records that the processor has not finished within its time budget. The first time, this is
+	 * logged with the contributor of the processor.
+	 *
+	 * @param budget the budget in milliseconds
+	 * @since 3.23
+	 */
+	public void budgetExceeded(long budget) {
+		synchronized (this) {
+			if (fBudgetExceededCount++ > 0)
+				return;
+		}
+		String message= Messages.format(CorrectionMessages.JavaCorrectionProcessor_budget_exceeded,
+				new Object[] { getId(), fConfigurationElement.getContributor().getName(), Long.valueOf(budget) });
+		JavaPlugin.log(new Status(IStatus.WARNING, JavaUI.ID_PLUGIN, message));
+	}
+
+	/**
+	 * @return how often the processor has not finished within its time budget
+	 * @since 3.23
+	 */
+	public synchronized int getBudgetExceededCount() {
+		return fBudgetExceededCount;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,21 @@ package org.eclipse.jdt.internal.ui.text.correction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
@@ -54,6 +64,7 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.java.CompletionProposalComparator;
 import org.eclipse.jdt.ui.text.java.IInvocationContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
@@ -72,6 +83,15 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	private static final String QUICKFIX_PROCESSOR_CONTRIBUTION_ID= "quickFixProcessors"; //$NON-NLS-1$
 	private static final String QUICKASSIST_PROCESSOR_CONTRIBUTION_ID= "quickAssistProcessors"; //$NON-NLS-1$
 
+	/** The name of the performance event used to trace the processors. */
+	private static final String PERFORMANCE_EVENT= JavaPlugin.getPluginId() + "/perf/quick_assist/processors"; //$NON-NLS-1$
+	private static final boolean MEASURE_PERFORMANCE= PerformanceStats.isEnabled(PERFORMANCE_EVENT);
+
+	/** The number of threads evaluating processors, shared by all invocations. */
+	private static final int PROCESSOR_THREADS= Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static ExecutorService fgExecutor;
+
 	private static ContributedProcessorDescriptor[] fgContributedAssistProcessors= null;
 	private static ContributedProcessorDescriptor[] fgContributedCorrectionProcessors= null;
 
@@ -105,6 +125,21 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		return fgContributedAssistProcessors;
 	}
 
+	private static long getProcessorBudget() {
+		return PreferenceConstants.getPreferenceStore().getInt(PreferenceConstants.CORRECTION_PROCESSOR_BUDGET);
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			fgExecutor= Executors.newFixedThreadPool(PROCESSOR_THREADS, runnable -> {
+				Thread thread= new Thread(runnable, "Quick Assist Processor"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+
 	public static boolean hasCorrections(ICompilationUnit cu, int problemId, String markerType) {
 		SafeHasCorrections collector= new SafeHasCorrections(cu, problemId);
 		for (ContributedProcessorDescriptor processor : getCorrectionProcessors()) {
@@ -150,14 +185,8 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 
 	public static boolean hasAssists(IInvocationContext context) {
 		SafeHasAssist collector= new SafeHasAssist(context);
-
-		for (ContributedProcessorDescriptor processor :  getAssistProcessors()) {
-			collector.process(processor);
-			if (collector.hasAssists()) {
-				return true;
-			}
-		}
-		return false;
+		collector.process(getAssistProcessors());
+		return collector.hasAssists();
 	}
 
 	private JavaCorrectionAssistant fAssistant;
@@ -320,38 +349,171 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		}
 	}
 
-	private static abstract class SafeCorrectionProcessorAccess implements ISafeRunnable {
+	/**
+	 * Evaluates quick fix and quick assist processors and collects their outcome. The processors
+	 * of one invocation are evaluated concurrently, except for those which require the UI thread.
+	 * A processor that does not finish within the {@link #getProcessorBudget() budget} after the
+	 * processors requiring the UI thread is cancelled if it has not started yet, or else left
+	 * running in the background, and its outcome is dropped, so that the outcome of the other
+	 * processors is delivered without waiting for it. The processors of all invocations share a
+	 * small pool of threads.
+	 *
+	 * @param <T> the type of the outcome of a processor
+	 */
+	private static abstract class SafeCorrectionProcessorAccess<T> {
 		private MultiStatus fMulti= null;
-		private ContributedProcessorDescriptor fDescriptor;
 
 		public void process(ContributedProcessorDescriptor[] desc) {
-			for (ContributedProcessorDescriptor d : desc) {
-				fDescriptor= d;
-				SafeRunner.run(this);
+			long budget= getProcessorBudget();
+			if (budget <= 0 || desc.length < 2) {
+				for (ContributedProcessorDescriptor d : desc) {
+					process(d);
+					if (isDone()) {
+						return;
+					}
+				}
+				return;
+			}
+
+			prepare();
+			Object[] outcomes= new Object[desc.length];
+			boolean[] finished= new boolean[desc.length];
+			Future<?>[] futures= new Future<?>[desc.length];
+			BlockingQueue<Integer> finishedQueue= new LinkedBlockingQueue<>();
+			int pending= 0;
+			for (int i= 0; i < desc.length; i++) {
+				ContributedProcessorDescriptor d= desc[i];
+				if (!d.requiresUIThread()) {
+					int index= i;
+					futures[i]= getExecutor().submit(() -> {
+						outcomes[index]= computeSafely(d);
+						finishedQueue.add(Integer.valueOf(index));
+					});
+					pending++;
+				}
+			}
+			boolean done= false;
+			for (int i= 0; i < desc.length && !done; i++) {
+				if (desc[i].requiresUIThread()) {
+					outcomes[i]= computeSafely(desc[i]);
+					finished[i]= true;
+					done= isConclusive(outcomes[i]);
+				}
+			}
+			// the budget starts when the calling thread is free to wait
+			long deadline= System.currentTimeMillis() + budget;
+			try {
+				while (pending > 0 && !done) {
+					Integer index= finishedQueue.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+					if (index == null) {
+						break;
+					}
+					pending--;
+					finished[index.intValue()]= true;
+					done= isConclusive(outcomes[index.intValue()]);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			for (int i= 0; i < desc.length; i++) {
+				if (finished[i]) {
+					accept(outcomes[i]);
+				} else if (futures[i] != null) {
+					// processors are not interrupted, since an interrupt closes the channels that Java model caches read from
+					futures[i].cancel(false);
+					if (!done) {
+						desc[i].budgetExceeded(budget);
+					}
+				}
 			}
 		}
 
 		public void process(ContributedProcessorDescriptor desc) {
-			fDescriptor= desc;
-			SafeRunner.run(this);
+			accept(computeSafely(desc));
 		}
 
-		@Override
-		public void run() throws Exception {
-			safeRun(fDescriptor);
+		@SuppressWarnings("unchecked")
+		private void accept(Object outcome) {
+			if (outcome != null) {
+				collect((T) outcome);
+			}
 		}
 
-		protected abstract void safeRun(ContributedProcessorDescriptor processor) throws Exception;
+		@SuppressWarnings("unchecked")
+		private boolean isConclusive(Object outcome) {
+			return outcome != null && isConclusiveOutcome((T) outcome);
+		}
 
-		@Override
-		public void handleException(Throwable exception) {
+		private T computeSafely(ContributedProcessorDescriptor desc) {
+			List<T> outcome= new ArrayList<>(1);
+			PerformanceStats stats= null;
+			if (MEASURE_PERFORMANCE) {
+				stats= PerformanceStats.getStats(PERFORMANCE_EVENT, desc.getId());
+				stats.startRun();
+			}
+			SafeRunner.run(new ISafeRunnable() {
+				@Override
+				public void run() throws Exception {
+					outcome.add(safeRun(desc));
+				}
+
+				@Override
+				public void handleException(Throwable exception) {
+					SafeCorrectionProcessorAccess.this.handleException(exception);
+				}
+			});
+			if (stats != null) {
+				stats.endRun();
+			}
+			return outcome.isEmpty() ? null : outcome.get(0);
+		}
+
+		/**
+		 * Called before the processors are evaluated concurrently, to compute the state that they
+		 * share in the calling thread.
+		 */
+		protected void prepare() {
+		}
+
+		/**
+		 * Evaluates the given processor. Called in the thread evaluating the processor.
+		 *
+		 * @param processor the processor descriptor
+		 * @return the outcome of the processor, or <code>null</code> if there is none
+		 * @throws Exception if the processor fails
+		 */
+		protected abstract T safeRun(ContributedProcessorDescriptor processor) throws Exception;
+
+		/**
+		 * Collects the outcome of a processor. Called in the calling thread, in the order of the
+		 * processors.
+		 *
+		 * @param outcome the outcome of a processor
+		 */
+		protected abstract void collect(T outcome);
+
+		/**
+		 * Tells whether the given outcome makes the outcome of the other processors irrelevant.
+		 *
+		 * @param outcome the outcome of a processor
+		 * @return <code>true</code> to stop waiting for the other processors
+		 */
+		protected boolean isConclusiveOutcome(T outcome) {
+			return false;
+		}
+
+		protected boolean isDone() {
+			return false;
+		}
+
+		public synchronized void handleException(Throwable exception) {
 			if (fMulti == null) {
 				fMulti= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.OK, CorrectionMessages.JavaCorrectionProcessor_error_status, null);
 			}
 			fMulti.merge(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_status, exception));
 		}
 
-		public IStatus getStatus() {
+		public synchronized IStatus getStatus() {
 			if (fMulti == null) {
 				return Status.OK_STATUS;
 			}
@@ -360,33 +522,45 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 
 	}
 
-	private static class SafeCorrectionCollector extends SafeCorrectionProcessorAccess {
+	private static void prepareContext(IInvocationContext context) {
+		// the AST and the node finder of the context are created lazily and are not thread safe
+		context.getASTRoot();
+		context.getCoveringNode();
+		context.getCoveredNode();
+	}
+
+	private static class SafeCorrectionCollector extends SafeCorrectionProcessorAccess<IJavaCompletionProposal[]> {
 		private final IInvocationContext fContext;
 		private final Collection<IJavaCompletionProposal> fProposals;
-		private IProblemLocation[] fLocations;
+		private final Map<ContributedProcessorDescriptor, IProblemLocation[]> fLocations;
 
-		public SafeCorrectionCollector(IInvocationContext context, Collection<IJavaCompletionProposal> proposals) {
+		public SafeCorrectionCollector(IInvocationContext context, Collection<IJavaCompletionProposal> proposals, Map<ContributedProcessorDescriptor, IProblemLocation[]> locations) {
 			fContext= context;
 			fProposals= proposals;
+			fLocations= locations;
 		}
 
-		public void setProblemLocations(IProblemLocation[] locations) {
-			fLocations= locations;
+		@Override
+		protected void prepare() {
+			prepareContext(fContext);
 		}
 
 		@Override
-		public void safeRun(ContributedProcessorDescriptor desc) throws Exception {
+		public IJavaCompletionProposal[] safeRun(ContributedProcessorDescriptor desc) throws Exception {
 			IQuickFixProcessor curr= (IQuickFixProcessor) desc.getProcessor(fContext.getCompilationUnit(), IQuickFixProcessor.class);
 			if (curr != null) {
-				IJavaCompletionProposal[] res= curr.getCorrections(fContext, fLocations);
-				if (res != null) {
-					fProposals.addAll(Arrays.asList(res));
-				}
+				return curr.getCorrections(fContext, fLocations.get(desc));
 			}
+			return null;
+		}
+
+		@Override
+		protected void collect(IJavaCompletionProposal[] res) {
+			fProposals.addAll(Arrays.asList(res));
 		}
 	}
 
-	private static class SafeAssistCollector extends SafeCorrectionProcessorAccess {
+	private static class SafeAssistCollector extends SafeCorrectionProcessorAccess<IJavaCompletionProposal[]> {
 		private final IInvocationContext fContext;
 		private final IProblemLocation[] fLocations;
 		private final Collection<IJavaCompletionProposal> fProposals;
@@ -398,18 +572,26 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		}
 
 		@Override
-		public void safeRun(ContributedProcessorDescriptor desc) throws Exception {
+		protected void prepare() {
+			prepareContext(fContext);
+		}
+
+		@Override
+		public IJavaCompletionProposal[] safeRun(ContributedProcessorDescriptor desc) throws Exception {
 			IQuickAssistProcessor curr= (IQuickAssistProcessor) desc.getProcessor(fContext.getCompilationUnit(), IQuickAssistProcessor.class);
 			if (curr != null) {
-				IJavaCompletionProposal[] res= curr.getAssists(fContext, fLocations);
-				if (res != null) {
-					fProposals.addAll(Arrays.asList(res));
-				}
+				return curr.getAssists(fContext, fLocations);
 			}
+			return null;
+		}
+
+		@Override
+		protected void collect(IJavaCompletionProposal[] res) {
+			fProposals.addAll(Arrays.asList(res));
 		}
 	}
 
-	private static class SafeHasAssist extends SafeCorrectionProcessorAccess {
+	private static class SafeHasAssist extends SafeCorrectionProcessorAccess<Boolean> {
 		private final IInvocationContext fContext;
 		private boolean fHasAssists;
 
@@ -423,15 +605,33 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		}
 
 		@Override
-		public void safeRun(ContributedProcessorDescriptor desc) throws Exception {
+		protected void prepare() {
+			prepareContext(fContext);
+		}
+
+		@Override
+		public Boolean safeRun(ContributedProcessorDescriptor desc) throws Exception {
 			IQuickAssistProcessor processor= (IQuickAssistProcessor) desc.getProcessor(fContext.getCompilationUnit(), IQuickAssistProcessor.class);
-			if (processor != null && processor.hasAssists(fContext)) {
-				fHasAssists= true;
-			}
+			return Boolean.valueOf(processor != null && processor.hasAssists(fContext));
+		}
+
+		@Override
+		protected void collect(Boolean hasAssists) {
+			fHasAssists|= hasAssists.booleanValue();
+		}
+
+		@Override
+		protected boolean isConclusiveOutcome(Boolean hasAssists) {
+			return hasAssists.booleanValue();
+		}
+
+		@Override
+		protected boolean isDone() {
+			return fHasAssists;
 		}
 	}
 
-	private static class SafeHasCorrections extends SafeCorrectionProcessorAccess {
+	private static class SafeHasCorrections extends SafeCorrectionProcessorAccess<Boolean> {
 		private final ICompilationUnit fCu;
 		private final int fProblemId;
 		private boolean fHasCorrections;
@@ -447,24 +647,30 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		}
 
 		@Override
-		public void safeRun(ContributedProcessorDescriptor desc) throws Exception {
+		public Boolean safeRun(ContributedProcessorDescriptor desc) throws Exception {
 			IQuickFixProcessor processor= (IQuickFixProcessor) desc.getProcessor(fCu, IQuickFixProcessor.class);
-			if (processor != null && processor.hasCorrections(fCu, fProblemId)) {
-				fHasCorrections= true;
-			}
+			return Boolean.valueOf(processor != null && processor.hasCorrections(fCu, fProblemId));
+		}
+
+		@Override
+		protected void collect(Boolean hasCorrections) {
+			fHasCorrections|= hasCorrections.booleanValue();
 		}
 	}
 
 
 	public static IStatus collectCorrections(IInvocationContext context, IProblemLocation[] locations, Collection<IJavaCompletionProposal> proposals) {
-		SafeCorrectionCollector collector= new SafeCorrectionCollector(context, proposals);
+		ArrayList<ContributedProcessorDescriptor> processors= new ArrayList<>();
+		Map<ContributedProcessorDescriptor, IProblemLocation[]> handledLocations= new HashMap<>();
 		for (ContributedProcessorDescriptor curr : getCorrectionProcessors()) {
 			IProblemLocation[] handled= getHandledProblems(locations, curr);
 			if (handled != null) {
-				collector.setProblemLocations(handled);
-				collector.process(curr);
+				processors.add(curr);
+				handledLocations.put(curr, handled);
 			}
 		}
+		SafeCorrectionCollector collector= new SafeCorrectionCollector(context, proposals, handledLocations);
+		collector.process(processors.toArray(new ContributedProcessorDescriptor[processors.size()]));
 		return collector.getStatus();
 	}
 
@@ -14,23 +14,22 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IStatus;
@@ -55,44 +54,6 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
  */
 public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
-	/**
-	 * Byte array wrapper
-	 * @since 3.6
-	 */
-	private static class ByteArrayWrapper {
-
-		private byte[] byteArray;
-
-		public ByteArrayWrapper(byte[] byteArray) {
-			this.byteArray= byteArray;
-		}
-		@Override
-		public int hashCode() {
-			return 31 + Arrays.hashCode(byteArray);
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (!(obj instanceof ByteArrayWrapper))
-				return false;
-			ByteArrayWrapper other= (ByteArrayWrapper)obj;
-			if (!Arrays.equals(byteArray, other.byteArray))
-				return false;
-			return true;
-		}
-	}
-
-
-	/**
-	 * Canonical name for UTF-8 encoding
-	 * @since 3.6
-	 */
-	private static final String UTF_8= "UTF-8"; //$NON-NLS-1$
-
 	/** The bucket capacity */
 	protected static final int BUCKET_CAPACITY= 4;
 
@@ -108,11 +69,23 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	protected static final float LOAD_FACTOR= 0.85f;
 
+	/**
+	 * The name of the directory in the plug-in state location holding the dictionary indexes
+	 * @since 3.23
+	 */
+	private static final String INDEX_DIRECTORY= "spelling"; //$NON-NLS-1$
+
+	/**
+	 * The maximal number of candidates with the same phonetic hash considered for proposals
+	 * @since 3.23
+	 */
+	private static final int MAX_CANDIDATES= 500; // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
 	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	private PhoneticHashTable fHashTable= new PhoneticHashTable(getInitialSize());
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -146,17 +119,42 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *
 	 * @param hash
 	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @return Array of candidates for the phonetic hash: <code>null</code> if there are none, the
+	 *         UTF-8 bytes of the word if there is one, or an <code>ArrayList</code> of the UTF-8
+	 *         bytes of the words otherwise
 	 */
 	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
+		final PhoneticHashTable table= fHashTable;
+		int entry= table.getFirst(hash.getBytes(StandardCharsets.UTF_8));
+		if (entry == 0)
 			return null;
-		}
-		return fHashBuckets.get(hashBytes);
+		byte[] first= table.getWordBytes(entry);
+		entry= table.getNext(entry);
+		if (entry == 0)
+			return first;
+		final ArrayList<byte[]> candidates= new ArrayList<>(BUCKET_CAPACITY);
+		candidates.add(first);
+		for (; entry != 0; entry= table.getNext(entry))
+			candidates.add(table.getWordBytes(entry));
+		return candidates;
+	}
+
+	/**
+	 * Returns all candidates with the same phonetic hash.
+	 *
+	 * @param hash
+	 *                   The hash to retrieve the candidates of
+	 * @param limit
+	 *                   The maximal number of candidates to return
+	 * @return List of candidates for the phonetic hash
+	 * @since 3.23
+	 */
+	protected final List<String> getCandidates(final String hash, final int limit) {
+		final PhoneticHashTable table= fHashTable;
+		final List<String> candidates= new ArrayList<>(BUCKET_CAPACITY);
+		for (int entry= table.getFirst(hash.getBytes(StandardCharsets.UTF_8)); entry != 0 && candidates.size() < limit; entry= table.getNext(entry))
+			candidates.add(table.getWord(entry));
+		return candidates;
 	}
 
 	/**
@@ -184,40 +182,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 			hash= hash2;
 
-			final Object candidates= getCandidates(hash);
-			if (candidates == null)
-				continue;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				if (distance < DISTANCE_THRESHOLD) {
-					buffer.setLength(0);
-					buffer.append(candidate);
-					if (sentence)
-						buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-					result.add(new RankedWordProposal(buffer.toString(), -distance));
-				}
-				continue;
-			}
-
-			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
-			for (int offset= 0; offset < candidateSize; offset++) {
+			for (String candidate : getCandidates(hash, MAX_CANDIDATES)) {
 
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -255,37 +221,10 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
-			distance= fDistanceAlgorithm.getDistance(word, candidate);
-			buffer.append(candidate);
-			if (sentence)
-				buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-			result.add(new RankedWordProposal(buffer.toString(), -distance));
-			return;
-		}
-
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final List<String> candidates= getCandidates(fHashProvider.getHash(word), Integer.MAX_VALUE);
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidates.size());
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (String candidate : candidates) {
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -314,7 +253,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		return fHashTable.isEmpty();
 	}
 
 	/**
@@ -463,30 +402,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	protected final void hashWord(final String word) {
 
 		final String hash= fHashProvider.getHash(word);
-		ByteArrayWrapper hashBytes;
-		byte[] wordBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-			wordBytes= word.getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return;
-		}
-
-		Object bucket= fHashBuckets.get(hashBytes);
-
-		if (bucket == null) {
-			fHashBuckets.put(hashBytes, wordBytes);
-		} else if (bucket instanceof ArrayList) {
-			@SuppressWarnings("unchecked")
-			ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
-			bucketList.add(wordBytes);
-		} else {
-			ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
-			list.add(bucket);
-			list.add(wordBytes);
-			fHashBuckets.put(hashBytes, list);
-		}
+		fHashTable.put(hash.getBytes(StandardCharsets.UTF_8), word.getBytes(StandardCharsets.UTF_8));
 	}
 
 	@Override
@@ -506,36 +422,12 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
-		if (candidates == null)
-			return false;
-		else if (candidates instanceof byte[]) {
-			String candidate;
-			try {
-				candidate= new String((byte[])candidates, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return false;
-			}
-			if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
+		final PhoneticHashTable table= fHashTable;
+		final byte[] wordBytes= word.getBytes(StandardCharsets.UTF_8);
+		final byte[] lowercaseWordBytes= word.toLowerCase().getBytes(StandardCharsets.UTF_8);
+		for (int entry= table.getFirst(fHashProvider.getHash(word).getBytes(StandardCharsets.UTF_8)); entry != 0; entry= table.getNext(entry)) {
+			if (table.isWord(entry, wordBytes) || table.isWord(entry, lowercaseWordBytes))
 				return true;
-			return false;
-		}
-		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
-		byte[] wordBytes;
-		byte[] lowercaseWordBytes;
-		try {
-			wordBytes= word.getBytes(UTF_8);
-			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return false;
-		}
-		for (byte[] candidate : candidateList) {
-			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
-				return true;
-			}
 		}
 		return false;
 	}
@@ -574,7 +466,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || !fHashTable.isEmpty();
 	}
 
 	/**
@@ -590,6 +482,21 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			 return fLoaded;
 
 		if (url != null) {
+			final File indexFile= fHashTable.isEmpty() ? getIndexFile(url) : null;
+			final String indexStamp= indexFile != null ? getIndexStamp(url) : null;
+			if (indexStamp != null) {
+				try {
+					PhoneticHashTable table= PhoneticHashTable.load(indexFile, indexStamp);
+					if (table != null) {
+						fHashTable= table;
+						fMustLoad= false;
+						return true;
+					}
+				} catch (IOException e) {
+					// rebuild the index
+				}
+			}
+
 			InputStream stream= null;
 			int line= 0;
 			try {
@@ -627,6 +534,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 								hashWord(word);
 						}
 					}
+					if (indexStamp != null)
+						writeIndex(indexFile, indexStamp);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -659,18 +568,82 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Returns the file in which the phonetic hash table built from the given word list is
+	 * persisted.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @return The index file or <code>null</code> if the word list is not indexed
+	 * @since 3.23
+	 */
+	protected File getIndexFile(final URL url) {
+		final JavaPlugin plugin= JavaPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		try {
+			String name= Integer.toHexString(url.toExternalForm().hashCode()) + ".index"; //$NON-NLS-1$
+			return plugin.getStateLocation().append(INDEX_DIRECTORY).append(name).toFile();
+		} catch (IllegalStateException e) {
+			// no state location
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the stamp identifying the current content of the given word list and the way it is
+	 * hashed. An index file is only used if it was written with the same stamp.
+	 *
+	 * @param url
+	 *                   The URL of the word list
+	 * @return The stamp or <code>null</code> if the modification time of the word list is unknown
+	 * @since 3.23
+	 */
+	private String getIndexStamp(final URL url) {
+		long lastModified;
+		long length;
+		try {
+			URLConnection connection= url.openConnection();
+			lastModified= connection.getLastModified();
+			length= connection.getContentLengthLong();
+			if (connection.getDoInput())
+				connection.getInputStream().close();
+		} catch (IOException e) {
+			return null;
+		}
+		if (lastModified == 0)
+			return null;
+		return url.toExternalForm() + '\n' + lastModified + '\n' + length + '\n' + getEncoding() + '\n' + fHashProvider.getClass().getName();
+	}
+
+	/**
+	 * Persists the phonetic hash table to the given index file and loads it back, so that it no
+	 * longer occupies the heap.
+	 *
+	 * @param indexFile
+	 *                   The index file
+	 * @param indexStamp
+	 *                   The stamp of the word list
+	 * @since 3.23
+	 */
+	private void writeIndex(final File indexFile, final String indexStamp) {
+		try {
+			fHashTable.write(indexFile, indexStamp);
+			PhoneticHashTable table= PhoneticHashTable.load(indexFile, indexStamp);
+			if (table != null)
+				fHashTable= table;
+		} catch (IOException e) {
+			// the index is only a cache, keep the table on the heap
+		}
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
 	 * @since 3.3.
 	 */
 	private void compact() {
-		Iterator<Object> iter= fHashBuckets.values().iterator();
-		while (iter.hasNext()) {
-			Object element= iter.next();
-			if (element instanceof ArrayList)
-				((ArrayList<?>)element).trimToSize();
-		}
+		fHashTable.trimToSize();
 	}
 
 	/**
@@ -697,7 +670,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	public synchronized void unload() {
 		fLoaded= false;
 		fMustLoad= true;
-		fHashBuckets.clear();
+		fHashTable= new PhoneticHashTable(getInitialSize());
 	}
 
 	@Override
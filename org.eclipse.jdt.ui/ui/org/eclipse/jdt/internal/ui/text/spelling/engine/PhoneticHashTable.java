@@ -0,0 +1,432 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Table mapping phonetic hashes to the words of a dictionary.
+ * <p>
+ * The table only consists of primitive buffers: the phonetic hashes and words are stored as
+ * length prefixed UTF-8 bytes in one data buffer, the hashes are looked up by open addressing
+ * with linear probing, and the words sharing a hash are chained through an entry buffer in the
+ * order they were added. This allows to write the table to a file and to read it back into memory
+ * without any parsing. A table loaded from a file is kept in a direct buffer outside the heap, and
+ * the file is closed right away, so that it is not locked while the table is in use. Such a table
+ * is copied to the heap when words are added.
+ * </p>
+ *
+ * @since 3.23
+ */
+final class PhoneticHashTable {
+
+	/** Magic number of index files */
+	private static final int MAGIC= 0x4A535049;
+
+	/** Version of the index file format */
+	private static final int VERSION= 1;
+
+	/** Maximal length in bytes of hashes and words */
+	private static final int MAX_LENGTH= 0xFFFF;
+
+	/** Number of ints per slot: first entry and last entry of the chain */
+	private static final int SLOT_SIZE= 2;
+
+	/** Number of ints per entry: hash offset, word offset and next entry */
+	private static final int ENTRY_SIZE= 3;
+
+	/** Slots, entry indices are stored 1-based with 0 meaning empty */
+	private IntBuffer fSlots;
+
+	/** Entries */
+	private IntBuffer fEntries;
+
+	/** Length prefixed hashes and words */
+	private ByteBuffer fData;
+
+	/** Number of slots, always a power of two */
+	private int fCapacity;
+
+	/** Number of distinct hashes */
+	private int fHashCount;
+
+	/** Number of entries */
+	private int fEntryCount;
+
+	/** Number of used bytes in the data buffer */
+	private int fDataSize;
+
+	/** <code>true</code> iff the buffers are loaded from an index file */
+	private boolean fLoaded;
+
+	/**
+	 * Creates a new empty table.
+	 *
+	 * @param initialSize the expected number of distinct hashes
+	 */
+	PhoneticHashTable(int initialSize) {
+		fCapacity= Integer.highestOneBit(Math.max(16, initialSize * 2 - 1)) << 1;
+		fSlots= IntBuffer.allocate(fCapacity * SLOT_SIZE);
+		fEntries= IntBuffer.allocate(Math.max(16, initialSize) * ENTRY_SIZE);
+		fData= ByteBuffer.allocate(Math.max(64, initialSize * 16));
+	}
+
+	private PhoneticHashTable(int capacity, int hashCount, int entryCount, int dataSize, IntBuffer slots, IntBuffer entries, ByteBuffer data) {
+		fCapacity= capacity;
+		fHashCount= hashCount;
+		fEntryCount= entryCount;
+		fDataSize= dataSize;
+		fSlots= slots;
+		fEntries= entries;
+		fData= data;
+		fLoaded= true;
+	}
+
+	/**
+	 * Returns whether this table contains no words.
+	 *
+	 * @return <code>true</code> iff the table is empty
+	 */
+	boolean isEmpty() {
+		return fEntryCount == 0;
+	}
+
+	/**
+	 * Returns the number of words in this table.
+	 *
+	 * @return the number of words
+	 */
+	int size() {
+		return fEntryCount;
+	}
+
+	/**
+	 * Adds a word with the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 bytes of the phonetic hash
+	 * @param word the UTF-8 bytes of the word
+	 */
+	void put(byte[] hash, byte[] word) {
+		if (hash.length > MAX_LENGTH || word.length > MAX_LENGTH)
+			return;
+		if (fLoaded)
+			copyToHeap();
+
+		int slot= findSlot(hash);
+		int first= fSlots.get(slot * SLOT_SIZE);
+		int hashOffset;
+		if (first == 0) {
+			if ((fHashCount + 1) * 2 > fCapacity) {
+				rehash(fCapacity * 2);
+				slot= findSlot(hash);
+			}
+			hashOffset= appendData(hash);
+			fHashCount++;
+		} else {
+			hashOffset= fEntries.get((first - 1) * ENTRY_SIZE);
+		}
+
+		int entry= fEntryCount;
+		if ((entry + 1) * ENTRY_SIZE > fEntries.capacity())
+			fEntries= grow(fEntries, (entry + 1) * ENTRY_SIZE);
+		fEntries.put(entry * ENTRY_SIZE, hashOffset);
+		fEntries.put(entry * ENTRY_SIZE + 1, appendData(word));
+		fEntries.put(entry * ENTRY_SIZE + 2, 0);
+		fEntryCount++;
+
+		if (first == 0)
+			fSlots.put(slot * SLOT_SIZE, entry + 1);
+		else
+			fEntries.put((fSlots.get(slot * SLOT_SIZE + 1) - 1) * ENTRY_SIZE + 2, entry + 1);
+		fSlots.put(slot * SLOT_SIZE + 1, entry + 1);
+	}
+
+	/**
+	 * Returns the first entry of the words with the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 bytes of the phonetic hash
+	 * @return the entry or <code>0</code> if there are no such words
+	 */
+	int getFirst(byte[] hash) {
+		return fSlots.get(findSlot(hash) * SLOT_SIZE);
+	}
+
+	/**
+	 * Returns the entry of the next word with the same phonetic hash.
+	 *
+	 * @param entry the current entry
+	 * @return the next entry or <code>0</code> if there are no more words
+	 */
+	int getNext(int entry) {
+		return fEntries.get((entry - 1) * ENTRY_SIZE + 2);
+	}
+
+	/**
+	 * Returns the word of the given entry.
+	 *
+	 * @param entry the entry
+	 * @return the word
+	 */
+	String getWord(int entry) {
+		return new String(getWordBytes(entry), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the UTF-8 bytes of the word of the given entry.
+	 *
+	 * @param entry the entry
+	 * @return the bytes of the word
+	 */
+	byte[] getWordBytes(int entry) {
+		int offset= fEntries.get((entry - 1) * ENTRY_SIZE + 1);
+		byte[] bytes= new byte[getLength(offset)];
+		ByteBuffer data= fData.duplicate();
+		data.position(offset + 2);
+		data.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Tells whether the word of the given entry equals the given word.
+	 *
+	 * @param entry the entry
+	 * @param word the UTF-8 bytes of the word
+	 * @return <code>true</code> iff the words are equal
+	 */
+	boolean isWord(int entry, byte[] word) {
+		return equalsData(fEntries.get((entry - 1) * ENTRY_SIZE + 1), word);
+	}
+
+	/**
+	 * Releases the unused capacity of the heap buffers.
+	 */
+	void trimToSize() {
+		if (fLoaded)
+			return;
+		fEntries= copy(fEntries, fEntryCount * ENTRY_SIZE, fEntryCount * ENTRY_SIZE);
+		fData= copy(fData, fDataSize, fDataSize);
+	}
+
+	/**
+	 * Writes this table to the given index file.
+	 *
+	 * @param file the index file
+	 * @param stamp the stamp identifying the word list the table was built from
+	 * @throws IOException if the file could not be written
+	 */
+	void write(File file, String stamp) throws IOException {
+		byte[] stampBytes= stamp.getBytes(StandardCharsets.UTF_8);
+		int headerSize= align(7 * Integer.BYTES + stampBytes.length);
+		ByteBuffer header= ByteBuffer.allocate(headerSize);
+		header.putInt(MAGIC).putInt(VERSION).putInt(stampBytes.length).put(stampBytes);
+		header.position(headerSize - 4 * Integer.BYTES);
+		header.putInt(fCapacity).putInt(fHashCount).putInt(fEntryCount).putInt(fDataSize);
+		header.flip();
+
+		ByteBuffer slots= ByteBuffer.allocate(fCapacity * SLOT_SIZE * Integer.BYTES);
+		for (int i= 0, n= fCapacity * SLOT_SIZE; i < n; i++)
+			slots.putInt(fSlots.get(i));
+		slots.flip();
+		ByteBuffer entries= ByteBuffer.allocate(fEntryCount * ENTRY_SIZE * Integer.BYTES);
+		for (int i= 0, n= fEntryCount * ENTRY_SIZE; i < n; i++)
+			entries.putInt(fEntries.get(i));
+		entries.flip();
+		ByteBuffer data= fData.duplicate();
+		data.position(0);
+		data.limit(fDataSize);
+
+		File directory= file.getParentFile();
+		if (directory != null && !directory.exists())
+			directory.mkdirs();
+		File temp= File.createTempFile(file.getName(), ".tmp", directory); //$NON-NLS-1$
+		try {
+			try (FileChannel channel= FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+				ByteBuffer[] buffers= new ByteBuffer[] { header, slots, entries, data };
+				long remaining= header.remaining() + slots.remaining() + entries.remaining() + data.remaining();
+				while (remaining > 0)
+					remaining-= channel.write(buffers);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	/**
+	 * Loads the table stored in the given index file into a direct buffer. The file is not mapped,
+	 * which would keep it locked on some platforms until the buffer is garbage collected.
+	 *
+	 * @param file the index file
+	 * @param stamp the stamp identifying the current word list
+	 * @return the table or <code>null</code> if the file does not exist or does not match the
+	 *         stamp
+	 * @throws IOException if the file could not be read
+	 */
+	static PhoneticHashTable load(File file, String stamp) throws IOException {
+		if (!file.isFile())
+			return null;
+
+		ByteBuffer buffer;
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE)
+				return null;
+			buffer= ByteBuffer.allocateDirect((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					return null;
+			}
+			buffer.flip();
+		}
+
+		byte[] stampBytes= stamp.getBytes(StandardCharsets.UTF_8);
+		int headerSize= align(7 * Integer.BYTES + stampBytes.length);
+		if (buffer.limit() < headerSize || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != stampBytes.length)
+			return null;
+		for (int i= 0; i < stampBytes.length; i++) {
+			if (buffer.get(12 + i) != stampBytes[i])
+				return null;
+		}
+
+		buffer.position(headerSize - 4 * Integer.BYTES);
+		int capacity= buffer.getInt();
+		int hashCount= buffer.getInt();
+		int entryCount= buffer.getInt();
+		int dataSize= buffer.getInt();
+		long size= headerSize + ((long) capacity * SLOT_SIZE + (long) entryCount * ENTRY_SIZE) * Integer.BYTES + dataSize;
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1 || hashCount < 0 || entryCount < 0 || dataSize < 0 || size != buffer.limit())
+			return null;
+
+		IntBuffer slots= slice(buffer, headerSize, capacity * SLOT_SIZE * Integer.BYTES).asIntBuffer();
+		IntBuffer entries= slice(buffer, buffer.position(), entryCount * ENTRY_SIZE * Integer.BYTES).asIntBuffer();
+		ByteBuffer data= slice(buffer, buffer.position(), dataSize);
+		return new PhoneticHashTable(capacity, hashCount, entryCount, dataSize, slots, entries, data);
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+		buffer.limit(offset + length).position(offset);
+		ByteBuffer slice= buffer.slice();
+		buffer.position(offset + length).limit(buffer.capacity());
+		return slice;
+	}
+
+	private static int align(int size) {
+		return (size + Integer.BYTES - 1) & -Integer.BYTES;
+	}
+
+	private int findSlot(byte[] hash) {
+		int mask= fCapacity - 1;
+		int slot= hashCode(hash) & mask;
+		while (true) {
+			int first= fSlots.get(slot * SLOT_SIZE);
+			if (first == 0 || equalsData(fEntries.get((first - 1) * ENTRY_SIZE), hash))
+				return slot;
+			slot= (slot + 1) & mask;
+		}
+	}
+
+	private void rehash(int capacity) {
+		IntBuffer slots= IntBuffer.allocate(capacity * SLOT_SIZE);
+		int mask= capacity - 1;
+		for (int i= 0; i < fCapacity; i++) {
+			int first= fSlots.get(i * SLOT_SIZE);
+			if (first == 0)
+				continue;
+			int slot= dataHashCode(fEntries.get((first - 1) * ENTRY_SIZE)) & mask;
+			while (slots.get(slot * SLOT_SIZE) != 0)
+				slot= (slot + 1) & mask;
+			slots.put(slot * SLOT_SIZE, first);
+			slots.put(slot * SLOT_SIZE + 1, fSlots.get(i * SLOT_SIZE + 1));
+		}
+		fSlots= slots;
+		fCapacity= capacity;
+	}
+
+	private int appendData(byte[] bytes) {
+		int offset= fDataSize;
+		int size= offset + 2 + bytes.length;
+		if (size > fData.capacity())
+			fData= copy(fData, fDataSize, Math.max(size, fData.capacity() * 2));
+		fData.putShort(offset, (short) bytes.length);
+		for (int i= 0; i < bytes.length; i++)
+			fData.put(offset + 2 + i, bytes[i]);
+		fDataSize= size;
+		return offset;
+	}
+
+	private int getLength(int offset) {
+		return fData.getShort(offset) & MAX_LENGTH;
+	}
+
+	private boolean equalsData(int offset, byte[] bytes) {
+		if (getLength(offset) != bytes.length)
+			return false;
+		for (int i= 0; i < bytes.length; i++) {
+			if (fData.get(offset + 2 + i) != bytes[i])
+				return false;
+		}
+		return true;
+	}
+
+	private static int hashCode(byte[] bytes) {
+		int hash= 1;
+		for (byte b : bytes)
+			hash= 31 * hash + b;
+		return hash ^ (hash >>> 16);
+	}
+
+	private int dataHashCode(int offset) {
+		int hash= 1;
+		for (int i= 0, n= getLength(offset); i < n; i++)
+			hash= 31 * hash + fData.get(offset + 2 + i);
+		return hash ^ (hash >>> 16);
+	}
+
+	private void copyToHeap() {
+		fSlots= copy(fSlots, fCapacity * SLOT_SIZE, fCapacity * SLOT_SIZE);
+		fEntries= copy(fEntries, fEntryCount * ENTRY_SIZE, (fEntryCount + 16) * ENTRY_SIZE);
+		fData= copy(fData, fDataSize, fDataSize + 256);
+		fLoaded= false;
+	}
+
+	private static IntBuffer grow(IntBuffer buffer, int minCapacity) {
+		return copy(buffer, buffer.capacity(), Math.max(minCapacity, buffer.capacity() * 2));
+	}
+
+	private static IntBuffer copy(IntBuffer buffer, int length, int capacity) {
+		IntBuffer source= buffer.duplicate();
+		source.position(0);
+		source.limit(length);
+		IntBuffer copy= IntBuffer.allocate(capacity);
+		copy.put(source);
+		return copy;
+	}
+
+	private static ByteBuffer copy(ByteBuffer buffer, int length, int capacity) {
+		ByteBuffer source= buffer.duplicate();
+		source.position(0);
+		source.limit(length);
+		ByteBuffer copy= ByteBuffer.allocate(capacity);
+		copy.put(source);
+		return copy;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,11 @@ import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 
 /**
  * Infrastructure to share an AST for editor post selection listeners.
+ * <p>
+ * Post selection events of an editor are coalesced: each editor has a single job that is
+ * rescheduled with a short delay on every event, obtains the AST from the
+ * {@link SharedASTProviderCore} and informs all listeners registered for the editor.
+ * </p>
  */
 public class SelectionListenerWithASTManager {
 
@@ -60,23 +65,60 @@ public class SelectionListenerWithASTManager {
 	}
 
 
+	/**
+	 * Delay in milliseconds by which a post selection event is held back so that a burst of caret
+	 * moves results in a single AST request for the last selection.
+	 */
+	private static final long COALESCE_DELAY= 50;
+
+	/**
+	 * A selection together with the input it was made in.
+	 */
+	private final static class SelectionRequest {
+		final ITypeRoot fInput;
+		final ITextSelection fSelection;
+
+		SelectionRequest(ITypeRoot input, ITextSelection selection) {
+			fInput= input;
+			fSelection= selection;
+		}
+	}
+
 	private final static class PartListenerGroup {
 		private ITextEditor fPart;
 		private ISelectionListener fPostSelectionListener;
 		private ISelectionChangedListener fSelectionListener;
-		private Job fCurrentJob;
 		private ListenerList<ISelectionListenerWithAST> fAstListeners;
 		/**
-		 * Lock to avoid having more than one calculateAndInform job in parallel.
-		 * Only jobs may synchronize on this as otherwise deadlocks are possible.
+		 * The single job informing the listeners of this part. It is rescheduled for every post
+		 * selection event instead of creating a new job per event.
 		 */
-		private final Object fJobLock= new Object();
+		private final Job fJob;
+		/**
+		 * The most recent selection request, consumed by {@link #fJob}.
+		 */
+		private volatile SelectionRequest fPendingRequest;
 
 		public PartListenerGroup(ITextEditor editorPart) {
 			fPart= editorPart;
-			fCurrentJob= null;
 			fAstListeners= new ListenerList<>(ListenerList.IDENTITY);
 
+			fJob= new Job(JavaUIMessages.SelectionListenerWithASTManager_job_title) {
+				@Override
+				public IStatus run(IProgressMonitor monitor) {
+					if (monitor == null) {
+						monitor= new NullProgressMonitor();
+					}
+					SelectionRequest request= fPendingRequest;
+					if (request == null) {
+						return Status.OK_STATUS;
+					}
+					return calculateASTandInform(request, monitor);
+				}
+			};
+			fJob.setPriority(Job.DECORATE);
+			fJob.setSystem(true);
+
 			fSelectionListener= event -> {
 				ISelection selection= event.getSelection();
 				if (selection instanceof ITextSelection) {
@@ -111,6 +153,8 @@ public class SelectionListenerWithASTManager {
 				ISelectionProvider selectionProvider= fPart.getSelectionProvider();
 				if (selectionProvider != null)
 					selectionProvider.removeSelectionChangedListener(fSelectionListener);
+				fPendingRequest= null;
+				fJob.cancel();
 			}
 		}
 
@@ -120,9 +164,7 @@ public class SelectionListenerWithASTManager {
 		 * @param selection the selection
 		 */
 		public void fireSelectionChanged(final ITextSelection selection) {
-			if (fCurrentJob != null) {
-				fCurrentJob.cancel();
-			}
+			fJob.cancel();
 		}
 
 		/**
@@ -131,48 +173,38 @@ public class SelectionListenerWithASTManager {
 		 * @param selection the selection
 		 */
 		public void firePostSelectionChanged(final ITextSelection selection) {
-			if (fCurrentJob != null) {
-				fCurrentJob.cancel();
-			}
 			ITypeRoot input= EditorUtility.getEditorInputJavaElement(fPart, false);
 			if (input == null) {
+				fPendingRequest= null;
+				fJob.cancel();
 				return;
 			}
-			final ITypeRoot typeRoot= input;
-
-
-			fCurrentJob= new Job(JavaUIMessages.SelectionListenerWithASTManager_job_title) {
-				@Override
-				public IStatus run(IProgressMonitor monitor) {
-					if (monitor == null) {
-						monitor= new NullProgressMonitor();
-					}
-					synchronized (fJobLock) {
-						return calculateASTandInform(typeRoot, selection, monitor);
-					}
-				}
-			};
-			fCurrentJob.setPriority(Job.DECORATE);
-			fCurrentJob.setSystem(true);
-			fCurrentJob.schedule();
+			fPendingRequest= new SelectionRequest(input, selection);
+			// drop a waiting or running run, the job runs again once the selection has settled
+			fJob.cancel();
+			fJob.schedule(COALESCE_DELAY);
 		}
 
-		protected IStatus calculateASTandInform(ITypeRoot input, ITextSelection selection, IProgressMonitor monitor) {
+		protected IStatus calculateASTandInform(SelectionRequest request, IProgressMonitor monitor) {
 			if (monitor.isCanceled()) {
 				return Status.CANCEL_STATUS;
 			}
 			// create AST
 			try {
-				CompilationUnit astRoot= SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
+				CompilationUnit astRoot= SharedASTProviderCore.getAST(request.fInput, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
 
 				if (astRoot != null && !monitor.isCanceled()) {
+					if (request != fPendingRequest) {
+						// superseded by a newer selection, the job has been rescheduled already
+						return Status.CANCEL_STATUS;
+					}
 					Iterator<ISelectionListenerWithAST> listeners;
 					synchronized (PartListenerGroup.this) { // sync probably doesn't make sense here...
 						listeners= fAstListeners.iterator();
 					}
 					while (listeners.hasNext()) {
 						ISelectionListenerWithAST listener= listeners.next();
-						listener.selectionChanged(fPart, selection, astRoot);
+						listener.selectionChanged(fPart, request.fSelection, astRoot);
 						if (monitor.isCanceled()) {
 							return Status.CANCEL_STATUS;
 						}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2969,6 +2969,19 @@ public class PreferenceConstants {
 	 */
 	public static final String CODEASSIST_NONUITHREAD_COMPUTATION= "content_assist_noUIThread_computation"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that holds the time in milliseconds that a quick fix or quick assist
+	 * processor which does not require the UI thread may take before the proposals of the other
+	 * processors are shown without its proposals. A value of <code>0</code> evaluates all
+	 * processors one after the other in the calling thread.
+	 * <p>
+	 * Value is of type <code>Integer</code>.
+	 * </p>
+	 *
+	 * @since 3.23
+	 */
+	public static final String CORRECTION_PROCESSOR_BUDGET= "correction_processor_budget"; //$NON-NLS-1$
+
 
 	/**
 	 * A named preference that controls if the Java code assist gets auto activated.
@@ -4104,6 +4117,7 @@ public class PreferenceConstants {
 		store.setDefault(PreferenceConstants.CODEASSIST_AUTOINSERT, true);
 		store.setDefault(PreferenceConstants.CODEASSIST_DISABLE_COMPLETION_PROPOSAL_TRIGGER_CHARS, false);
 		store.setDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION, true);
+		store.setDefault(PreferenceConstants.CORRECTION_PROCESSOR_BUDGET, 2000);
 		store.setDefault(PreferenceConstants.PREF_MIN_CHAIN_LENGTH, 2);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAIN_LENGTH, 4);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAINS, 20);
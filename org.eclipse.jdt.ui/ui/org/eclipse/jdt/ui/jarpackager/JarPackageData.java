@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -134,6 +134,9 @@ public class JarPackageData {
 	// Add directory entries to the jar
 	private boolean fIncludeDirectoryEntries;
 
+	// Reuse the unchanged entries of the previously exported jar
+	private boolean fIncrementalExport;
+
 	// Projects for which to store refactoring information
 	private IProject[] fRefactoringProjects= {};
 
@@ -1057,6 +1060,37 @@ public class JarPackageData {
 		fIncludeDirectoryEntries = includeDirectoryEntries;
 	}
 
+	/**
+	 * Tells whether the entries that did not change since the previous export are copied from the
+	 * existing JAR instead of being compressed again.
+	 * <p>
+	 * The exported files are still read to verify that their content matches the previous entry,
+	 * so an incremental export saves the compression of unchanged entries, not the reading of
+	 * the files. The modification stamps and sizes of the exported files are recorded in an index
+	 * in the workspace metadata.
+	 * </p>
+	 *
+	 * @return <code>true</code> if the JAR is exported incrementally
+	 *
+	 * @since 3.23
+	 */
+	public boolean isIncrementalExport() {
+		return fIncrementalExport;
+	}
+
+	/**
+	 * Sets the option to copy the entries that did not change since the previous export from the
+	 * existing JAR.
+	 *
+	 * @param incrementalExport <code>true</code> to export the JAR incrementally,
+	 *            <code>false</code> to write all entries
+	 *
+	 * @since 3.23
+	 */
+	public void setIncrementalExport(boolean incrementalExport) {
+		fIncrementalExport= incrementalExport;
+	}
+
 	/**
 	 * Returns the projects for which refactoring information should be stored.
 	 * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.jarpackager;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -61,7 +60,9 @@ import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.Messages;
+import org.eclipse.jdt.internal.jarpackager.IncrementalJarExport;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+import org.eclipse.jdt.internal.jarpackager.ParallelJarOutputStream;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerMessages;
@@ -85,6 +86,8 @@ public class JarWriter3 {
 
 	private JarPackageData fJarPackage;
 
+	private IncrementalJarExport fIncrementalExport;
+
 	/**
 	* Gets the fJarOutputStream of this JarWriter3
 	*
@@ -126,12 +129,20 @@ public class JarWriter3 {
 		if (!canCreateJar(parent))
 			throw new OperationCanceledException("Cannot create JAR with path: " + fJarPackage.getAbsoluteJarLocation()); //$NON-NLS-1$
 
+		File jarFile= fJarPackage.getAbsoluteJarLocation().toFile();
+		if (fJarPackage.isIncrementalExport())
+			fIncrementalExport= IncrementalJarExport.open(jarFile, getIncrementalExportIndexFile());
+		boolean opened= false;
 		try {
+			ParallelJarOutputStream jarOutputStream;
 			if (fJarPackage.usesManifest() && fJarPackage.areGeneratedFilesExported()) {
 				Manifest manifest= fJarPackage.getManifestProvider().create(fJarPackage);
-				fJarOutputStream= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())), manifest);
+				jarOutputStream= new ParallelJarOutputStream(jarFile, manifest);
 			} else
-				fJarOutputStream= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(fJarPackage.getAbsoluteJarLocation().toFile())));
+				jarOutputStream= new ParallelJarOutputStream(jarFile);
+			fJarOutputStream= jarOutputStream;
+			if (fIncrementalExport != null)
+				fIncrementalExport.attach(jarOutputStream);
 			String comment= jarPackage.getComment();
 			if (comment != null)
 				fJarOutputStream.setComment(comment);
@@ -141,9 +152,44 @@ public class JarWriter3 {
 				addDirectories(metaPath);
 				addHistory(fJarPackage, new Path(JarPackagerUtil.getRefactoringsEntry()), new NullProgressMonitor());
 			}
+			opened= true;
 		} catch (IOException exception) {
 			throw JarPackagerUtil.createCoreException(exception.getLocalizedMessage(), exception);
+		} finally {
+			if (!opened) {
+				closeIncrementalExport(false);
+				if (fJarOutputStream != null) {
+					try {
+						fJarOutputStream.close();
+					} catch (IOException ex) {
+						// the constructor already fails
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the incremental export. It is stored in the state location of the
+	 * plug-in, so that it is not added to the projects of the user.
+	 *
+	 * @return the index file
+	 */
+	private File getIncrementalExportIndexFile() {
+		String jarLocation= fJarPackage.getAbsoluteJarLocation().toOSString();
+		return JavaPlugin.getDefault().getStateLocation().append("jarexport").append(Integer.toHexString(jarLocation.hashCode()) + ".jarindex").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void closeIncrementalExport(boolean writeIndex) {
+		if (fIncrementalExport == null)
+			return;
+		try {
+			fIncrementalExport.close(writeIndex);
+		} catch (IOException ex) {
+			// the next export writes all entries
+			JavaPlugin.log(ex);
 		}
+		fIncrementalExport= null;
 	}
 
 	/**
@@ -249,27 +295,36 @@ public class JarWriter3 {
 	 */
 	protected void addFile(IFile resource, IPath path) throws IOException, CoreException {
 		JarEntry newEntry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
-		byte[] readBuffer= new byte[4096];
 
-		if (fJarPackage.isCompressed())
-			newEntry.setMethod(ZipEntry.DEFLATED);
-			// Entry is filled automatically.
-		else {
-			newEntry.setMethod(ZipEntry.STORED);
-			JarPackagerUtil.calculateCrcAndSize(newEntry, resource.getContents(false), readBuffer);
-		}
+		// The CRC and size of a stored entry are computed while it is written.
+		newEntry.setMethod(fJarPackage.isCompressed() ? ZipEntry.DEFLATED : ZipEntry.STORED);
 
 		long lastModified= System.currentTimeMillis();
+		long stamp= -1;
+		long length= -1;
 		URI locationURI= resource.getLocationURI();
 		if (locationURI != null) {
 			IFileInfo info= EFS.getStore(locationURI).fetchInfo();
-			if (info.exists())
+			if (info.exists()) {
 				lastModified= info.getLastModified();
+				stamp= lastModified;
+				length= info.getLength();
+			}
 		}
 
 		// Set modification time
 		newEntry.setTime(lastModified);
 
+		IncrementalJarExport incrementalExport= IncrementalJarExport.get(fJarOutputStream);
+		if (incrementalExport != null) {
+			IPath location= resource.getLocation();
+			if (location != null)
+				incrementalExport.write(newEntry, location.toFile());
+			else
+				incrementalExport.write(newEntry, stamp, length, -1, resource.getContents(false));
+			return;
+		}
+
 		InputStream contentStream = resource.getContents(false);
 
 		addEntry(newEntry, contentStream);
@@ -388,13 +443,18 @@ public class JarWriter3 {
 	 *             used to return information in the status object.
 	 */
 	public void close() throws CoreException {
-		if (fJarOutputStream != null)
+		if (fJarOutputStream != null) {
+			boolean closed= false;
 			try {
 				fJarOutputStream.close();
-				registerInWorkspaceIfNeeded();
+				closed= true;
 			} catch (IOException ex) {
 				throw JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
+			} finally {
+				closeIncrementalExport(closed);
 			}
+			registerInWorkspaceIfNeeded();
+		}
 	}
 
 	private void registerInWorkspaceIfNeeded() {
@@ -465,26 +525,8 @@ public class JarWriter3 {
 		Assert.isNotNull(file);
 		Assert.isNotNull(path);
 		final JarEntry entry= new JarEntry(path.toString().replace(File.separatorChar, '/'));
-		byte[] buffer= new byte[4096];
-		if (data.isCompressed())
-			entry.setMethod(ZipEntry.DEFLATED);
-		else {
-			entry.setMethod(ZipEntry.STORED);
-			JarPackagerUtil.calculateCrcAndSize(entry, new BufferedInputStream(new FileInputStream(file)), buffer);
-		}
+		entry.setMethod(data.isCompressed() ? ZipEntry.DEFLATED : ZipEntry.STORED);
 		entry.setTime(System.currentTimeMillis());
-		final InputStream stream= new BufferedInputStream(new FileInputStream(file));
-		try {
-			fJarOutputStream.putNextEntry(entry);
-			int count;
-			while ((count= stream.read(buffer, 0, buffer.length)) != -1)
-				fJarOutputStream.write(buffer, 0, count);
-		} finally {
-			try {
-				stream.close();
-			} catch (IOException exception) {
-				// Do nothing
-			}
-		}
+		JarPackagerUtilCore.addEntry(entry, new FileInputStream(file), fJarOutputStream);
 	}
 }
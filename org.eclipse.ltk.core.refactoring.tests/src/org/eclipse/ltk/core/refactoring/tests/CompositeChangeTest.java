@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+public class CompositeChangeTest {
+
+	private static final int FILE_COUNT= 50;
+
+	private SimpleTestProject fProject;
+	private IFile[] fFiles;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFolder folder= fProject.createFolder("test");
+		fFiles= new IFile[FILE_COUNT];
+		for (int i= 0; i < FILE_COUNT; i++)
+			fFiles[i]= fProject.createFile(folder, "file" + i + ".txt", "content " + i);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	private CompositeChange createChange() {
+		CompositeChange result= new CompositeChange("composite");
+		for (int i= 0; i < FILE_COUNT; i++)
+			result.add(createTextChange(i));
+		return result;
+	}
+
+	private TextFileChange createTextChange(int index) {
+		TextFileChange change= new TextFileChange("change " + index, fFiles[index]);
+		change.setEdit(new ReplaceEdit(0, 7, "modified"));
+		return change;
+	}
+
+	private Change perform(Change change) throws CoreException {
+		PerformChangeOperation op= new PerformChangeOperation(change);
+		op.run(null);
+		assertTrue(op.changeExecuted());
+		return op.getUndoChange();
+	}
+
+	@Test
+	public void performAndUndo() throws Exception {
+		CompositeChange change= createChange();
+		change.getChildren()[3].setEnabled(false);
+		change.initializeValidationData(new NullProgressMonitor());
+		assertTrue(change.isValid(new NullProgressMonitor()).isOK());
+
+		Change undo= perform(change);
+		for (int i= 0; i < FILE_COUNT; i++)
+			assertEquals((i == 3 ? "content " : "modified ") + i, fProject.getContent(fFiles[i]));
+
+		// the undo changes are in reverse order
+		Change[] undos= ((CompositeChange) undo).getChildren();
+		assertEquals(FILE_COUNT - 1, undos.length);
+		assertEquals(fFiles[FILE_COUNT - 1], undos[0].getModifiedElement());
+		assertEquals(fFiles[0], undos[undos.length - 1].getModifiedElement());
+
+		Change redo= perform(undo);
+		for (int i= 0; i < FILE_COUNT; i++)
+			assertEquals("content " + i, fProject.getContent(fFiles[i]));
+		perform(redo);
+		for (int i= 0; i < FILE_COUNT; i++)
+			assertEquals((i == 3 ? "content " : "modified ") + i, fProject.getContent(fFiles[i]));
+	}
+
+	@Test
+	public void buffersAfterOtherChangesAreNotConnected() throws Exception {
+		int middle= FILE_COUNT / 2;
+		String[] connected= new String[1];
+		boolean[] performed= new boolean[1];
+		CompositeChange change= new CompositeChange("composite");
+		for (int i= 0; i < middle; i++)
+			change.add(createTextChange(i));
+		change.add(new Change() {
+			@Override
+			public String getName() {
+				return "other change";
+			}
+
+			@Override
+			public void initializeValidationData(IProgressMonitor pm) {
+			}
+
+			@Override
+			public RefactoringStatus isValid(IProgressMonitor pm) {
+				return new RefactoringStatus();
+			}
+
+			@Override
+			public Change perform(IProgressMonitor pm) {
+				// a change that moves files is performed before the buffers of the files after it are connected
+				for (int i= middle; i < FILE_COUNT; i++) {
+					if (FileBuffers.getTextFileBufferManager().getTextFileBuffer(fFiles[i].getFullPath(), LocationKind.IFILE) != null)
+						connected[0]= fFiles[i].getName();
+				}
+				performed[0]= true;
+				return null;
+			}
+
+			@Override
+			public Object getModifiedElement() {
+				return null;
+			}
+		});
+		for (int i= middle; i < FILE_COUNT; i++)
+			change.add(createTextChange(i));
+		change.initializeValidationData(new NullProgressMonitor());
+		assertTrue(change.isValid(new NullProgressMonitor()).isOK());
+
+		perform(change);
+		assertTrue(performed[0]);
+		assertNull("buffer connected before the other change: " + connected[0], connected[0]);
+		for (int i= 0; i < FILE_COUNT; i++)
+			assertEquals("modified " + i, fProject.getContent(fFiles[i]));
+	}
+
+	@Test
+	public void validationStopsAtFirstFatalError() throws Exception {
+		CompositeChange change= createChange();
+		change.initializeValidationData(new NullProgressMonitor());
+		fFiles[20].setContents(new ByteArrayInputStream("changed".getBytes()), true, false, null);
+		fFiles[30].setContents(new ByteArrayInputStream("changed".getBytes()), true, false, null);
+
+		RefactoringStatus status= change.isValid(new NullProgressMonitor());
+		assertTrue(status.hasFatalError());
+		assertEquals(1, status.getEntries().length);
+		assertTrue(status.getEntryAt(0).getMessage().contains("file20.txt"));
+		change.dispose();
+	}
+
+	@Test
+	public void validationStopsAtFirstFatalFileStatus() throws Exception {
+		CompositeChange change= createChange();
+		change.initializeValidationData(new NullProgressMonitor());
+		File file= fFiles[10].getLocation().toFile();
+		Files.write(file.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(file.lastModified() + 10000);
+		fFiles[20].setContents(new ByteArrayInputStream("changed".getBytes()), true, false, null);
+
+		// the out of sync file is found before the modified file, as when validating one change after the other
+		RefactoringStatus status= change.isValid(new NullProgressMonitor());
+		assertTrue(status.hasFatalError());
+		for (int i= 0; i < status.getEntries().length; i++)
+			assertTrue(status.getEntryAt(i).getMessage().contains("file10.txt"));
+		change.dispose();
+	}
+
+	@Test
+	public void uninitializedChangeFailsValidation() throws Exception {
+		CompositeChange change= createChange();
+		change.initializeValidationData(new NullProgressMonitor());
+		change.add(new TextFileChange("uninitialized", fFiles[0]));
+		try {
+			change.isValid(new NullProgressMonitor());
+			fail("uninitialized change not detected");
+		} catch (CoreException e) {
+			assertFalse(e.getStatus().isOK());
+		}
+		change.dispose();
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MoveSourceEdit;
+import org.eclipse.text.edits.MoveTargetEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.ltk.internal.core.refactoring.UndoEditJournal;
+
+public class UndoEditJournalTest {
+
+	private File fLocation;
+	private UndoEditJournal fJournal;
+
+	@Before
+	public void setUp() throws IOException {
+		fLocation= File.createTempFile("undo", ".journal");
+		fLocation.delete();
+		fJournal= new UndoEditJournal(fLocation, 0);
+	}
+
+	@After
+	public void tearDown() {
+		fJournal.close();
+		assertFalse(fLocation.exists());
+	}
+
+	private static String createContent() {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			buffer.append("line ").append(i).append('\n');
+		return buffer.toString();
+	}
+
+	@Test
+	public void spilledEditRestoresContent() throws Exception {
+		String original= createContent();
+		IDocument document= new Document(original);
+		MultiTextEdit edit= new MultiTextEdit();
+		edit.addChild(new InsertEdit(0, "first\n"));
+		edit.addChild(new ReplaceEdit(10, 200, "\u00e4\u00f6\u00fc"));
+		edit.addChild(new DeleteEdit(300, 5000));
+		edit.addChild(new InsertEdit(6000, "inserted"));
+		edit.addChild(new ReplaceEdit(original.length() - 100, 100, createContent()));
+		UndoEdit undo= edit.apply(document, TextEdit.CREATE_UNDO);
+		String modified= document.get();
+
+		UndoEditJournal.Entry entry= fJournal.add(undo);
+		assertTrue(entry.isSpilled());
+		assertTrue(fLocation.length() > 0);
+
+		UndoEdit redo= entry.getEdit().apply(document, TextEdit.CREATE_UNDO);
+		assertEquals(original, document.get());
+		redo.apply(document);
+		assertEquals(modified, document.get());
+
+		entry.dispose();
+		assertEquals(0, fLocation.length());
+	}
+
+	@Test
+	public void editsWithinBudgetStayInMemory() throws Exception {
+		fJournal.close();
+		fJournal= new UndoEditJournal(fLocation, Long.MAX_VALUE);
+		IDocument document= new Document(createContent());
+		UndoEdit undo= new DeleteEdit(0, 10000).apply(document, TextEdit.CREATE_UNDO);
+
+		UndoEditJournal.Entry entry= fJournal.add(undo);
+		assertFalse(entry.isSpilled());
+		assertTrue(entry.getEdit() == undo);
+		assertFalse(fLocation.exists());
+	}
+
+	@Test
+	public void movedTextIsRestored() throws Exception {
+		String original= createContent();
+		IDocument document= new Document(original);
+		MultiTextEdit edit= new MultiTextEdit();
+		MoveSourceEdit source= new MoveSourceEdit(100, 8000);
+		edit.addChild(source);
+		edit.addChild(new MoveTargetEdit(original.length(), source));
+		UndoEdit undo= edit.apply(document, TextEdit.CREATE_UNDO);
+		String modified= document.get();
+
+		UndoEditJournal.Entry entry= fJournal.add(undo);
+		UndoEdit redo= entry.getEdit().apply(document, TextEdit.CREATE_UNDO);
+		assertEquals(original, document.get());
+		redo.apply(document);
+		assertEquals(modified, document.get());
+	}
+
+	@Test
+	public void oldestEditsAreSpilledFirst() throws Exception {
+		fJournal.close();
+		fJournal= new UndoEditJournal(fLocation, 30000);
+		IDocument document= new Document(createContent());
+		UndoEditJournal.Entry first= fJournal.add(new DeleteEdit(0, 10000).apply(document, TextEdit.CREATE_UNDO));
+		assertFalse(first.isSpilled());
+		UndoEditJournal.Entry second= fJournal.add(new DeleteEdit(0, 10000).apply(document, TextEdit.CREATE_UNDO));
+		assertTrue(first.isSpilled());
+		assertFalse(second.isSpilled());
+
+		second.getEdit().apply(document);
+		first.getEdit().apply(document);
+		assertEquals(createContent(), document.get());
+	}
+
+	@Test
+	public void droppedEditsAreReleased() throws Exception {
+		fJournal.close();
+		fJournal= new UndoEditJournal(fLocation, 30000);
+		IDocument document= new Document(createContent());
+		UndoEditJournal.Entry first= fJournal.add(new DeleteEdit(0, 10000).apply(document, TextEdit.CREATE_UNDO));
+		WeakReference<UndoEditJournal.Entry> reference= new WeakReference<>(first);
+		first= null;
+		for (int i= 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertNull("entry is still referenced", reference.get());
+
+		// the dropped edit does not count against the budget, nothing is spilled
+		UndoEditJournal.Entry second= fJournal.add(new DeleteEdit(0, 10000).apply(document, TextEdit.CREATE_UNDO));
+		assertFalse(second.isSpilled());
+		assertFalse(fLocation.exists());
+	}
+
+	@Test
+	public void journalIsCompacted() throws Exception {
+		String original= createContent();
+		IDocument document= new Document(original);
+		UndoEditJournal.Entry first= fJournal.add(new DeleteEdit(0, 12000).apply(document, TextEdit.CREATE_UNDO));
+		UndoEditJournal.Entry second= fJournal.add(new DeleteEdit(0, 2000).apply(document, TextEdit.CREATE_UNDO));
+		UndoEditJournal.Entry third= fJournal.add(new DeleteEdit(0, 2000).apply(document, TextEdit.CREATE_UNDO));
+		assertTrue(first.isSpilled() && second.isSpilled() && third.isSpilled());
+		long length= fLocation.length();
+
+		first.dispose();
+		assertTrue(fLocation.length() < length);
+
+		third.getEdit().apply(document);
+		second.getEdit().apply(document);
+		assertEquals(original.substring(12000), document.get());
+	}
+}
@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.ltk.internal.core.refactoring.Changes;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * Validates and performs the text file changes of a composite change in batches.
+ * <p>
+ * The buffer states of a run of text file changes are validated in parallel. The files of the
+ * changes up to the first one with a fatal error in its buffer state are then checked with a single
+ * call to the file modification validator. If the files have no problems, the statuses of the buffer
+ * states are reported. Otherwise the changes are validated again one after the other, reusing the
+ * validated buffer states, so that the statuses are reported in the same order and the validation
+ * ends at the same change as when the changes are validated one after the other.
+ * </p>
+ * <p>
+ * While the changes of a composite change are performed, the file buffers of the text file changes
+ * ahead are connected in the background. The changes are still performed one after the other on
+ * the calling thread, but find their buffers already loaded. Buffers are only connected ahead within
+ * a run of changes that can be validated as a batch, so that a change that is not a text file change,
+ * for example one that moves a file, is performed before the buffers of the changes after it are
+ * connected.
+ * </p>
+ * <p>
+ * All batches share one thread pool, whose threads end when they are idle.
+ * </p>
+ */
+final class ChangeBatch {
+
+	/** The minimal number of text file changes that are processed as a batch. */
+	static final int MIN_BATCH_SIZE= 16;
+
+	/** The number of file buffers that are connected ahead of the change being performed. */
+	private static final int PREFETCH_WINDOW= 32;
+
+	private static final int MAX_THREADS= 4;
+
+	private static final long THREAD_KEEP_ALIVE_SECONDS= 10;
+
+	private static ExecutorService fgExecutor;
+
+	private static final ClassValue<Boolean> VALIDATES_STATE= new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			Class<?> declaringClass= TextFileChange.class.isAssignableFrom(type) ? TextFileChange.class : UndoTextFileChange.class;
+			try {
+				return Boolean.valueOf(type.getMethod("isValid", IProgressMonitor.class).getDeclaringClass() == declaringClass); //$NON-NLS-1$
+			} catch (NoSuchMethodException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
+	private final IPath[] fPaths;
+	private final boolean[] fInRun;
+	private final boolean[] fConnected;
+	private final boolean[] fReleased;
+	private int fPosition= -1;
+	private int fPrefetched;
+	private boolean fDisposed;
+
+	private ChangeBatch(IPath[] paths, boolean[] inRun) {
+		fPaths= paths;
+		fInRun= inRun;
+		fConnected= new boolean[paths.length];
+		fReleased= new boolean[paths.length];
+	}
+
+	/**
+	 * Returns the end of the run of changes starting at the given index that can be validated as a
+	 * batch. These are text file changes that don't override <code>isValid</code>, and disabled
+	 * changes.
+	 *
+	 * @param changes the children of the composite change
+	 * @param start the index of the first change of the run
+	 * @return the index after the last change of the run
+	 */
+	static int getBatchEnd(List<Change> changes, int start) {
+		int end= start;
+		while (end < changes.size() && canValidate(changes.get(end)))
+			end++;
+		return end;
+	}
+
+	private static boolean canValidate(Change change) {
+		if (!change.isEnabled())
+			return true;
+		if (!(change instanceof TextFileChange) && !(change instanceof UndoTextFileChange))
+			return false;
+		return VALIDATES_STATE.get(change.getClass()).booleanValue();
+	}
+
+	/**
+	 * Validates a run of changes and merges the statuses into the given status. The
+	 * validation stops at the first change with a fatal error, as when the changes are validated
+	 * one after the other.
+	 *
+	 * @param changes the changes, see {@link #getBatchEnd(List, int)}
+	 * @param result the status to merge the statuses of the changes into
+	 * @param pm the progress monitor of the composite change, the run is worked
+	 * @throws CoreException if a change has not been initialized
+	 */
+	static void validate(List<Change> changes, RefactoringStatus result, IProgressMonitor pm) throws CoreException {
+		int count= changes.size();
+		Change[] batch= changes.toArray(new Change[count]);
+		boolean[] needsSaving= new boolean[count];
+		for (int i= 0; i < count; i++) {
+			Change change= batch[i];
+			if (!change.isEnabled())
+				batch[i]= null;
+			else if (change instanceof TextFileChange)
+				needsSaving[i]= ((TextFileChange) change).needsSaving();
+			else
+				needsSaving[i]= ((UndoTextFileChange) change).prepareValidation();
+		}
+
+		Object[] states= new Object[count];
+		validateStates(batch, needsSaving, states);
+		if (pm.isCanceled())
+			throw new OperationCanceledException();
+
+		// the changes after the first fatal error or exception in a buffer state are not validated
+		int end= 0;
+		while (end < count && !(states[end] instanceof Exception)) {
+			RefactoringStatus state= (RefactoringStatus) states[end++];
+			if (state != null && state.hasFatalError())
+				break;
+		}
+		List<IFile> filesToModify= new ArrayList<>(end);
+		List<IFile> filesToRead= new ArrayList<>();
+		for (int i= 0; i < end; i++) {
+			if (batch[i] instanceof TextFileChange) {
+				IFile file= ((TextFileChange) batch[i]).getFile();
+				if (needsSaving[i])
+					filesToModify.add(file);
+				else
+					filesToRead.add(file);
+			}
+		}
+
+		RefactoringStatus files= new RefactoringStatus();
+		if (!filesToModify.isEmpty())
+			files.merge(Changes.validateModifiesFiles(filesToModify.toArray(new IFile[filesToModify.size()])));
+		if (!filesToRead.isEmpty())
+			files.merge(Changes.checkInSync(filesToRead.toArray(new IFile[filesToRead.size()])));
+
+		for (int i= 0; i < end; i++) {
+			RefactoringStatus state= (RefactoringStatus) states[i];
+			if (state == null) {
+				pm.worked(1);
+				continue;
+			}
+			// the file problems are reported with the change they belong to, as by TextFileChange#isValid
+			if (files.hasEntries() && batch[i] instanceof TextFileChange)
+				state.merge(validateFile((TextFileChange) batch[i], needsSaving[i]));
+			result.merge(state);
+			pm.worked(1);
+			if (result.hasFatalError())
+				return;
+		}
+		if (end < count) {
+			if (states[end] instanceof CoreException)
+				throw (CoreException) states[end];
+			throw (RuntimeException) states[end];
+		}
+	}
+
+	private static RefactoringStatus validateFile(TextFileChange change, boolean needsSaving) {
+		IFile[] file= new IFile[] { change.getFile() };
+		if (needsSaving)
+			return Changes.validateModifiesFiles(file);
+		return Changes.checkInSync(file);
+	}
+
+	private static void validateStates(Change[] changes, boolean[] needsSaving, Object[] states) {
+		AtomicInteger next= new AtomicInteger();
+		CountDownLatch remaining= new CountDownLatch(changes.length);
+		AtomicReference<Error> error= new AtomicReference<>();
+		Runnable task= () -> {
+			for (int i= next.getAndIncrement(); i < changes.length; i= next.getAndIncrement()) {
+				Change change= changes[i];
+				try {
+					if (change instanceof TextFileChange)
+						states[i]= ((TextFileChange) change).validateState(needsSaving[i]);
+					else if (change != null)
+						states[i]= ((UndoTextFileChange) change).validateState(needsSaving[i]);
+				} catch (CoreException | RuntimeException e) {
+					states[i]= e;
+				} catch (Error e) {
+					error.compareAndSet(null, e);
+				} finally {
+					remaining.countDown();
+				}
+			}
+		};
+		int threadCount= getThreadCount();
+		if (threadCount == 0) {
+			task.run();
+		} else {
+			// the tasks that start after the calling thread took the last change find nothing to do
+			ExecutorService executor= getExecutor();
+			for (int i= 0; i < threadCount; i++)
+				executor.execute(task);
+			task.run();
+			try {
+				remaining.await();
+			} catch (InterruptedException e) {
+				next.set(changes.length);
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+		if (error.get() != null)
+			throw error.get();
+	}
+
+	/**
+	 * Creates a batch to connect the file buffers of the given changes ahead of their execution.
+	 *
+	 * @param changes the children of the composite change to perform
+	 * @return the batch, or <code>null</code> if there are too few text file changes, or a single
+	 *         processor
+	 */
+	static ChangeBatch create(List<Change> changes) {
+		int threadCount= getThreadCount();
+		if (threadCount == 0)
+			return null;
+		IPath[] paths= new IPath[changes.size()];
+		boolean[] inRun= new boolean[paths.length];
+		int count= 0;
+		for (int i= 0; i < paths.length; i++) {
+			Change change= changes.get(i);
+			inRun[i]= canValidate(change);
+			if (!change.isEnabled())
+				continue;
+			if (change instanceof TextFileChange)
+				paths[i]= ((TextFileChange) change).getFile().getFullPath();
+			else if (change instanceof UndoTextFileChange)
+				paths[i]= ((UndoTextFileChange) change).getFile().getFullPath();
+			else
+				continue;
+			count++;
+		}
+		if (count < MIN_BATCH_SIZE)
+			return null;
+		return new ChangeBatch(paths, inRun);
+	}
+
+	/**
+	 * Called before the next change is performed. Releases the buffer of the previous change and
+	 * connects the buffers of the changes ahead, up to the end of the run of changes that can be
+	 * validated as a batch, see {@link #getBatchEnd(List, int)}.
+	 */
+	void advance() {
+		fPosition++;
+		if (fPosition > 0)
+			release(fPosition - 1);
+		// the changes after another kind of change are prefetched once it has been performed
+		if (fPosition >= fPaths.length || !fInRun[fPosition])
+			return;
+		if (fPrefetched <= fPosition)
+			fPrefetched= fPosition + 1;
+		for (; fPrefetched < fPaths.length && fPrefetched <= fPosition + PREFETCH_WINDOW && fInRun[fPrefetched]; fPrefetched++) {
+			if (fPaths[fPrefetched] != null) {
+				int index= fPrefetched;
+				getExecutor().execute(() -> connect(index));
+			}
+		}
+	}
+
+	/**
+	 * Releases the buffers connected by the batch. Buffers that are still being connected are
+	 * released by the worker threads. Does not wait for them.
+	 */
+	void dispose() {
+		List<IPath> connected= new ArrayList<>();
+		synchronized (this) {
+			fDisposed= true;
+			for (int i= 0; i < fConnected.length; i++) {
+				if (fConnected[i]) {
+					fConnected[i]= false;
+					connected.add(fPaths[i]);
+				}
+			}
+		}
+		for (IPath path : connected)
+			disconnect(path);
+	}
+
+	private void connect(int index) {
+		synchronized (this) {
+			if (fDisposed || fReleased[index])
+				return;
+		}
+		IPath path= fPaths[index];
+		try {
+			FileBuffers.getTextFileBufferManager().connect(path, LocationKind.IFILE, null);
+		} catch (CoreException e) {
+			// the change reports the problem when it connects the buffer
+			return;
+		}
+		boolean keep;
+		synchronized (this) {
+			keep= !fDisposed && !fReleased[index];
+			fConnected[index]= keep;
+		}
+		if (!keep)
+			disconnect(path);
+	}
+
+	private void release(int index) {
+		synchronized (this) {
+			fReleased[index]= true;
+			if (!fConnected[index])
+				return;
+			fConnected[index]= false;
+		}
+		disconnect(fPaths[index]);
+	}
+
+	private static void disconnect(IPath path) {
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		try {
+			manager.disconnect(path, LocationKind.IFILE, null);
+		} catch (CoreException e) {
+			RefactoringCorePlugin.log(e);
+		}
+	}
+
+	private static int getThreadCount() {
+		return Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_THREADS);
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			int threadCount= Math.max(1, getThreadCount());
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(threadCount, threadCount, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Refactoring Change Batch"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgExecutor= executor;
+		}
+		return fgExecutor;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -235,12 +235,18 @@ public class CompositeChange extends Change {
 	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException {
 		RefactoringStatus result= new RefactoringStatus();
 		pm.beginTask("", fChanges.size()); //$NON-NLS-1$
-		for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext() && !result.hasFatalError();) {
-			Change change= iter.next();
-			if (change.isEnabled())
-				result.merge(change.isValid(new SubProgressMonitor(pm, 1)));
-			else
-				pm.worked(1);
+		for (int i= 0; i < fChanges.size() && !result.hasFatalError();) {
+			int end= ChangeBatch.getBatchEnd(fChanges, i);
+			if (end - i >= ChangeBatch.MIN_BATCH_SIZE) {
+				ChangeBatch.validate(fChanges.subList(i, end), result, pm);
+				i= end;
+			} else {
+				Change change= fChanges.get(i++);
+				if (change.isEnabled())
+					result.merge(change.isValid(new SubProgressMonitor(pm, 1)));
+				else
+					pm.worked(1);
+			}
 			if (pm.isCanceled())
 				throw new OperationCanceledException();
 		}
@@ -269,9 +275,12 @@ public class CompositeChange extends Change {
 		pm.setTaskName(RefactoringCoreMessages.CompositeChange_performingChangesTask_name);
 		Change change= null;
 		boolean canceled= false;
+		ChangeBatch batch= ChangeBatch.create(fChanges);
 		try {
 			for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext();) {
 				change= iter.next();
+				if (batch != null)
+					batch.advance();
 				if (canceled && !internalProcessOnCancel(change))
 					continue;
 
@@ -324,6 +333,9 @@ public class CompositeChange extends Change {
 			handleUndos(change, undos);
 			internalHandleException(change, e);
 			throw e;
+		} finally {
+			if (batch != null)
+				batch.dispose();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -180,11 +180,8 @@ public class TextFileChange extends TextChange {
 			monitor= new NullProgressMonitor();
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
-			if (fValidationState == null)
-				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "TextFileChange has not been initialialized")); //$NON-NLS-1$
-
 			boolean needsSaving= needsSaving();
-			RefactoringStatus result= fValidationState.isValid(needsSaving);
+			RefactoringStatus result= validateState(needsSaving);
 			if (needsSaving) {
 				result.merge(Changes.validateModifiesFiles(new IFile[] { fFile}));
 			} else {
@@ -197,6 +194,16 @@ public class TextFileChange extends TextChange {
 		}
 	}
 
+	/*
+	 * Validates the buffer state, but not the file. Used by CompositeChange to validate the file
+	 * changes in batches. Can be called from any thread.
+	 */
+	RefactoringStatus validateState(boolean needsSaving) throws CoreException {
+		if (fValidationState == null)
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "TextFileChange has not been initialialized")); //$NON-NLS-1$
+		return fValidationState.isValid(needsSaving);
+	}
+
 	@Override
 	public void dispose() {
 		if (fValidationState != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,6 +41,7 @@ import org.eclipse.ltk.internal.core.refactoring.Changes;
 import org.eclipse.ltk.internal.core.refactoring.ContentStamps;
 import org.eclipse.ltk.internal.core.refactoring.Lock;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+import org.eclipse.ltk.internal.core.refactoring.UndoEditJournal;
 
 /**
  * A change to perform the reverse change of a {@link TextFileChange}.
@@ -57,7 +58,7 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 public class UndoTextFileChange extends Change {
 
 	private String fName;
-	private UndoEdit fUndo;
+	private UndoEditJournal.Entry fUndo;
 	private IFile fFile;
 	private ContentStamp fContentStampToRestore;
 	private int fSaveMode;
@@ -84,7 +85,7 @@ public class UndoTextFileChange extends Change {
 		Assert.isNotNull(undo);
 		fName= name;
 		fFile= file;
-		fUndo= undo;
+		fUndo= UndoEditJournal.getDefault().add(undo);
 		fContentStampToRestore= stamp;
 		fSaveMode= saveMode;
 	}
@@ -157,17 +158,35 @@ public class UndoTextFileChange extends Change {
 			pm= new NullProgressMonitor();
 		pm.beginTask("", 1); //$NON-NLS-1$
 		try {
-			if (fValidationState == null)
-				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "UndoTextFileChange has not been initialialized")); //$NON-NLS-1$
-
-			ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(fFile.getFullPath(), LocationKind.IFILE);
-			fDirty= buffer != null && buffer.isDirty();
-			return fValidationState.isValid(needsSaving(), true);
+			return validateState(prepareValidation());
 		} finally {
 			pm.done();
 		}
 	}
 
+	/*
+	 * Updates the dirty state of the file and returns whether the change needs saving. Used by
+	 * CompositeChange to validate the file changes in batches.
+	 */
+	boolean prepareValidation() {
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(fFile.getFullPath(), LocationKind.IFILE);
+		fDirty= buffer != null && buffer.isDirty();
+		return needsSaving();
+	}
+
+	/*
+	 * Validates the buffer state. Can be called from any thread.
+	 */
+	RefactoringStatus validateState(boolean needsSaving) throws CoreException {
+		if (fValidationState == null)
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "UndoTextFileChange has not been initialialized")); //$NON-NLS-1$
+		return fValidationState.isValid(needsSaving, true);
+	}
+
+	IFile getFile() {
+		return fFile;
+	}
+
 	@Override
 	public Change perform(IProgressMonitor pm) throws CoreException {
 		if (pm == null)
@@ -267,7 +286,7 @@ public class UndoTextFileChange extends Change {
 	private UndoEdit doPerformEdits(IDocument document, boolean[] setContentStampSuccess) throws MalformedTreeException, BadLocationException, CoreException {
 		// perform the changes
 		LinkedModeModel.closeAllModels(document);
-		UndoEdit redo= fUndo.apply(document, TextEdit.CREATE_UNDO);
+		UndoEdit redo= fUndo.getEdit().apply(document, TextEdit.CREATE_UNDO);
 
 		// try to restore the document content stamp
 		setContentStampSuccess[0]= ContentStamps.set(document, fContentStampToRestore);
@@ -279,6 +298,7 @@ public class UndoTextFileChange extends Change {
 		if (fValidationState != null) {
 			fValidationState.dispose();
 		}
+		fUndo.dispose();
 	}
 
 	private boolean needsSaving() {
@@ -0,0 +1,410 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+
+/**
+ * Keeps the undo edits of the refactoring undo stack within a heap budget.
+ * <p>
+ * Each undo edit is registered with the journal when its undo change is created. When the edits
+ * in memory exceed the budget, the oldest ones are written to a compressed journal file and
+ * released. A spilled edit is read back when its change is performed, as a
+ * <code>MultiTextEdit</code> of replace edits that has the same effect as the undo edit.
+ * </p>
+ * <p>
+ * The journal only references the entries weakly. An entry whose change is dropped without being
+ * disposed no longer counts against the budget, and its space in the journal file is released.
+ * The file is compacted when less than half of it is used by spilled edits.
+ * </p>
+ * <p>
+ * Only undo edits whose replacements do not overlap can be expressed that way, which is the case
+ * for the edits created by replace, insert and delete edits. Other undo edits stay in memory.
+ * </p>
+ */
+public final class UndoEditJournal {
+
+	/** The default heap budget in megabytes. */
+	public static final int DEFAULT_HEAP_BUDGET= 32;
+
+	/** Edits smaller than this are not worth a read from disk. */
+	private static final long MIN_SPILL_SIZE= 4 * 1024;
+
+	/** The estimated size of an edit object and its string, without the characters. */
+	private static final long EDIT_OVERHEAD= 96;
+
+	private static UndoEditJournal fgDefault;
+
+	/**
+	 * The state of an entry that the journal keeps, referencing the entry weakly.
+	 */
+	private static final class Slot extends WeakReference<Entry> {
+		final long fSize;
+		long fPosition= -1;
+		int fLength;
+
+		Slot(Entry entry, long size, ReferenceQueue<Entry> queue) {
+			super(entry, queue);
+			fSize= size;
+		}
+	}
+
+	/**
+	 * An undo edit that is kept in memory or in the journal.
+	 */
+	public final class Entry {
+		private UndoEdit fEdit;
+		private final Slot fSlot;
+
+		private Entry(UndoEdit edit, long size) {
+			fEdit= edit;
+			fSlot= new Slot(this, size, fQueue);
+		}
+
+		/**
+		 * Returns the edit to apply to perform the undo.
+		 *
+		 * @return the undo edit, or an equivalent edit if the undo edit was spilled to disk
+		 * @throws CoreException if the edit cannot be read from the journal
+		 */
+		public TextEdit getEdit() throws CoreException {
+			synchronized (UndoEditJournal.this) {
+				if (fEdit != null)
+					return fEdit;
+				try {
+					return read(fSlot.fPosition, fSlot.fLength);
+				} catch (IOException e) {
+					throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.INTERNAL_ERROR,
+							RefactoringCoreMessages.UndoEditJournal_read_error, e));
+				}
+			}
+		}
+
+		/**
+		 * Tells whether the edit is stored in the journal.
+		 *
+		 * @return <code>true</code> if the edit has been spilled to disk
+		 */
+		public boolean isSpilled() {
+			synchronized (UndoEditJournal.this) {
+				return fSlot.fPosition != -1;
+			}
+		}
+
+		/**
+		 * Releases the space the edit takes in the journal. A spilled edit must not be read
+		 * afterwards.
+		 */
+		public void dispose() {
+			synchronized (UndoEditJournal.this) {
+				release(fSlot);
+			}
+		}
+	}
+
+	private final File fLocation;
+	private final long fBudget;
+	private final ReferenceQueue<Entry> fQueue= new ReferenceQueue<>();
+	private final LinkedHashSet<Slot> fInMemory= new LinkedHashSet<>();
+	/** The spilled slots, in the order of their position in the journal file. */
+	private final LinkedHashSet<Slot> fSpilled= new LinkedHashSet<>();
+	private long fHeapSize;
+	private RandomAccessFile fFile;
+	private long fEnd;
+	private long fSpilledLength;
+	private boolean fFailed;
+
+	/**
+	 * Creates a journal.
+	 *
+	 * @param location the journal file, it is created when the first edit is spilled
+	 * @param budget the number of bytes the edits in memory may use
+	 */
+	public UndoEditJournal(File location, long budget) {
+		fLocation= location;
+		fBudget= budget;
+	}
+
+	/**
+	 * Returns the journal of the refactoring undo stack. Its budget is taken from the preference
+	 * {@link RefactoringPreferenceConstants#PREFERENCE_UNDO_HEAP_BUDGET}.
+	 *
+	 * @return the shared journal
+	 */
+	public static synchronized UndoEditJournal getDefault() {
+		if (fgDefault == null) {
+			File location= RefactoringCorePlugin.getDefault().getStateLocation().append("undo.journal").toFile(); //$NON-NLS-1$
+			int budget= Platform.getPreferencesService().getInt(RefactoringCorePlugin.getPluginId(), RefactoringPreferenceConstants.PREFERENCE_UNDO_HEAP_BUDGET, DEFAULT_HEAP_BUDGET, null);
+			fgDefault= new UndoEditJournal(location, Math.max(0, budget) * 1024L * 1024L);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Closes and deletes the journal of the refactoring undo stack, if it was created.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			fgDefault.close();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Registers an undo edit. Edits registered earlier are spilled to disk if the edits in memory
+	 * exceed the budget.
+	 *
+	 * @param edit the undo edit
+	 * @return the entry to access the edit
+	 */
+	public synchronized Entry add(UndoEdit edit) {
+		expunge();
+		Entry entry= new Entry(edit, estimateSize(edit));
+		fInMemory.add(entry.fSlot);
+		fHeapSize+= entry.fSlot.fSize;
+		if (fHeapSize > fBudget && !fFailed)
+			spill();
+		return entry;
+	}
+
+	/**
+	 * Closes the journal file and deletes it.
+	 */
+	public synchronized void close() {
+		closeFile();
+		fLocation.delete();
+	}
+
+	/**
+	 * Releases the slots of the entries that were dropped without being disposed.
+	 */
+	private void expunge() {
+		Reference<? extends Entry> reference;
+		while ((reference= fQueue.poll()) != null)
+			release((Slot) reference);
+	}
+
+	private void spill() {
+		for (Iterator<Slot> iterator= fInMemory.iterator(); iterator.hasNext() && fHeapSize > fBudget;) {
+			Slot slot= iterator.next();
+			Entry entry= slot.get();
+			if (entry == null) {
+				// the entry was dropped, it is not enqueued yet
+				iterator.remove();
+				fHeapSize-= slot.fSize;
+				continue;
+			}
+			if (slot.fSize < MIN_SPILL_SIZE)
+				continue;
+			byte[] data= serialize(entry.fEdit);
+			if (data == null)
+				continue;
+			try {
+				long position= write(data);
+				slot.fPosition= position;
+				slot.fLength= data.length;
+				entry.fEdit= null;
+				iterator.remove();
+				fHeapSize-= slot.fSize;
+				fSpilled.add(slot);
+				fSpilledLength+= data.length;
+			} catch (IOException e) {
+				// keep the undo state in memory from now on
+				fFailed= true;
+				RefactoringCorePlugin.log(e);
+				return;
+			}
+		}
+	}
+
+	private long write(byte[] data) throws IOException {
+		if (fFile == null) {
+			File parent= fLocation.getParentFile();
+			if (parent != null)
+				parent.mkdirs();
+			fFile= new RandomAccessFile(fLocation, "rw"); //$NON-NLS-1$
+			fFile.setLength(0);
+			fEnd= 0;
+		}
+		long position= fEnd;
+		fFile.seek(position);
+		fFile.write(data);
+		fEnd+= data.length;
+		return position;
+	}
+
+	private TextEdit read(long position, int length) throws IOException {
+		if (fFile == null)
+			throw new IOException("Undo journal is closed: " + fLocation); //$NON-NLS-1$
+		byte[] data= new byte[length];
+		fFile.seek(position);
+		fFile.readFully(data);
+		try (DataInputStream in= new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+			int count= in.readInt();
+			MultiTextEdit result= new MultiTextEdit();
+			for (int i= 0; i < count; i++) {
+				int offset= in.readInt();
+				int editLength= in.readInt();
+				byte[] text= new byte[in.readInt()];
+				in.readFully(text);
+				result.addChild(new ReplaceEdit(offset, editLength, new String(text, StandardCharsets.UTF_8)));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Releases the memory or the journal space of an entry. The journal is truncated when no
+	 * spilled edit is left, and compacted when less than half of it is used.
+	 */
+	private void release(Slot slot) {
+		if (fInMemory.remove(slot)) {
+			fHeapSize-= slot.fSize;
+			return;
+		}
+		if (!fSpilled.remove(slot))
+			return;
+		fSpilledLength-= slot.fLength;
+		if (fFile == null)
+			return;
+		try {
+			if (fSpilled.isEmpty()) {
+				fFile.setLength(0);
+				fEnd= 0;
+			} else if (fSpilledLength < fEnd / 2) {
+				compact();
+			}
+		} catch (IOException e) {
+			// the journal is not reused, the edits are kept in memory from now on
+			fFailed= true;
+			RefactoringCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Moves the spilled edits to the start of the journal. The slots are in the order of their
+	 * positions, so an edit is never moved over one that has not been moved yet.
+	 */
+	private void compact() throws IOException {
+		long end= 0;
+		for (Slot slot : fSpilled) {
+			if (slot.fPosition != end) {
+				byte[] data= new byte[slot.fLength];
+				fFile.seek(slot.fPosition);
+				fFile.readFully(data);
+				fFile.seek(end);
+				fFile.write(data);
+				slot.fPosition= end;
+			}
+			end+= slot.fLength;
+		}
+		fFile.setLength(end);
+		fEnd= end;
+	}
+
+	private void closeFile() {
+		if (fFile != null) {
+			try {
+				fFile.close();
+			} catch (IOException e) {
+				// Do nothing
+			}
+			fFile= null;
+		}
+	}
+
+	private static long estimateSize(UndoEdit edit) {
+		long size= EDIT_OVERHEAD;
+		for (TextEdit child : edit.getChildren()) {
+			size+= EDIT_OVERHEAD;
+			if (child instanceof ReplaceEdit)
+				size+= 2L * ((ReplaceEdit) child).getText().length();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the replacements of the undo edit as non-overlapping replacements in the coordinates
+	 * of the document the undo edit is applied to, or <code>null</code> if this is not possible.
+	 * <p>
+	 * The children of an undo edit are replaced one after the other, starting with the last one,
+	 * and the position of each child refers to the document after the previous replacements.
+	 * Undo edits created for the edits of a text edit tree replace the regions in ascending order,
+	 * so the positions can be translated back by the length differences of the previous
+	 * replacements.
+	 * </p>
+	 */
+	private static byte[] serialize(UndoEdit edit) {
+		TextEdit[] children= edit.getChildren();
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		Deflater deflater= new Deflater(Deflater.BEST_SPEED);
+		try (DataOutputStream out= new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+			out.writeInt(children.length);
+			int delta= 0;
+			int previousOffset= -1;
+			int previousEnd= -1;
+			for (int i= children.length - 1; i >= 0; i--) {
+				if (!(children[i] instanceof ReplaceEdit) || children[i].hasChildren())
+					return null;
+				ReplaceEdit child= (ReplaceEdit) children[i];
+				int offset= child.getOffset() - delta;
+				if (offset < previousEnd || offset == previousOffset)
+					return null;
+				String text= child.getText();
+				byte[] encoded= text.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(offset);
+				out.writeInt(child.getLength());
+				out.writeInt(encoded.length);
+				out.write(encoded);
+				delta+= text.length() - child.getLength();
+				previousOffset= offset;
+				previousEnd= offset + child.getLength();
+			}
+		} catch (IOException e) {
+			// cannot happen, the data is written to memory
+			return null;
+		} finally {
+			// a deflater passed to the stream is not ended by it
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,587 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * Binary index of a refactoring history location.
+ * <p>
+ * The refactoring history itself remains stored in the
+ * <code>year/month/week</code> layout of history and index files, which is
+ * shared between workspaces and with older versions. This index keeps the
+ * entries of each week part sorted by time stamp, together with the
+ * modification stamp and length of the part's index file it was built from.
+ * Range queries only visit the year and month folders overlapping the range
+ * and read a part's index file only if it changed since it has been indexed,
+ * so that answering a query costs the size of the result rather than the size
+ * of the history.
+ * </p>
+ * <p>
+ * The index is persisted in the plugin state location as an append-only log
+ * of part snapshots, where later snapshots of a part supersede earlier ones.
+ * The log is compacted once it holds more superseded than live snapshots. An
+ * index is populated from the existing history files on first use.
+ * </p>
+ *
+ * @since 3.12
+ */
+final class RefactoringHistoryIndex {
+
+	/** Snapshot of the entries of a part of the history */
+	private static final class Part {
+
+		/** The descriptions, in ascending order of their time stamps */
+		private final String[] fDescriptions;
+
+		/** The length of the index file */
+		private final long fLength;
+
+		/** The modification stamp of the index file */
+		private final long fModified;
+
+		/** The time stamps, in ascending order */
+		private final long[] fStamps;
+
+		/**
+		 * Creates a new part.
+		 *
+		 * @param modified
+		 *            the modification stamp of the index file
+		 * @param length
+		 *            the length of the index file
+		 * @param stamps
+		 *            the time stamps, in ascending order
+		 * @param descriptions
+		 *            the descriptions
+		 */
+		Part(final long modified, final long length, final long[] stamps, final String[] descriptions) {
+			fModified= modified;
+			fLength= length;
+			fStamps= stamps;
+			fDescriptions= descriptions;
+		}
+
+		/**
+		 * Adds the refactoring descriptor proxies of this part within the
+		 * specified range to the collection.
+		 *
+		 * @param project
+		 *            the name of the project, or <code>null</code> for the
+		 *            workspace
+		 * @param collection
+		 *            the collection of proxies to fill in
+		 * @param start
+		 *            the start time stamp, inclusive
+		 * @param end
+		 *            the end time stamp, inclusive
+		 */
+		void collect(final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end) {
+			int low= 0;
+			int high= fStamps.length;
+			while (low < high) {
+				final int middle= (low + high) >>> 1;
+				if (fStamps[middle] < start)
+					low= middle + 1;
+				else
+					high= middle;
+			}
+			for (int index= low; index < fStamps.length && fStamps[index] <= end; index++)
+				collection.add(new DefaultRefactoringDescriptorProxy(fDescriptions[index], project, fStamps[index]));
+		}
+
+		/**
+		 * Is this part a snapshot of the specified index file?
+		 *
+		 * @param info
+		 *            the file info of the index file
+		 * @return <code>true</code> if the part is up to date,
+		 *         <code>false</code> otherwise
+		 */
+		boolean isCurrent(final IFileInfo info) {
+			return fModified == info.getLastModified() && fLength == info.getLength();
+		}
+	}
+
+	/** The magic number of index files */
+	private static final int INDEX_MAGIC= 0x52484958;
+
+	/** The version of the index file format */
+	private static final int INDEX_VERSION= 2;
+
+	/** The index folder in the plugin state location */
+	private static final String NAME_INDEX_FOLDER= ".indexes"; //$NON-NLS-1$
+
+	/** The record type of a part snapshot */
+	private static final byte RECORD_PART= 1;
+
+	/** The record type of a removed part */
+	private static final byte RECORD_REMOVED= 2;
+
+	/** The indexes of the history locations, keyed by history file store */
+	private static final Map<IFileStore, RefactoringHistoryIndex> fgIndexes= new HashMap<>();
+
+	/**
+	 * Discards the index of the specified history location.
+	 * <p>
+	 * This must be called whenever the history location is replaced as a
+	 * whole, since the files copied into it may carry the modification stamps
+	 * of the files they have been copied from.
+	 * </p>
+	 *
+	 * @param store
+	 *            the history file store
+	 */
+	static void discardIndex(final IFileStore store) {
+		final RefactoringHistoryIndex index;
+		synchronized (fgIndexes) {
+			index= fgIndexes.remove(store);
+		}
+		final File file= index != null ? index.fFile : getIndexFile(store);
+		if (file != null && file.exists() && !file.delete())
+			RefactoringCorePlugin.logErrorMessage("Could not delete refactoring history index " + file); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the index of the specified history location.
+	 *
+	 * @param store
+	 *            the history file store
+	 * @return the index
+	 */
+	static RefactoringHistoryIndex getIndex(final IFileStore store) {
+		Assert.isNotNull(store);
+		synchronized (fgIndexes) {
+			RefactoringHistoryIndex index= fgIndexes.get(store);
+			if (index == null) {
+				index= new RefactoringHistoryIndex(store);
+				fgIndexes.put(store, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the file which persists the index of the specified history
+	 * location.
+	 *
+	 * @param store
+	 *            the history file store
+	 * @return the index file, or <code>null</code> if the index is not
+	 *         persisted
+	 */
+	private static File getIndexFile(final IFileStore store) {
+		final RefactoringCorePlugin plugin= RefactoringCorePlugin.getDefault();
+		if (plugin == null)
+			return null;
+		final String name= Integer.toHexString(store.toURI().toString().hashCode()) + ".index"; //$NON-NLS-1$
+		return plugin.getStateLocation().append(NAME_INDEX_FOLDER).append(name).toFile();
+	}
+
+	/**
+	 * Does the specified calendar period overlap the specified range?
+	 *
+	 * @param calendar
+	 *            the calendar to use
+	 * @param year
+	 *            the year of the period
+	 * @param month
+	 *            the first month of the period
+	 * @param field
+	 *            the calendar field denoting the length of the period
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @return <code>true</code> if the period overlaps the range,
+	 *         <code>false</code> otherwise
+	 */
+	private static boolean overlaps(final Calendar calendar, final int year, final int month, final int field, final long start, final long end) {
+		calendar.clear();
+		calendar.set(year, month, 1);
+		final long from= calendar.getTimeInMillis();
+		calendar.add(field, 1);
+		return from <= end && calendar.getTimeInMillis() > start;
+	}
+
+	/**
+	 * Returns the number denoted by the specified folder name.
+	 *
+	 * @param name
+	 *            the folder name
+	 * @return the number, or <code>-1</code> if the name is not a number
+	 */
+	private static int parseFolderName(final String name) {
+		try {
+			return Integer.parseInt(name);
+		} catch (NumberFormatException exception) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Writes a record to the index file.
+	 *
+	 * @param output
+	 *            the output stream
+	 * @param path
+	 *            the relative path of the part
+	 * @param part
+	 *            the snapshot of the part, or <code>null</code> if the part
+	 *            has been removed
+	 * @throws IOException
+	 *             if an input/output error occurs
+	 */
+	private static void writeString(final DataOutputStream output, final String string) throws IOException {
+		// not writeUTF, which is limited to 64KB and descriptions have no length limit
+		final byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(final DataInputStream input) throws IOException {
+		final int length= input.readInt();
+		if (length < 0)
+			throw new IOException("Invalid string length in refactoring history index " + length); //$NON-NLS-1$
+		final byte[] bytes= new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeRecord(final DataOutputStream output, final String path, final Part part) throws IOException {
+		if (part == null) {
+			output.writeByte(RECORD_REMOVED);
+			writeString(output, path);
+			return;
+		}
+		output.writeByte(RECORD_PART);
+		writeString(output, path);
+		output.writeLong(part.fModified);
+		output.writeLong(part.fLength);
+		output.writeInt(part.fStamps.length);
+		for (int index= 0; index < part.fStamps.length; index++) {
+			output.writeLong(part.fStamps[index]);
+			writeString(output, part.fDescriptions[index]);
+		}
+	}
+
+	/** The history file store */
+	private final IFileStore fHistoryStore;
+
+	/** The file persisting the index, or <code>null</code> */
+	private final File fFile;
+
+	/** The parts of the history, keyed by their relative path, or <code>null</code> if not loaded yet */
+	private Map<String, Part> fParts= null;
+
+	/** The number of records in the index file, or <code>-1</code> if it has to be rewritten */
+	private int fRecords= -1;
+
+	/**
+	 * Creates a new refactoring history index.
+	 *
+	 * @param store
+	 *            the history file store
+	 */
+	private RefactoringHistoryIndex(final IFileStore store) {
+		fHistoryStore= store;
+		fFile= getIndexFile(store);
+	}
+
+	/**
+	 * Appends a record to the index file, or rewrites the index file if it
+	 * holds too many superseded records.
+	 *
+	 * @param path
+	 *            the relative path of the part
+	 * @param part
+	 *            the new snapshot of the part, or <code>null</code> if the
+	 *            part has been removed
+	 */
+	private void append(final String path, final Part part) {
+		if (fFile == null)
+			return;
+		if (fRecords < 0 || fRecords >= 2 * fParts.size() + 16) {
+			compact();
+			return;
+		}
+		try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile, true)))) {
+			writeRecord(output, path, part);
+			fRecords++;
+		} catch (IOException exception) {
+			RefactoringCorePlugin.log(exception);
+			fRecords= -1;
+		}
+	}
+
+	/**
+	 * Rewrites the index file with the current snapshots of all parts.
+	 */
+	private void compact() {
+		fRecords= -1;
+		final File folder= fFile.getParentFile();
+		if (!folder.isDirectory() && !folder.mkdirs())
+			return;
+		final File temp= new File(folder, fFile.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream output= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				output.writeInt(INDEX_MAGIC);
+				output.writeInt(INDEX_VERSION);
+				writeString(output, fHistoryStore.toURI().toString());
+				for (Map.Entry<String, Part> entry : fParts.entrySet())
+					writeRecord(output, entry.getKey(), entry.getValue());
+			}
+			if (fFile.exists() && !fFile.delete() || !temp.renameTo(fFile))
+				throw new IOException("Could not replace refactoring history index " + fFile); //$NON-NLS-1$
+			fRecords= fParts.size();
+		} catch (IOException exception) {
+			RefactoringCorePlugin.log(exception);
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Returns the up to date snapshot of the specified part, and updates the
+	 * index if necessary.
+	 *
+	 * @param path
+	 *            the relative path of the part
+	 * @param folder
+	 *            the folder of the part
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the snapshot, or <code>null</code> if the part does not exist
+	 * @throws CoreException
+	 *             if an error occurs while reading the part
+	 */
+	private Part getPart(final String path, final IFileStore folder, final IProgressMonitor monitor) throws CoreException {
+		final IFileStore file= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
+		final IFileInfo info= file.fetchInfo(EFS.NONE, monitor);
+		Part part= fParts.get(path);
+		if (!info.exists() || info.isDirectory()) {
+			if (part != null) {
+				fParts.remove(path);
+				append(path, null);
+			}
+			return null;
+		}
+		if (part == null || !part.isCurrent(info)) {
+			part= readPart(file, info, monitor);
+			fParts.put(path, part);
+			append(path, part);
+		}
+		return part;
+	}
+
+	/**
+	 * Notifies the index that the specified part of the history has been
+	 * changed.
+	 *
+	 * @param path
+	 *            the relative path of the part
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the part
+	 */
+	synchronized void historyChanged(final IPath path, final IProgressMonitor monitor) throws CoreException {
+		load();
+		getPart(path.toString(), fHistoryStore.getFileStore(path), monitor);
+	}
+
+	/**
+	 * Loads the index file, if not already loaded.
+	 */
+	private void load() {
+		if (fParts != null)
+			return;
+		fParts= new HashMap<>();
+		fRecords= -1;
+		if (fFile == null || !fFile.isFile())
+			return;
+		try (DataInputStream input= new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+			if (input.readInt() != INDEX_MAGIC || input.readInt() != INDEX_VERSION || !fHistoryStore.toURI().toString().equals(readString(input)))
+				return;
+			int records= 0;
+			while (true) {
+				final int type= input.read();
+				if (type < 0)
+					break;
+				final String path= readString(input);
+				if (type == RECORD_PART) {
+					final long modified= input.readLong();
+					final long length= input.readLong();
+					final int count= input.readInt();
+					final long[] stamps= new long[count];
+					final String[] descriptions= new String[count];
+					for (int index= 0; index < count; index++) {
+						stamps[index]= input.readLong();
+						descriptions[index]= readString(input);
+					}
+					fParts.put(path, new Part(modified, length, stamps, descriptions));
+				} else if (type == RECORD_REMOVED)
+					fParts.remove(path);
+				else
+					throw new IOException("Unknown refactoring history index record " + type); //$NON-NLS-1$
+				records++;
+			}
+			fRecords= records;
+		} catch (EOFException exception) {
+			// Truncated by an interrupted append, rewrite with what has been read
+		} catch (IOException exception) {
+			RefactoringCorePlugin.log(exception);
+			fParts.clear();
+		}
+	}
+
+	/**
+	 * Reads the snapshot of a part from its index file.
+	 *
+	 * @param file
+	 *            the index file of the part
+	 * @param info
+	 *            the file info of the index file
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return the snapshot
+	 * @throws CoreException
+	 *             if an error occurs while reading the index file
+	 */
+	private Part readPart(final IFileStore file, final IFileInfo info, final IProgressMonitor monitor) throws CoreException {
+		try (InputStream stream= file.openInputStream(EFS.NONE, monitor)) {
+			final RefactoringDescriptorProxy[] proxies= RefactoringHistoryManager.readRefactoringDescriptorProxies(stream, null, 0, Long.MAX_VALUE);
+			RefactoringHistoryManager.sortRefactoringDescriptorsAscending(proxies);
+			final long[] stamps= new long[proxies.length];
+			final String[] descriptions= new String[proxies.length];
+			for (int index= 0; index < proxies.length; index++) {
+				stamps[index]= proxies[index].getTimeStamp();
+				descriptions[index]= proxies[index].getDescription();
+			}
+			return new Part(info.getLastModified(), info.getLength(), stamps, descriptions);
+		} catch (IOException exception) {
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCore.ID_PLUGIN, IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
+		}
+	}
+
+	/**
+	 * Reads the refactoring descriptor proxies within the specified range.
+	 *
+	 * @param project
+	 *            the name of the project, or <code>null</code> for the
+	 *            workspace
+	 * @param collection
+	 *            the collection of proxies to fill in
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the history
+	 */
+	synchronized void readRefactoringDescriptorProxies(final String project, final Collection<RefactoringDescriptorProxy> collection, final long start, final long end, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 10);
+			load();
+			final IFileStore[] years= fHistoryStore.childStores(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			final IProgressMonitor subMonitor= new SubProgressMonitor(monitor, 9, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL);
+			subMonitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, years.length);
+			final Calendar calendar= Calendar.getInstance(TimeZone.getTimeZone("GMT+00:00")); //$NON-NLS-1$
+			for (IFileStore year : years) {
+				if (monitor.isCanceled())
+					throw new OperationCanceledException();
+				final int y= parseFolderName(year.getName());
+				if (y >= 0 && overlaps(calendar, y, Calendar.JANUARY, Calendar.YEAR, start, end)) {
+					for (IFileStore month : year.childStores(EFS.NONE, null)) {
+						final int m= parseFolderName(month.getName());
+						if (m > 0 && overlaps(calendar, y, m - 1, Calendar.MONTH, start, end)) {
+							final IPath prefix= new Path(year.getName()).append(month.getName());
+							final Set<String> paths= new HashSet<>();
+							for (IFileStore week : month.childStores(EFS.NONE, null)) {
+								final String path= prefix.append(week.getName()).toString();
+								final Part part= getPart(path, week, null);
+								if (part != null) {
+									part.collect(project, collection, start, end);
+									paths.add(path);
+								}
+							}
+							removeParts(prefix.toString() + IPath.SEPARATOR, paths);
+						}
+					}
+				}
+				subMonitor.worked(1);
+			}
+			subMonitor.done();
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Removes the parts below the specified prefix which no longer exist.
+	 *
+	 * @param prefix
+	 *            the path prefix of the parts, ending with a separator
+	 * @param existing
+	 *            the relative paths of the existing parts
+	 */
+	private void removeParts(final String prefix, final Set<String> existing) {
+		for (final Iterator<String> iterator= fParts.keySet().iterator(); iterator.hasNext();) {
+			final String path= iterator.next();
+			if (path.startsWith(prefix) && !existing.contains(path)) {
+				iterator.remove();
+				append(path, null);
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,14 +16,18 @@ package org.eclipse.ltk.internal.core.refactoring.history;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -781,6 +785,15 @@ public final class RefactoringHistoryManager {
 				final IFileStore index= folder.getChild(RefactoringHistoryService.NAME_INDEX_FILE);
 				final RefactoringDescriptorProxy[] proxies= new RefactoringDescriptorProxy[] { new DefaultRefactoringDescriptorProxy(descriptor.getDescription(), descriptor.getProject(), descriptor.getTimeStamp())};
 				if (history.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists()) {
+					if (!sort && appendHistoryEntry(history, transformDescriptor(descriptor, false), new SubProgressMonitor(monitor, 12, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL))) {
+						try {
+							writeIndexEntry(index, proxies, EFS.APPEND, new SubProgressMonitor(monitor, 5, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL), RefactoringCoreMessages.RefactoringHistoryService_updating_history);
+						} catch (IOException exception) {
+							throw createCoreException(exception);
+						}
+						RefactoringHistoryIndex.getIndex(fHistoryStore).historyChanged(path, null);
+						return;
+					}
 					InputStream input= null;
 					try {
 						input= new BufferedInputStream(history.openInputStream(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)));
@@ -842,6 +855,63 @@ public final class RefactoringHistoryManager {
 						throw createCoreException(exception);
 					}
 				}
+				RefactoringHistoryIndex.getIndex(fHistoryStore).historyChanged(path, null);
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Appends the specified history entry to an existing refactoring history
+	 * file, without parsing the entries already contained in the file.
+	 *
+	 * @param file
+	 *            the refactoring history file
+	 * @param document
+	 *            the document containing the refactoring to append
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @return <code>true</code> if the entry has been appended,
+	 *         <code>false</code> if the file is not a local file or does not
+	 *         end with the session element
+	 * @throws CoreException
+	 *             if an error occurs while appending the history entry
+	 */
+	private boolean appendHistoryEntry(final IFileStore file, final Document document, final IProgressMonitor monitor) throws CoreException {
+		try {
+			monitor.beginTask(RefactoringCoreMessages.RefactoringHistoryService_updating_history, 1);
+			final File local= file.toLocalFile(EFS.NONE, new SubProgressMonitor(monitor, 1, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+			if (local == null)
+				return false;
+			final String end= "</" + IRefactoringSerializationConstants.ELEMENT_SESSION + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+			final StringWriter writer= new StringWriter(256);
+			try (DOMWriter printer= new DOMWriter(writer)) {
+				printer.printElement((Element) document.getElementsByTagName(IRefactoringSerializationConstants.ELEMENT_REFACTORING).item(0));
+				printer.println();
+				printer.print(end);
+			}
+			try (RandomAccessFile access= new RandomAccessFile(local, "rw")) { //$NON-NLS-1$
+				final long length= access.length();
+				final byte[] tail= new byte[(int) Math.min(length, 256)];
+				access.seek(length - tail.length);
+				access.readFully(tail);
+				// the closing tag is plain ASCII, and a single byte charset keeps offsets intact
+				final String string= new String(tail, StandardCharsets.ISO_8859_1);
+				final int offset= string.lastIndexOf(end);
+				if (offset < 0 || !string.substring(offset + end.length()).trim().isEmpty())
+					return false;
+				access.seek(length - tail.length + offset);
+				access.write(writer.toString().getBytes(StandardCharsets.UTF_8));
+				access.setLength(access.getFilePointer());
+				return true;
+			} catch (IOException exception) {
+				throw createCoreException(exception);
+			} finally {
+				fCachedDocument= null;
+				fCachedPath= null;
+				fCachedDescriptor= null;
+				fCachedStore= null;
 			}
 		} finally {
 			monitor.done();
@@ -923,10 +993,10 @@ public final class RefactoringHistoryManager {
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
 				if (fHistoryStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					RefactoringHistoryIndex.getIndex(fHistoryStore).readRefactoringDescriptorProxies(fProjectName, set, start, end, new SubProgressMonitor(monitor, 80));
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
 				if (store.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, new SubProgressMonitor(monitor, 80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+					RefactoringHistoryIndex.getIndex(store).readRefactoringDescriptorProxies(null, set, start, end, new SubProgressMonitor(monitor, 80));
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
@@ -1018,6 +1088,7 @@ public final class RefactoringHistoryManager {
 						}
 					}
 				}
+				RefactoringHistoryIndex.getIndex(fHistoryStore).historyChanged(path, null);
 			}
 		} finally {
 			monitor.done();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -258,6 +258,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 							destination.mkdir(EFS.NONE, new SubProgressMonitor(monitor, 20));
 							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20));
 							source.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
+							RefactoringHistoryIndex.discardIndex(source);
+							RefactoringHistoryIndex.discardIndex(destination);
 						}
 					} else {
 						final IFileStore source= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
@@ -268,6 +270,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 							destination.mkdir(EFS.NONE, new SubProgressMonitor(monitor, 20));
 							source.copy(destination, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20));
 							source.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
+							RefactoringHistoryIndex.discardIndex(source);
+							RefactoringHistoryIndex.discardIndex(destination);
 						}
 					}
 				} finally {
@@ -516,6 +520,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 			if (NAME_WORKSPACE_PROJECT.equals(name)) {
 				final IFileStore metaStore= stateStore.getChild(NAME_HISTORY_FOLDER).getChild(name);
 				metaStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 100));
+				RefactoringHistoryIndex.discardIndex(metaStore);
 			} else {
 				final URI uri= project.getLocationURI();
 				if (uri != null && project.isAccessible()) {
@@ -524,6 +529,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 						metaStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
 						final IFileStore projectStore= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
 						projectStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20));
+						RefactoringHistoryIndex.discardIndex(metaStore);
+						RefactoringHistoryIndex.discardIndex(projectStore);
 					} finally {
 						project.refreshLocal(IResource.DEPTH_INFINITE, new SubProgressMonitor(monitor, 60));
 					}
@@ -854,6 +861,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 				if (newStore.fetchInfo(EFS.NONE, new SubProgressMonitor(monitor, 10, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL)).exists())
 					newStore.delete(EFS.NONE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
 				oldStore.move(newStore, EFS.OVERWRITE, new SubProgressMonitor(monitor, 20, SubProgressMonitor.SUPPRESS_SUBTASK_LABEL));
+				RefactoringHistoryIndex.discardIndex(oldStore);
+				RefactoringHistoryIndex.discardIndex(newStore);
 			}
 		} catch (CoreException exception) {
 			RefactoringCorePlugin.log(exception);